@@ -0,0 +1,676 @@
+//  DJI2CapabilityCache.java
+//  DronelinkDJI2
+//
+//  Created by agent on 10/17/26.
+//  Copyright © 2026 Dronelink. All rights reserved.
+//
+package com.dronelink.dji2;
+
+import android.util.Log;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import dji.sdk.keyvalue.value.product.ProductType;
+
+//static capabilities and ranges (enum ranges, zoom ratios, gimbal ranges, camera type) persisted per productType, serial number and firmware
+//so adapters can seed them the moment the session opens instead of waiting for the first key callbacks
+//the serial number and firmware arrive after the session opens, so the values of the last aircraft seen with the same productType are
+//loaded provisionally, and replaced with the right ones (if any) once the identity is known
+//every live value reconciles (and overrides) the cached one, a live null removes it
+//component capabilities (camera and gimbal) are also keyed by the component identity, see Component
+public class DJI2CapabilityCache {
+    private static final String TAG = DJI2CapabilityCache.class.getCanonicalName();
+
+    public static final String EXTENSION = ".json";
+    private static final String LAST_EXTENSION = ".last";
+    private static final long SAVE_DELAY_MILLIS = 2000;
+
+    public static class Statistics {
+        public final String identity;
+        public final boolean confirmed;
+        public final int values;
+        public final int live;
+        public final long hits;
+        public final long misses;
+        public final long changes;
+
+        private Statistics(final String identity, final boolean confirmed, final int values, final int live, final long hits, final long misses, final long changes) {
+            this.identity = identity;
+            this.confirmed = confirmed;
+            this.values = values;
+            this.live = live;
+            this.hits = hits;
+            this.misses = misses;
+            this.changes = changes;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.US, "identity=%s confirmed=%b values=%d live=%d hits=%d misses=%d changes=%d",
+                    identity, confirmed, values, live, hits, misses, changes);
+        }
+    }
+
+    //capabilities of a component (a camera or gimbal payload) depend on the payload as well as the aircraft: payloads can be swapped
+    //without the aircraft serial number or firmware changing, so the values are stored under the payload identity (e.g. the camera type)
+    //the identity last seen on the component is used provisionally until the component reports it, and onChanged runs (outside the cache lock)
+    //whenever the values behind the component change: the provisional identity was wrong, or the aircraft identity was
+    public class Component {
+        private final String name;
+        private final Runnable onChanged;
+        private String identity;
+        private boolean confirmed = false;
+        //values reported by the component during this session (JSONObject.NULL when removed), moved over if the identity changes
+        private final Map<String, Object> reported = new HashMap<>();
+
+        private Component(final String name, final Runnable onChanged) {
+            this.name = name;
+            this.onChanged = onChanged;
+            this.identity = values.optString(getIdentityName(), null);
+        }
+
+        public String getIdentity() {
+            synchronized (DJI2CapabilityCache.this) {
+                return identity;
+            }
+        }
+
+        //called once the component reports its identity
+        public void setIdentity(final String identity) {
+            synchronized (DJI2CapabilityCache.this) {
+                if (identity == null || closed) {
+                    return;
+                }
+
+                final boolean changed = !identity.equals(this.identity);
+                confirmed = true;
+                if (!changed) {
+                    return;
+                }
+
+                Log.i(TAG, "Capability cache component " + name + ": " + identity + ", provisional identity " + (this.identity == null ? "none" : "discarded: " + this.identity));
+                this.identity = identity;
+                DJI2CapabilityCache.this.put(getIdentityName(), identity);
+                replay();
+            }
+            onChanged.run();
+        }
+
+        public String getString(final String name) {
+            synchronized (DJI2CapabilityCache.this) {
+                return asString(opt(name));
+            }
+        }
+
+        public void putString(final String name, final String value) {
+            report(name, value);
+        }
+
+        public Boolean getBoolean(final String name) {
+            synchronized (DJI2CapabilityCache.this) {
+                return asBoolean(opt(name));
+            }
+        }
+
+        public void putBoolean(final String name, final boolean value) {
+            report(name, value);
+        }
+
+        public List<String> getStrings(final String name) {
+            synchronized (DJI2CapabilityCache.this) {
+                return asStrings(opt(name));
+            }
+        }
+
+        public void putStrings(final String name, final List<String> value) {
+            report(name, new JSONArray(value));
+        }
+
+        public double[] getDoubles(final String name) {
+            synchronized (DJI2CapabilityCache.this) {
+                return asDoubles(opt(name));
+            }
+        }
+
+        public void putDoubles(final String name, final double[] value) {
+            final JSONArray array = toJSONArray(value);
+            if (array != null) {
+                report(name, array);
+            }
+        }
+
+        public int[] getInts(final String name) {
+            synchronized (DJI2CapabilityCache.this) {
+                return asInts(opt(name));
+            }
+        }
+
+        public void putInts(final String name, final int[] value) {
+            report(name, toJSONArray(value));
+        }
+
+        public List<List<String>> getTuples(final String name) {
+            synchronized (DJI2CapabilityCache.this) {
+                return asTuples(opt(name));
+            }
+        }
+
+        public void putTuples(final String name, final List<List<String>> value) {
+            report(name, toJSONArray(value));
+        }
+
+        //the component reported null: the value is removed and the caller clears its state
+        //returns false while the link is suspended, when null only means the value is unavailable (the caller keeps its state)
+        public boolean remove(final String name) {
+            synchronized (DJI2CapabilityCache.this) {
+                if (suspended) {
+                    return false;
+                }
+
+                reported.put(name, JSONObject.NULL);
+                if (identity != null) {
+                    DJI2CapabilityCache.this.remove(getPrefix() + name);
+                }
+                return true;
+            }
+        }
+
+        public void close() {
+            synchronized (DJI2CapabilityCache.this) {
+                components.remove(this);
+            }
+        }
+
+        private void report(final String name, final Object value) {
+            synchronized (DJI2CapabilityCache.this) {
+                reported.put(name, value);
+                if (identity != null) {
+                    DJI2CapabilityCache.this.put(getPrefix() + name, value);
+                }
+            }
+        }
+
+        //a value reported during this session wins over the stored one (and is available before the identity is known)
+        private Object opt(final String name) {
+            if (reported.containsKey(name)) {
+                return count(reported.get(name));
+            }
+            return count(identity == null ? null : values.opt(getPrefix() + name));
+        }
+
+        //the aircraft values were replaced, an unconfirmed identity is resolved again from them
+        private void reload() {
+            if (!confirmed) {
+                identity = values.optString(getIdentityName(), null);
+            }
+            replay();
+        }
+
+        //values reported during this session are stored under the current identity
+        private void replay() {
+            if (identity == null) {
+                return;
+            }
+
+            for (final Map.Entry<String, Object> entry : reported.entrySet()) {
+                if (entry.getValue() == JSONObject.NULL) {
+                    DJI2CapabilityCache.this.remove(getPrefix() + entry.getKey());
+                }
+                else {
+                    DJI2CapabilityCache.this.put(getPrefix() + entry.getKey(), entry.getValue());
+                }
+            }
+        }
+
+        private String getIdentityName() {
+            return name + ".identity";
+        }
+
+        private String getPrefix() {
+            return name + "." + identity + ".";
+        }
+    }
+
+    private final File directory;
+    private final String productType;
+    private final DJI2ExecutorPool.Lease executors;
+    private JSONObject values = new JSONObject();
+    //names reported by a key listener during this session
+    private final Set<String> live = new HashSet<>();
+    private String serialNumber;
+    private String firmwarePackageVersion;
+    //the identity the values were loaded for, null if none
+    private String loaded;
+    private boolean dirty = false;
+    private boolean saveScheduled = false;
+    private boolean closed = false;
+    private boolean suspended = false;
+    private final List<Component> components = new ArrayList<>();
+    private long hits = 0;
+    private long misses = 0;
+    private long changes = 0;
+
+    public DJI2CapabilityCache(final File directory, final ProductType productType, final DJI2ExecutorPool.Lease executors) {
+        this.directory = directory;
+        this.productType = productType == null ? ProductType.UNKNOWN.name() : productType.name();
+        this.executors = executors;
+
+        if (!directory.exists() && !directory.mkdirs()) {
+            Log.e(TAG, "Unable to create capability cache directory: " + directory);
+            return;
+        }
+
+        final String last = read(new File(directory, sanitize(this.productType) + LAST_EXTENSION));
+        if (last != null) {
+            final JSONObject stored = load(last.trim());
+            if (stored != null) {
+                values = stored;
+                loaded = last.trim();
+                Log.i(TAG, "Capability cache loaded provisionally (" + loaded + "): " + values.length() + " values");
+            }
+        }
+    }
+
+    //called as the serial number and firmware arrive, either may be null until known
+    public void setIdentity(final String serialNumber, final String firmwarePackageVersion) {
+        final List<Component> reloaded;
+        synchronized (this) {
+            reloaded = updateIdentity(serialNumber, firmwarePackageVersion);
+        }
+
+        //the adapters seeded from the provisional values are seeded again
+        for (final Component component : reloaded) {
+            component.onChanged.run();
+        }
+    }
+
+    //returns the components to notify, if the values were replaced
+    private List<Component> updateIdentity(final String serialNumber, final String firmwarePackageVersion) {
+        final List<Component> reloaded = new ArrayList<>();
+        if (serialNumber == null || firmwarePackageVersion == null || closed) {
+            return reloaded;
+        }
+
+        if (serialNumber.equals(this.serialNumber) && firmwarePackageVersion.equals(this.firmwarePackageVersion)) {
+            return reloaded;
+        }
+
+        this.serialNumber = serialNumber;
+        this.firmwarePackageVersion = firmwarePackageVersion;
+        final String identity = getIdentity();
+        if (!identity.equals(loaded)) {
+            //the provisional values belong to another aircraft or firmware, keep only what has been reported live
+            final JSONObject stored = load(identity);
+            final JSONObject values = stored == null ? new JSONObject() : stored;
+            for (final String name : live) {
+                try {
+                    values.put(name, this.values.opt(name));
+                }
+                catch (final JSONException e) {
+                    Log.e(TAG, "Unable to reconcile " + name, e);
+                }
+            }
+            Log.i(TAG, "Capability cache " + (stored == null ? "created" : "loaded") + " (" + identity + "), provisional values " + (loaded == null ? "none" : "discarded: " + loaded));
+            this.values = values;
+            loaded = identity;
+            for (final Component component : components) {
+                component.reload();
+                reloaded.add(component);
+            }
+        }
+        else {
+            Log.i(TAG, "Capability cache confirmed (" + identity + ")");
+        }
+
+        write(new File(directory, sanitize(productType) + LAST_EXTENSION), identity);
+        dirty = true;
+        scheduleSave();
+        return reloaded;
+    }
+
+    //name is the component (e.g. camera.LEFT_OR_MAIN), onChanged runs when the component values change and must seed the adapter again
+    public synchronized Component getComponent(final String name, final Runnable onChanged) {
+        final Component component = new Component(name, onChanged);
+        components.add(component);
+        return component;
+    }
+
+    //while the link is suspended, keys report null because they are unavailable, not because the capability is gone
+    public synchronized void setSuspended(final boolean suspended) {
+        this.suspended = suspended;
+    }
+
+    public synchronized boolean isConfirmed() {
+        return serialNumber != null && firmwarePackageVersion != null;
+    }
+
+    public synchronized String getString(final String name) {
+        return asString(count(values.opt(name)));
+    }
+
+    public void putString(final String name, final String value) {
+        put(name, value);
+    }
+
+    public synchronized Boolean getBoolean(final String name) {
+        return asBoolean(count(values.opt(name)));
+    }
+
+    public void putBoolean(final String name, final boolean value) {
+        put(name, value);
+    }
+
+    public synchronized List<String> getStrings(final String name) {
+        return asStrings(count(values.opt(name)));
+    }
+
+    public void putStrings(final String name, final List<String> value) {
+        put(name, new JSONArray(value));
+    }
+
+    public synchronized double[] getDoubles(final String name) {
+        return asDoubles(count(values.opt(name)));
+    }
+
+    public void putDoubles(final String name, final double[] value) {
+        final JSONArray array = toJSONArray(value);
+        if (array != null) {
+            put(name, array);
+        }
+    }
+
+    public synchronized int[] getInts(final String name) {
+        return asInts(count(values.opt(name)));
+    }
+
+    public void putInts(final String name, final int[] value) {
+        put(name, toJSONArray(value));
+    }
+
+    public synchronized List<List<String>> getTuples(final String name) {
+        return asTuples(count(values.opt(name)));
+    }
+
+    public void putTuples(final String name, final List<List<String>> value) {
+        put(name, toJSONArray(value));
+    }
+
+    //a live value is no longer available (e.g. the key reported null)
+    public synchronized void remove(final String name) {
+        live.add(name);
+        if (values.remove(name) != null) {
+            changes++;
+            dirty = true;
+            scheduleSave();
+        }
+    }
+
+    public synchronized Statistics getStatistics() {
+        return new Statistics(loaded, isConfirmed(), values.length(), live.size(), hits, misses, changes);
+    }
+
+    public void close() {
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            save();
+            closed = true;
+        }
+        Log.i(TAG, "Capability cache closed: " + getStatistics());
+    }
+
+    private synchronized void put(final String name, final Object value) {
+        live.add(name);
+        final Object previous = values.opt(name);
+        if (previous != null && previous.toString().equals(value.toString())) {
+            return;
+        }
+
+        try {
+            values.put(name, value);
+        }
+        catch (final JSONException e) {
+            Log.e(TAG, "Unable to cache " + name, e);
+            return;
+        }
+        changes++;
+        dirty = true;
+        scheduleSave();
+    }
+
+    //null if any value is NaN or infinite (not cached)
+    private static JSONArray toJSONArray(final double[] value) {
+        final JSONArray array = new JSONArray();
+        for (final double component : value) {
+            try {
+                array.put(component);
+            }
+            catch (final JSONException e) {
+                return null;
+            }
+        }
+        return array;
+    }
+
+    private static JSONArray toJSONArray(final int[] value) {
+        final JSONArray array = new JSONArray();
+        for (final int component : value) {
+            array.put(component);
+        }
+        return array;
+    }
+
+    private static JSONArray toJSONArray(final List<List<String>> value) {
+        final JSONArray array = new JSONArray();
+        for (final List<String> tuple : value) {
+            array.put(new JSONArray(tuple));
+        }
+        return array;
+    }
+
+    private Object count(final Object value) {
+        if (value != null && value != JSONObject.NULL) {
+            hits++;
+            return value;
+        }
+        misses++;
+        return null;
+    }
+
+    private static String asString(final Object value) {
+        return value instanceof String ? (String)value : null;
+    }
+
+    private static Boolean asBoolean(final Object value) {
+        return value instanceof Boolean ? (Boolean)value : null;
+    }
+
+    private static List<String> asStrings(final Object value) {
+        if (!(value instanceof JSONArray)) {
+            return null;
+        }
+
+        final JSONArray array = (JSONArray)value;
+        final List<String> strings = new ArrayList<>(array.length());
+        for (int i = 0; i < array.length(); i++) {
+            strings.add(array.optString(i));
+        }
+        return strings;
+    }
+
+    private static double[] asDoubles(final Object value) {
+        if (!(value instanceof JSONArray)) {
+            return null;
+        }
+
+        final JSONArray array = (JSONArray)value;
+        final double[] doubles = new double[array.length()];
+        for (int i = 0; i < doubles.length; i++) {
+            doubles[i] = array.optDouble(i);
+        }
+        return doubles;
+    }
+
+    private static int[] asInts(final Object value) {
+        final double[] doubles = asDoubles(value);
+        if (doubles == null) {
+            return null;
+        }
+
+        final int[] ints = new int[doubles.length];
+        for (int i = 0; i < ints.length; i++) {
+            ints[i] = (int)doubles[i];
+        }
+        return ints;
+    }
+
+    private static List<List<String>> asTuples(final Object value) {
+        if (!(value instanceof JSONArray)) {
+            return null;
+        }
+
+        final JSONArray array = (JSONArray)value;
+        final List<List<String>> tuples = new ArrayList<>(array.length());
+        for (int i = 0; i < array.length(); i++) {
+            final JSONArray tuple = array.optJSONArray(i);
+            final List<String> strings = new ArrayList<>();
+            if (tuple != null) {
+                for (int j = 0; j < tuple.length(); j++) {
+                    strings.add(tuple.optString(j));
+                }
+            }
+            tuples.add(strings);
+        }
+        return tuples;
+    }
+
+    private void scheduleSave() {
+        if (saveScheduled || closed || !isConfirmed()) {
+            return;
+        }
+
+        //values tend to arrive in bursts as the components connect
+        saveScheduled = true;
+        executors.schedule(() -> {
+            synchronized (this) {
+                saveScheduled = false;
+                save();
+            }
+        }, SAVE_DELAY_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    private void save() {
+        if (!dirty || closed || !isConfirmed()) {
+            return;
+        }
+
+        final JSONObject json = new JSONObject();
+        try {
+            json.put("productType", productType);
+            json.put("serialNumber", serialNumber);
+            json.put("firmwarePackageVersion", firmwarePackageVersion);
+            json.put("updated", System.currentTimeMillis());
+            json.put("values", values);
+        }
+        catch (final JSONException e) {
+            Log.e(TAG, "Unable to save capability cache", e);
+            return;
+        }
+
+        if (write(new File(directory, getIdentity() + EXTENSION), json.toString())) {
+            dirty = false;
+        }
+    }
+
+    private String getIdentity() {
+        return sanitize(productType + "-" + serialNumber + "-" + firmwarePackageVersion);
+    }
+
+    private JSONObject load(final String identity) {
+        final String json = read(new File(directory, identity + EXTENSION));
+        if (json == null) {
+            return null;
+        }
+
+        try {
+            final JSONObject values = new JSONObject(json).getJSONObject("values");
+            //only values this version understands are kept, everything else is re-discovered
+            final Iterator<String> names = values.keys();
+            while (names.hasNext()) {
+                final Object value = values.opt(names.next());
+                if (!(value instanceof String || value instanceof Boolean || value instanceof JSONArray)) {
+                    names.remove();
+                }
+            }
+            return values;
+        }
+        catch (final JSONException e) {
+            Log.w(TAG, "Capability cache invalid, ignored: " + identity, e);
+            return null;
+        }
+    }
+
+    private static String read(final File file) {
+        if (!file.exists()) {
+            return null;
+        }
+
+        try (final FileInputStream input = new FileInputStream(file)) {
+            final byte[] bytes = new byte[(int)file.length()];
+            int offset = 0;
+            while (offset < bytes.length) {
+                final int read = input.read(bytes, offset, bytes.length - offset);
+                if (read < 0) {
+                    break;
+                }
+                offset += read;
+            }
+            return new String(bytes, 0, offset, StandardCharsets.UTF_8);
+        }
+        catch (final IOException e) {
+            Log.w(TAG, "Unable to read " + file, e);
+            return null;
+        }
+    }
+
+    //written to a temporary file first, so a crash never leaves a partial cache behind
+    private static boolean write(final File file, final String contents) {
+        final File temporary = new File(file.getPath() + ".tmp");
+        try (final FileOutputStream output = new FileOutputStream(temporary)) {
+            output.write(contents.getBytes(StandardCharsets.UTF_8));
+            output.getFD().sync();
+        }
+        catch (final IOException e) {
+            Log.e(TAG, "Unable to write " + file, e);
+            return false;
+        }
+
+        if (!temporary.renameTo(file)) {
+            Log.e(TAG, "Unable to rename " + temporary);
+            return false;
+        }
+        return true;
+    }
+
+    private static String sanitize(final String value) {
+        return value.replaceAll("[^A-Za-z0-9._-]", "_");
+    }
+}
@@ -0,0 +1,256 @@
+//  DJI2CommandMetrics.java
+//  DronelinkDJI2
+//
+//  Created by agent on 10/17/26.
+//  Copyright © 2026 Dronelink. All rights reserved.
+//
+package com.dronelink.dji2;
+
+import com.dronelink.core.command.CommandError;
+import com.dronelink.core.kernel.command.Command;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+//tracks session command timing per channel (drone, remoteController.<channel>, camera.<channel>, gimbal.<channel>) and per command type:
+//queue = enqueued -> first executed, execution = last executed -> completed by the adapter, finishDelay = completed -> finished
+public class DJI2CommandMetrics {
+    //latency percentiles are computed over the most recent samples
+    private static final int SAMPLE_CAPACITY = 256;
+
+    public interface Listener {
+        void onCommandMeasured(Sample sample);
+    }
+
+    public static class Sample {
+        public final String id;
+        public final String type;
+        public final String channel;
+        public final long queueMillis;
+        public final long executionMillis;
+        public final long finishDelayMillis;
+        public final int retries;
+        //null if the command succeeded
+        public final CommandError error;
+
+        private Sample(final String id, final String type, final String channel, final long queueMillis, final long executionMillis, final long finishDelayMillis, final int retries, final CommandError error) {
+            this.id = id;
+            this.type = type;
+            this.channel = channel;
+            this.queueMillis = queueMillis;
+            this.executionMillis = executionMillis;
+            this.finishDelayMillis = finishDelayMillis;
+            this.retries = retries;
+            this.error = error;
+        }
+    }
+
+    public static class Latency {
+        public final long p50Millis;
+        public final long p95Millis;
+        public final long p99Millis;
+        public final long maxMillis;
+
+        private Latency(final long[] samples) {
+            Arrays.sort(samples);
+            this.p50Millis = percentile(samples, 0.50);
+            this.p95Millis = percentile(samples, 0.95);
+            this.p99Millis = percentile(samples, 0.99);
+            this.maxMillis = samples.length == 0 ? 0 : samples[samples.length - 1];
+        }
+
+        private static long percentile(final long[] sorted, final double percentile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            return sorted[Math.min(sorted.length - 1, (int)Math.ceil(percentile * sorted.length) - 1)];
+        }
+
+        @Override
+        public String toString() {
+            return String.format("p50=%dms p95=%dms p99=%dms max=%dms", p50Millis, p95Millis, p99Millis, maxMillis);
+        }
+    }
+
+    public static class Statistics {
+        public final long finished;
+        public final long failed;
+        public final long retries;
+        public final Map<Integer, Long> failuresByCode;
+        public final Latency queue;
+        public final Latency execution;
+        public final Latency finishDelay;
+
+        private Statistics(final Accumulator accumulator) {
+            this.finished = accumulator.finished;
+            this.failed = accumulator.failed;
+            this.retries = accumulator.retries;
+            this.failuresByCode = new HashMap<>(accumulator.failuresByCode);
+            this.queue = new Latency(accumulator.queue.toArray());
+            this.execution = new Latency(accumulator.execution.toArray());
+            this.finishDelay = new Latency(accumulator.finishDelay.toArray());
+        }
+
+        @Override
+        public String toString() {
+            return String.format("finished=%d failed=%d retries=%d queue(%s) execution(%s) finishDelay(%s) failures=%s",
+                    finished, failed, retries, queue, execution, finishDelay, failuresByCode);
+        }
+    }
+
+    public static class Snapshot {
+        public final Map<String, Statistics> channels;
+        public final Map<String, Statistics> types;
+
+        private Snapshot(final Map<String, Statistics> channels, final Map<String, Statistics> types) {
+            this.channels = channels;
+            this.types = types;
+        }
+    }
+
+    //measures a single command from enqueue to finish, owned by the command wrapper in DJI2DroneSession
+    public class Tracker {
+        private final String id;
+        private final String type;
+        private final String channel;
+        private final long enqueued = System.nanoTime();
+        private long firstExecuted = 0;
+        private long executed = 0;
+        private long completed = 0;
+        private int attempts = 0;
+
+        private Tracker(final String id, final String type, final String channel) {
+            this.id = id;
+            this.type = type;
+            this.channel = channel;
+        }
+
+        public synchronized void executed() {
+            executed = System.nanoTime();
+            if (attempts == 0) {
+                firstExecuted = executed;
+            }
+            attempts++;
+            completed = 0;
+        }
+
+        public synchronized void completed() {
+            completed = System.nanoTime();
+        }
+
+        public void finished(final CommandError error) {
+            final Sample sample;
+            synchronized (this) {
+                final long finished = System.nanoTime();
+                final long completed = this.completed == 0 ? finished : this.completed;
+                sample = new Sample(
+                        id,
+                        type,
+                        channel,
+                        attempts == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(firstExecuted - enqueued),
+                        attempts == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(completed - executed),
+                        attempts == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(finished - completed),
+                        Math.max(0, attempts - 1),
+                        error);
+            }
+            record(sample);
+        }
+    }
+
+    private static class Samples {
+        private final long[] values = new long[SAMPLE_CAPACITY];
+        private int count = 0;
+        private int next = 0;
+
+        void add(final long value) {
+            values[next] = value;
+            next = (next + 1) % values.length;
+            count = Math.min(count + 1, values.length);
+        }
+
+        long[] toArray() {
+            return Arrays.copyOf(values, count);
+        }
+    }
+
+    private static class Accumulator {
+        long finished = 0;
+        long failed = 0;
+        long retries = 0;
+        final Map<Integer, Long> failuresByCode = new HashMap<>();
+        final Samples queue = new Samples();
+        final Samples execution = new Samples();
+        final Samples finishDelay = new Samples();
+
+        void add(final Sample sample) {
+            finished++;
+            retries += sample.retries;
+            if (sample.error != null) {
+                failed++;
+                final Long failures = failuresByCode.get(sample.error.code);
+                failuresByCode.put(sample.error.code, failures == null ? 1 : failures + 1);
+            }
+            queue.add(sample.queueMillis);
+            execution.add(sample.executionMillis);
+            finishDelay.add(sample.finishDelayMillis);
+        }
+    }
+
+    private final Map<String, Accumulator> channels = new LinkedHashMap<>();
+    private final Map<String, Accumulator> types = new LinkedHashMap<>();
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+
+    public Tracker track(final Command command, final String channel) {
+        return new Tracker(command.id, command.getClass().getSimpleName(), channel);
+    }
+
+    public void addListener(final Listener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(final Listener listener) {
+        listeners.remove(listener);
+    }
+
+    public synchronized Snapshot getSnapshot() {
+        return new Snapshot(snapshot(channels), snapshot(types));
+    }
+
+    public synchronized void reset() {
+        channels.clear();
+        types.clear();
+    }
+
+    private void record(final Sample sample) {
+        synchronized (this) {
+            accumulator(channels, sample.channel).add(sample);
+            accumulator(types, sample.type).add(sample);
+        }
+
+        for (final Listener listener : listeners) {
+            listener.onCommandMeasured(sample);
+        }
+    }
+
+    private static Accumulator accumulator(final Map<String, Accumulator> accumulators, final String key) {
+        Accumulator accumulator = accumulators.get(key);
+        if (accumulator == null) {
+            accumulator = new Accumulator();
+            accumulators.put(key, accumulator);
+        }
+        return accumulator;
+    }
+
+    private static Map<String, Statistics> snapshot(final Map<String, Accumulator> accumulators) {
+        final Map<String, Statistics> statistics = new LinkedHashMap<>();
+        for (final Map.Entry<String, Accumulator> entry : accumulators.entrySet()) {
+            statistics.put(entry.getKey(), new Statistics(entry.getValue()));
+        }
+        return statistics;
+    }
+}
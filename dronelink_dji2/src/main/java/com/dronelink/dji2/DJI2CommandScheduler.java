@@ -0,0 +1,81 @@
+//  DJI2CommandScheduler.java
+//  DronelinkDJI2
+//
+//  Created by agent on 10/17/26.
+//  Copyright © 2026 Dronelink. All rights reserved.
+//
+package com.dronelink.dji2;
+
+import java.util.PriorityQueue;
+
+//parks the session command thread until there is something to do:
+//signal() wakes it immediately (command added or finished), signal(delayMillis) wakes it once the delay expires (finish delays)
+//delayed signals are kept in a min-heap, so overlapping finish delays each wake the thread when they expire
+public class DJI2CommandScheduler {
+    private final Object lock = new Object();
+    private final PriorityQueue<Long> deadlines = new PriorityQueue<>();
+    private boolean signaled = false;
+    private boolean closed = false;
+
+    public void signal() {
+        synchronized (lock) {
+            signaled = true;
+            lock.notifyAll();
+        }
+    }
+
+    public void signal(final long delayMillis) {
+        if (delayMillis <= 0) {
+            signal();
+            return;
+        }
+
+        synchronized (lock) {
+            final long target = System.nanoTime() + delayMillis * 1_000_000L;
+            deadlines.add(target);
+            //only an earlier deadline changes how long the thread waits
+            if (deadlines.peek() == target) {
+                lock.notifyAll();
+            }
+        }
+    }
+
+    //blocks until signaled, a delayed signal expires, or maxWaitMillis elapses (0 = wait indefinitely)
+    public void await(final long maxWaitMillis) throws InterruptedException {
+        synchronized (lock) {
+            final long limit = maxWaitMillis > 0 ? System.nanoTime() + maxWaitMillis * 1_000_000L : Long.MAX_VALUE;
+            while (!signaled && !closed) {
+                final long now = System.nanoTime();
+                if (!deadlines.isEmpty() && now >= deadlines.peek()) {
+                    //one wake covers every deadline that has expired, the later ones stay queued
+                    while (!deadlines.isEmpty() && now >= deadlines.peek()) {
+                        deadlines.poll();
+                    }
+                    break;
+                }
+
+                final long until = deadlines.isEmpty() ? limit : Math.min(deadlines.peek(), limit);
+                if (until == Long.MAX_VALUE) {
+                    lock.wait();
+                    continue;
+                }
+
+                if (now >= until) {
+                    break;
+                }
+
+                final long remaining = until - now;
+                lock.wait(remaining / 1_000_000L, (int)(remaining % 1_000_000L));
+            }
+            signaled = false;
+        }
+    }
+
+    public void close() {
+        synchronized (lock) {
+            closed = true;
+            deadlines.clear();
+            lock.notifyAll();
+        }
+    }
+}
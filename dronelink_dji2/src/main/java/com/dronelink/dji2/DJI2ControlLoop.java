@@ -0,0 +1,193 @@
+//  DJI2ControlLoop.java
+//  DronelinkDJI2
+//
+//  Created by agent on 10/17/26.
+//  Copyright © 2026 Dronelink. All rights reserved.
+//
+package com.dronelink.dji2;
+
+import android.util.Log;
+
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+//runs a task at a fixed rate on the session executor pool while started, and measures how steady that rate actually is
+//owners start it when there is something to send and stop it when there isn't, so an idle loop costs nothing
+public class DJI2ControlLoop {
+    private static final String TAG = DJI2ControlLoop.class.getCanonicalName();
+
+    public static final int MIN_RATE_HZ = 1;
+    public static final int MAX_RATE_HZ = 100;
+
+    public static class Statistics {
+        public final int rateHz;
+        public final long ticks;
+        //ticks whose execution took longer than the period
+        public final long overruns;
+        //deviation of the measured tick interval from the period
+        public final double jitterMeanMillis;
+        public final double jitterMaxMillis;
+        public final double durationMeanMillis;
+        public final double durationMaxMillis;
+
+        private Statistics(final int rateHz, final long ticks, final long overruns, final double jitterMeanMillis, final double jitterMaxMillis, final double durationMeanMillis, final double durationMaxMillis) {
+            this.rateHz = rateHz;
+            this.ticks = ticks;
+            this.overruns = overruns;
+            this.jitterMeanMillis = jitterMeanMillis;
+            this.jitterMaxMillis = jitterMaxMillis;
+            this.durationMeanMillis = durationMeanMillis;
+            this.durationMaxMillis = durationMaxMillis;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%dHz ticks=%d overruns=%d jitter(mean=%.2fms, max=%.2fms) duration(mean=%.2fms, max=%.2fms)",
+                    rateHz, ticks, overruns, jitterMeanMillis, jitterMaxMillis, durationMeanMillis, durationMaxMillis);
+        }
+    }
+
+    private final String name;
+    private final Runnable task;
+    private final DJI2ExecutorPool.Lease executors;
+    private ScheduledFuture<?> scheduled;
+    private boolean running = false;
+    private boolean closed = false;
+    private int rateHz;
+    private long periodNanos;
+    private long previousTickNanos = 0;
+    private long ticks = 0;
+    private long overruns = 0;
+    private long intervals = 0;
+    private long jitterTotalNanos = 0;
+    private long jitterMaxNanos = 0;
+    private long durationTotalNanos = 0;
+    private long durationMaxNanos = 0;
+
+    //stopped until start is called
+    public DJI2ControlLoop(final String name, final DJI2ExecutorPool.Lease executors, final int rateHz, final Runnable task) {
+        this.name = name;
+        this.executors = executors;
+        this.task = task;
+        this.rateHz = clamp(rateHz);
+        this.periodNanos = TimeUnit.SECONDS.toNanos(1) / this.rateHz;
+    }
+
+    public synchronized int getRate() {
+        return rateHz;
+    }
+
+    public synchronized void setRate(final int rateHz) {
+        final int clamped = clamp(rateHz);
+        if (clamped == this.rateHz) {
+            return;
+        }
+
+        this.rateHz = clamped;
+        this.periodNanos = TimeUnit.SECONDS.toNanos(1) / clamped;
+        resetStatistics();
+        Log.i(TAG, String.format("%s rate: %dHz", name, clamped));
+        if (running) {
+            cancel();
+            schedule();
+        }
+    }
+
+    public synchronized boolean isRunning() {
+        return running;
+    }
+
+    //ticks immediately and then at the rate until stopped (no-op if already running or closed)
+    public synchronized void start() {
+        if (running || closed) {
+            return;
+        }
+
+        running = true;
+        //the idle gap isn't jitter
+        previousTickNanos = 0;
+        schedule();
+    }
+
+    //can be called from the task, the current tick completes and no further ticks run
+    public synchronized void stop() {
+        if (!running) {
+            return;
+        }
+
+        running = false;
+        cancel();
+    }
+
+    public synchronized Statistics getStatistics() {
+        final double nanosPerMilli = TimeUnit.MILLISECONDS.toNanos(1);
+        return new Statistics(
+                rateHz,
+                ticks,
+                overruns,
+                intervals == 0 ? 0 : (jitterTotalNanos / (double)intervals) / nanosPerMilli,
+                jitterMaxNanos / nanosPerMilli,
+                ticks == 0 ? 0 : (durationTotalNanos / (double)ticks) / nanosPerMilli,
+                durationMaxNanos / nanosPerMilli);
+    }
+
+    public synchronized void resetStatistics() {
+        previousTickNanos = 0;
+        ticks = 0;
+        overruns = 0;
+        intervals = 0;
+        jitterTotalNanos = 0;
+        jitterMaxNanos = 0;
+        durationTotalNanos = 0;
+        durationMaxNanos = 0;
+    }
+
+    public synchronized void close() {
+        closed = true;
+        stop();
+    }
+
+    private void schedule() {
+        scheduled = executors.scheduleAtFixedRate(this::tick, 0, periodNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private void cancel() {
+        if (scheduled != null) {
+            scheduled.cancel(false);
+            scheduled = null;
+        }
+    }
+
+    private void tick() {
+        final long started = System.nanoTime();
+        try {
+            task.run();
+        }
+        catch (final Exception e) {
+            //an exception would otherwise silently cancel all future ticks
+            Log.e(TAG, name + " tick failed", e);
+        }
+        final long duration = System.nanoTime() - started;
+
+        synchronized (this) {
+            if (previousTickNanos > 0) {
+                final long jitter = Math.abs((started - previousTickNanos) - periodNanos);
+                jitterTotalNanos += jitter;
+                jitterMaxNanos = Math.max(jitterMaxNanos, jitter);
+                intervals++;
+            }
+            previousTickNanos = started;
+
+            ticks++;
+            durationTotalNanos += duration;
+            durationMaxNanos = Math.max(durationMaxNanos, duration);
+            if (duration > periodNanos) {
+                overruns++;
+            }
+        }
+    }
+
+    private static int clamp(final int rateHz) {
+        return Math.max(MIN_RATE_HZ, Math.min(MAX_RATE_HZ, rateHz));
+    }
+}
@@ -0,0 +1,84 @@
+//  DJI2DisengageEvaluator.java
+//  DronelinkDJI2
+//
+//  Created by agent on 10/17/26.
+//  Copyright © 2026 Dronelink. All rights reserved.
+//
+package com.dronelink.dji2;
+
+import android.util.Log;
+
+import com.dronelink.core.kernel.core.Message;
+
+import java.util.Date;
+import java.util.EnumMap;
+import java.util.Map;
+
+//caches the disengage reason message: the message is only created when the reason (or its detail) changes,
+//and the time each reason first appeared is recorded
+//the owners still evaluate the reason whenever the kernel asks for it: some inputs are not keys (telemetry delay is time based,
+//the control authority reason is a virtual stick callback), and evaluating is a handful of field reads,
+//so instead of driving it from the key listeners the owners pass the time the input behind the reason changed
+public class DJI2DisengageEvaluator<Reason extends Enum<Reason>> {
+    private static final String TAG = DJI2DisengageEvaluator.class.getCanonicalName();
+
+    public interface MessageFactory<Reason> {
+        Message create(Reason reason, Object detail);
+    }
+
+    private final String name;
+    private final MessageFactory<Reason> messageFactory;
+    private final EnumMap<Reason, Date> firstSeen;
+    private Reason reason;
+    private Object detail;
+    private Message message;
+    private Date since;
+
+    public DJI2DisengageEvaluator(final String name, final Class<Reason> reasonClass, final MessageFactory<Reason> messageFactory) {
+        this.name = name;
+        this.messageFactory = messageFactory;
+        this.firstSeen = new EnumMap<>(reasonClass);
+    }
+
+    //reason is null when there is no reason to disengage
+    //changedMillis is when the input that produced the reason changed (e.g. the key update), 0 if unknown (now)
+    public synchronized Message evaluate(final Reason reason, final Object detail, final long changedMillis) {
+        if (reason == this.reason && (detail == null ? this.detail == null : detail.equals(this.detail))) {
+            return message;
+        }
+
+        if (this.reason != null) {
+            Log.i(TAG, String.format("%s disengage reason cleared: %s (after %dms)", name, this.reason.name(), System.currentTimeMillis() - since.getTime()));
+        }
+
+        this.reason = reason;
+        this.detail = detail;
+        if (reason == null) {
+            message = null;
+            since = null;
+            return null;
+        }
+
+        since = new Date(changedMillis > 0 ? changedMillis : System.currentTimeMillis());
+        if (!firstSeen.containsKey(reason)) {
+            firstSeen.put(reason, since);
+        }
+        message = messageFactory.create(reason, detail);
+        Log.i(TAG, String.format("%s disengage reason: %s%s", name, reason.name(), detail == null ? "" : " (" + detail + ")"));
+        return message;
+    }
+
+    public synchronized Reason getReason() {
+        return reason;
+    }
+
+    //when the current reason appeared, null if there is no current reason
+    public synchronized Date getSince() {
+        return since;
+    }
+
+    //when each reason was first observed
+    public synchronized Map<Reason, Date> getFirstSeen() {
+        return new EnumMap<>(firstSeen);
+    }
+}
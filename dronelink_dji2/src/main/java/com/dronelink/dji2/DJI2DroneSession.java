@@ -54,12 +54,21 @@ import com.dronelink.dji2.adapters.DJI2LiveStreamingAdapter;
 import com.dronelink.dji2.adapters.DJI2RTKAdapter;
 import com.dronelink.dji2.adapters.DJI2RemoteControllerAdapter;
 
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Collections;
 import java.util.Date;
-import java.util.LinkedList;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 
 import dji.sdk.errorcode.DJIErrorCode;
 import dji.sdk.keyvalue.key.FlightControllerKey;
@@ -67,17 +76,31 @@ import dji.sdk.keyvalue.key.GimbalKey;
 import dji.sdk.keyvalue.key.KeyTools;
 import dji.sdk.keyvalue.value.flightcontroller.FlightMode;
 import dji.sdk.keyvalue.value.gimbal.GimbalSpeedRotation;
+import dji.sdk.keyvalue.value.product.ProductType;
 import dji.v5.common.callback.CommonCallbacks;
 import dji.v5.common.error.IDJIError;
-import dji.v5.manager.KeyManager;
 
 //TODO onVideoFeedSourceUpdated
 public class DJI2DroneSession implements DroneSession, DJI2DroneAdapter.CameraFileGeneratedCallback {
     private static final String TAG = DJI2DroneSession.class.getCanonicalName();
 
+    //streaming keys refresh on their own shortly after the link comes back, only the quiet ones are fetched
+    private static final long REVALIDATE_DELAY_MILLIS = 1000;
+    private static final long TelemetryDelayedMillis = 2000;
+
+    public enum DisengageReason {
+        DISCONNECTED,
+        TELEMETRY_UNAVAILABLE,
+        TELEMETRY_DELAYED,
+        MAX_DISTANCE,
+        RC_MODE,
+        FLIGHT_MODE
+    }
+
     private String id = UUID.randomUUID().toString();
     private final Context context;
-    private final DroneSessionManager manager;
+    private final DJI2DroneSessionManager manager;
+    private final ProductType productType;
     private final DJI2DroneAdapter droneAdapter;
     public boolean initialized = false;
     public boolean located = false;
@@ -86,24 +109,58 @@ public class DJI2DroneSession implements DroneSession, DJI2DroneAdapter.CameraFi
 
     private final Date opened = new Date();
     private boolean closed = false;
+    private long closedMillis;
     public boolean isClosed() {
         return closed;
     }
 
-    private final List<Listener> listeners = new LinkedList<>();
-    private final ExecutorService listenerExecutor = Executors.newSingleThreadExecutor();
+    //the link dropped, but the session is kept in case the same aircraft reconnects (see DJI2DroneSessionManager)
+    private volatile boolean suspended = false;
+    private long suspendedMillis;
+    public boolean isSuspended() {
+        return suspended;
+    }
+
+    private final DJI2ExecutorPool executorPool;
+    private final DJI2ExecutorPool.Lease executors;
+    private final DJI2EventDispatcher<Listener> listeners;
 
     private final CommandQueue droneCommands = new CommandQueue();
     private final MultiChannelCommandQueue remoteControllerCommands = new MultiChannelCommandQueue();
     private final MultiChannelCommandQueue cameraCommands = new MultiChannelCommandQueue();
     private final MultiChannelCommandQueue gimbalCommands = new MultiChannelCommandQueue();
-
-    public DJI2DroneSession(final Context context, final DroneSessionManager manager) {
+    private final DJI2CommandScheduler commandScheduler = new DJI2CommandScheduler();
+    private final DJI2DisengageEvaluator<DisengageReason> disengageEvaluator = new DJI2DisengageEvaluator<>("Drone session", DisengageReason.class, (reason, detail) -> createDisengageMessage(reason));
+    private final DJI2CommandMetrics commandMetrics = new DJI2CommandMetrics();
+    //queued commands that haven't finished, by instance (kernel command ids can repeat)
+    //removed when a command finishes or its queue is cleared (removeCommands, suspend, close)
+    private final Set<Command> pendingCommands = Collections.newSetFromMap(Collections.synchronizedMap(new IdentityHashMap<>()));
+    //the executing gimbal command per channel, published for the gimbal control loop (the queues belong to the command thread)
+    private final Map<Integer, GimbalCommand> activeGimbalCommands = new ConcurrentHashMap<>();
+    private final DJI2ControlLoop gimbalControlLoop;
+    //the latest virtual stick session, the gimbal control loop runs while it is active
+    private volatile DJI2VirtualStickSession controlSession;
+    private final DJI2FlightRecorder flightRecorder;
+    private final DJI2CapabilityCache capabilityCache;
+    private DJI2MediaIndex mediaIndex;
+    private DJI2MediaDownloader mediaDownloader;
+    private volatile boolean motorsOn = false;
+    private volatile String mediaIndexMission;
+
+    public DJI2DroneSession(final Context context, final DJI2DroneSessionManager manager, final ProductType productType) {
         Log.i(TAG, "Drone session opened (" + id + ")");
 
         this.context = context;
         this.manager = manager;
-        this.droneAdapter = new DJI2DroneAdapter(context, new CommonCallbacks.CompletionCallbackWithParam<String>() {
+        this.productType = productType;
+        this.executorPool = manager.getExecutorPool();
+        this.executors = executorPool.borrow("Drone session " + id);
+        this.listeners = new DJI2EventDispatcher<>("Drone session", executors);
+        //before the adapters, so the first value of every key is recorded
+        this.flightRecorder = createFlightRecorder(context, id);
+        //before the adapters, so they can seed their capabilities from it
+        this.capabilityCache = new DJI2CapabilityCache(new File(context.getFilesDir(), "DronelinkDJI2/capabilities"), productType, executors);
+        this.droneAdapter = new DJI2DroneAdapter(context, capabilityCache, executors, new CommonCallbacks.CompletionCallbackWithParam<String>() {
             @Override
             public void onSuccess(final String s) {
                 if (!initialized) {
@@ -126,72 +183,201 @@ public class DJI2DroneSession implements DroneSession, DJI2DroneAdapter.CameraFi
         djiListeners.init(KeyTools.createKey(FlightControllerKey.KeyAreMotorsOn), (oldValue, newValue) -> onMotorsChanged(newValue != null && newValue));
 
         runCommandThread();
+        //started by updateGimbalControlLoop
+        gimbalControlLoop = new DJI2ControlLoop("DJI2 gimbal control", executors, DronelinkDJI2.GimbalControlRateDefault, this::sendGimbalSpeedRotations);
     }
 
+    //a dedicated thread: the loop lives as long as the session, the shared pool is kept for short tasks
     private void runCommandThread() {
-        new Thread() {
-            @Override
-            public void run() {
-                try {
-                    while (!closed) {
-                        droneCommands.process();
-                        remoteControllerCommands.process();
-                        cameraCommands.process();
-                        gimbalCommands.process();
-
-                        final MissionExecutor missionExecutor = Dronelink.getInstance().getMissionExecutor();
-                        final ModeExecutor modeExecutor = Dronelink.getInstance().getModeExecutor();
-                        final boolean missionExecutorEngaged = (missionExecutor != null && missionExecutor.isEngaged());
-                        if (missionExecutorEngaged || (modeExecutor != null && modeExecutor.isEngaged())) {
-                            for (final GimbalAdapter gimbalAdapter : droneAdapter.getGimbals()) {
-                                //don't issue competing speed rotations, OrientationGimbalCommand always takes precedent
-                                boolean activeOrientationCommand = false;
-                                final CommandQueue queue = gimbalCommands.get(gimbalAdapter.getIndex());
-                                if (queue != null) {
-                                    final Command currentCommand = queue.getCurrentCommand();
-                                    activeOrientationCommand = currentCommand != null && currentCommand.kernelCommand instanceof OrientationGimbalCommand;
-                                }
-
-                                if (!activeOrientationCommand) {
-                                    if (gimbalAdapter instanceof DJI2GimbalAdapter) {
-                                        final DJI2GimbalAdapter djiGimbalAdapter = (DJI2GimbalAdapter) gimbalAdapter;
-                                        GimbalSpeedRotation speedRotation = djiGimbalAdapter.getPendingSpeedRotation();
-                                        djiGimbalAdapter.setPendingSpeedRotation(null);
-
-                                        //work-around for this issue: https://support.dronelink.com/hc/en-us/community/posts/360034749773-Seeming-to-have-a-Heading-error-
-                                        if (speedRotation == null) {
-                                            speedRotation = new GimbalSpeedRotation();
-                                        }
-
-                                        //this doesn't work because droneAdapter.getState().value.getOrientation().getYaw() is wrong!
-//                                        double yawRelativeToAircraftHeading = Convert.RadiansToDegrees(Convert.AngleDifferenceSigned(
-//                                                djiGimbalAdapter.getState().value.getOrientation().getYaw(),
-//                                                droneAdapter.getState().value.getOrientation().getYaw()));
-//                                        speedRotation.setYaw(Math.min(Math.max(-yawRelativeToAircraftHeading * 1.5, -25.0), 25.0));
-
-                                        if (missionExecutorEngaged) {
-                                            //TODO final DatedValue<Integer> remoteControllerGimbalChannel = state.remoteControllerGimbalChannel;
-                                            final int channel = 0; //TODO remoteControllerGimbalChannel == null || remoteControllerGimbalChannel.value == null ? 0 : remoteControllerGimbalChannel.value;
-                                            if (channel == gimbalAdapter.getIndex()) {
-                                                final DatedValue<RemoteControllerStateAdapter> remoteControllerState = getRemoteControllerState(channel);
-                                                if (remoteControllerState != null && remoteControllerState.value != null && remoteControllerState.value.getLeftWheel().value != 0) {
-                                                    speedRotation.setPitch(remoteControllerState.value.getLeftWheel().value * 10);
-                                                }
-                                            }
-                                        }
-
-                                        KeyManager.getInstance().performAction(djiGimbalAdapter.createKey(GimbalKey.KeyRotateBySpeed), speedRotation, null);
-                                    }
-                                }
-                            }
+        final Thread thread = new Thread(() -> {
+            try {
+                while (!closed) {
+                    //the queues are cleared on suspend, commands added while suspended are held until resume signals the scheduler
+                    if (!suspended) {
+                        try {
+                            droneCommands.process();
+                            remoteControllerCommands.process();
+                            cameraCommands.process();
+                            gimbalCommands.process();
                         }
+                        catch (final RuntimeException e) {
+                            //keep processing, one failing command shouldn't stop every queue for the rest of the session
+                            Log.e(TAG, "Command processing failed", e);
+                        }
+                    }
+
+                    //park until a command is added, completes (including failed attempts that will be retried) or finishes, or a finish delay expires
+                    commandScheduler.await(0);
+                }
+            }
+            catch (final InterruptedException ignored) {}
+        }, "DJI2 session commands " + id);
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    //runs the gimbal control loop only while a gimbal command is executing or a virtual stick session is active
+    //called after either changes (the loop also checks on every tick, since sessions deactivate without telling us)
+    private void updateGimbalControlLoop() {
+        synchronized (gimbalControlLoop) {
+            final DJI2VirtualStickSession controlSession = this.controlSession;
+            if (!activeGimbalCommands.isEmpty() || (controlSession != null && !controlSession.isDeactivated())) {
+                gimbalControlLoop.start();
+            }
+            else {
+                gimbalControlLoop.stop();
+            }
+        }
+    }
+
+    private void sendGimbalSpeedRotations() {
+        updateGimbalControlLoop();
+        final MissionExecutor missionExecutor = Dronelink.getInstance().getMissionExecutor();
+        final ModeExecutor modeExecutor = Dronelink.getInstance().getModeExecutor();
+        final boolean missionExecutorEngaged = (missionExecutor != null && missionExecutor.isEngaged());
+        if (suspended || (!missionExecutorEngaged && (modeExecutor == null || !modeExecutor.isEngaged()))) {
+            return;
+        }
 
-                        sleep(100);
+        for (final GimbalAdapter gimbalAdapter : droneAdapter.getGimbals()) {
+            //don't issue competing speed rotations, OrientationGimbalCommand always takes precedent
+            if (!(activeGimbalCommands.get(gimbalAdapter.getIndex()) instanceof OrientationGimbalCommand)) {
+                if (gimbalAdapter instanceof DJI2GimbalAdapter) {
+                    final DJI2GimbalAdapter djiGimbalAdapter = (DJI2GimbalAdapter) gimbalAdapter;
+                    final DJI2GimbalAdapter.SpeedRotation pendingSpeedRotation = djiGimbalAdapter.takePendingSpeedRotation();
+
+                    //work-around for this issue: https://support.dronelink.com/hc/en-us/community/posts/360034749773-Seeming-to-have-a-Heading-error-
+                    //(always send a speed rotation, even if it is zero)
+                    final GimbalSpeedRotation speedRotation = pendingSpeedRotation == null ? new GimbalSpeedRotation() : pendingSpeedRotation.toGimbalSpeedRotation();
+
+                    //this doesn't work because droneAdapter.getState().value.getOrientation().getYaw() is wrong!
+//                    double yawRelativeToAircraftHeading = Convert.RadiansToDegrees(Convert.AngleDifferenceSigned(
+//                            djiGimbalAdapter.getState().value.getOrientation().getYaw(),
+//                            droneAdapter.getState().value.getOrientation().getYaw()));
+//                    speedRotation.setYaw(Math.min(Math.max(-yawRelativeToAircraftHeading * 1.5, -25.0), 25.0));
+
+                    if (missionExecutorEngaged) {
+                        //TODO final DatedValue<Integer> remoteControllerGimbalChannel = state.remoteControllerGimbalChannel;
+                        final int channel = 0; //TODO remoteControllerGimbalChannel == null || remoteControllerGimbalChannel.value == null ? 0 : remoteControllerGimbalChannel.value;
+                        if (channel == gimbalAdapter.getIndex()) {
+                            final DatedValue<RemoteControllerStateAdapter> remoteControllerState = getRemoteControllerState(channel);
+                            if (remoteControllerState != null && remoteControllerState.value != null && remoteControllerState.value.getLeftWheel().value != 0) {
+                                speedRotation.setPitch(remoteControllerState.value.getLeftWheel().value * 10);
+                            }
+                        }
                     }
+
+                    DronelinkDJI2.getSDK().performAction(djiGimbalAdapter.createKey(GimbalKey.KeyRotateBySpeed), speedRotation, null);
                 }
-                catch (final InterruptedException ignored) {}
             }
-        }.start();
+        }
+    }
+
+    public int getGimbalControlRate() {
+        return gimbalControlLoop.getRate();
+    }
+
+    //rate (Hz) at which gimbal speed rotations are sent while a mission or mode executor is engaged, e.g. 10, 20 or 50
+    public void setGimbalControlRate(final int rateHz) {
+        gimbalControlLoop.setRate(rateHz);
+    }
+
+    public DJI2ControlLoop.Statistics getGimbalControlStatistics() {
+        return gimbalControlLoop.getStatistics();
+    }
+
+    public int getVirtualStickRate() {
+        return droneAdapter.getVirtualStickRate();
+    }
+
+    //rate (Hz) at which virtual stick setpoints are streamed to the aircraft, clamped to 5-25
+    public void setVirtualStickRate(final int rateHz) {
+        droneAdapter.setVirtualStickRate(rateHz);
+    }
+
+    public DJI2VirtualStickTransmitter.Statistics getVirtualStickStatistics() {
+        return droneAdapter.getVirtualStickStatistics();
+    }
+
+    public DJI2CapabilityCache getCapabilityCache() {
+        return capabilityCache;
+    }
+
+    //null if the flight recorder was disabled when the session opened, the session runs on a simulator, or another session is recording
+    public DJI2FlightRecorder getFlightRecorder() {
+        return flightRecorder;
+    }
+
+    //simulated sessions (including replays of recorded flights) are not recorded, so they never prune or add to the real flight records
+    private static DJI2FlightRecorder createFlightRecorder(final Context context, final String id) {
+        if (!DronelinkDJI2.isFlightRecorderEnabled() || DronelinkDJI2.getSDK() instanceof DJI2SimulatorSDKGateway) {
+            return null;
+        }
+
+        final DJI2FlightRecorder flightRecorder = new DJI2FlightRecorder(new File(context.getFilesDir(), "DronelinkDJI2/flight-records"), id, 8 * 1024 * 1024, 32);
+        if (!DronelinkDJI2.attachFlightRecorder(flightRecorder)) {
+            Log.w(TAG, "Flight recorder not started (" + id + "), another session is recording");
+            flightRecorder.close();
+            return null;
+        }
+        return flightRecorder;
+    }
+
+    //gains, link latency and step response statistics for heading control
+    public DJI2YawController getYawController() {
+        return droneAdapter.getYawController();
+    }
+
+    public Map<String, List<DJI2ListenerGroup.KeyStatistics>> getTelemetryStatistics() {
+        return droneAdapter.getTelemetryStatistics();
+    }
+
+    public JSONObject getTelemetryStatisticsJSON() throws JSONException {
+        final JSONObject json = new JSONObject();
+        json.put("captured", System.currentTimeMillis());
+        json.put("telemetryDelayed", isTelemetryDelayed());
+        for (final Map.Entry<String, List<DJI2ListenerGroup.KeyStatistics>> entry : getTelemetryStatistics().entrySet()) {
+            json.put(entry.getKey(), DJI2ListenerGroup.KeyStatistics.toJSON(entry.getValue()));
+        }
+        return json;
+    }
+
+    public ProductType getProductType() {
+        return productType;
+    }
+
+    //called by the manager when the link drops
+    //queued commands are removed rather than held: the kernel sees the session as DISCONNECTED from here on,
+    //so nothing it queued before the dropout may run after a resume (it issues new commands once it re-engages)
+    void suspend() {
+        if (closed || suspended) {
+            return;
+        }
+
+        suspendedMillis = System.currentTimeMillis();
+        suspended = true;
+        removeCommands();
+        droneAdapter.suspend();
+        Log.i(TAG, "Drone session suspended: " + getSerialNumber());
+    }
+
+    //called by the manager once the same aircraft reconnected (reconnectedMillis), the adapters, listeners and command queues are kept
+    //keys that reported before the dropout but not shortly after the resume are revalidated, so values that changed during the dropout are picked up
+    //(a component whose connection key can't be revalidated is closed)
+    void resume(final long reconnectedMillis) {
+        if (closed || !suspended) {
+            return;
+        }
+
+        suspended = false;
+        droneAdapter.resume();
+        commandScheduler.signal();
+        Log.i(TAG, "Drone session resumed after " + (System.currentTimeMillis() - suspendedMillis) + "ms: " + getSerialNumber());
+        executors.schedule(() -> {
+            if (!closed && !suspended) {
+                Log.i(TAG, "Drone session revalidated " + droneAdapter.revalidateListeners(suspendedMillis, reconnectedMillis) + " keys");
+            }
+        }, REVALIDATE_DELAY_MILLIS, TimeUnit.MILLISECONDS);
     }
 
     @Override
@@ -261,26 +447,35 @@ public class DJI2DroneSession implements DroneSession, DJI2DroneAdapter.CameraFi
 
     @Override
     public boolean isTelemetryDelayed() {
-        return System.currentTimeMillis() - getState().date.getTime() > 2000;
+        return System.currentTimeMillis() - getState().date.getTime() > TelemetryDelayedMillis;
     }
 
     @Override
     public Message getDisengageReason() {
-        if (closed) {
-            return new Message(context.getString(R.string.MissionDisengageReason_drone_disconnected_title));
+        final DisengageReason reason = evaluateDisengageReason();
+        return disengageEvaluator.evaluate(reason, null, getDisengageReasonChangedMillis(reason));
+    }
+
+    public DJI2DisengageEvaluator<DisengageReason> getDisengageEvaluator() {
+        return disengageEvaluator;
+    }
+
+    private DisengageReason evaluateDisengageReason() {
+        if (closed || suspended) {
+            return DisengageReason.DISCONNECTED;
         }
 
         final FlightMode flightMode = droneAdapter.state.flightMode;
         if (flightMode == null) {
-            return new Message(context.getString(com.dronelink.core.R.string.MissionDisengageReason_telemetry_unavailable_title));
+            return DisengageReason.TELEMETRY_UNAVAILABLE;
         }
 
         if (isTelemetryDelayed()) {
-            return new Message(context.getString(R.string.MissionDisengageReason_telemetry_delayed_title), context.getString(R.string.MissionDisengageReason_telemetry_delayed_details));
+            return DisengageReason.TELEMETRY_DELAYED;
         }
 
         if (droneAdapter.state.isOutOfDistanceLimit) {
-            return new Message(context.getString(R.string.MissionDisengageReason_drone_max_distance_title), context.getString(R.string.MissionDisengageReason_drone_max_distance_details));
+            return DisengageReason.MAX_DISTANCE;
         }
 
         switch (flightMode) {
@@ -291,15 +486,62 @@ public class DJI2DroneSession implements DroneSession, DJI2DroneAdapter.CameraFi
 
             case GPS_SPORT:
             case GPS_TRIPOD:
-                return new Message(context.getString(R.string.MissionDisengageReason_take_control_failed_title), context.getString(R.string.MissionDisengageReason_take_control_failed_rc_mode_details));
+                return DisengageReason.RC_MODE;
 
             default:
-                return new Message(context.getString(R.string.MissionDisengageReason_take_control_failed_title), context.getString(R.string.MissionDisengageReason_take_control_failed_flight_mode_details));
+                return DisengageReason.FLIGHT_MODE;
         }
 
         return null;
     }
 
+    //when the input behind the reason changed, 0 if unknown
+    private long getDisengageReasonChangedMillis(final DisengageReason reason) {
+        if (reason == null) {
+            return 0;
+        }
+
+        switch (reason) {
+            case DISCONNECTED:
+                return closed ? closedMillis : suspendedMillis;
+
+            case TELEMETRY_DELAYED:
+                return getState().date.getTime() + TelemetryDelayedMillis;
+
+            case MAX_DISTANCE:
+                return droneAdapter.state.getOutOfDistanceLimitChangedMillis();
+
+            case TELEMETRY_UNAVAILABLE:
+            case RC_MODE:
+            case FLIGHT_MODE:
+            default:
+                return droneAdapter.state.getFlightModeChangedMillis();
+        }
+    }
+
+    private Message createDisengageMessage(final DisengageReason reason) {
+        switch (reason) {
+            case DISCONNECTED:
+                return new Message(context.getString(R.string.MissionDisengageReason_drone_disconnected_title));
+
+            case TELEMETRY_UNAVAILABLE:
+                return new Message(context.getString(com.dronelink.core.R.string.MissionDisengageReason_telemetry_unavailable_title));
+
+            case TELEMETRY_DELAYED:
+                return new Message(context.getString(R.string.MissionDisengageReason_telemetry_delayed_title), context.getString(R.string.MissionDisengageReason_telemetry_delayed_details));
+
+            case MAX_DISTANCE:
+                return new Message(context.getString(R.string.MissionDisengageReason_drone_max_distance_title), context.getString(R.string.MissionDisengageReason_drone_max_distance_details));
+
+            case RC_MODE:
+                return new Message(context.getString(R.string.MissionDisengageReason_take_control_failed_title), context.getString(R.string.MissionDisengageReason_take_control_failed_rc_mode_details));
+
+            case FLIGHT_MODE:
+            default:
+                return new Message(context.getString(R.string.MissionDisengageReason_take_control_failed_title), context.getString(R.string.MissionDisengageReason_take_control_failed_flight_mode_details));
+        }
+    }
+
     @Override
     public void identify(final String id) {
         this.id = id;
@@ -307,82 +549,138 @@ public class DJI2DroneSession implements DroneSession, DJI2DroneAdapter.CameraFi
 
     @Override
     public void addListener(final Listener listener) {
-        final DroneSession self = this;
-        listenerExecutor.execute(() -> {
-            listeners.add(listener);
+        addListener(listener, DJI2EventDispatcher.UNBOUNDED, DJI2EventDispatcher.OverflowPolicy.DROP_OLDEST);
+    }
 
+    //capacity only bounds the telemetry rate events (located, motors), lifecycle, command and file events are never dropped
+    public void addListener(final Listener listener, final int capacity, final DJI2EventDispatcher.OverflowPolicy overflowPolicy) {
+        final DroneSession self = this;
+        listeners.addListener(listener, capacity, overflowPolicy, added -> {
             if (isInitialized()) {
-                listener.onInitialized(self);
+                added.onInitialized(self);
             }
 
             if (isLocated()) {
-                listener.onLocated(self);
+                added.onLocated(self);
             }
         });
     }
 
     @Override
     public void removeListener(final Listener listener) {
-        listenerExecutor.execute(() -> listeners.remove(listener));
+        listeners.removeListener(listener);
+    }
+
+    public List<DJI2EventDispatcher.Statistics> getListenerStatistics() {
+        return listeners.getStatistics();
     }
 
     private void onInitialized() {
         Log.i(TAG, "Drone session initialized: " + getSerialNumber());
         final DJI2DroneSession self = this;
-        listenerExecutor.execute(() -> {
-            for (final Listener listener : listeners) {
-                listener.onInitialized(self);
-            }
-        });
+        listeners.publish(listener -> listener.onInitialized(self));
+        manager.onSessionInitialized(this);
     }
 
     private void onLocated() {
         Log.i(TAG, "Drone session located");
 
         final DJI2DroneSession self = this;
-        listenerExecutor.execute(() -> {
-            for (final Listener listener : listeners) {
-                listener.onLocated(self);
-            }
-        });
+        listeners.publishDroppable(listener -> listener.onLocated(self));
     }
 
     private void onMotorsChanged(final boolean value) {
-        final DJI2DroneSession self = this;
-        listenerExecutor.execute(() -> {
-            for (final Listener listener : listeners) {
-                listener.onMotorsChanged(self, value);
+        motorsOn = value;
+        synchronized (this) {
+            if (mediaDownloader != null) {
+                mediaDownloader.setMotorsOn(value);
             }
-        });
+        }
+
+        final DJI2DroneSession self = this;
+        listeners.publishDroppable(listener -> listener.onMotorsChanged(self, value));
     }
 
     private void onCommandExecuted(final com.dronelink.core.kernel.command.Command command) {
         final DJI2DroneSession self = this;
-        listenerExecutor.execute(() -> {
-            for (final Listener listener : listeners) {
-                listener.onCommandExecuted(self, command);
-            }
-        });
+        listeners.publish(listener -> listener.onCommandExecuted(self, command));
     }
 
     private void onCommandFinished(final com.dronelink.core.kernel.command.Command command, final CommandError error) {
         final DJI2DroneSession self = this;
-        listenerExecutor.execute(() -> {
-            for (final Listener listener : listeners) {
-                listener.onCommandFinished(self, command, error);
-            }
-        });
+        listeners.publish(listener -> listener.onCommandFinished(self, command, error));
     }
 
     public void onCameraFileGenerated(final DJI2CameraFile file) {
         final DJI2DroneSession self = this;
-        listenerExecutor.execute(() -> {
-            for (final Listener listener : listeners) {
-                listener.onCameraFileGenerated(self, file);
+        listeners.publish(listener -> listener.onCameraFileGenerated(self, file));
+
+        final DJI2MediaIndex.Entry entry = DJI2MediaIndex.Entry.create(file, getMediaIndexMission());
+        executors.execute(() -> {
+            final DJI2MediaIndex mediaIndex = getMediaIndex();
+            if (mediaIndex == null) {
+                Log.w(TAG, "Media index unavailable, camera file not indexed: " + entry.name);
+                return;
+            }
+
+            try {
+                mediaIndex.add(entry);
+            }
+            catch (final IOException e) {
+                Log.e(TAG, "Unable to index camera file: " + entry.name, e);
             }
         });
     }
 
+    //the index of camera files generated by this aircraft (across sessions), null until the serial number is known
+    public synchronized DJI2MediaIndex getMediaIndex() {
+        final String serialNumber = droneAdapter.serialNumber;
+        if (serialNumber == null || closed) {
+            return null;
+        }
+
+        if (mediaIndex == null) {
+            try {
+                mediaIndex = new DJI2MediaIndex(new File(context.getFilesDir(), "DronelinkDJI2/media-index"), serialNumber);
+            }
+            catch (final IOException e) {
+                Log.e(TAG, "Unable to open media index", e);
+            }
+        }
+        return mediaIndex;
+    }
+
+    //downloads original media files from the camera, throttled while the motors are on, null once closed
+    public synchronized DJI2MediaDownloader getMediaDownloader() {
+        if (closed) {
+            return null;
+        }
+
+        if (mediaDownloader == null) {
+            mediaDownloader = new DJI2MediaDownloader(executorPool);
+            mediaDownloader.setMotorsOn(motorsOn);
+        }
+        return mediaDownloader;
+    }
+
+    //the mission recorded with camera files, defaults to the name of the engaged mission
+    public String getMediaIndexMission() {
+        final String mission = mediaIndexMission;
+        if (mission != null) {
+            return mission;
+        }
+
+        final MissionExecutor missionExecutor = Dronelink.getInstance().getMissionExecutor();
+        if (missionExecutor != null && missionExecutor.isEngaged() && missionExecutor.descriptors != null) {
+            return missionExecutor.descriptors.name;
+        }
+        return null;
+    }
+
+    public void setMediaIndexMission(final String mission) {
+        mediaIndexMission = mission;
+    }
+
     @Override
     public void addCommand(final com.dronelink.core.kernel.command.Command command) throws CommandTypeUnhandledException, Dronelink.UnregisteredException {
         Command.Executor executor = null;
@@ -440,6 +738,8 @@ public class DJI2DroneSession implements DroneSession, DJI2DroneAdapter.CameraFi
         else if (command instanceof GimbalCommand) {
             executor = finished -> {
                 onCommandExecuted(command);
+                activeGimbalCommands.put(((GimbalCommand) command).channel, (GimbalCommand) command);
+                updateGimbalControlLoop();
                 final GimbalAdapter gimbal = droneAdapter.getGimbal(((GimbalCommand) command).channel);
                 if (gimbal == null) {
                     return new CommandError(context.getString(R.string.MissionDisengageReason_drone_gimbal_unavailable_title));
@@ -449,11 +749,32 @@ public class DJI2DroneSession implements DroneSession, DJI2DroneAdapter.CameraFi
         }
 
         if (executor != null) {
+            final Command.Executor commandExecutor = executor;
+            final AtomicReference<Command> queued = new AtomicReference<>();
+            final DJI2CommandMetrics.Tracker tracker = commandMetrics.track(command, getCommandChannel(command));
             final Command c = new Command(
                     command,
-                    executor,
-                    error -> onCommandFinished(command, error),
+                    //wake the command thread as soon as the command completes (and again after any finish delay)
+                    finished -> {
+                        tracker.executed();
+                        return commandExecutor.execute(error -> {
+                            tracker.completed();
+                            finished.execute(error);
+                            onCommandCompleted(queued.get());
+                        });
+                    },
+                    error -> {
+                        tracker.finished(error);
+                        pendingCommands.remove(queued.get());
+                        if (command instanceof GimbalCommand) {
+                            activeGimbalCommands.remove(((GimbalCommand) command).channel, command);
+                            updateGimbalControlLoop();
+                        }
+                        onCommandFinished(command, error);
+                        commandScheduler.signal();
+                    },
                     command.getConfig());
+            queued.set(c);
 
             if (c.config.retriesEnabled == null) {
                 //disable retries when the DJI SDK reports that the product does not support the feature
@@ -467,44 +788,88 @@ public class DJI2DroneSession implements DroneSession, DJI2DroneAdapter.CameraFi
                 }
             }
 
-            if (command instanceof DroneCommand) {
-                droneCommands.addCommand(c);
-            }
-            else if (command instanceof RTKCommand) {
-                droneCommands.addCommand(c);
-            }
-            else if (command instanceof LiveStreamingCommand) {
-                droneCommands.addCommand(c);
-            }
-            else if (command instanceof RemoteControllerCommand) {
-                remoteControllerCommands.addCommand(((RemoteControllerCommand)command).channel, c);
+            pendingCommands.add(c);
+            try {
+                if (command instanceof DroneCommand) {
+                    droneCommands.addCommand(c);
+                }
+                else if (command instanceof RTKCommand) {
+                    droneCommands.addCommand(c);
+                }
+                else if (command instanceof LiveStreamingCommand) {
+                    droneCommands.addCommand(c);
+                }
+                else if (command instanceof RemoteControllerCommand) {
+                    remoteControllerCommands.addCommand(((RemoteControllerCommand)command).channel, c);
+                }
+                else if (command instanceof CameraCommand) {
+                    cameraCommands.addCommand(((CameraCommand)command).channel, c);
+                }
+                //GimbalCommand
+                else {
+                    gimbalCommands.addCommand(((GimbalCommand)command).channel, c);
+                }
             }
-            else if (command instanceof CameraCommand) {
-                cameraCommands.addCommand(((CameraCommand)command).channel, c);
-            }
-            //GimbalCommand
-            else {
-                gimbalCommands.addCommand(((GimbalCommand)command).channel, c);
+            catch (final RuntimeException e) {
+                //never queued, so it will never finish
+                pendingCommands.remove(c);
+                throw e;
             }
+            commandScheduler.signal();
             return;
         }
 
         throw new CommandTypeUnhandledException();
     }
 
+    private String getCommandChannel(final com.dronelink.core.kernel.command.Command command) {
+        if (command instanceof RemoteControllerCommand) {
+            return "remoteController." + ((RemoteControllerCommand)command).channel;
+        }
+
+        if (command instanceof CameraCommand) {
+            return "camera." + ((CameraCommand)command).channel;
+        }
+
+        if (command instanceof GimbalCommand) {
+            return "gimbal." + ((GimbalCommand)command).channel;
+        }
+
+        return "drone";
+    }
+
+    public DJI2CommandMetrics getCommandMetrics() {
+        return commandMetrics;
+    }
+
     @Override
     public void removeCommands() {
         droneCommands.removeAll();
         remoteControllerCommands.removeAll();
         cameraCommands.removeAll();
         gimbalCommands.removeAll();
+        pendingCommands.clear();
+        activeGimbalCommands.clear();
+        updateGimbalControlLoop();
+        commandScheduler.signal();
+    }
+
+    private void onCommandCompleted(final Command command) {
+        commandScheduler.signal();
+        final Double finishDelayMillis = command == null ? null : command.config.finishDelayMillis;
+        if (finishDelayMillis != null && finishDelayMillis > 0) {
+            commandScheduler.signal(finishDelayMillis.longValue());
+        }
     }
 
     @Override
     public DroneControlSession createControlSession(final Context context, final ExecutionEngine executionEngine, final Executor executor) throws UnsupportedExecutionEngineException, UnsupportedDroneDJIExecutionEngineException {
         switch (executionEngine) {
             case DRONELINK_KERNEL:
-                return new DJI2VirtualStickSession(context, droneAdapter);
+                final DJI2VirtualStickSession controlSession = new DJI2VirtualStickSession(context, droneAdapter);
+                this.controlSession = controlSession;
+                updateGimbalControlLoop();
+                return controlSession;
 
             case DJI:
             case DJI2:
@@ -571,7 +936,32 @@ public class DJI2DroneSession implements DroneSession, DJI2DroneAdapter.CameraFi
 
         djiListeners.cancelAll();
         droneAdapter.close();
+        closedMillis = System.currentTimeMillis();
         closed = true;
+        synchronized (this) {
+            if (mediaIndex != null) {
+                mediaIndex.close();
+            }
+            if (mediaDownloader != null) {
+                mediaDownloader.close();
+            }
+        }
+        capabilityCache.close();
+        removeCommands();
+        if (flightRecorder != null) {
+            DronelinkDJI2.detachFlightRecorder(flightRecorder);
+            flightRecorder.close();
+        }
+        commandScheduler.close();
+        gimbalControlLoop.close();
+        executors.release();
+        Log.i(TAG, "Gimbal control: " + gimbalControlLoop.getStatistics());
+        for (final DJI2EventDispatcher.Statistics statistics : listeners.getStatistics()) {
+            Log.i(TAG, "Listener: " + statistics);
+        }
+        for (final Map.Entry<String, DJI2CommandMetrics.Statistics> entry : commandMetrics.getSnapshot().channels.entrySet()) {
+            Log.i(TAG, "Commands (" + entry.getKey() + "): " + entry.getValue());
+        }
         Log.i(TAG, "Drone session closed: " + getModel());
     }
 }
\ No newline at end of file
@@ -10,6 +10,7 @@ import android.content.Context;
 import android.os.AsyncTask;
 import android.util.Log;
 
+import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 
 import com.dronelink.core.DroneSession;
@@ -21,8 +22,12 @@ import com.dronelink.core.kernel.core.Message;
 import java.util.ArrayList;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 
+import dji.sdk.keyvalue.key.FlightControllerKey;
 import dji.sdk.keyvalue.key.KeyTools;
 import dji.sdk.keyvalue.key.ProductKey;
 import dji.sdk.keyvalue.key.RemoteControllerKey;
@@ -30,7 +35,6 @@ import dji.sdk.keyvalue.value.product.ProductType;
 import dji.v5.common.callback.CommonCallbacks;
 import dji.v5.common.error.IDJIError;
 import dji.v5.common.register.DJISDKInitEvent;
-import dji.v5.manager.KeyManager;
 import dji.v5.manager.SDKManager;
 import dji.v5.manager.aircraft.uas.AreaStrategy;
 import dji.v5.manager.aircraft.uas.UASRemoteIDManager;
@@ -40,6 +44,38 @@ import dji.v5.manager.interfaces.SDKManagerCallback;
 public class DJI2DroneSessionManager implements DroneSessionManager {
     private static final String TAG = DJI2DroneSessionManager.class.getCanonicalName();
 
+    //reconnect-to-ready times: a resumed session is ready once the serial number confirms the aircraft,
+    //an opened session once it is initialized
+    public static class ReconnectStatistics {
+        public final long resumed;
+        public final long opened;
+        //suspended sessions closed because the aircraft didn't reconnect within the grace window
+        public final long expired;
+        //suspended sessions closed because a different aircraft (or none) was confirmed
+        public final long rejected;
+        public final long resumeLastMillis;
+        public final double resumeMeanMillis;
+        public final long openLastMillis;
+        public final double openMeanMillis;
+
+        private ReconnectStatistics(final long resumed, final long opened, final long expired, final long rejected, final long resumeLastMillis, final double resumeMeanMillis, final long openLastMillis, final double openMeanMillis) {
+            this.resumed = resumed;
+            this.opened = opened;
+            this.expired = expired;
+            this.rejected = rejected;
+            this.resumeLastMillis = resumeLastMillis;
+            this.resumeMeanMillis = resumeMeanMillis;
+            this.openLastMillis = openLastMillis;
+            this.openMeanMillis = openMeanMillis;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.US, "resumed=%d (last=%dms mean=%.0fms) opened=%d (last=%dms mean=%.0fms) expired=%d rejected=%d",
+                    resumed, resumeLastMillis, resumeMeanMillis, opened, openLastMillis, openMeanMillis, expired, rejected);
+        }
+    }
+
     private final Context context;
     private DJI2DroneSession session;
     private final AtomicBoolean isRegistrationInProgress = new AtomicBoolean(false);
@@ -49,10 +85,60 @@ public class DJI2DroneSessionManager implements DroneSessionManager {
     private UASRemoteIDStatus uasRemoteIDStatus;
 
     private final List<Listener> listeners = new LinkedList<>();
+    //shared by every session this manager opens for short tasks (listener dispatch, timers), long-lived loops keep their own threads
+    private final DJI2ExecutorPool executorPool = new DJI2ExecutorPool("DJI2 session", 4);
+    private final DJI2ExecutorPool.Lease executors = executorPool.borrow("Drone session manager");
+
+    private volatile long sessionResumeGraceMillis = DronelinkDJI2.SessionResumeGraceMillisDefault;
+    //the last valid product type, null while disconnected
+    private ProductType productType;
+    //incremented on every product type change, so stale expirations and serial number lookups are ignored
+    private long productTypeChanges = 0;
+    private ScheduledFuture<?> suspendedSessionExpiration;
+    private DJI2DroneSession openingSession;
+    private long openingNanos;
+    private long resumed = 0;
+    private long opened = 0;
+    private long expired = 0;
+    private long rejected = 0;
+    private long resumeLastMillis = 0;
+    private long resumeTotalMillis = 0;
+    private long openLastMillis = 0;
+    private long openTotalMillis = 0;
+
     public DJI2DroneSessionManager(final Context context) {
         this.context = context;
     }
 
+    public DJI2ExecutorPool getExecutorPool() {
+        return executorPool;
+    }
+
+    public DJI2ExecutorPool.Statistics getExecutorStatistics() {
+        return executorPool.getStatistics();
+    }
+
+    public long getSessionResumeGraceMillis() {
+        return sessionResumeGraceMillis;
+    }
+
+    //how long a session is suspended (instead of closed) after the link drops, 0 closes it immediately
+    public void setSessionResumeGraceMillis(final long graceMillis) {
+        sessionResumeGraceMillis = Math.max(0, graceMillis);
+    }
+
+    public synchronized ReconnectStatistics getReconnectStatistics() {
+        return new ReconnectStatistics(
+                resumed,
+                opened,
+                expired,
+                rejected,
+                resumeLastMillis,
+                resumed == 0 ? 0 : resumeTotalMillis / (double)resumed,
+                openLastMillis,
+                opened == 0 ? 0 : openTotalMillis / (double)opened);
+    }
+
     @Override
     public void setLocale(final String locale) {
         LocaleUtil.selectedLocale = locale;
@@ -74,7 +160,8 @@ public class DJI2DroneSessionManager implements DroneSessionManager {
     }
 
     @Override
-    public void closeSession() {
+    public synchronized void closeSession() {
+        cancelSuspendedSessionExpiration();
         final DroneSession previousSession = session;
         if (previousSession != null) {
             previousSession.close();
@@ -88,12 +175,12 @@ public class DJI2DroneSessionManager implements DroneSessionManager {
 
     @Override
     public void startRemoteControllerLinking(final Command.Finisher finisher) {
-        KeyManager.getInstance().performAction(KeyTools.createKey(RemoteControllerKey.KeyRequestPairing), DronelinkDJI2.createCompletionCallbackWithParam(finisher));
+        DronelinkDJI2.getSDK().performAction(KeyTools.createKey(RemoteControllerKey.KeyRequestPairing), DronelinkDJI2.createCompletionCallbackWithParam(finisher));
     }
 
     @Override
     public void stopRemoteControllerLinking(final Command.Finisher finisher) {
-        KeyManager.getInstance().performAction(KeyTools.createKey(RemoteControllerKey.KeyStopPairing), DronelinkDJI2.createCompletionCallbackWithParam(finisher));
+        DronelinkDJI2.getSDK().performAction(KeyTools.createKey(RemoteControllerKey.KeyStopPairing), DronelinkDJI2.createCompletionCallbackWithParam(finisher));
     }
 
     @Override
@@ -130,6 +217,121 @@ public class DJI2DroneSessionManager implements DroneSessionManager {
         return messages;
     }
 
+    //called when the session finishes initializing
+    synchronized void onSessionInitialized(final DJI2DroneSession session) {
+        if (session != openingSession) {
+            return;
+        }
+
+        openingSession = null;
+        openLastMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - openingNanos);
+        openTotalMillis += openLastMillis;
+        opened++;
+        Log.i(TAG, "Drone session ready after " + openLastMillis + "ms (opened): " + getReconnectStatistics());
+    }
+
+    //a brief link dropout changes the product type to unknown and back, rather than closing the session (and every adapter and listener)
+    //right away, it is suspended for the grace window and resumed if the same aircraft (serial number) reconnects
+    private synchronized void onProductTypeChanged(final Context context, final @Nullable ProductType productType) {
+        productTypeChanges++;
+        final DJI2DroneSession session = this.session;
+        if (productType == null || productType == ProductType.UNKNOWN || productType == ProductType.UNRECOGNIZED) {
+            this.productType = null;
+            if (session == null || session.isSuspended()) {
+                return;
+            }
+
+            final long graceMillis = sessionResumeGraceMillis;
+            //a session that never learned its serial number can't be confirmed when the link comes back
+            if (graceMillis == 0 || session.getSerialNumber() == null) {
+                closeSession();
+                return;
+            }
+
+            session.suspend();
+            cancelSuspendedSessionExpiration();
+            suspendedSessionExpiration = executors.schedule(() -> onSuspendedSessionExpired(context, session, graceMillis), graceMillis, TimeUnit.MILLISECONDS);
+            return;
+        }
+
+        this.productType = productType;
+        final long reconnectedNanos = System.nanoTime();
+        if (session != null && session.isSuspended() && session.getProductType() == productType) {
+            //the expiration keeps running, so a lookup that never completes can't hold the session forever
+            final long changes = productTypeChanges;
+            DronelinkDJI2.getSDK().getValue(KeyTools.createKey(FlightControllerKey.KeySerialNumber), new CommonCallbacks.CompletionCallbackWithParam<String>() {
+                @Override
+                public void onSuccess(final String serialNumber) {
+                    onSuspendedSessionSerialNumber(context, session, changes, reconnectedNanos, serialNumber);
+                }
+
+                @Override
+                public void onFailure(final @NonNull IDJIError error) {
+                    Log.w(TAG, "Unable to confirm serial number: " + error.description());
+                    onSuspendedSessionSerialNumber(context, session, changes, reconnectedNanos, null);
+                }
+            });
+            return;
+        }
+
+        openSession(context, productType, reconnectedNanos);
+    }
+
+    private synchronized void onSuspendedSessionSerialNumber(final Context context, final DJI2DroneSession session, final long changes, final long reconnectedNanos, final String serialNumber) {
+        if (changes != productTypeChanges || session != this.session || !session.isSuspended()) {
+            return;
+        }
+
+        if (serialNumber == null || !serialNumber.equals(session.getSerialNumber())) {
+            Log.i(TAG, "Drone session not resumed, serial number: " + serialNumber);
+            rejected++;
+            openSession(context, productType, reconnectedNanos);
+            return;
+        }
+
+        cancelSuspendedSessionExpiration();
+        resumeLastMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - reconnectedNanos);
+        resumeTotalMillis += resumeLastMillis;
+        resumed++;
+        session.resume(System.currentTimeMillis() - resumeLastMillis);
+        Log.i(TAG, "Drone session ready after " + resumeLastMillis + "ms (resumed): " + getReconnectStatistics());
+    }
+
+    private synchronized void onSuspendedSessionExpired(final Context context, final DJI2DroneSession session, final long graceMillis) {
+        if (session != this.session || !session.isSuspended()) {
+            return;
+        }
+
+        Log.i(TAG, "Drone session not resumed within " + graceMillis + "ms");
+        expired++;
+        suspendedSessionExpiration = null;
+        closeSession();
+        //reconnected, but the serial number lookup didn't complete in time
+        if (productType != null) {
+            openSession(context, productType, System.nanoTime());
+        }
+    }
+
+    private void openSession(final Context context, final ProductType productType, final long reconnectedNanos) {
+        if (session != null) {
+            closeSession();
+        }
+
+        session = new DJI2DroneSession(context, this, productType);
+        openingSession = session;
+        openingNanos = reconnectedNanos;
+        for (final Listener listener : listeners) {
+            listener.onOpened(session);
+        }
+    }
+
+    private void cancelSuspendedSessionExpiration() {
+        if (suspendedSessionExpiration != null) {
+            suspendedSessionExpiration.cancel(false);
+            suspendedSessionExpiration = null;
+        }
+    }
+
     public void register(final Context context) {
         if (registered != null && registered) {
             return;
@@ -143,22 +345,10 @@ public class DJI2DroneSessionManager implements DroneSessionManager {
                     registered = true;
                     Log.i(TAG, "DJI SDK registered successfully");
 
-                    KeyManager.getInstance().listen(KeyTools.createKey(ProductKey.KeyProductType), this, new CommonCallbacks.KeyListener<ProductType>() {
+                    DronelinkDJI2.getSDK().listen(KeyTools.createKey(ProductKey.KeyProductType), this, new CommonCallbacks.KeyListener<ProductType>() {
                         @Override
                         public void onValueChange(final @Nullable ProductType oldValue, final @Nullable ProductType newValue) {
-                            if (newValue == null || newValue == ProductType.UNKNOWN || newValue == ProductType.UNRECOGNIZED) {
-                                closeSession();
-                            }
-                            else {
-                                if (session != null) {
-                                    closeSession();
-                                }
-
-                                session = new DJI2DroneSession(context, self);
-                                for (final Listener listener : listeners) {
-                                    listener.onOpened(session);
-                                }
-                            }
+                            onProductTypeChanged(context, newValue);
                         }
                     });
 
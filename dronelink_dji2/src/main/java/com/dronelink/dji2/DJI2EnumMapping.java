@@ -0,0 +1,76 @@
+//  DJI2EnumMapping.java
+//  DronelinkDJI2
+//
+//  Created by agent on 10/17/26.
+//  Copyright © 2026 Dronelink. All rights reserved.
+//
+package com.dronelink.dji2;
+
+import androidx.annotation.Nullable;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+//one-to-one mapping between a DJI enum and a kernel enum, both directions are built from the same pairs so they cannot drift apart
+public class DJI2EnumMapping<DJI extends Enum<DJI>, Kernel extends Enum<Kernel>> {
+    private final EnumMap<DJI, Kernel> kernelValues;
+    private final EnumMap<Kernel, DJI> djiValues;
+    private final DJI djiFallback;
+    private final Kernel kernelFallback;
+
+    public DJI2EnumMapping(final Class<DJI> djiClass, final Class<Kernel> kernelClass, final DJI djiFallback, final Kernel kernelFallback) {
+        this.kernelValues = new EnumMap<>(djiClass);
+        this.djiValues = new EnumMap<>(kernelClass);
+        this.djiFallback = djiFallback;
+        this.kernelFallback = kernelFallback;
+    }
+
+    public DJI2EnumMapping<DJI, Kernel> put(final DJI dji, final Kernel kernel) {
+        if (kernelValues.containsKey(dji)) {
+            throw new IllegalStateException("Duplicate DJI value: " + dji.name());
+        }
+
+        if (djiValues.containsKey(kernel)) {
+            throw new IllegalStateException("Duplicate kernel value: " + kernel.name());
+        }
+
+        kernelValues.put(dji, kernel);
+        djiValues.put(kernel, dji);
+        return this;
+    }
+
+    //self-check run once the table is built: every value must convert back to itself
+    public DJI2EnumMapping<DJI, Kernel> verify() {
+        for (final Map.Entry<DJI, Kernel> entry : kernelValues.entrySet()) {
+            if (djiValues.get(entry.getValue()) != entry.getKey()) {
+                throw new IllegalStateException("Mapping does not round-trip: " + entry.getKey().name() + " -> " + entry.getValue().name());
+            }
+        }
+
+        for (final Map.Entry<Kernel, DJI> entry : djiValues.entrySet()) {
+            if (kernelValues.get(entry.getValue()) != entry.getKey()) {
+                throw new IllegalStateException("Mapping does not round-trip: " + entry.getKey().name() + " -> " + entry.getValue().name());
+            }
+        }
+
+        return this;
+    }
+
+    public Kernel getKernel(final @Nullable DJI value) {
+        if (value == null) {
+            return kernelFallback;
+        }
+
+        final Kernel kernel = kernelValues.get(value);
+        return kernel == null ? kernelFallback : kernel;
+    }
+
+    public DJI getDJI(final @Nullable Kernel value) {
+        if (value == null) {
+            return djiFallback;
+        }
+
+        final DJI dji = djiValues.get(value);
+        return dji == null ? djiFallback : dji;
+    }
+}
@@ -0,0 +1,248 @@
+//  DJI2EventDispatcher.java
+//  DronelinkDJI2
+//
+//  Created by agent on 10/17/26.
+//  Copyright © 2026 Dronelink. All rights reserved.
+//
+package com.dronelink.dji2;
+
+import android.util.Log;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+//delivers events to each listener from its own queue, so a slow listener only delays itself
+//events for a listener are delivered in order, one at a time, on the provided executor
+//only events published with publishDroppable (telemetry rate state changes) are ever dropped, and only once a bounded queue is full
+//everything else (lifecycle, commands, files) is always queued, so listeners are unbounded by default
+public class DJI2EventDispatcher<Listener> {
+    private static final String TAG = DJI2EventDispatcher.class.getCanonicalName();
+
+    public static final int UNBOUNDED = Integer.MAX_VALUE;
+
+    public enum OverflowPolicy {
+        //discard the oldest queued droppable event to make room
+        DROP_OLDEST,
+        //discard the new droppable event
+        DROP_NEWEST
+    }
+
+    public interface Event<Listener> {
+        void deliver(Listener listener);
+    }
+
+    public static class Statistics {
+        public final String listener;
+        public final int capacity;
+        public final OverflowPolicy overflowPolicy;
+        public final int queued;
+        public final long delivered;
+        public final long dropped;
+        //time from publish to delivery
+        public final double lagMeanMillis;
+        public final double lagMaxMillis;
+
+        private Statistics(final String listener, final int capacity, final OverflowPolicy overflowPolicy, final int queued, final long delivered, final long dropped, final double lagMeanMillis, final double lagMaxMillis) {
+            this.listener = listener;
+            this.capacity = capacity;
+            this.overflowPolicy = overflowPolicy;
+            this.queued = queued;
+            this.delivered = delivered;
+            this.dropped = dropped;
+            this.lagMeanMillis = lagMeanMillis;
+            this.lagMaxMillis = lagMaxMillis;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s queued=%d/%s delivered=%d dropped=%d lag(mean=%.2fms, max=%.2fms)",
+                    listener, queued, capacity == UNBOUNDED ? "unbounded" : String.valueOf(capacity), delivered, dropped, lagMeanMillis, lagMaxMillis);
+        }
+    }
+
+    private static class Queued<Listener> {
+        final Event<Listener> event;
+        final long published;
+        final boolean droppable;
+
+        Queued(final Event<Listener> event, final long published, final boolean droppable) {
+            this.event = event;
+            this.published = published;
+            this.droppable = droppable;
+        }
+    }
+
+    private class Subscription implements Runnable {
+        final Listener listener;
+        final int capacity;
+        final OverflowPolicy overflowPolicy;
+        final ArrayDeque<Queued<Listener>> queue = new ArrayDeque<>();
+        boolean draining = false;
+        boolean removed = false;
+        long delivered = 0;
+        long dropped = 0;
+        long lagTotalNanos = 0;
+        long lagMaxNanos = 0;
+
+        Subscription(final Listener listener, final int capacity, final OverflowPolicy overflowPolicy) {
+            this.listener = listener;
+            this.capacity = Math.max(1, capacity);
+            this.overflowPolicy = overflowPolicy;
+        }
+
+        void publish(final Event<Listener> event, final long published, final boolean droppable) {
+            synchronized (this) {
+                if (removed) {
+                    return;
+                }
+
+                if (droppable && queue.size() >= capacity) {
+                    dropped++;
+                    if (dropped == 1 || dropped % 100 == 0) {
+                        Log.w(TAG, String.format("%s: listener queue full, dropped %d (%s)", name, dropped, listener));
+                    }
+
+                    //nothing droppable queued (the queue is full of lossless events), the new event goes instead
+                    if (overflowPolicy == OverflowPolicy.DROP_NEWEST || !dropOldest()) {
+                        return;
+                    }
+                }
+
+                queue.addLast(new Queued<>(event, published, droppable));
+                if (draining) {
+                    return;
+                }
+                draining = true;
+            }
+
+            executor.execute(this);
+        }
+
+        @Override
+        public void run() {
+            while (true) {
+                final Queued<Listener> next;
+                synchronized (this) {
+                    next = removed ? null : queue.pollFirst();
+                    if (next == null) {
+                        draining = false;
+                        return;
+                    }
+
+                    final long lag = System.nanoTime() - next.published;
+                    lagTotalNanos += lag;
+                    lagMaxNanos = Math.max(lagMaxNanos, lag);
+                    delivered++;
+                }
+
+                try {
+                    next.event.deliver(listener);
+                }
+                catch (final Exception e) {
+                    Log.e(TAG, name + ": listener failed (" + listener + ")", e);
+                }
+            }
+        }
+
+        private boolean dropOldest() {
+            final Iterator<Queued<Listener>> iterator = queue.iterator();
+            while (iterator.hasNext()) {
+                if (iterator.next().droppable) {
+                    iterator.remove();
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        synchronized void remove() {
+            removed = true;
+            queue.clear();
+        }
+
+        synchronized Statistics getStatistics() {
+            final double nanosPerMilli = TimeUnit.MILLISECONDS.toNanos(1);
+            return new Statistics(
+                    listener.toString(),
+                    capacity,
+                    overflowPolicy,
+                    queue.size(),
+                    delivered,
+                    dropped,
+                    delivered == 0 ? 0 : (lagTotalNanos / (double)delivered) / nanosPerMilli,
+                    lagMaxNanos / nanosPerMilli);
+        }
+    }
+
+    private final String name;
+    private final Executor executor;
+    private volatile Object[] subscriptions = new Object[0];
+
+    public DJI2EventDispatcher(final String name, final Executor executor) {
+        this.name = name;
+        this.executor = executor;
+    }
+
+    public void addListener(final Listener listener) {
+        addListener(listener, UNBOUNDED, OverflowPolicy.DROP_OLDEST, null);
+    }
+
+    //capacity bounds the droppable events only, initial is delivered to the new listener before any other event (and never dropped)
+    public synchronized void addListener(final Listener listener, final int capacity, final OverflowPolicy overflowPolicy, final Event<Listener> initial) {
+        final Subscription subscription = new Subscription(listener, capacity, overflowPolicy);
+        if (initial != null) {
+            subscription.publish(initial, System.nanoTime(), false);
+        }
+
+        final Object[] subscriptions = Arrays.copyOf(this.subscriptions, this.subscriptions.length + 1);
+        subscriptions[subscriptions.length - 1] = subscription;
+        this.subscriptions = subscriptions;
+    }
+
+    @SuppressWarnings("unchecked")
+    public synchronized void removeListener(final Listener listener) {
+        final List<Object> remaining = new ArrayList<>(subscriptions.length);
+        for (final Object subscription : subscriptions) {
+            if (((Subscription)subscription).listener == listener) {
+                ((Subscription)subscription).remove();
+            }
+            else {
+                remaining.add(subscription);
+            }
+        }
+        subscriptions = remaining.toArray();
+    }
+
+    //never dropped
+    public void publish(final Event<Listener> event) {
+        publish(event, false);
+    }
+
+    //dropped according to each listener's overflow policy once its queue is full, for state the next event supersedes
+    public void publishDroppable(final Event<Listener> event) {
+        publish(event, true);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void publish(final Event<Listener> event, final boolean droppable) {
+        final long published = System.nanoTime();
+        for (final Object subscription : subscriptions) {
+            ((Subscription)subscription).publish(event, published, droppable);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public List<Statistics> getStatistics() {
+        final Object[] subscriptions = this.subscriptions;
+        final List<Statistics> statistics = new ArrayList<>(subscriptions.length);
+        for (final Object subscription : subscriptions) {
+            statistics.add(((Subscription)subscription).getStatistics());
+        }
+        return statistics;
+    }
+}
@@ -0,0 +1,144 @@
+//  DJI2ExecutorPool.java
+//  DronelinkDJI2
+//
+//  Created by agent on 10/17/26.
+//  Copyright © 2026 Dronelink. All rights reserved.
+//
+package com.dronelink.dji2;
+
+import android.util.Log;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+//process-wide, fixed-size pool owned by DJI2DroneSessionManager
+//sessions borrow a lease and release it on close, so the thread count stays flat across reconnects
+public class DJI2ExecutorPool {
+    private static final String TAG = DJI2ExecutorPool.class.getCanonicalName();
+
+    public static class Statistics {
+        public final int threads;
+        public final int activeThreads;
+        public final int largestThreads;
+        public final int queued;
+        public final long completed;
+        public final int leases;
+
+        private Statistics(final int threads, final int activeThreads, final int largestThreads, final int queued, final long completed, final int leases) {
+            this.threads = threads;
+            this.activeThreads = activeThreads;
+            this.largestThreads = largestThreads;
+            this.queued = queued;
+            this.completed = completed;
+            this.leases = leases;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("threads=%d active=%d largest=%d queued=%d completed=%d leases=%d",
+                    threads, activeThreads, largestThreads, queued, completed, leases);
+        }
+    }
+
+    //the borrowed view of the pool: released leases reject new work and cancel their scheduled tasks
+    public class Lease implements Executor {
+        private final String owner;
+        private final List<ScheduledFuture<?>> scheduled = new ArrayList<>();
+        private volatile boolean released = false;
+
+        private Lease(final String owner) {
+            this.owner = owner;
+        }
+
+        @Override
+        public void execute(final Runnable command) {
+            if (released) {
+                Log.w(TAG, "Task rejected, lease released: " + owner);
+                return;
+            }
+            executor.execute(command);
+        }
+
+        public ScheduledFuture<?> schedule(final Runnable command, final long delay, final TimeUnit unit) {
+            return track(executor.schedule(command, delay, unit));
+        }
+
+        public ScheduledFuture<?> scheduleAtFixedRate(final Runnable command, final long initialDelay, final long period, final TimeUnit unit) {
+            return track(executor.scheduleAtFixedRate(command, initialDelay, period, unit));
+        }
+
+        public boolean isReleased() {
+            return released;
+        }
+
+        public void release() {
+            synchronized (scheduled) {
+                if (released) {
+                    return;
+                }
+                released = true;
+
+                for (final ScheduledFuture<?> future : scheduled) {
+                    future.cancel(false);
+                }
+                scheduled.clear();
+            }
+
+            leases.decrementAndGet();
+            Log.i(TAG, "Lease released (" + owner + "): " + getStatistics());
+        }
+
+        private ScheduledFuture<?> track(final ScheduledFuture<?> future) {
+            synchronized (scheduled) {
+                if (released) {
+                    future.cancel(false);
+                    return future;
+                }
+
+                final Iterator<ScheduledFuture<?>> iterator = scheduled.iterator();
+                while (iterator.hasNext()) {
+                    if (iterator.next().isDone()) {
+                        iterator.remove();
+                    }
+                }
+                scheduled.add(future);
+            }
+            return future;
+        }
+    }
+
+    private final ScheduledThreadPoolExecutor executor;
+    private final AtomicInteger leases = new AtomicInteger();
+
+    public DJI2ExecutorPool(final String name, final int threads) {
+        final AtomicInteger count = new AtomicInteger();
+        executor = new ScheduledThreadPoolExecutor(threads, runnable -> {
+            final Thread thread = new Thread(runnable, name + " " + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.setRemoveOnCancelPolicy(true);
+    }
+
+    public Lease borrow(final String owner) {
+        leases.incrementAndGet();
+        Log.i(TAG, "Lease borrowed (" + owner + "): " + getStatistics());
+        return new Lease(owner);
+    }
+
+    public Statistics getStatistics() {
+        return new Statistics(
+                executor.getPoolSize(),
+                executor.getActiveCount(),
+                executor.getLargestPoolSize(),
+                executor.getQueue().size(),
+                executor.getCompletedTaskCount(),
+                leases.get());
+    }
+}
@@ -0,0 +1,223 @@
+//  DJI2FlightRecordReader.java
+//  DronelinkDJI2
+//
+//  Created by agent on 10/17/26.
+//  Copyright © 2026 Dronelink. All rights reserved.
+//
+package com.dronelink.dji2;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+//decodes the segments written by DJI2FlightRecorder (post-flight, allocation is not a concern here)
+public class DJI2FlightRecordReader {
+    public interface Visitor {
+        void onRecord(Record record) throws IOException;
+    }
+
+    public static class Record {
+        public final String key;
+        //the class name of the recorded value (e.g. dji.sdk.keyvalue.value.common.Attitude), null if not known
+        public final String valueClass;
+        //wall clock time derived from the segment header and the monotonic timestamp
+        public final long time;
+        public final long nanos;
+        //null, Boolean, Integer, Long, Float, Double, String or double[]
+        public final Object value;
+
+        private Record(final String key, final String valueClass, final long time, final long nanos, final Object value) {
+            this.key = key;
+            this.valueClass = valueClass;
+            this.time = time;
+            this.nanos = nanos;
+            this.value = value;
+        }
+
+        public String getValueString() {
+            if (value instanceof double[]) {
+                final StringBuilder builder = new StringBuilder();
+                for (final double component : (double[])value) {
+                    if (builder.length() > 0) {
+                        builder.append(';');
+                    }
+                    builder.append(component);
+                }
+                return builder.toString();
+            }
+            return value == null ? "" : value.toString();
+        }
+
+        public JSONObject toJSON() throws JSONException {
+            final JSONObject json = new JSONObject();
+            json.put("key", key);
+            json.put("class", valueClass == null ? JSONObject.NULL : valueClass);
+            json.put("time", time);
+            json.put("nanos", nanos);
+            if (value instanceof double[]) {
+                final JSONArray components = new JSONArray();
+                for (final double component : (double[])value) {
+                    components.put(Double.isNaN(component) ? JSONObject.NULL : component);
+                }
+                json.put("value", components);
+            }
+            else if (value instanceof Double && (((Double)value).isNaN() || ((Double)value).isInfinite())) {
+                json.put("value", JSONObject.NULL);
+            }
+            else {
+                json.put("value", value == null ? JSONObject.NULL : value);
+            }
+            return json;
+        }
+    }
+
+    public static void read(final List<File> segments, final Visitor visitor) throws IOException {
+        for (final File segment : segments) {
+            read(segment, visitor);
+        }
+    }
+
+    public static void read(final File segment, final Visitor visitor) throws IOException {
+        final ByteBuffer buffer;
+        try (final RandomAccessFile file = new RandomAccessFile(segment, "r")) {
+            buffer = file.getChannel().map(FileChannel.MapMode.READ_ONLY, 0, file.length());
+        }
+
+        if (buffer.remaining() < DJI2FlightRecorder.HEADER_BYTES || buffer.getInt() != DJI2FlightRecorder.MAGIC) {
+            throw new IOException("Not a flight record segment: " + segment);
+        }
+
+        final short version = buffer.getShort();
+        if (version != DJI2FlightRecorder.VERSION) {
+            throw new IOException("Unsupported flight record version (" + version + "): " + segment);
+        }
+
+        final long openedMillis = buffer.getLong();
+        final long openedNanos = buffer.getLong();
+        buffer.getInt();
+
+        final Map<Integer, String> names = new HashMap<>();
+        final Map<Integer, String> classes = new HashMap<>();
+        while (buffer.hasRemaining()) {
+            final byte type = buffer.get();
+            if (type == DJI2FlightRecorder.TYPE_END) {
+                break;
+            }
+
+            final int id = buffer.getShort();
+            final long nanos = buffer.getLong();
+            if (type == DJI2FlightRecorder.TYPE_DEFINE) {
+                names.put(id, getString(buffer));
+                continue;
+            }
+
+            if (type == DJI2FlightRecorder.TYPE_CLASS) {
+                classes.put(id, getString(buffer));
+                continue;
+            }
+
+            final Object value;
+            switch (type) {
+                case DJI2FlightRecorder.TYPE_NULL:
+                    value = null;
+                    break;
+
+                case DJI2FlightRecorder.TYPE_BOOLEAN:
+                    value = buffer.get() != 0;
+                    break;
+
+                case DJI2FlightRecorder.TYPE_INT:
+                    value = buffer.getInt();
+                    break;
+
+                case DJI2FlightRecorder.TYPE_LONG:
+                    value = buffer.getLong();
+                    break;
+
+                case DJI2FlightRecorder.TYPE_FLOAT:
+                    value = buffer.getFloat();
+                    break;
+
+                case DJI2FlightRecorder.TYPE_DOUBLE:
+                    value = buffer.getDouble();
+                    break;
+
+                case DJI2FlightRecorder.TYPE_STRING:
+                case DJI2FlightRecorder.TYPE_ENUM:
+                    value = getString(buffer);
+                    break;
+
+                case DJI2FlightRecorder.TYPE_DOUBLE2:
+                    value = new double[] { buffer.getDouble(), buffer.getDouble() };
+                    break;
+
+                case DJI2FlightRecorder.TYPE_DOUBLE3:
+                    value = new double[] { buffer.getDouble(), buffer.getDouble(), buffer.getDouble() };
+                    break;
+
+                default:
+                    throw new IOException("Unknown flight record type (" + type + ") at " + (buffer.position() - 11) + ": " + segment);
+            }
+
+            final String name = names.get(id);
+            visitor.onRecord(new Record(
+                    name == null ? "#" + id : name,
+                    classes.get(id),
+                    openedMillis + (nanos - openedNanos) / 1000000,
+                    nanos,
+                    value));
+        }
+    }
+
+    //time,key,value with multi-component values separated by ';'
+    public static void toCSV(final List<File> segments, final Writer writer) throws IOException {
+        writer.write("time,key,value\n");
+        read(segments, record -> {
+            writer.write(Long.toString(record.time));
+            writer.write(',');
+            writer.write(record.key);
+            writer.write(',');
+            writer.write(escapeCSV(record.getValueString()));
+            writer.write('\n');
+        });
+        writer.flush();
+    }
+
+    public static JSONArray toJSON(final List<File> segments) throws IOException {
+        final JSONArray json = new JSONArray();
+        read(segments, record -> {
+            try {
+                json.put(record.toJSON());
+            }
+            catch (final JSONException e) {
+                throw new IOException(e);
+            }
+        });
+        return json;
+    }
+
+    private static String getString(final ByteBuffer buffer) {
+        final int length = buffer.getShort();
+        final byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.US_ASCII);
+    }
+
+    private static String escapeCSV(final String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0) {
+            return value;
+        }
+        return "\"" + value.replace("\"", "\"\"") + "\"";
+    }
+}
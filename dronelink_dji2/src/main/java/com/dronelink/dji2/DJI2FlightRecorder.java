@@ -0,0 +1,348 @@
+//  DJI2FlightRecorder.java
+//  DronelinkDJI2
+//
+//  Created by agent on 10/17/26.
+//  Copyright © 2026 Dronelink. All rights reserved.
+//
+package com.dronelink.dji2;
+
+import android.util.Log;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import dji.sdk.keyvalue.value.common.Attitude;
+import dji.sdk.keyvalue.value.common.LocationCoordinate2D;
+import dji.sdk.keyvalue.value.common.LocationCoordinate3D;
+import dji.sdk.keyvalue.value.common.Velocity3D;
+
+//appends every key update received by a DJI2ListenerGroup to memory-mapped segment files (see DJI2FlightRecordReader)
+//segment: header (magic, version, wall clock millis, monotonic nanos, index), the key definitions so far, then records
+//record: type (byte), key id (short), monotonic nanos (long), payload, a zero type marks the end of the segment
+//common values are encoded without allocating, anything else falls back to toString()
+public class DJI2FlightRecorder {
+    private static final String TAG = DJI2FlightRecorder.class.getCanonicalName();
+
+    public static final String EXTENSION = ".dlfr";
+    public static final int MAGIC = 0x444C4652;
+    public static final short VERSION = 1;
+    public static final int HEADER_BYTES = 4 + 2 + 8 + 8 + 4;
+    //strings (and enum names) are truncated to this many bytes
+    public static final int MAX_STRING_BYTES = 200;
+    //no record is larger than this: type + key id + nanos + string length + string
+    public static final int RECORD_BUDGET_BYTES = 1 + 2 + 8 + 2 + MAX_STRING_BYTES;
+    //large enough for the header and the key definitions that start every segment
+    public static final int MIN_SEGMENT_BYTES = 1024 * 1024;
+
+    public static final byte TYPE_END = 0;
+    public static final byte TYPE_DEFINE = 1;
+    public static final byte TYPE_NULL = 2;
+    public static final byte TYPE_BOOLEAN = 3;
+    public static final byte TYPE_INT = 4;
+    public static final byte TYPE_LONG = 5;
+    public static final byte TYPE_FLOAT = 6;
+    public static final byte TYPE_DOUBLE = 7;
+    public static final byte TYPE_STRING = 8;
+    public static final byte TYPE_ENUM = 9;
+    public static final byte TYPE_DOUBLE2 = 10;
+    public static final byte TYPE_DOUBLE3 = 11;
+    //the class of the key's values, written before the first value and whenever it changes
+    public static final byte TYPE_CLASS = 12;
+
+    public static class Statistics {
+        public final long records;
+        public final long bytes;
+        public final int segments;
+        public final long failures;
+        public final double writeMaxMicros;
+
+        private Statistics(final long records, final long bytes, final int segments, final long failures, final double writeMaxMicros) {
+            this.records = records;
+            this.bytes = bytes;
+            this.segments = segments;
+            this.failures = failures;
+            this.writeMaxMicros = writeMaxMicros;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("records=%d bytes=%d segments=%d failures=%d writeMax=%.1fµs", records, bytes, segments, failures, writeMaxMicros);
+        }
+    }
+
+    private final File directory;
+    private final String prefix;
+    private final int segmentBytes;
+    private final int maxSegments;
+    private final Map<String, Integer> ids = new HashMap<>();
+    private final List<String> names = new ArrayList<>();
+    private final List<Class<?>> classes = new ArrayList<>();
+    private MappedByteBuffer buffer;
+    private int segment = -1;
+    private boolean closed = false;
+
+    //statistics
+    private long records = 0;
+    private long bytes = 0;
+    private long failures = 0;
+    private long writeMaxNanos = 0;
+
+    //segments older than the newest maxSegments in the directory (from any session) are deleted
+    public DJI2FlightRecorder(final File directory, final String sessionId, final int segmentBytes, final int maxSegments) {
+        this.directory = directory;
+        this.prefix = new SimpleDateFormat("yyyyMMdd-HHmmss", Locale.US).format(new Date()) + "-" + sessionId;
+        this.segmentBytes = Math.max(segmentBytes, MIN_SEGMENT_BYTES);
+        this.maxSegments = Math.max(1, maxSegments);
+        if (!directory.exists() && !directory.mkdirs()) {
+            Log.e(TAG, "Unable to create flight record directory: " + directory);
+        }
+    }
+
+    public File getDirectory() {
+        return directory;
+    }
+
+    //segment files for this recorder, oldest first
+    public List<File> getSegments() {
+        final List<File> segments = new ArrayList<>();
+        final File[] files = directory.listFiles((dir, name) -> name.startsWith(prefix) && name.endsWith(EXTENSION));
+        if (files != null) {
+            Arrays.sort(files);
+            segments.addAll(Arrays.asList(files));
+        }
+        return segments;
+    }
+
+    public synchronized void record(final String key, final Object value) {
+        if (closed) {
+            return;
+        }
+
+        final long started = System.nanoTime();
+        Integer id = ids.get(key);
+        if (id == null) {
+            if (!reserve()) {
+                return;
+            }
+            id = names.size();
+            ids.put(key, id);
+            names.add(key);
+            classes.add(null);
+            writeDefinition(id, key);
+        }
+
+        if (value != null && classes.get(id) != value.getClass()) {
+            if (!reserve()) {
+                return;
+            }
+            classes.set(id, value.getClass());
+            writeClass(id, value.getClass());
+        }
+
+        if (!reserve()) {
+            return;
+        }
+
+        final int position = buffer.position();
+        write(id, started, value);
+        records++;
+        bytes += buffer.position() - position;
+        writeMaxNanos = Math.max(writeMaxNanos, System.nanoTime() - started);
+    }
+
+    public synchronized Statistics getStatistics() {
+        return new Statistics(records, bytes, segment + 1, failures, writeMaxNanos / 1000.0);
+    }
+
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+
+        if (buffer != null) {
+            finish();
+        }
+        Log.i(TAG, "Flight recorder closed (" + prefix + "): " + getStatistics());
+    }
+
+    private void writeDefinition(final int id, final String key) {
+        buffer.put(TYPE_DEFINE);
+        buffer.putShort((short)id);
+        buffer.putLong(System.nanoTime());
+        putString(key);
+    }
+
+    private void writeClass(final int id, final Class<?> valueClass) {
+        buffer.put(TYPE_CLASS);
+        buffer.putShort((short)id);
+        buffer.putLong(System.nanoTime());
+        putString(valueClass.getName());
+    }
+
+    private void write(final int id, final long nanos, final Object value) {
+        final int start = buffer.position();
+        buffer.put(TYPE_NULL);
+        buffer.putShort((short)id);
+        buffer.putLong(nanos);
+
+        final byte type;
+        if (value == null) {
+            type = TYPE_NULL;
+        }
+        else if (value instanceof Boolean) {
+            type = TYPE_BOOLEAN;
+            buffer.put((byte)((Boolean)value ? 1 : 0));
+        }
+        else if (value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            type = TYPE_INT;
+            buffer.putInt(((Number)value).intValue());
+        }
+        else if (value instanceof Long) {
+            type = TYPE_LONG;
+            buffer.putLong((Long)value);
+        }
+        else if (value instanceof Float) {
+            type = TYPE_FLOAT;
+            buffer.putFloat((Float)value);
+        }
+        else if (value instanceof Double) {
+            type = TYPE_DOUBLE;
+            buffer.putDouble((Double)value);
+        }
+        else if (value instanceof Enum) {
+            type = TYPE_ENUM;
+            putString(((Enum<?>)value).name());
+        }
+        else if (value instanceof String) {
+            type = TYPE_STRING;
+            putString((String)value);
+        }
+        else if (value instanceof Attitude) {
+            final Attitude attitude = (Attitude)value;
+            type = TYPE_DOUBLE3;
+            putDoubles(attitude.getPitch(), attitude.getRoll(), attitude.getYaw());
+        }
+        else if (value instanceof LocationCoordinate3D) {
+            final LocationCoordinate3D location = (LocationCoordinate3D)value;
+            type = TYPE_DOUBLE3;
+            putDoubles(location.getLatitude(), location.getLongitude(), location.getAltitude());
+        }
+        else if (value instanceof Velocity3D) {
+            final Velocity3D velocity = (Velocity3D)value;
+            type = TYPE_DOUBLE3;
+            putDoubles(velocity.getX(), velocity.getY(), velocity.getZ());
+        }
+        else if (value instanceof LocationCoordinate2D) {
+            final LocationCoordinate2D location = (LocationCoordinate2D)value;
+            type = TYPE_DOUBLE2;
+            buffer.putDouble(toDouble(location.getLatitude()));
+            buffer.putDouble(toDouble(location.getLongitude()));
+        }
+        else {
+            type = TYPE_STRING;
+            putString(value.toString());
+        }
+        buffer.put(start, type);
+    }
+
+    private void putDoubles(final Double a, final Double b, final Double c) {
+        buffer.putDouble(toDouble(a));
+        buffer.putDouble(toDouble(b));
+        buffer.putDouble(toDouble(c));
+    }
+
+    //ascii only (anything else is written as '?'), truncated to MAX_STRING_BYTES
+    private void putString(final String value) {
+        final int length = Math.min(value.length(), MAX_STRING_BYTES);
+        buffer.putShort((short)length);
+        for (int i = 0; i < length; i++) {
+            final char c = value.charAt(i);
+            buffer.put(c < 0x80 ? (byte)c : (byte)'?');
+        }
+    }
+
+    //makes room for one more record, rotating to a new segment if needed
+    private boolean reserve() {
+        if (buffer != null && buffer.remaining() >= RECORD_BUDGET_BYTES + 1) {
+            return true;
+        }
+
+        try {
+            if (buffer != null) {
+                finish();
+            }
+            open(segment + 1);
+            return true;
+        }
+        catch (final IOException e) {
+            failures++;
+            closed = true;
+            buffer = null;
+            Log.e(TAG, "Flight recorder segment failed, recording stopped", e);
+            return false;
+        }
+    }
+
+    private void open(final int segment) throws IOException {
+        final File file = new File(directory, String.format(Locale.US, "%s-%04d%s", prefix, segment, EXTENSION));
+        try (final RandomAccessFile randomAccessFile = new RandomAccessFile(file, "rw")) {
+            //the mapping stays valid after the channel is closed
+            buffer = randomAccessFile.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, segmentBytes);
+        }
+        this.segment = segment;
+
+        buffer.putInt(MAGIC);
+        buffer.putShort(VERSION);
+        buffer.putLong(System.currentTimeMillis());
+        buffer.putLong(System.nanoTime());
+        buffer.putInt(segment);
+
+        //each segment is self-describing, so older segments can be pruned
+        for (int id = 0; id < names.size(); id++) {
+            writeDefinition(id, names.get(id));
+            if (classes.get(id) != null) {
+                writeClass(id, classes.get(id));
+            }
+        }
+
+        prune();
+    }
+
+    private void finish() {
+        if (buffer.hasRemaining()) {
+            buffer.put(TYPE_END);
+        }
+        buffer.force();
+        buffer = null;
+    }
+
+    private void prune() {
+        final File[] files = directory.listFiles((dir, name) -> name.endsWith(EXTENSION));
+        if (files == null || files.length <= maxSegments) {
+            return;
+        }
+
+        Arrays.sort(files);
+        for (int i = 0; i < files.length - maxSegments; i++) {
+            if (!files[i].delete()) {
+                Log.w(TAG, "Unable to delete flight record segment: " + files[i]);
+            }
+        }
+    }
+
+    private static double toDouble(final Double value) {
+        return value == null ? Double.NaN : value;
+    }
+}
@@ -0,0 +1,220 @@
+//  DJI2Histogram.java
+//  DronelinkDJI2
+//
+//  Created by agent on 10/17/26.
+//  Copyright © 2026 Dronelink. All rights reserved.
+//
+package com.dronelink.dji2;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+//double buffered camera histogram: the key listener (single writer) fills the back frame and swaps it to the front,
+//readers use the front frame without allocating or locking
+//exposure statistics are computed while the frame is ingested, so reading them never rescans the bins
+//bins are treated as luminance buckets, bin 0 is black and the last bin is white
+public class DJI2Histogram {
+    //precomputed luminance percentiles
+    public static final int[] PERCENTILES = { 1, 5, 25, 50, 75, 95, 99 };
+
+    private static class Frame {
+        private short[] bins = new short[0];
+        private int length = 0;
+        private long total = 0;
+        private double meanLuminance = 0;
+        private double shadowClipping = 0;
+        private double highlightClipping = 0;
+        private final double[] percentiles = new double[PERCENTILES.length];
+        private long updatedNanos = 0;
+    }
+
+    public static class Statistics {
+        public final long frames;
+        //frames that required (re)allocating the bins because the size changed
+        public final long allocations;
+        public final int length;
+        public final long ageMillis;
+
+        private Statistics(final long frames, final long allocations, final int length, final long ageMillis) {
+            this.frames = frames;
+            this.allocations = allocations;
+            this.length = length;
+            this.ageMillis = ageMillis;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.US, "frames=%d allocations=%d length=%d age=%dms", frames, allocations, length, ageMillis);
+        }
+    }
+
+    private final Frame[] frames = { new Frame(), new Frame() };
+    private volatile Frame front = frames[0];
+    //incremented on every swap, a reader's copy is only valid if no swap happened while copying
+    private volatile long sequence = 0;
+    private long allocations = 0;
+
+    //called by the key listener, null clears the histogram
+    public void update(final List<Integer> values) {
+        final Frame back = front == frames[0] ? frames[1] : frames[0];
+        if (values == null || values.isEmpty()) {
+            back.length = 0;
+            back.total = 0;
+            back.updatedNanos = System.nanoTime();
+            swap(back);
+            return;
+        }
+
+        final int length = values.size();
+        if (back.bins.length != length) {
+            //only when the camera changes the histogram size, so getBins can return the exact array
+            back.bins = new short[length];
+            allocations++;
+        }
+
+        final short[] bins = back.bins;
+        final int shadowBins = Math.max(1, length / 64);
+        final double scale = length > 1 ? 1.0 / (length - 1) : 0;
+        long total = 0;
+        double weighted = 0;
+        long shadows = 0;
+        long highlights = 0;
+        for (int i = 0; i < length; i++) {
+            final Integer value = values.get(i);
+            final int count = value == null ? 0 : Math.min(Short.MAX_VALUE, Math.max(0, value));
+            bins[i] = (short)count;
+            total += count;
+            weighted += count * (i * scale);
+            if (i < shadowBins) {
+                shadows += count;
+            }
+            else if (i >= length - shadowBins) {
+                highlights += count;
+            }
+        }
+
+        back.length = length;
+        back.total = total;
+        back.meanLuminance = total == 0 ? 0 : weighted / total;
+        back.shadowClipping = total == 0 ? 0 : shadows / (double)total;
+        back.highlightClipping = total == 0 ? 0 : highlights / (double)total;
+
+        //second pass over the primitive bins, still during ingestion
+        int percentile = 0;
+        long cumulative = 0;
+        for (int i = 0; i < length && percentile < PERCENTILES.length; i++) {
+            cumulative += bins[i];
+            while (percentile < PERCENTILES.length && total > 0 && cumulative * 100 >= total * PERCENTILES[percentile]) {
+                back.percentiles[percentile++] = i * scale;
+            }
+        }
+        while (percentile < PERCENTILES.length) {
+            back.percentiles[percentile++] = 0;
+        }
+
+        back.updatedNanos = System.nanoTime();
+        swap(back);
+    }
+
+    public boolean isAvailable() {
+        return front.length > 0;
+    }
+
+    //the current bins, null if unavailable
+    //the array is reused: its contents are only stable until the next frame, use copyBins to keep them
+    public short[] getBins() {
+        final Frame front = this.front;
+        return front.length == 0 ? null : front.bins;
+    }
+
+    //copies a consistent frame into destination (which must hold getLength bins), returns the number of bins copied
+    public int copyBins(final short[] destination) {
+        while (true) {
+            final long sequence = this.sequence;
+            final Frame front = this.front;
+            final int length = Math.min(front.length, destination.length);
+            System.arraycopy(front.bins, 0, destination, 0, length);
+            if (sequence == this.sequence) {
+                return length;
+            }
+        }
+    }
+
+    //a consistent copy of the current bins the caller owns, null if unavailable
+    public short[] copyBins() {
+        while (true) {
+            final int length = getLength();
+            if (length == 0) {
+                return null;
+            }
+
+            final short[] bins = new short[length];
+            //the size changed while copying, try again with the new one
+            if (copyBins(bins) == length && getLength() == length) {
+                return bins;
+            }
+        }
+    }
+
+    public int getLength() {
+        return front.length;
+    }
+
+    //0 (black) to 1 (white)
+    public double getMeanLuminance() {
+        return front.meanLuminance;
+    }
+
+    //fraction of pixels in the darkest 1/64 of the bins
+    public double getShadowClipping() {
+        return front.shadowClipping;
+    }
+
+    //fraction of pixels in the brightest 1/64 of the bins
+    public double getHighlightClipping() {
+        return front.highlightClipping;
+    }
+
+    //luminance (0 to 1) at or below which the percentage of pixels fall, percentile must be one of PERCENTILES
+    public double getLuminancePercentile(final int percentile) {
+        for (int i = 0; i < PERCENTILES.length; i++) {
+            if (PERCENTILES[i] == percentile) {
+                return front.percentiles[i];
+            }
+        }
+        throw new IllegalArgumentException("Percentile not precomputed: " + percentile);
+    }
+
+    public synchronized Statistics getStatistics() {
+        final Frame front = this.front;
+        return new Statistics(sequence, allocations, front.length, front.updatedNanos == 0 ? -1 : TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - front.updatedNanos));
+    }
+
+    //null if unavailable
+    public JSONObject toJSON() throws JSONException {
+        final Frame front = this.front;
+        if (front.length == 0) {
+            return null;
+        }
+
+        final JSONObject json = new JSONObject();
+        json.put("meanLuminance", front.meanLuminance);
+        json.put("shadowClipping", front.shadowClipping);
+        json.put("highlightClipping", front.highlightClipping);
+        final JSONObject percentiles = new JSONObject();
+        for (int i = 0; i < PERCENTILES.length; i++) {
+            percentiles.put("p" + PERCENTILES[i], front.percentiles[i]);
+        }
+        json.put("luminancePercentiles", percentiles);
+        return json;
+    }
+
+    private synchronized void swap(final Frame back) {
+        front = back;
+        sequence++;
+    }
+}
@@ -6,29 +6,441 @@
 //
 package com.dronelink.dji2;
 
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
 import java.util.ArrayList;
+import java.util.Date;
 import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 
 import dji.sdk.keyvalue.key.DJIKey;
 import dji.v5.common.callback.CommonCallbacks;
-import dji.v5.manager.KeyManager;
+import dji.v5.common.error.IDJIError;
 
 public class DJI2ListenerGroup {
-    private final List<DJIKey<?>> keyListeners = new ArrayList<>();
+    private static final String TAG = DJI2ListenerGroup.class.getCanonicalName();
+
+    //a revalidation that hasn't answered by then is treated as failed
+    public static final long REVALIDATE_TIMEOUT_MILLIS = 3000;
+
+    public static class Policy {
+        public enum Mode {
+            //every update is applied immediately on the SDK callback thread
+            PASS_THROUGH,
+            //updates are applied on the listener thread, intermediate values are dropped (latest value wins)
+            COALESCE,
+            //at most one update is applied per interval, the latest value is always applied at the end of the interval
+            MIN_INTERVAL
+        }
+
+        public static final Policy PASS_THROUGH = new Policy(Mode.PASS_THROUGH, 0);
+        public static final Policy COALESCE = new Policy(Mode.COALESCE, 0);
+
+        public static Policy minInterval(final long intervalMillis) {
+            return new Policy(Mode.MIN_INTERVAL, intervalMillis);
+        }
+
+        public final Mode mode;
+        public final long intervalMillis;
+
+        private Policy(final Mode mode, final long intervalMillis) {
+            this.mode = mode;
+            this.intervalMillis = intervalMillis;
+        }
+    }
+
+    //upper bounds of the inter-arrival histogram buckets, the last bucket collects everything above the final bound
+    //2000ms matches the isTelemetryDelayed threshold
+    public static final long[] INTERVAL_HISTOGRAM_BOUNDS_MILLIS = { 10, 25, 50, 100, 250, 500, 1000, 2000 };
+
+    public static class KeyStatistics {
+        public final String key;
+        public final Policy.Mode mode;
+        public final long received;
+        public final long applied;
+        //smoothed update rate, decays when the key stops updating
+        public final double rateHz;
+        //null if the key has never updated
+        public final Date lastUpdated;
+        //time since the last update when the statistics were captured, -1 if the key has never updated
+        public final long ageMillis;
+        //count of inter-arrival intervals per bucket (see INTERVAL_HISTOGRAM_BOUNDS_MILLIS)
+        public final long[] intervalHistogram;
+        public final long intervalMaxMillis;
+
+        private KeyStatistics(final String key, final Policy.Mode mode, final long received, final long applied, final double rateHz, final Date lastUpdated, final long ageMillis, final long[] intervalHistogram, final long intervalMaxMillis) {
+            this.key = key;
+            this.mode = mode;
+            this.received = received;
+            this.applied = applied;
+            this.rateHz = rateHz;
+            this.lastUpdated = lastUpdated;
+            this.ageMillis = ageMillis;
+            this.intervalHistogram = intervalHistogram;
+            this.intervalMaxMillis = intervalMaxMillis;
+        }
+
+        public JSONObject toJSON() throws JSONException {
+            final JSONObject json = new JSONObject();
+            json.put("key", key);
+            json.put("mode", mode.name());
+            json.put("received", received);
+            json.put("applied", applied);
+            json.put("rateHz", rateHz);
+            json.put("lastUpdated", lastUpdated == null ? JSONObject.NULL : lastUpdated.getTime());
+            json.put("ageMillis", ageMillis);
+            json.put("intervalMaxMillis", intervalMaxMillis);
+            final JSONObject histogram = new JSONObject();
+            for (int i = 0; i < intervalHistogram.length; i++) {
+                histogram.put(i < INTERVAL_HISTOGRAM_BOUNDS_MILLIS.length ? "<=" + INTERVAL_HISTOGRAM_BOUNDS_MILLIS[i] : ">" + INTERVAL_HISTOGRAM_BOUNDS_MILLIS[INTERVAL_HISTOGRAM_BOUNDS_MILLIS.length - 1], intervalHistogram[i]);
+            }
+            json.put("intervalHistogramMillis", histogram);
+            return json;
+        }
+
+        public static JSONArray toJSON(final List<KeyStatistics> statistics) throws JSONException {
+            final JSONArray json = new JSONArray();
+            for (final KeyStatistics keyStatistics : statistics) {
+                json.put(keyStatistics.toJSON());
+            }
+            return json;
+        }
+    }
+
+    private static final double RATE_SMOOTHING = 0.2;
+
+    //when set, applies to every listener in place of its own policy (e.g. PASS_THROUGH for a deterministic replay)
+    private static volatile Policy policyOverride;
+
+    public static void setPolicyOverride(final Policy policy) {
+        policyOverride = policy;
+    }
+
+    private static final ScheduledExecutorService updateExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        final Thread thread = new Thread(runnable, "DJI2 listener updates");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private static class KeyListener<Result> implements CommonCallbacks.KeyListener<Result> {
+        private final DJIKey<Result> key;
+        private final String name;
+        private final CommonCallbacks.KeyListener<Result> callback;
+        //applied when a revalidation fails or times out, null to keep the current value
+        private final Result unavailableValue;
+        private final Runnable drain = this::drain;
+        private final AtomicLong applied = new AtomicLong();
+        private final long[] intervalHistogram = new long[INTERVAL_HISTOGRAM_BOUNDS_MILLIS.length + 1];
+        private long received = 0;
+        private long firstReceivedMillis = 0;
+        private long receivedNanos = 0;
+        private long receivedMillis = 0;
+        private double intervalMeanNanos = 0;
+        private long intervalMaxNanos = 0;
+        private volatile Policy policy;
+        private volatile boolean cancelled = false;
+        private boolean pending = false;
+        private boolean scheduled = false;
+        private Result pendingOldValue;
+        private Result pendingNewValue;
+        private long appliedNanos = 0;
+
+        KeyListener(final DJIKey<Result> key, final Policy policy, final Result unavailableValue, final CommonCallbacks.KeyListener<Result> callback) {
+            this.key = key;
+            this.name = getName(key);
+            this.policy = policy;
+            this.unavailableValue = unavailableValue;
+            this.callback = callback;
+        }
+
+        @Override
+        public void onValueChange(final Result oldValue, final Result newValue) {
+            received();
+            final DJI2FlightRecorder flightRecorder = DronelinkDJI2.getFlightRecorder();
+            if (flightRecorder != null) {
+                flightRecorder.record(name, newValue);
+            }
+
+            final Policy override = policyOverride;
+            final Policy policy = override == null ? this.policy : override;
+            switch (policy.mode) {
+                case PASS_THROUGH:
+                    break;
+
+                case COALESCE:
+                    synchronized (this) {
+                        hold(oldValue, newValue);
+                        if (!scheduled) {
+                            scheduled = true;
+                            updateExecutor.execute(drain);
+                        }
+                    }
+                    return;
+
+                case MIN_INTERVAL:
+                    synchronized (this) {
+                        final long elapsed = System.nanoTime() - appliedNanos;
+                        final long interval = TimeUnit.MILLISECONDS.toNanos(policy.intervalMillis);
+                        if (scheduled || elapsed < interval) {
+                            hold(oldValue, newValue);
+                            if (!scheduled) {
+                                scheduled = true;
+                                updateExecutor.schedule(drain, interval - elapsed, TimeUnit.NANOSECONDS);
+                            }
+                            return;
+                        }
+                        appliedNanos = System.nanoTime();
+                    }
+                    break;
+            }
+
+            apply(oldValue, newValue);
+        }
+
+        private synchronized void received() {
+            final long now = System.nanoTime();
+            if (received > 0) {
+                final long interval = now - receivedNanos;
+                intervalMeanNanos = received == 1 ? interval : intervalMeanNanos + RATE_SMOOTHING * (interval - intervalMeanNanos);
+                intervalMaxNanos = Math.max(intervalMaxNanos, interval);
+                final long intervalMillis = TimeUnit.NANOSECONDS.toMillis(interval);
+                int bucket = 0;
+                while (bucket < INTERVAL_HISTOGRAM_BOUNDS_MILLIS.length && intervalMillis > INTERVAL_HISTOGRAM_BOUNDS_MILLIS[bucket]) {
+                    bucket++;
+                }
+                intervalHistogram[bucket]++;
+            }
+            received++;
+            receivedNanos = now;
+            receivedMillis = System.currentTimeMillis();
+            if (received == 1) {
+                firstReceivedMillis = receivedMillis;
+            }
+        }
+
+        //keys that never reported (e.g. unsupported by the aircraft) have nothing to revalidate
+        synchronized boolean isStale(final long reportedBeforeMillis, final long sinceMillis) {
+            return received > 0 && firstReceivedMillis < reportedBeforeMillis && receivedMillis < sinceMillis;
+        }
+
+        private synchronized boolean isReceivedSince(final long sinceMillis) {
+            return received > 0 && receivedMillis >= sinceMillis;
+        }
+
+        void revalidate() {
+            final long requestedMillis = System.currentTimeMillis();
+            final AtomicBoolean answered = new AtomicBoolean(false);
+            DronelinkDJI2.getSDK().getValue(key, new CommonCallbacks.CompletionCallbackWithParam<Result>() {
+                @Override
+                public void onSuccess(final Result value) {
+                    //a live update received after the request is newer
+                    if (answered.compareAndSet(false, true) && !cancelled && !isReceivedSince(requestedMillis)) {
+                        onValueChange(null, value);
+                    }
+                }
+
+                @Override
+                public void onFailure(final @NonNull IDJIError error) {
+                    if (answered.compareAndSet(false, true)) {
+                        unavailable(requestedMillis, error.description());
+                    }
+                }
+            });
+
+            updateExecutor.schedule(() -> {
+                if (answered.compareAndSet(false, true)) {
+                    unavailable(requestedMillis, "timed out");
+                }
+            }, REVALIDATE_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+        }
+
+        private void unavailable(final long requestedMillis, final String reason) {
+            if (cancelled || unavailableValue == null || isReceivedSince(requestedMillis)) {
+                return;
+            }
+
+            Log.w(TAG, "Revalidation failed (" + reason + "), " + name + " reported as " + unavailableValue);
+            onValueChange(null, unavailableValue);
+        }
+
+        private void hold(final Result oldValue, final Result newValue) {
+            if (!pending) {
+                //keep the old value from the start of the batch
+                pendingOldValue = oldValue;
+                pending = true;
+            }
+            pendingNewValue = newValue;
+        }
+
+        private void drain() {
+            final Result oldValue;
+            final Result newValue;
+            synchronized (this) {
+                scheduled = false;
+                if (!pending) {
+                    return;
+                }
+                oldValue = pendingOldValue;
+                newValue = pendingNewValue;
+                pendingOldValue = null;
+                pendingNewValue = null;
+                pending = false;
+                appliedNanos = System.nanoTime();
+            }
+            apply(oldValue, newValue);
+        }
+
+        private void apply(final Result oldValue, final Result newValue) {
+            if (cancelled) {
+                return;
+            }
+            applied.incrementAndGet();
+            callback.onValueChange(oldValue, newValue);
+        }
+
+        synchronized KeyStatistics getStatistics() {
+            if (received == 0) {
+                return new KeyStatistics(name, policy.mode, 0, applied.get(), 0, null, -1, intervalHistogram.clone(), 0);
+            }
+
+            final long age = System.nanoTime() - receivedNanos;
+            //once the key goes quiet the time since the last update dominates the smoothed interval
+            final double interval = Math.max(intervalMeanNanos, age);
+            return new KeyStatistics(
+                    name,
+                    policy.mode,
+                    received,
+                    applied.get(),
+                    received < 2 || interval <= 0 ? 0 : TimeUnit.SECONDS.toNanos(1) / interval,
+                    new Date(receivedMillis),
+                    TimeUnit.NANOSECONDS.toMillis(age),
+                    intervalHistogram.clone(),
+                    TimeUnit.NANOSECONDS.toMillis(intervalMaxNanos));
+        }
+    }
+
+    public static String getName(final DJIKey<?> key) {
+        return key.getKeyInfo().getIdentifier() + "[" + key.getComponentIndex() + "]";
+    }
+
+    private final List<KeyListener<?>> keyListeners = new ArrayList<>();
+    private final Object updateLock;
+    private final Runnable onUpdated;
+    private final Runnable onUnlocked;
+
+    public DJI2ListenerGroup() {
+        this(null, null);
+    }
+
+    //when provided, every callback runs while holding updateLock and is followed by onUpdated (still holding the lock)
+    public DJI2ListenerGroup(final Object updateLock, final Runnable onUpdated) {
+        this(updateLock, onUpdated, null);
+    }
+
+    //onUnlocked runs on the callback thread once updateLock is released (e.g. to notify whatever onUpdated published)
+    public DJI2ListenerGroup(final Object updateLock, final Runnable onUpdated, final Runnable onUnlocked) {
+        this.updateLock = updateLock;
+        this.onUpdated = onUpdated;
+        this.onUnlocked = onUnlocked;
+    }
 
     public <Result> void init(final DJIKey<Result> key, final CommonCallbacks.KeyListener<Result> callback) {
+        init(key, Policy.PASS_THROUGH, callback);
+    }
+
+    public <Result> void init(final DJIKey<Result> key, final Policy policy, final CommonCallbacks.KeyListener<Result> callback) {
+        init(key, policy, null, callback);
+    }
+
+    //a component connection key: if revalidating it fails or times out, the component is reported as disconnected (false)
+    public void initConnection(final DJIKey<Boolean> key, final CommonCallbacks.KeyListener<Boolean> callback) {
+        init(key, Policy.PASS_THROUGH, false, callback);
+    }
+
+    private <Result> void init(final DJIKey<Result> key, final Policy policy, final Result unavailableValue, final CommonCallbacks.KeyListener<Result> callback) {
+        synchronized (keyListeners) {
+            final KeyListener<Result> listener = new KeyListener<>(key, policy, unavailableValue, wrap(callback));
+            keyListeners.add(listener);
+            DronelinkDJI2.getSDK().listen(key, this, listener);
+        }
+    }
+
+    //changes the policy of every listener for the key
+    public void setPolicy(final DJIKey<?> key, final Policy policy) {
         synchronized (keyListeners) {
-            keyListeners.add(key);
-            KeyManager.getInstance().listen(key, this, callback);
+            for (final KeyListener<?> listener : keyListeners) {
+                if (listener.key.equals(key)) {
+                    listener.policy = policy;
+                }
+            }
         }
     }
 
+    public List<KeyStatistics> getStatistics() {
+        synchronized (keyListeners) {
+            final List<KeyStatistics> statistics = new ArrayList<>(keyListeners.size());
+            for (final KeyListener<?> listener : keyListeners) {
+                statistics.add(listener.getStatistics());
+            }
+            return statistics;
+        }
+    }
+
+    //fetches the current value of every key that reported before reportedBeforeMillis (e.g. when the link dropped) but not since sinceMillis,
+    //and applies it as an update, so values that changed during a brief disconnection are picked up without cancelling and re-adding the listeners
+    //returns the number of keys fetched
+    public int revalidate(final long reportedBeforeMillis, final long sinceMillis) {
+        final List<KeyListener<?>> stale = new ArrayList<>();
+        synchronized (keyListeners) {
+            for (final KeyListener<?> listener : keyListeners) {
+                if (listener.isStale(reportedBeforeMillis, sinceMillis)) {
+                    stale.add(listener);
+                }
+            }
+        }
+
+        for (final KeyListener<?> listener : stale) {
+            listener.revalidate();
+        }
+        return stale.size();
+    }
+
     public void cancelAll() {
         synchronized (keyListeners) {
-            for (final DJIKey<?> key : keyListeners) {
-                KeyManager.getInstance().cancelListen(key, this);
+            for (final KeyListener<?> listener : keyListeners) {
+                listener.cancelled = true;
+                DronelinkDJI2.getSDK().cancelListen(listener.key, this);
             }
             keyListeners.clear();
         }
     }
+
+    private <Result> CommonCallbacks.KeyListener<Result> wrap(final CommonCallbacks.KeyListener<Result> callback) {
+        if (updateLock == null) {
+            return callback;
+        }
+
+        return (oldValue, newValue) -> {
+            synchronized (updateLock) {
+                callback.onValueChange(oldValue, newValue);
+                if (onUpdated != null) {
+                    onUpdated.run();
+                }
+            }
+
+            if (onUnlocked != null) {
+                onUnlocked.run();
+            }
+        };
+    }
 }
@@ -0,0 +1,716 @@
+//  DJI2MediaDownloader.java
+//  DronelinkDJI2
+//
+//  Created by agent on 10/17/26.
+//  Copyright © 2026 Dronelink. All rights reserved.
+//
+package com.dronelink.dji2;
+
+import android.util.Log;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import dji.v5.common.error.IDJIError;
+import dji.v5.manager.datacenter.media.MediaFile;
+import dji.v5.manager.datacenter.media.MediaFileDownloadListener;
+
+//pulls original media files from the camera into app storage with a configurable number of concurrent transfers
+//data is written at its offset to <name>.part through a FileChannel, so a failed, paused or throttled transfer resumes where it stopped
+//completed files are verified (size, and the JPEG end marker for JPEGs) and their SHA-256 is stored in <name>.sha256,
+//which is checked instead of downloading again when the same file is queued later
+//hashing runs on its own thread, so verifying a large file never holds up the transfers or the throttle
+//while the motors are on, transfers are limited to the in-flight concurrency and bandwidth to protect the video downlink
+public class DJI2MediaDownloader {
+    private static final String TAG = DJI2MediaDownloader.class.getCanonicalName();
+
+    private static final String PART_EXTENSION = ".part";
+    private static final String CHECKSUM_EXTENSION = ".sha256";
+    private static final int MAX_ATTEMPTS = 3;
+    private static final long RETRY_DELAY_MILLIS = 1000;
+
+    public enum Status {
+        QUEUED,
+        RUNNING,
+        //throttled or waiting to retry, resumes from the bytes already written
+        PAUSED,
+        COMPLETE,
+        FAILED,
+        CANCELLED
+    }
+
+    public interface Listener {
+        void onProgress(Task task);
+        void onFinished(Task task);
+    }
+
+    public static class Statistics {
+        public final int queued;
+        public final int running;
+        public final long completed;
+        public final long failed;
+        public final long bytes;
+        public final long throttlePauses;
+        public final double bytesPerSecond;
+
+        private Statistics(final int queued, final int running, final long completed, final long failed, final long bytes, final long throttlePauses, final double bytesPerSecond) {
+            this.queued = queued;
+            this.running = running;
+            this.completed = completed;
+            this.failed = failed;
+            this.bytes = bytes;
+            this.throttlePauses = throttlePauses;
+            this.bytesPerSecond = bytesPerSecond;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.US, "queued=%d running=%d completed=%d failed=%d bytes=%d throttlePauses=%d rate=%.0fB/s",
+                    queued, running, completed, failed, bytes, throttlePauses, bytesPerSecond);
+        }
+    }
+
+    public class Task implements MediaFileDownloadListener {
+        public final MediaFile mediaFile;
+        public final File destination;
+        private final File part;
+        private volatile Status status = Status.QUEUED;
+        private volatile long written = 0;
+        private volatile String error;
+        private int attempts = 0;
+        private FileChannel channel;
+        //distinguishes callbacks from a pull that has since been stopped
+        private int pull = 0;
+
+        private Task(final MediaFile mediaFile, final File destination) {
+            this.mediaFile = mediaFile;
+            this.destination = destination;
+            this.part = new File(destination.getPath() + PART_EXTENSION);
+        }
+
+        public Status getStatus() {
+            return status;
+        }
+
+        public long getBytes() {
+            return written;
+        }
+
+        public long getTotal() {
+            return mediaFile.getFileSize();
+        }
+
+        public String getError() {
+            return error;
+        }
+
+        @Override
+        public void onStart() {}
+
+        @Override
+        public void onProgress(final long total, final long current) {}
+
+        @Override
+        public void onRealtimeDataUpdate(final byte[] data, final long position) {
+            final int pull;
+            final FileChannel channel;
+            synchronized (DJI2MediaDownloader.this) {
+                if (status != Status.RUNNING || this.channel == null) {
+                    return;
+                }
+                pull = this.pull;
+                channel = this.channel;
+            }
+
+            try {
+                final ByteBuffer buffer = ByteBuffer.wrap(data);
+                long offset = position;
+                while (buffer.hasRemaining()) {
+                    offset += channel.write(buffer, offset);
+                }
+            }
+            catch (final IOException e) {
+                executor.execute(() -> failed(this, pull, "Write failed: " + e.getMessage()));
+                return;
+            }
+
+            synchronized (DJI2MediaDownloader.this) {
+                if (pull != this.pull) {
+                    return;
+                }
+                //only contiguous data counts towards the resume offset
+                if (position <= written) {
+                    written = Math.max(written, position + data.length);
+                }
+                bytes += data.length;
+                consume(data.length);
+            }
+
+            for (final Listener listener : listeners) {
+                listener.onProgress(this);
+            }
+
+            if (isThrottled()) {
+                executor.execute(() -> throttle(this, pull));
+            }
+        }
+
+        @Override
+        public void onFinish() {
+            final int pull;
+            synchronized (DJI2MediaDownloader.this) {
+                pull = this.pull;
+            }
+            executor.execute(() -> verify(this, pull));
+        }
+
+        @Override
+        public void onFailure(final IDJIError error) {
+            final int pull;
+            synchronized (DJI2MediaDownloader.this) {
+                pull = this.pull;
+            }
+            executor.execute(() -> failed(this, pull, error == null ? "Unknown" : error.errorCode() + ": " + error.description()));
+        }
+
+        @Override
+        public String toString() {
+            return destination.getName() + " " + status.name() + " " + written + "/" + getTotal();
+        }
+    }
+
+    private final DJI2ExecutorPool.Lease executor;
+    //checksums only, results are handed back to the executor
+    private final ExecutorService verifier = Executors.newSingleThreadExecutor(runnable -> {
+        final Thread thread = new Thread(runnable, "DJI2 media verification");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+    private final ArrayDeque<Task> queue = new ArrayDeque<>();
+    private final List<Task> running = new ArrayList<>();
+    //tasks being hashed on the verifier: queued tasks with an existing download (only transferred if it doesn't match)
+    //and transferred tasks waiting on their checksum
+    private final List<Task> verifying = new ArrayList<>();
+    private int concurrency = 2;
+    private int inFlightConcurrency = 1;
+    private long inFlightBytesPerSecond = 512 * 1024;
+    private boolean motorsOn = false;
+    private boolean closed = false;
+
+    //token bucket, only drawn down while throttled
+    private double tokens = 0;
+    private long tokensNanos = System.nanoTime();
+
+    //statistics
+    private final long started = System.nanoTime();
+    private long completed = 0;
+    private long failed = 0;
+    private long bytes = 0;
+    private long throttlePauses = 0;
+
+    public DJI2MediaDownloader(final DJI2ExecutorPool executorPool) {
+        this.executor = executorPool.borrow("Media downloader");
+    }
+
+    public void addListener(final Listener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(final Listener listener) {
+        listeners.remove(listener);
+    }
+
+    //concurrent transfers while the motors are off
+    public synchronized void setConcurrency(final int concurrency) {
+        this.concurrency = Math.max(1, concurrency);
+        executor.execute(this::schedule);
+    }
+
+    //concurrent transfers and total bandwidth while the motors are on, zero transfers pauses downloading in flight
+    public synchronized void setInFlightLimits(final int concurrency, final long bytesPerSecond) {
+        this.inFlightConcurrency = Math.max(0, concurrency);
+        this.inFlightBytesPerSecond = Math.max(1, bytesPerSecond);
+        executor.execute(this::schedule);
+    }
+
+    public void setMotorsOn(final boolean motorsOn) {
+        synchronized (this) {
+            if (this.motorsOn == motorsOn) {
+                return;
+            }
+            this.motorsOn = motorsOn;
+            tokens = 0;
+            tokensNanos = System.nanoTime();
+        }
+        Log.i(TAG, "Media downloads " + (motorsOn ? "throttled (motors on)" : "unthrottled (motors off)"));
+        executor.execute(this::schedule);
+    }
+
+    public synchronized Task enqueue(final MediaFile mediaFile, final File directory) {
+        final Task task = new Task(mediaFile, new File(directory, mediaFile.getFileName()));
+        if (closed) {
+            task.status = Status.CANCELLED;
+            return task;
+        }
+
+        if (hasExisting(task)) {
+            verifying.add(task);
+            verifier.execute(() -> {
+                final boolean verified = verifyExisting(task);
+                executor.execute(() -> onExistingVerified(task, verified));
+            });
+            return task;
+        }
+
+        queue.add(task);
+        executor.execute(this::schedule);
+        return task;
+    }
+
+    public void cancel(final Task task) {
+        executor.execute(() -> {
+            synchronized (this) {
+                if (task.status == Status.COMPLETE || task.status == Status.FAILED || task.status == Status.CANCELLED) {
+                    return;
+                }
+                queue.remove(task);
+                verifying.remove(task);
+            }
+            stop(task);
+            finish(task, Status.CANCELLED, null);
+        });
+    }
+
+    public synchronized Statistics getStatistics() {
+        final double elapsed = (System.nanoTime() - started) / (double)TimeUnit.SECONDS.toNanos(1);
+        return new Statistics(queue.size(), running.size(), completed, failed, bytes, throttlePauses, elapsed <= 0 ? 0 : bytes / elapsed);
+    }
+
+    public void close() {
+        final List<Task> tasks;
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            tasks = new ArrayList<>(running);
+            tasks.addAll(queue);
+            tasks.addAll(verifying);
+            queue.clear();
+            verifying.clear();
+            verifier.shutdownNow();
+        }
+
+        executor.execute(() -> {
+            for (final Task task : tasks) {
+                stop(task);
+                finish(task, Status.CANCELLED, null);
+            }
+            Log.i(TAG, "Media downloader closed: " + getStatistics());
+            executor.release();
+        });
+    }
+
+    private boolean isThrottled() {
+        synchronized (this) {
+            return motorsOn && tokens < 0;
+        }
+    }
+
+    private void consume(final long size) {
+        if (!motorsOn) {
+            return;
+        }
+
+        final long now = System.nanoTime();
+        tokens = Math.min(inFlightBytesPerSecond, tokens + inFlightBytesPerSecond * ((now - tokensNanos) / (double)TimeUnit.SECONDS.toNanos(1)));
+        tokensNanos = now;
+        tokens -= size;
+    }
+
+    //runs on the executor: starts queued tasks up to the current limit and stops running ones above it
+    private void schedule() {
+        final List<Task> start = new ArrayList<>();
+        final List<Task> pause = new ArrayList<>();
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+
+            final int limit = motorsOn ? inFlightConcurrency : concurrency;
+            while (running.size() > limit) {
+                final Task task = running.remove(running.size() - 1);
+                pause.add(task);
+            }
+
+            while (running.size() < limit && !queue.isEmpty()) {
+                final Task task = queue.poll();
+                running.add(task);
+                start.add(task);
+            }
+        }
+
+        for (final Task task : pause) {
+            stop(task);
+            synchronized (this) {
+                task.status = Status.PAUSED;
+                queue.addFirst(task);
+            }
+        }
+
+        for (final Task task : start) {
+            start(task);
+        }
+    }
+
+    private void onExistingVerified(final Task task, final boolean verified) {
+        synchronized (this) {
+            if (!verifying.remove(task) || closed || task.status != Status.QUEUED) {
+                return;
+            }
+
+            if (!verified) {
+                queue.add(task);
+            }
+        }
+
+        if (verified) {
+            finish(task, Status.COMPLETE, null);
+        }
+        else {
+            schedule();
+        }
+    }
+
+    private void start(final Task task) {
+        try {
+            final File directory = task.destination.getParentFile();
+            if (directory != null && !directory.exists() && !directory.mkdirs()) {
+                throw new IOException("Unable to create directory: " + directory);
+            }
+
+            final FileChannel channel = new RandomAccessFile(task.part, "rw").getChannel();
+            //anything past the contiguous length from a previous attempt is discarded (data may arrive out of order,
+            //so the file size alone can include gaps), a part file left by an earlier session starts over
+            final long offset = Math.min(Math.min(task.written, channel.size()), task.mediaFile.getFileSize());
+            channel.truncate(offset);
+            synchronized (this) {
+                task.channel = channel;
+                task.written = offset;
+                task.status = Status.RUNNING;
+                task.attempts++;
+                task.pull++;
+            }
+
+            Log.d(TAG, String.format(Locale.US, "Media download started (%s) at %d/%d, attempt %d", task.destination.getName(), offset, task.getTotal(), task.attempts));
+            DronelinkDJI2.getSDK().pullOriginalMediaFile(task.mediaFile, offset, task);
+        }
+        catch (final IOException e) {
+            finish(task, Status.FAILED, e.getMessage());
+        }
+    }
+
+    //stops the pull and closes the part file, keeping it for a later resume
+    private void stop(final Task task) {
+        final boolean pulling;
+        synchronized (this) {
+            pulling = task.status == Status.RUNNING;
+            task.pull++;
+            running.remove(task);
+        }
+
+        if (pulling) {
+            DronelinkDJI2.getSDK().stopPullOriginalMediaFile(task.mediaFile, null);
+        }
+        close(task);
+    }
+
+    private void throttle(final Task task, final int pull) {
+        final long delayMillis;
+        synchronized (this) {
+            if (pull != task.pull || task.status != Status.RUNNING || !motorsOn || tokens >= 0) {
+                return;
+            }
+            delayMillis = (long)Math.ceil(-tokens * 1000.0 / inFlightBytesPerSecond);
+            throttlePauses++;
+        }
+
+        stop(task);
+        synchronized (this) {
+            task.status = Status.PAUSED;
+        }
+        executor.schedule(() -> requeue(task), delayMillis, TimeUnit.MILLISECONDS);
+    }
+
+    private void requeue(final Task task) {
+        synchronized (this) {
+            if (closed || task.status != Status.PAUSED) {
+                return;
+            }
+            queue.addFirst(task);
+        }
+        schedule();
+    }
+
+    private void failed(final Task task, final int pull, final String error) {
+        synchronized (this) {
+            if (pull != task.pull || task.status != Status.RUNNING) {
+                return;
+            }
+        }
+
+        Log.w(TAG, "Media download failed (" + task.destination.getName() + ", attempt " + task.attempts + "): " + error);
+        stop(task);
+        if (task.attempts >= MAX_ATTEMPTS) {
+            finish(task, Status.FAILED, error);
+            return;
+        }
+
+        synchronized (this) {
+            task.status = Status.PAUSED;
+            task.error = error;
+        }
+        executor.schedule(() -> requeue(task), RETRY_DELAY_MILLIS * task.attempts, TimeUnit.MILLISECONDS);
+        schedule();
+    }
+
+    //the size and JPEG end marker are checked here, the checksum on the verifier
+    private void verify(final Task task, final int pull) {
+        final int verification;
+        synchronized (this) {
+            if (pull != task.pull || task.status != Status.RUNNING) {
+                return;
+            }
+            task.pull++;
+            verification = task.pull;
+            running.remove(task);
+            verifying.add(task);
+        }
+        close(task);
+
+        try {
+            final long size = task.part.length();
+            if (size != task.getTotal()) {
+                throw new IOException("Size mismatch: " + size + " != " + task.getTotal());
+            }
+
+            if (isJPEG(task.destination) && !hasJPEGEndMarker(task.part)) {
+                throw new IOException("JPEG end marker missing");
+            }
+        }
+        catch (final IOException e) {
+            synchronized (this) {
+                verifying.remove(task);
+            }
+            verificationFailed(task, e.getMessage());
+            schedule();
+            return;
+        }
+
+        synchronized (this) {
+            //close cancels the task (and shuts down the verifier)
+            if (closed) {
+                return;
+            }
+
+            verifier.execute(() -> {
+                String checksum = null;
+                String error = null;
+                try {
+                    checksum = checksum(task.part);
+                }
+                catch (final IOException e) {
+                    error = e.getMessage();
+                }
+
+                final String result = checksum;
+                final String resultError = error;
+                executor.execute(() -> onVerified(task, verification, result, resultError));
+            });
+        }
+        //the next transfer doesn't wait for the checksum
+        schedule();
+    }
+
+    private void onVerified(final Task task, final int verification, final String checksum, final String error) {
+        synchronized (this) {
+            if (!verifying.remove(task) || verification != task.pull || task.status != Status.RUNNING) {
+                return;
+            }
+        }
+
+        try {
+            if (checksum == null) {
+                throw new IOException("Checksum failed: " + error);
+            }
+
+            if (task.destination.exists() && !task.destination.delete()) {
+                throw new IOException("Unable to replace " + task.destination);
+            }
+
+            if (!task.part.renameTo(task.destination)) {
+                throw new IOException("Unable to rename " + task.part);
+            }
+            writeChecksum(task.destination, checksum);
+            finish(task, Status.COMPLETE, null);
+        }
+        catch (final IOException e) {
+            verificationFailed(task, e.getMessage());
+            schedule();
+        }
+    }
+
+    private void verificationFailed(final Task task, final String error) {
+        //the data can't be trusted, start over
+        if (!task.part.delete()) {
+            Log.w(TAG, "Unable to delete " + task.part);
+        }
+
+        synchronized (this) {
+            task.written = 0;
+        }
+
+        if (task.attempts >= MAX_ATTEMPTS) {
+            finish(task, Status.FAILED, error);
+            return;
+        }
+
+        Log.w(TAG, "Media download verification failed (" + task.destination.getName() + "): " + error);
+        synchronized (this) {
+            task.status = Status.PAUSED;
+            task.error = error;
+        }
+        requeue(task);
+    }
+
+    private void finish(final Task task, final Status status, final String error) {
+        synchronized (this) {
+            running.remove(task);
+            verifying.remove(task);
+            task.status = status;
+            task.error = error;
+            if (status == Status.COMPLETE) {
+                task.written = task.getTotal();
+                completed++;
+            }
+            else if (status == Status.FAILED) {
+                failed++;
+            }
+        }
+
+        Log.i(TAG, "Media download " + status.name().toLowerCase(Locale.US) + ": " + task + (error == null ? "" : " (" + error + ")"));
+        for (final Listener listener : listeners) {
+            listener.onFinished(task);
+        }
+        executor.execute(this::schedule);
+    }
+
+    private void close(final Task task) {
+        final FileChannel channel;
+        synchronized (this) {
+            channel = task.channel;
+            task.channel = null;
+        }
+
+        if (channel != null) {
+            try {
+                channel.force(false);
+                channel.close();
+            }
+            catch (final IOException e) {
+                Log.w(TAG, "Unable to close " + task.part, e);
+            }
+        }
+    }
+
+    private static File getChecksumFile(final Task task) {
+        return new File(task.destination.getPath() + CHECKSUM_EXTENSION);
+    }
+
+    //cheap checks only, the checksum is left to verifyExisting
+    private static boolean hasExisting(final Task task) {
+        return task.destination.exists() && getChecksumFile(task).exists() && task.destination.length() == task.getTotal();
+    }
+
+    //a previously completed download with a matching size and checksum is not downloaded again (runs on the verifier)
+    private static boolean verifyExisting(final Task task) {
+        final File checksumFile = getChecksumFile(task);
+        try {
+            final String expected = new String(readAll(checksumFile), StandardCharsets.US_ASCII).trim();
+            return expected.equals(checksum(task.destination));
+        }
+        catch (final IOException e) {
+            return false;
+        }
+    }
+
+    private static boolean isJPEG(final File file) {
+        final String name = file.getName().toUpperCase(Locale.US);
+        return name.endsWith(".JPG") || name.endsWith(".JPEG");
+    }
+
+    private static boolean hasJPEGEndMarker(final File file) throws IOException {
+        try (final RandomAccessFile randomAccessFile = new RandomAccessFile(file, "r")) {
+            if (randomAccessFile.length() < 2) {
+                return false;
+            }
+            randomAccessFile.seek(randomAccessFile.length() - 2);
+            return randomAccessFile.read() == 0xFF && randomAccessFile.read() == 0xD9;
+        }
+    }
+
+    private static String checksum(final File file) throws IOException {
+        final MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        }
+        catch (final NoSuchAlgorithmException e) {
+            throw new IOException(e);
+        }
+
+        try (final FileChannel channel = new RandomAccessFile(file, "r").getChannel()) {
+            final ByteBuffer buffer = ByteBuffer.allocateDirect(256 * 1024);
+            while (channel.read(buffer) > 0) {
+                buffer.flip();
+                digest.update(buffer);
+                buffer.clear();
+            }
+        }
+
+        final StringBuilder hex = new StringBuilder();
+        for (final byte b : digest.digest()) {
+            hex.append(String.format(Locale.US, "%02x", b));
+        }
+        return hex.toString();
+    }
+
+    private static void writeChecksum(final File file, final String checksum) throws IOException {
+        try (final FileChannel channel = new RandomAccessFile(new File(file.getPath() + CHECKSUM_EXTENSION), "rw").getChannel()) {
+            channel.truncate(0);
+            channel.write(ByteBuffer.wrap(checksum.getBytes(StandardCharsets.US_ASCII)));
+        }
+    }
+
+    private static byte[] readAll(final File file) throws IOException {
+        try (final RandomAccessFile randomAccessFile = new RandomAccessFile(file, "r")) {
+            final byte[] bytes = new byte[(int)randomAccessFile.length()];
+            randomAccessFile.readFully(bytes);
+            return bytes;
+        }
+    }
+}
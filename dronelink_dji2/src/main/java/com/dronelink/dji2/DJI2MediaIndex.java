@@ -0,0 +1,345 @@
+//  DJI2MediaIndex.java
+//  DronelinkDJI2
+//
+//  Created by agent on 10/17/26.
+//  Copyright © 2026 Dronelink. All rights reserved.
+//
+package com.dronelink.dji2;
+
+import android.location.Location;
+import android.util.Log;
+
+import com.dronelink.core.kernel.core.Orientation3;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+//append-only, per aircraft index of every camera file reported by KeyNewlyGeneratedMediaFile
+//the camera is never queried: entries carry the capture-time state from DJI2CameraFile
+//entries are held in memory sorted by time and by latitude, so time range and bounding box queries are binary searches
+public class DJI2MediaIndex {
+    private static final String TAG = DJI2MediaIndex.class.getCanonicalName();
+
+    public static final String EXTENSION = ".dlmi";
+    private static final int MAGIC = 0x444C4D49;
+    private static final short VERSION = 1;
+
+    public static class Entry {
+        public final String name;
+        public final int channel;
+        //kernel CameraLensType name, null if unknown
+        public final String lensType;
+        public final long created;
+        //NaN if not located
+        public final double latitude;
+        public final double longitude;
+        //NaN if unknown
+        public final double altitude;
+        //radians
+        public final double pitch;
+        public final double roll;
+        public final double yaw;
+        public final long size;
+        public final String mission;
+
+        public Entry(final String name, final int channel, final String lensType, final long created, final double latitude, final double longitude, final double altitude, final double pitch, final double roll, final double yaw, final long size, final String mission) {
+            this.name = name;
+            this.channel = channel;
+            this.lensType = lensType;
+            this.created = created;
+            this.latitude = latitude;
+            this.longitude = longitude;
+            this.altitude = altitude;
+            this.pitch = pitch;
+            this.roll = roll;
+            this.yaw = yaw;
+            this.size = size;
+            this.mission = mission;
+        }
+
+        public static Entry create(final DJI2CameraFile file, final String mission) {
+            final Location coordinate = file.getCoordinate();
+            final Double altitude = file.getAltitude();
+            final Orientation3 orientation = file.getOrientation();
+            return new Entry(
+                    file.getName(),
+                    file.getChannel(),
+                    file.getLensType() == null ? null : file.getLensType().name(),
+                    file.getCreated().getTime(),
+                    coordinate == null ? Double.NaN : coordinate.getLatitude(),
+                    coordinate == null ? Double.NaN : coordinate.getLongitude(),
+                    altitude == null ? Double.NaN : altitude,
+                    orientation == null ? 0 : orientation.x,
+                    orientation == null ? 0 : orientation.y,
+                    orientation == null ? 0 : orientation.z,
+                    file.getSize(),
+                    mission);
+        }
+
+        public boolean isLocated() {
+            return !Double.isNaN(latitude) && !Double.isNaN(longitude);
+        }
+
+        public JSONObject toJSON() throws JSONException {
+            final JSONObject json = new JSONObject();
+            json.put("name", name);
+            json.put("channel", channel);
+            json.put("lensType", lensType == null ? JSONObject.NULL : lensType);
+            json.put("created", created);
+            json.put("latitude", isLocated() ? latitude : JSONObject.NULL);
+            json.put("longitude", isLocated() ? longitude : JSONObject.NULL);
+            json.put("altitude", Double.isNaN(altitude) ? JSONObject.NULL : altitude);
+            json.put("pitch", pitch);
+            json.put("roll", roll);
+            json.put("yaw", yaw);
+            json.put("size", size);
+            json.put("mission", mission == null ? JSONObject.NULL : mission);
+            return json;
+        }
+
+        private void write(final DataOutputStream output) throws IOException {
+            output.writeUTF(name);
+            output.writeInt(channel);
+            writeString(output, lensType);
+            output.writeLong(created);
+            output.writeDouble(latitude);
+            output.writeDouble(longitude);
+            output.writeDouble(altitude);
+            output.writeDouble(pitch);
+            output.writeDouble(roll);
+            output.writeDouble(yaw);
+            output.writeLong(size);
+            writeString(output, mission);
+        }
+
+        private static Entry read(final DataInputStream input) throws IOException {
+            return new Entry(
+                    input.readUTF(),
+                    input.readInt(),
+                    readString(input),
+                    input.readLong(),
+                    input.readDouble(),
+                    input.readDouble(),
+                    input.readDouble(),
+                    input.readDouble(),
+                    input.readDouble(),
+                    input.readDouble(),
+                    input.readLong(),
+                    readString(input));
+        }
+    }
+
+    private static final Comparator<Entry> CREATED = (a, b) -> Long.compare(a.created, b.created);
+    private static final Comparator<Entry> LATITUDE = (a, b) -> Double.compare(a.latitude, b.latitude);
+
+    private final File file;
+    private final List<Entry> byCreated = new ArrayList<>();
+    private final List<Entry> byLatitude = new ArrayList<>();
+    private final Map<String, List<Entry>> byMission = new HashMap<>();
+    private DataOutputStream output;
+
+    //loads (or creates) the index for the serial number, a truncated final entry (e.g. from a crash) is discarded
+    public DJI2MediaIndex(final File directory, final String serialNumber) throws IOException {
+        if (!directory.exists() && !directory.mkdirs()) {
+            throw new IOException("Unable to create media index directory: " + directory);
+        }
+
+        this.file = new File(directory, serialNumber.replaceAll("[^A-Za-z0-9_-]", "_") + EXTENSION);
+        final long started = System.currentTimeMillis();
+        final long length = load();
+        output = new DataOutputStream(new FileOutputStream(file, true));
+        if (length == 0) {
+            output.writeInt(MAGIC);
+            output.writeShort(VERSION);
+            output.flush();
+        }
+        Log.i(TAG, String.format("Media index loaded (%s): %d entries in %dms", file.getName(), byCreated.size(), System.currentTimeMillis() - started));
+    }
+
+    public File getFile() {
+        return file;
+    }
+
+    public synchronized int size() {
+        return byCreated.size();
+    }
+
+    public synchronized void add(final Entry entry) throws IOException {
+        if (output == null) {
+            throw new IOException("Media index closed: " + file.getName());
+        }
+
+        //length prefixed, so a partial write can be detected and dropped on load
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+        entry.write(new DataOutputStream(bytes));
+        output.writeInt(bytes.size());
+        bytes.writeTo(output);
+        output.flush();
+        insert(entry);
+    }
+
+    //entries created in [from, to], oldest first
+    public synchronized List<Entry> getEntries(final long from, final long to) {
+        final int start = lowerBound(byCreated, CREATED, new Entry(null, 0, null, from, 0, 0, 0, 0, 0, 0, 0, null));
+        final List<Entry> entries = new ArrayList<>();
+        for (int i = start; i < byCreated.size() && byCreated.get(i).created <= to; i++) {
+            entries.add(byCreated.get(i));
+        }
+        return entries;
+    }
+
+    //oldest first
+    public synchronized List<Entry> getEntries(final String mission) {
+        final List<Entry> entries = byMission.get(mission);
+        return entries == null ? Collections.emptyList() : new ArrayList<>(entries);
+    }
+
+    //located entries within the bounding box (degrees), the box may not cross the antimeridian, oldest first
+    public synchronized List<Entry> getEntries(final double south, final double west, final double north, final double east) {
+        final int start = lowerBound(byLatitude, LATITUDE, new Entry(null, 0, null, 0, south, 0, 0, 0, 0, 0, 0, null));
+        final List<Entry> entries = new ArrayList<>();
+        for (int i = start; i < byLatitude.size(); i++) {
+            final Entry entry = byLatitude.get(i);
+            if (entry.latitude > north) {
+                break;
+            }
+
+            if (entry.longitude >= west && entry.longitude <= east) {
+                entries.add(entry);
+            }
+        }
+        Collections.sort(entries, CREATED);
+        return entries;
+    }
+
+    public synchronized void close() {
+        if (output == null) {
+            return;
+        }
+
+        try {
+            output.close();
+        }
+        catch (final IOException e) {
+            Log.e(TAG, "Unable to close media index: " + file.getName(), e);
+        }
+        output = null;
+    }
+
+    private long load() throws IOException {
+        if (!file.exists()) {
+            return 0;
+        }
+
+        long valid = 0;
+        try (final DataInputStream input = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            if (input.readInt() != MAGIC || input.readShort() != VERSION) {
+                throw new IOException("Not a media index: " + file);
+            }
+            valid = 6;
+
+            while (true) {
+                final int length;
+                try {
+                    length = input.readInt();
+                }
+                catch (final EOFException e) {
+                    break;
+                }
+
+                final byte[] bytes = new byte[length];
+                input.readFully(bytes);
+                insert(Entry.read(new DataInputStream(new ByteArrayInputStream(bytes))));
+                valid += 4 + length;
+            }
+        }
+        catch (final EOFException e) {
+            Log.w(TAG, "Media index truncated entry discarded: " + file.getName());
+        }
+
+        if (valid < file.length()) {
+            try (final RandomAccessFile randomAccessFile = new RandomAccessFile(file, "rw")) {
+                randomAccessFile.setLength(valid);
+            }
+        }
+        return valid;
+    }
+
+    private void insert(final Entry entry) {
+        //files arrive in capture order, so this is almost always an append
+        byCreated.add(upperBound(byCreated, CREATED, entry), entry);
+        if (entry.isLocated()) {
+            byLatitude.add(upperBound(byLatitude, LATITUDE, entry), entry);
+        }
+
+        if (entry.mission != null) {
+            List<Entry> entries = byMission.get(entry.mission);
+            if (entries == null) {
+                entries = new ArrayList<>();
+                byMission.put(entry.mission, entries);
+            }
+            entries.add(upperBound(entries, CREATED, entry), entry);
+        }
+    }
+
+    //first index with an element >= key
+    private static int lowerBound(final List<Entry> entries, final Comparator<Entry> comparator, final Entry key) {
+        int low = 0;
+        int high = entries.size();
+        while (low < high) {
+            final int middle = (low + high) >>> 1;
+            if (comparator.compare(entries.get(middle), key) < 0) {
+                low = middle + 1;
+            }
+            else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    //first index with an element > key
+    private static int upperBound(final List<Entry> entries, final Comparator<Entry> comparator, final Entry key) {
+        int low = 0;
+        int high = entries.size();
+        while (low < high) {
+            final int middle = (low + high) >>> 1;
+            if (comparator.compare(entries.get(middle), key) <= 0) {
+                low = middle + 1;
+            }
+            else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private static void writeString(final DataOutputStream output, final String value) throws IOException {
+        output.writeBoolean(value != null);
+        if (value != null) {
+            output.writeUTF(value);
+        }
+    }
+
+    private static String readString(final DataInputStream input) throws IOException {
+        return input.readBoolean() ? input.readUTF() : null;
+    }
+}
@@ -0,0 +1,373 @@
+//  DJI2ReplayDriver.java
+//  DronelinkDJI2
+//
+//  Created by agent on 10/17/26.
+//  Copyright © 2026 Dronelink. All rights reserved.
+//
+package com.dronelink.dji2;
+
+import android.util.Log;
+
+import com.dronelink.core.DroneControlSession;
+import com.dronelink.core.kernel.core.Message;
+import com.dronelink.dji2.adapters.DJI2DroneAdapter;
+import com.dronelink.dji2.adapters.DJI2DroneStateAdapter;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import dji.sdk.keyvalue.key.DJIKey;
+import dji.sdk.keyvalue.value.common.Attitude;
+import dji.sdk.keyvalue.value.common.LocationCoordinate2D;
+import dji.sdk.keyvalue.value.common.LocationCoordinate3D;
+import dji.sdk.keyvalue.value.common.Velocity3D;
+import dji.sdk.keyvalue.value.flightcontroller.VirtualStickFlightControlParam;
+
+//feeds a DJI2FlightRecorder log into a session built on a DJI2SimulatorSDKGateway (set with DronelinkDJI2.setSDK before the session is created)
+//and collects what the session decided: status message changes, disengage reasons and the calls it made against the SDK
+//sessions on a simulator are not flight recorded, so the log being replayed is never pruned or mixed with the replay
+//listener policies are forced to PASS_THROUGH and every record is delivered before the next, so two runs of the same log can be diffed
+//timer driven output (the virtual stick and gimbal loops) is reduced to changes, but still depends on wall clock time
+public class DJI2ReplayDriver {
+    private static final String TAG = DJI2ReplayDriver.class.getCanonicalName();
+
+    public enum Timing {
+        //the recorded intervals
+        ORIGINAL,
+        //the recorded intervals divided by the speed
+        ACCELERATED,
+        //no waiting, the result doubles as a throughput benchmark of the adapter stack
+        AS_FAST_AS_POSSIBLE
+    }
+
+    public enum EventKind {
+        STATUS_ADDED,
+        STATUS_REMOVED,
+        DISENGAGE,
+        CALL
+    }
+
+    public static class Event {
+        //recorded time of the record that was being replayed
+        public final long time;
+        public final EventKind kind;
+        public final String detail;
+
+        private Event(final long time, final EventKind kind, final String detail) {
+            this.time = time;
+            this.kind = kind;
+            this.detail = detail;
+        }
+
+        public JSONObject toJSON() throws JSONException {
+            final JSONObject json = new JSONObject();
+            json.put("time", time);
+            json.put("kind", kind.name());
+            json.put("detail", detail == null ? JSONObject.NULL : detail);
+            return json;
+        }
+
+        @Override
+        public String toString() {
+            return time + " " + kind.name() + " " + detail;
+        }
+    }
+
+    public static class Result {
+        public final long records;
+        public final long published;
+        //records for keys nothing listened to
+        public final long unresolved;
+        //records whose value could not be rebuilt (recorded with toString)
+        public final long unsupported;
+        public final long elapsedMillis;
+        public final double recordsPerSecond;
+        public final List<Event> events;
+
+        private Result(final long records, final long published, final long unresolved, final long unsupported, final long elapsedMillis, final List<Event> events) {
+            this.records = records;
+            this.published = published;
+            this.unresolved = unresolved;
+            this.unsupported = unsupported;
+            this.elapsedMillis = elapsedMillis;
+            this.recordsPerSecond = elapsedMillis == 0 ? 0 : published * 1000.0 / elapsedMillis;
+            this.events = events;
+        }
+
+        public JSONObject toJSON() throws JSONException {
+            final JSONObject json = new JSONObject();
+            json.put("records", records);
+            json.put("published", published);
+            json.put("unresolved", unresolved);
+            json.put("unsupported", unsupported);
+            json.put("elapsedMillis", elapsedMillis);
+            json.put("recordsPerSecond", recordsPerSecond);
+            final JSONArray events = new JSONArray();
+            for (final Event event : this.events) {
+                events.put(event.toJSON());
+            }
+            json.put("events", events);
+            return json;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("records=%d published=%d unresolved=%d unsupported=%d elapsed=%dms throughput=%.0f/s events=%d",
+                    records, published, unresolved, unsupported, elapsedMillis, recordsPerSecond, events.size());
+        }
+    }
+
+    private final DJI2SimulatorSDKGateway simulator;
+    private final DJI2DroneSession session;
+    private final DroneControlSession controlSession;
+    private final Map<String, DJIKey<?>> keys = new HashMap<>();
+    private final List<Event> events = new ArrayList<>();
+    private final Map<String, String> lastCalls = new HashMap<>();
+    private long time = 0;
+    private String disengageReason;
+    private String controlDisengageReason;
+
+    //controlSession is optional (e.g. a DJI2VirtualStickSession to evaluate its disengage reason as well)
+    public DJI2ReplayDriver(final DJI2SimulatorSDKGateway simulator, final DJI2DroneSession session, final DroneControlSession controlSession) {
+        this.simulator = simulator;
+        this.session = session;
+        this.controlSession = controlSession;
+    }
+
+    //speed only applies to ACCELERATED timing
+    public Result run(final List<File> segments, final Timing timing, final double speed) throws IOException {
+        final DJI2DroneStateAdapter state = ((DJI2DroneAdapter)session.getDrone()).state;
+        final DJI2StatusMessages.Listener statusListener = (added, removed, messages) -> {
+            for (final Message message : removed) {
+                event(EventKind.STATUS_REMOVED, describe(message));
+            }
+            for (final Message message : added) {
+                event(EventKind.STATUS_ADDED, describe(message));
+            }
+        };
+
+        final double divisor = timing == Timing.ACCELERATED ? Math.max(0.001, speed) : 1;
+        final long[] counts = new long[4];
+        final long[] firstNanos = { -1 };
+        final long started = System.nanoTime();
+
+        DJI2ListenerGroup.setPolicyOverride(DJI2ListenerGroup.Policy.PASS_THROUGH);
+        simulator.setCallListener(this::onCall);
+        state.addStatusMessagesListener(statusListener);
+        try {
+            DJI2FlightRecordReader.read(segments, record -> {
+                counts[0]++;
+                synchronized (events) {
+                    time = record.time;
+                }
+
+                if (timing != Timing.AS_FAST_AS_POSSIBLE) {
+                    if (firstNanos[0] < 0) {
+                        firstNanos[0] = record.nanos;
+                    }
+                    final long due = started + (long)((record.nanos - firstNanos[0]) / divisor);
+                    final long wait = due - System.nanoTime();
+                    if (wait > 0) {
+                        sleep(wait);
+                    }
+                }
+
+                final DJIKey<?> key = resolve(record.key);
+                if (key == null) {
+                    counts[2]++;
+                    return;
+                }
+
+                final Object value;
+                try {
+                    value = decode(record);
+                }
+                catch (final Exception e) {
+                    counts[3]++;
+                    return;
+                }
+
+                publish(key, value);
+                counts[1]++;
+                try {
+                    simulator.flush();
+                }
+                catch (final InterruptedException e) {
+                    throw new IOException(e);
+                }
+                evaluate();
+            });
+        }
+        finally {
+            state.removeStatusMessagesListener(statusListener);
+            simulator.setCallListener(null);
+            DJI2ListenerGroup.setPolicyOverride(null);
+        }
+
+        final List<Event> events;
+        synchronized (this.events) {
+            events = new ArrayList<>(this.events);
+        }
+        final Result result = new Result(counts[0], counts[1], counts[2], counts[3], TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started), events);
+        Log.i(TAG, "Replay finished: " + result);
+        return result;
+    }
+
+    //status message changes arrive through the listener as the records are applied
+    private void evaluate() {
+        final String disengageReason = describe(session.getDisengageReason());
+        if (!equal(disengageReason, this.disengageReason)) {
+            this.disengageReason = disengageReason;
+            event(EventKind.DISENGAGE, "session: " + disengageReason);
+        }
+
+        if (controlSession != null) {
+            final String controlDisengageReason = describe(controlSession.getDisengageReason());
+            if (!equal(controlDisengageReason, this.controlDisengageReason)) {
+                this.controlDisengageReason = controlDisengageReason;
+                event(EventKind.DISENGAGE, "control: " + controlDisengageReason);
+            }
+        }
+    }
+
+    private void onCall(final String operation, final String key, final Object value) {
+        final String target = key == null ? operation : operation + " " + key;
+        final String detail = describe(value);
+        synchronized (events) {
+            //periodic sends (virtual stick, gimbal) are only reported when they change
+            if (lastCalls.containsKey(target) && equal(lastCalls.get(target), detail)) {
+                return;
+            }
+            lastCalls.put(target, detail);
+        }
+        event(EventKind.CALL, detail == null ? target : target + ": " + detail);
+    }
+
+    private void event(final EventKind kind, final String detail) {
+        synchronized (events) {
+            events.add(new Event(time, kind, detail));
+        }
+    }
+
+    private DJIKey<?> resolve(final String name) {
+        DJIKey<?> key = keys.get(name);
+        if (key == null) {
+            //adapters (cameras, batteries) subscribe as components connect, so keep looking
+            key = simulator.getListenedKey(name);
+            if (key != null) {
+                keys.put(name, key);
+            }
+        }
+        return key;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> void publish(final DJIKey<T> key, final Object value) {
+        simulator.publish(key, (T)value);
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private static Object decode(final DJI2FlightRecordReader.Record record) throws Exception {
+        final Object value = record.value;
+        final String valueClass = record.valueClass;
+        if (value == null || valueClass == null) {
+            return value;
+        }
+
+        if (value instanceof double[]) {
+            final double[] components = (double[])value;
+            if (valueClass.equals(Attitude.class.getName())) {
+                final Attitude attitude = new Attitude();
+                attitude.setPitch(components[0]);
+                attitude.setRoll(components[1]);
+                attitude.setYaw(components[2]);
+                return attitude;
+            }
+
+            if (valueClass.equals(LocationCoordinate3D.class.getName())) {
+                final LocationCoordinate3D location = new LocationCoordinate3D();
+                location.setLatitude(components[0]);
+                location.setLongitude(components[1]);
+                location.setAltitude(components[2]);
+                return location;
+            }
+
+            if (valueClass.equals(Velocity3D.class.getName())) {
+                final Velocity3D velocity = new Velocity3D();
+                velocity.setX(components[0]);
+                velocity.setY(components[1]);
+                velocity.setZ(components[2]);
+                return velocity;
+            }
+
+            if (valueClass.equals(LocationCoordinate2D.class.getName())) {
+                final LocationCoordinate2D location = new LocationCoordinate2D();
+                location.setLatitude(components[0]);
+                location.setLongitude(components[1]);
+                return location;
+            }
+
+            throw new IllegalArgumentException("Unsupported value class: " + valueClass);
+        }
+
+        final Class<?> type = Class.forName(valueClass);
+        if (type.isEnum()) {
+            return Enum.valueOf((Class<Enum>)type, (String)value);
+        }
+
+        if (type == Short.class) {
+            return ((Integer)value).shortValue();
+        }
+
+        if (type == Byte.class) {
+            return ((Integer)value).byteValue();
+        }
+
+        if (!type.isInstance(value)) {
+            throw new IllegalArgumentException("Unsupported value class: " + valueClass);
+        }
+        return value;
+    }
+
+    private static String describe(final Object value) {
+        if (value == null) {
+            return null;
+        }
+
+        if (value instanceof Message) {
+            final Message message = (Message)value;
+            return message.level + " " + message.title + (message.details == null ? "" : " (" + message.details + ")");
+        }
+
+        if (value instanceof VirtualStickFlightControlParam) {
+            final VirtualStickFlightControlParam param = (VirtualStickFlightControlParam)value;
+            return String.format("%s/%s/%s/%s pitch=%.2f roll=%.2f throttle=%.2f yaw=%.2f",
+                    param.getRollPitchControlMode(), param.getRollPitchCoordinateSystem(), param.getVerticalControlMode(), param.getYawControlMode(),
+                    param.getPitch(), param.getRoll(), param.getVerticalThrottle(), param.getYaw());
+        }
+
+        return value.toString();
+    }
+
+    private static boolean equal(final String a, final String b) {
+        return a == null ? b == null : a.equals(b);
+    }
+
+    private static void sleep(final long nanos) throws IOException {
+        try {
+            TimeUnit.NANOSECONDS.sleep(nanos);
+        }
+        catch (final InterruptedException e) {
+            throw new IOException(e);
+        }
+    }
+}
@@ -0,0 +1,111 @@
+//  DJI2SDKGateway.java
+//  DronelinkDJI2
+//
+//  Created by agent on 10/17/26.
+//  Copyright © 2026 Dronelink. All rights reserved.
+//
+package com.dronelink.dji2;
+
+import dji.sdk.keyvalue.key.DJIKey;
+import dji.sdk.keyvalue.value.flightcontroller.VirtualStickFlightControlParam;
+import dji.v5.common.callback.CommonCallbacks;
+import dji.v5.manager.KeyManager;
+import dji.v5.manager.aircraft.virtualstick.VirtualStickManager;
+import dji.v5.manager.aircraft.virtualstick.VirtualStickStateListener;
+import dji.v5.manager.datacenter.media.MediaFile;
+import dji.v5.manager.datacenter.media.MediaFileDownloadListener;
+
+//the subset of the DJI SDK used by the sessions and adapters
+//DronelinkDJI2.getSDK() returns the DJI SDK by default (DJI2SDKGateway.DJI), DronelinkDJI2.setSDK() swaps in an alternative such as DJI2SimulatorSDKGateway
+public interface DJI2SDKGateway {
+    <T> void listen(DJIKey<T> key, Object holder, CommonCallbacks.KeyListener<T> listener);
+    void cancelListen(DJIKey<?> key, Object holder);
+    <T> void getValue(DJIKey<T> key, CommonCallbacks.CompletionCallbackWithParam<T> callback);
+    <T> void setValue(DJIKey<T> key, T value, CommonCallbacks.CompletionCallback callback);
+    <P, R> void performAction(DJIKey.ActionKey<P, R> key, CommonCallbacks.CompletionCallbackWithParam<R> callback);
+    <P, R> void performAction(DJIKey.ActionKey<P, R> key, P param, CommonCallbacks.CompletionCallbackWithParam<R> callback);
+
+    void enableVirtualStick(CommonCallbacks.CompletionCallback callback);
+    void disableVirtualStick(CommonCallbacks.CompletionCallback callback);
+    void setVirtualStickAdvancedModeEnabled(boolean enabled);
+    void setVirtualStickStateListener(VirtualStickStateListener listener);
+    void removeVirtualStickStateListener(VirtualStickStateListener listener);
+    //the caller reuses the param for the next send: implementations must not keep a reference to it after returning
+    void sendVirtualStickAdvancedParam(VirtualStickFlightControlParam param);
+
+    void pullOriginalMediaFile(MediaFile file, long offset, MediaFileDownloadListener listener);
+    void stopPullOriginalMediaFile(MediaFile file, CommonCallbacks.CompletionCallback callback);
+
+    DJI2SDKGateway DJI = new DJI2SDKGateway() {
+        @Override
+        public <T> void listen(final DJIKey<T> key, final Object holder, final CommonCallbacks.KeyListener<T> listener) {
+            KeyManager.getInstance().listen(key, holder, listener);
+        }
+
+        @Override
+        public void cancelListen(final DJIKey<?> key, final Object holder) {
+            KeyManager.getInstance().cancelListen(key, holder);
+        }
+
+        @Override
+        public <T> void getValue(final DJIKey<T> key, final CommonCallbacks.CompletionCallbackWithParam<T> callback) {
+            KeyManager.getInstance().getValue(key, callback);
+        }
+
+        @Override
+        public <T> void setValue(final DJIKey<T> key, final T value, final CommonCallbacks.CompletionCallback callback) {
+            KeyManager.getInstance().setValue(key, value, callback);
+        }
+
+        @Override
+        public <P, R> void performAction(final DJIKey.ActionKey<P, R> key, final CommonCallbacks.CompletionCallbackWithParam<R> callback) {
+            KeyManager.getInstance().performAction(key, callback);
+        }
+
+        @Override
+        public <P, R> void performAction(final DJIKey.ActionKey<P, R> key, final P param, final CommonCallbacks.CompletionCallbackWithParam<R> callback) {
+            KeyManager.getInstance().performAction(key, param, callback);
+        }
+
+        @Override
+        public void enableVirtualStick(final CommonCallbacks.CompletionCallback callback) {
+            VirtualStickManager.getInstance().enableVirtualStick(callback);
+        }
+
+        @Override
+        public void disableVirtualStick(final CommonCallbacks.CompletionCallback callback) {
+            VirtualStickManager.getInstance().disableVirtualStick(callback);
+        }
+
+        @Override
+        public void setVirtualStickAdvancedModeEnabled(final boolean enabled) {
+            VirtualStickManager.getInstance().setVirtualStickAdvancedModeEnabled(enabled);
+        }
+
+        @Override
+        public void setVirtualStickStateListener(final VirtualStickStateListener listener) {
+            VirtualStickManager.getInstance().setVirtualStickStateListener(listener);
+        }
+
+        @Override
+        public void removeVirtualStickStateListener(final VirtualStickStateListener listener) {
+            VirtualStickManager.getInstance().removeVirtualStickStateListener(listener);
+        }
+
+        @Override
+        public void sendVirtualStickAdvancedParam(final VirtualStickFlightControlParam param) {
+            //the SDK does not document whether it packs the param before returning, so it gets its own copy
+            VirtualStickManager.getInstance().sendVirtualStickAdvancedParam(DJI2VirtualStickTransmitter.copy(param));
+        }
+
+        @Override
+        public void pullOriginalMediaFile(final MediaFile file, final long offset, final MediaFileDownloadListener listener) {
+            file.pullOriginalMediaFileFromCamera(offset, listener);
+        }
+
+        @Override
+        public void stopPullOriginalMediaFile(final MediaFile file, final CommonCallbacks.CompletionCallback callback) {
+            file.stopPullOriginalMediaFileFromCamera(callback);
+        }
+    };
+}
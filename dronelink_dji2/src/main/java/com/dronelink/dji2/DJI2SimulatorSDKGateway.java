@@ -0,0 +1,438 @@
+//  DJI2SimulatorSDKGateway.java
+//  DronelinkDJI2
+//
+//  Created by agent on 10/17/26.
+//  Copyright © 2026 Dronelink. All rights reserved.
+//
+package com.dronelink.dji2;
+
+import android.util.Log;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import dji.sdk.keyvalue.key.DJIKey;
+import dji.sdk.keyvalue.value.flightcontroller.VirtualStickFlightControlParam;
+import dji.v5.common.callback.CommonCallbacks;
+import dji.v5.common.error.IDJIError;
+import dji.v5.manager.aircraft.virtualstick.VirtualStickStateListener;
+import dji.v5.manager.datacenter.media.MediaFile;
+import dji.v5.manager.datacenter.media.MediaFileDownloadListener;
+
+//in-process stand-in for the DJI SDK (see DronelinkDJI2.setSDK):
+//key values are published or replayed by the caller, actions and sets are answered after a configurable latency with a configurable error rate
+//all callbacks are delivered on a single simulator thread
+public class DJI2SimulatorSDKGateway implements DJI2SDKGateway {
+    private static final String TAG = DJI2SimulatorSDKGateway.class.getCanonicalName();
+
+    public static final String ERROR_CODE_SIMULATED = "SIMULATED_FAILURE";
+    public static final String ERROR_CODE_UNAVAILABLE = "VALUE_UNAVAILABLE";
+
+    //notified (on the calling thread) of every value set, action, and virtual stick call made against the simulator
+    public interface CallListener {
+        void onCall(String operation, String key, Object value);
+    }
+
+    private static class Registration {
+        final Object holder;
+        final CommonCallbacks.KeyListener<Object> listener;
+
+        Registration(final Object holder, final CommonCallbacks.KeyListener<Object> listener) {
+            this.holder = holder;
+            this.listener = listener;
+        }
+    }
+
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        final Thread thread = new Thread(runnable, "DJI2 simulator");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final Random random;
+    private final Map<DJIKey<?>, Object> values = new HashMap<>();
+    private final Map<DJIKey<?>, List<Registration>> registrations = new HashMap<>();
+    private final Map<DJIKey<?>, Object> actionResults = new HashMap<>();
+    private final Map<DJIKey<?>, Integer> actionCounts = new HashMap<>();
+    private long latencyMinMillis = 0;
+    private long latencyMaxMillis = 0;
+    private double errorRate = 0;
+    private boolean virtualStickEnabled = false;
+    private boolean virtualStickAdvancedModeEnabled = false;
+    private VirtualStickStateListener virtualStickStateListener;
+    private VirtualStickFlightControlParam virtualStickAdvancedParam;
+    private long virtualStickAdvancedParamCount = 0;
+    private volatile CallListener callListener;
+    private boolean linkDropped = false;
+
+    public DJI2SimulatorSDKGateway() {
+        this(0);
+    }
+
+    //the seed makes latency and error sequences reproducible
+    public DJI2SimulatorSDKGateway(final long seed) {
+        this.random = new Random(seed);
+    }
+
+    public synchronized void setLatency(final long minMillis, final long maxMillis) {
+        this.latencyMinMillis = Math.max(0, minMillis);
+        this.latencyMaxMillis = Math.max(this.latencyMinMillis, maxMillis);
+    }
+
+    //probability [0, 1] that an action, set or virtual stick request fails
+    public synchronized void setErrorRate(final double errorRate) {
+        this.errorRate = Math.max(0, Math.min(1, errorRate));
+    }
+
+    public synchronized <P, R> void setActionResult(final DJIKey.ActionKey<P, R> key, final R result) {
+        actionResults.put(key, result);
+    }
+
+    public synchronized int getActionCount(final DJIKey<?> key) {
+        final Integer count = actionCounts.get(key);
+        return count == null ? 0 : count;
+    }
+
+    public synchronized boolean isVirtualStickEnabled() {
+        return virtualStickEnabled;
+    }
+
+    public synchronized boolean isVirtualStickAdvancedModeEnabled() {
+        return virtualStickAdvancedModeEnabled;
+    }
+
+    public synchronized VirtualStickStateListener getVirtualStickStateListener() {
+        return virtualStickStateListener;
+    }
+
+    public synchronized VirtualStickFlightControlParam getVirtualStickAdvancedParam() {
+        return virtualStickAdvancedParam;
+    }
+
+    public synchronized long getVirtualStickAdvancedParamCount() {
+        return virtualStickAdvancedParamCount;
+    }
+
+    //while the link is dropped, published values are stored but not delivered and getValue fails (see DJI2DroneSession.suspend and resume)
+    public synchronized void setLinkDropped(final boolean linkDropped) {
+        this.linkDropped = linkDropped;
+    }
+
+    //stores the value and notifies the key listeners
+    public <T> void publish(final DJIKey<T> key, final T value) {
+        executor.execute(() -> update(key, value));
+    }
+
+    //blocks until everything published or scheduled to run before now has been delivered
+    public void flush() throws InterruptedException {
+        try {
+            executor.submit(() -> {}).get();
+        }
+        catch (final ExecutionException e) {
+            Log.e(TAG, "Flush failed", e);
+        }
+    }
+
+    public void setCallListener(final CallListener listener) {
+        callListener = listener;
+    }
+
+    //the key with the given DJI2ListenerGroup.getName that currently has a listener, or null
+    public synchronized DJIKey<?> getListenedKey(final String name) {
+        for (final Map.Entry<DJIKey<?>, List<Registration>> entry : registrations.entrySet()) {
+            if (!entry.getValue().isEmpty() && DJI2ListenerGroup.getName(entry.getKey()).equals(name)) {
+                return entry.getKey();
+            }
+        }
+        return null;
+    }
+
+    //publishes the values in order at rateHz, optionally looping, until the returned future is cancelled
+    public <T> ScheduledFuture<?> replay(final DJIKey<T> key, final List<T> values, final double rateHz, final boolean loop) {
+        final List<T> replay = new ArrayList<>(values);
+        final int[] next = { 0 };
+        final ScheduledFuture<?>[] future = new ScheduledFuture<?>[1];
+        synchronized (future) {
+            future[0] = executor.scheduleAtFixedRate(() -> {
+                if (next[0] >= replay.size()) {
+                    if (!loop || replay.isEmpty()) {
+                        synchronized (future) {
+                            future[0].cancel(false);
+                        }
+                        return;
+                    }
+                    next[0] = 0;
+                }
+                update(key, replay.get(next[0]++));
+            }, 0, (long)(TimeUnit.SECONDS.toNanos(1) / Math.max(0.001, rateHz)), TimeUnit.NANOSECONDS);
+            return future[0];
+        }
+    }
+
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> void listen(final DJIKey<T> key, final Object holder, final CommonCallbacks.KeyListener<T> listener) {
+        final boolean hasValue;
+        final T value;
+        synchronized (this) {
+            List<Registration> keyRegistrations = registrations.get(key);
+            if (keyRegistrations == null) {
+                keyRegistrations = new ArrayList<>();
+                registrations.put(key, keyRegistrations);
+            }
+            keyRegistrations.add(new Registration(holder, (CommonCallbacks.KeyListener<Object>)listener));
+            hasValue = values.containsKey(key);
+            value = (T)values.get(key);
+        }
+
+        if (hasValue) {
+            executor.execute(() -> listener.onValueChange(null, value));
+        }
+    }
+
+    @Override
+    public synchronized void cancelListen(final DJIKey<?> key, final Object holder) {
+        final List<Registration> keyRegistrations = registrations.get(key);
+        if (keyRegistrations == null) {
+            return;
+        }
+
+        for (int i = keyRegistrations.size() - 1; i >= 0; i--) {
+            if (keyRegistrations.get(i).holder == holder) {
+                keyRegistrations.remove(i);
+            }
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> void getValue(final DJIKey<T> key, final CommonCallbacks.CompletionCallbackWithParam<T> callback) {
+        respond(() -> {
+            final boolean dropped;
+            final boolean hasValue;
+            final T value;
+            synchronized (this) {
+                dropped = linkDropped;
+                hasValue = values.containsKey(key);
+                value = (T)values.get(key);
+            }
+
+            if (callback == null) {
+                return;
+            }
+
+            if (dropped) {
+                callback.onFailure(createError(ERROR_CODE_UNAVAILABLE, "Simulated link dropped"));
+            }
+            else if (hasValue) {
+                callback.onSuccess(value);
+            }
+            else {
+                callback.onFailure(createError(ERROR_CODE_UNAVAILABLE, "Simulated value unavailable"));
+            }
+        }, callback == null ? null : error -> callback.onFailure(error));
+    }
+
+    @Override
+    public <T> void setValue(final DJIKey<T> key, final T value, final CommonCallbacks.CompletionCallback callback) {
+        call("setValue", key, value);
+        respond(() -> {
+            update(key, value);
+            if (callback != null) {
+                callback.onSuccess();
+            }
+        }, callback == null ? null : error -> callback.onFailure(error));
+    }
+
+    @Override
+    public <P, R> void performAction(final DJIKey.ActionKey<P, R> key, final CommonCallbacks.CompletionCallbackWithParam<R> callback) {
+        performAction(key, null, callback);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <P, R> void performAction(final DJIKey.ActionKey<P, R> key, final P param, final CommonCallbacks.CompletionCallbackWithParam<R> callback) {
+        call("performAction", key, param);
+        synchronized (this) {
+            final Integer count = actionCounts.get(key);
+            actionCounts.put(key, count == null ? 1 : count + 1);
+        }
+
+        respond(() -> {
+            final R result;
+            synchronized (this) {
+                result = (R)actionResults.get(key);
+            }
+            if (callback != null) {
+                callback.onSuccess(result);
+            }
+        }, callback == null ? null : error -> callback.onFailure(error));
+    }
+
+    @Override
+    public void enableVirtualStick(final CommonCallbacks.CompletionCallback callback) {
+        call("enableVirtualStick", null, null);
+        respond(() -> {
+            synchronized (this) {
+                virtualStickEnabled = true;
+            }
+            if (callback != null) {
+                callback.onSuccess();
+            }
+        }, callback == null ? null : error -> callback.onFailure(error));
+    }
+
+    @Override
+    public void disableVirtualStick(final CommonCallbacks.CompletionCallback callback) {
+        call("disableVirtualStick", null, null);
+        respond(() -> {
+            synchronized (this) {
+                virtualStickEnabled = false;
+                virtualStickAdvancedModeEnabled = false;
+            }
+            if (callback != null) {
+                callback.onSuccess();
+            }
+        }, callback == null ? null : error -> callback.onFailure(error));
+    }
+
+    @Override
+    public void setVirtualStickAdvancedModeEnabled(final boolean enabled) {
+        call("setVirtualStickAdvancedModeEnabled", null, enabled);
+        synchronized (this) {
+            virtualStickAdvancedModeEnabled = enabled;
+        }
+    }
+
+    @Override
+    public synchronized void setVirtualStickStateListener(final VirtualStickStateListener listener) {
+        virtualStickStateListener = listener;
+    }
+
+    @Override
+    public synchronized void removeVirtualStickStateListener(final VirtualStickStateListener listener) {
+        if (virtualStickStateListener == listener) {
+            virtualStickStateListener = null;
+        }
+    }
+
+    @Override
+    public void sendVirtualStickAdvancedParam(final VirtualStickFlightControlParam param) {
+        //the caller reuses the param, so the recorded one is a copy
+        final VirtualStickFlightControlParam sent = DJI2VirtualStickTransmitter.copy(param);
+        call("sendVirtualStickAdvancedParam", null, sent);
+        synchronized (this) {
+            virtualStickAdvancedParam = sent;
+            virtualStickAdvancedParamCount++;
+        }
+    }
+
+    //there is no simulated media storage, pulls fail after the configured latency
+    @Override
+    public void pullOriginalMediaFile(final MediaFile file, final long offset, final MediaFileDownloadListener listener) {
+        call("pullOriginalMediaFile", null, offset);
+        respond(() -> listener.onFailure(createError(ERROR_CODE_UNAVAILABLE, "Simulated media unavailable")), listener::onFailure);
+    }
+
+    @Override
+    public void stopPullOriginalMediaFile(final MediaFile file, final CommonCallbacks.CompletionCallback callback) {
+        call("stopPullOriginalMediaFile", null, null);
+        respond(() -> {
+            if (callback != null) {
+                callback.onSuccess();
+            }
+        }, callback == null ? null : error -> callback.onFailure(error));
+    }
+
+    private void call(final String operation, final DJIKey<?> key, final Object value) {
+        final CallListener listener = callListener;
+        if (listener != null) {
+            listener.onCall(operation, key == null ? null : DJI2ListenerGroup.getName(key), value);
+        }
+    }
+
+    private <T> void update(final DJIKey<T> key, final T value) {
+        final Object oldValue;
+        final List<Registration> keyRegistrations;
+        synchronized (this) {
+            oldValue = values.put(key, value);
+            final List<Registration> current = linkDropped ? null : registrations.get(key);
+            keyRegistrations = current == null ? null : new ArrayList<>(current);
+        }
+
+        if (keyRegistrations == null) {
+            return;
+        }
+
+        for (final Registration registration : keyRegistrations) {
+            try {
+                registration.listener.onValueChange(oldValue, value);
+            }
+            catch (final Exception e) {
+                Log.e(TAG, "Listener failed: " + DJI2ListenerGroup.getName(key), e);
+            }
+        }
+    }
+
+    private interface ErrorHandler {
+        void onError(IDJIError error);
+    }
+
+    private void respond(final Runnable success, final ErrorHandler failure) {
+        final long latency;
+        final boolean fail;
+        synchronized (this) {
+            latency = latencyMinMillis + (latencyMaxMillis > latencyMinMillis ? (long)(random.nextDouble() * (latencyMaxMillis - latencyMinMillis)) : 0);
+            fail = errorRate > 0 && random.nextDouble() < errorRate;
+        }
+
+        executor.schedule(() -> {
+            if (!fail) {
+                success.run();
+            }
+            else if (failure != null) {
+                failure.onError(createError(ERROR_CODE_SIMULATED, "Simulated failure"));
+            }
+        }, latency, TimeUnit.MILLISECONDS);
+    }
+
+    //IDJIError has no public implementation, so simulated errors answer errorCode(), description(), hint(), innerCode() and isError()
+    private static IDJIError createError(final String errorCode, final String description) {
+        return (IDJIError)Proxy.newProxyInstance(IDJIError.class.getClassLoader(), new Class<?>[] { IDJIError.class }, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "errorCode":
+                case "innerCode":
+                    return errorCode;
+
+                case "description":
+                case "hint":
+                case "toString":
+                    return description;
+
+                case "isError":
+                    return args != null && args.length == 1 && errorCode.equals(args[0]);
+
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+
+                case "equals":
+                    return args != null && args.length == 1 && proxy == args[0];
+
+                default:
+                    return null;
+            }
+        });
+    }
+}
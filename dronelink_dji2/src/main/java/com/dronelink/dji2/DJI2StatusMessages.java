@@ -0,0 +1,140 @@
+//  DJI2StatusMessages.java
+//  DronelinkDJI2
+//
+//  Created by agent on 10/17/26.
+//  Copyright © 2026 Dronelink. All rights reserved.
+//
+package com.dronelink.dji2;
+
+import android.util.Log;
+
+import com.dronelink.core.kernel.core.Message;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+//holds the current status messages as an immutable list and reports which messages were added or removed each time it changes
+//updates and deliveries are separate, so owners can update under their own lock and deliver after releasing it
+public class DJI2StatusMessages {
+    private static final String TAG = DJI2StatusMessages.class.getCanonicalName();
+
+    public interface Listener {
+        void onStatusMessagesChanged(List<Message> added, List<Message> removed, List<Message> messages);
+    }
+
+    //the messages added and removed by an update, delivered to the listeners with deliver
+    public static class Change {
+        public final List<Message> added;
+        public final List<Message> removed;
+        public final List<Message> messages;
+
+        private Change(final List<Message> added, final List<Message> removed, final List<Message> messages) {
+            this.added = added;
+            this.removed = removed;
+            this.messages = messages;
+        }
+    }
+
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+    private List<Message> messages = Collections.emptyList();
+    private Set<String> signatures = Collections.emptySet();
+
+    public void addListener(final Listener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(final Listener listener) {
+        listeners.remove(listener);
+    }
+
+    public synchronized List<Message> get() {
+        return messages;
+    }
+
+    //replaces the current messages if they differ without notifying the listeners (so it can be called while holding a lock),
+    //returns the change to pass to deliver once the lock is released, or null if nothing was added or removed
+    public Change update(final List<Message> next) {
+        final List<Message> added = new ArrayList<>();
+        final List<Message> removed = new ArrayList<>();
+        synchronized (this) {
+            if (equal(messages, next)) {
+                return null;
+            }
+
+            final Set<String> nextSignatures = new HashSet<>();
+            for (final Message message : next) {
+                final String signature = signature(message);
+                nextSignatures.add(signature);
+                if (!signatures.contains(signature)) {
+                    added.add(message);
+                }
+            }
+
+            for (final Message message : messages) {
+                if (!nextSignatures.contains(signature(message))) {
+                    removed.add(message);
+                }
+            }
+
+            messages = Collections.unmodifiableList(new ArrayList<>(next));
+            signatures = nextSignatures;
+            if (added.isEmpty() && removed.isEmpty()) {
+                return null;
+            }
+            return new Change(added, removed, messages);
+        }
+    }
+
+    public void deliver(final Change change) {
+        for (final Listener listener : listeners) {
+            try {
+                listener.onStatusMessagesChanged(change.added, change.removed, change.messages);
+            }
+            catch (final Exception e) {
+                Log.e(TAG, "Status messages listener failed", e);
+            }
+        }
+    }
+
+    public static boolean equal(final List<Message> a, final List<Message> b) {
+        if (a == b) {
+            return true;
+        }
+
+        if (a == null || b == null || a.size() != b.size()) {
+            return false;
+        }
+
+        for (int i = 0; i < a.size(); i++) {
+            if (!equal(a.get(i), b.get(i))) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private static boolean equal(final Message a, final Message b) {
+        if (a == b) {
+            return true;
+        }
+
+        if (a == null || b == null) {
+            return false;
+        }
+
+        return a.level == b.level && equal(a.title, b.title) && equal(a.details, b.details);
+    }
+
+    private static boolean equal(final String a, final String b) {
+        return a == null ? b == null : a.equals(b);
+    }
+
+    private static String signature(final Message message) {
+        return message.level + "|" + message.title + "|" + message.details;
+    }
+}
@@ -30,9 +30,7 @@ import dji.sdk.keyvalue.value.flightcontroller.GPSSignalLevel;
 import dji.sdk.keyvalue.value.rtkmobilestation.RTKLocation;
 import dji.v5.common.callback.CommonCallbacks;
 import dji.v5.common.error.IDJIError;
-import dji.v5.manager.KeyManager;
 import dji.v5.manager.aircraft.rtk.RTKLocationInfo;
-import dji.v5.manager.aircraft.virtualstick.VirtualStickManager;
 import dji.v5.manager.aircraft.virtualstick.VirtualStickState;
 import dji.v5.manager.aircraft.virtualstick.VirtualStickStateListener;
 
@@ -50,15 +48,25 @@ public class DJI2VirtualStickSession implements DroneControlSession, VirtualStic
         DEACTIVATED
     }
 
+    public enum DisengageReason {
+        RTK_POSITIONING_SOLUTION_UNACCEPTABLE,
+        RTK_POSITIONING_SOLUTION_UNAVAILABLE,
+        GPS_SIGNAL_WEAK,
+        CONTROL_OVERRIDE_AUTHORITY,
+        CONTROL_OVERRIDE_FLIGHT_MODE
+    }
+
     private final Context context;
     private final DJI2DroneAdapter droneAdapter;
 
-    private State state = State.TAKEOFF_START;
+    private volatile State state = State.TAKEOFF_START;
     private int virtualStickAttempts = 0;
     private Date virtualStickAttemptPrevious = null;
     private Date flightModeJoystickAttemptingStarted = null;
     private Message attemptDisengageReason = null;
     private FlightControlAuthorityChangeReason reason;
+    private volatile long reasonChangedMillis;
+    private final DJI2DisengageEvaluator<DisengageReason> disengageEvaluator = new DJI2DisengageEvaluator<>("Virtual stick session", DisengageReason.class, this::createDisengageMessage);
 
     public DJI2VirtualStickSession(final Context context, final DJI2DroneAdapter droneAdapter) {
         this.context = context;
@@ -76,6 +84,39 @@ public class DJI2VirtualStickSession implements DroneControlSession, VirtualStic
             return attemptDisengageReason;
         }
 
+        final FlightControlAuthorityChangeReason reason = this.reason;
+        final FlightMode flightMode = droneAdapter.state.flightMode;
+        final DisengageReason disengageReason = evaluateDisengageReason(reason, flightMode);
+        if (disengageReason == null) {
+            return disengageEvaluator.evaluate(null, null, 0);
+        }
+
+        switch (disengageReason) {
+            case CONTROL_OVERRIDE_AUTHORITY:
+                return disengageEvaluator.evaluate(disengageReason, reason, reasonChangedMillis);
+
+            case CONTROL_OVERRIDE_FLIGHT_MODE:
+                return disengageEvaluator.evaluate(disengageReason, flightMode, droneAdapter.state.getFlightModeChangedMillis());
+
+            case GPS_SIGNAL_WEAK:
+                return disengageEvaluator.evaluate(disengageReason, null, droneAdapter.state.getGPSSignalLevelChangedMillis());
+
+            case RTK_POSITIONING_SOLUTION_UNACCEPTABLE:
+            case RTK_POSITIONING_SOLUTION_UNAVAILABLE:
+                final DatedValue<RTKStateAdapter> rtkState = droneAdapter.getRTKState();
+                final long changedMillis = rtkState != null && rtkState.value instanceof DJI2RTKStateAdapter ? ((DJI2RTKStateAdapter)rtkState.value).getPositioningSolutionChangedMillis() : 0;
+                return disengageEvaluator.evaluate(disengageReason, null, changedMillis);
+
+            default:
+                return disengageEvaluator.evaluate(disengageReason, null, 0);
+        }
+    }
+
+    public DJI2DisengageEvaluator<DisengageReason> getDisengageEvaluator() {
+        return disengageEvaluator;
+    }
+
+    private DisengageReason evaluateDisengageReason(final FlightControlAuthorityChangeReason reason, final FlightMode flightMode) {
         final DatedValue<RTKStateAdapter> rtkState = droneAdapter.getRTKState();
         if (rtkState != null && rtkState.value != null && rtkState.value.isEnabled() && rtkState.value.isConnected()) {
             if (rtkState.value instanceof DJI2RTKStateAdapter) {
@@ -88,26 +129,24 @@ public class DJI2VirtualStickSession implements DroneControlSession, VirtualStic
                         case FIXED_POINT:
                             break;
                         case SINGLE_POINT:
-                            return new Message(context.getString(R.string.MissionDisengageReason_rtk_positioning_solution_unacceptable_title), context.getString(R.string.DronelinkDJI2_RTKPositioningSolution_value_SINGLE_POINT));
+                            return DisengageReason.RTK_POSITIONING_SOLUTION_UNACCEPTABLE;
                         case NONE:
                         case UNKNOWN:
-                            return new Message(context.getString(R.string.MissionDisengageReason_rtk_positioning_solution_unavailable_title));
+                            return DisengageReason.RTK_POSITIONING_SOLUTION_UNAVAILABLE;
                     }
                 }
             }
         }
 
         if (droneAdapter.state.getGPSSignalStrength() < DronelinkDJI2.getGPSSignalStrength(GPSSignalLevel.LEVEL_3)) {
-            return new Message(context.getString(R.string.MissionDisengageReason_gps_signal_level_weak_title));
+            return DisengageReason.GPS_SIGNAL_WEAK;
         }
 
         if (state == State.FLIGHT_MODE_JOYSTICK_COMPLETE) {
-            final FlightControlAuthorityChangeReason reason = this.reason;
             if (reason != null) {
-                return new Message(context.getString(R.string.MissionDisengageReason_drone_control_override_title), DronelinkDJI2.getString(context, reason));
+                return DisengageReason.CONTROL_OVERRIDE_AUTHORITY;
             }
 
-            final FlightMode flightMode = droneAdapter.state.flightMode;
             if (flightMode != null) {
                 switch (flightMode) {
                     case VIRTUAL_STICK:
@@ -116,7 +155,7 @@ public class DJI2VirtualStickSession implements DroneControlSession, VirtualStic
                         break;
 
                     default:
-                        return new Message(context.getString(R.string.MissionDisengageReason_drone_control_override_title), droneAdapter.state.getMode());
+                        return DisengageReason.CONTROL_OVERRIDE_FLIGHT_MODE;
                 }
             }
         }
@@ -124,6 +163,26 @@ public class DJI2VirtualStickSession implements DroneControlSession, VirtualStic
         return null;
     }
 
+    private Message createDisengageMessage(final DisengageReason reason, final Object detail) {
+        switch (reason) {
+            case RTK_POSITIONING_SOLUTION_UNACCEPTABLE:
+                return new Message(context.getString(R.string.MissionDisengageReason_rtk_positioning_solution_unacceptable_title), context.getString(R.string.DronelinkDJI2_RTKPositioningSolution_value_SINGLE_POINT));
+
+            case RTK_POSITIONING_SOLUTION_UNAVAILABLE:
+                return new Message(context.getString(R.string.MissionDisengageReason_rtk_positioning_solution_unavailable_title));
+
+            case GPS_SIGNAL_WEAK:
+                return new Message(context.getString(R.string.MissionDisengageReason_gps_signal_level_weak_title));
+
+            case CONTROL_OVERRIDE_AUTHORITY:
+                return new Message(context.getString(R.string.MissionDisengageReason_drone_control_override_title), DronelinkDJI2.getString(context, (FlightControlAuthorityChangeReason)detail));
+
+            case CONTROL_OVERRIDE_FLIGHT_MODE:
+            default:
+                return new Message(context.getString(R.string.MissionDisengageReason_drone_control_override_title), droneAdapter.state.getMode());
+        }
+    }
+
     @Override
     public boolean isReengaging() {
         return false;
@@ -141,7 +200,7 @@ public class DJI2VirtualStickSession implements DroneControlSession, VirtualStic
                 state = State.TAKEOFF_ATTEMPTING;
                 Log.i(TAG, "Attempting precision takeoff");
 
-                KeyManager.getInstance().performAction(KeyTools.createKey(FlightControllerKey.KeyPrecisionStartTakeoff), new CommonCallbacks.CompletionCallbackWithParam<EmptyMsg>() {
+                DronelinkDJI2.getSDK().performAction(KeyTools.createKey(FlightControllerKey.KeyPrecisionStartTakeoff), new CommonCallbacks.CompletionCallbackWithParam<EmptyMsg>() {
                     @Override
                     public void onSuccess(final EmptyMsg emptyMsg) {
                         Log.i(TAG, "Precision takeoff succeeded");
@@ -153,7 +212,7 @@ public class DJI2VirtualStickSession implements DroneControlSession, VirtualStic
                         Log.e(TAG, "Precision takeoff failed: " + error.description());
                         Log.i(TAG, "Attempting takeoff");
 
-                        KeyManager.getInstance().performAction(KeyTools.createKey(FlightControllerKey.KeyStartTakeoff), new CommonCallbacks.CompletionCallbackWithParam<EmptyMsg>() {
+                        DronelinkDJI2.getSDK().performAction(KeyTools.createKey(FlightControllerKey.KeyStartTakeoff), new CommonCallbacks.CompletionCallbackWithParam<EmptyMsg>() {
                             @Override
                             public void onSuccess(final EmptyMsg emptyMsg) {
                                 Log.i(TAG, "Takeoff succeeded");
@@ -188,10 +247,10 @@ public class DJI2VirtualStickSession implements DroneControlSession, VirtualStic
                     virtualStickAttempts += 1;
 
                     Log.i(TAG, String.format("Attempting virtual stick mode control: %d", virtualStickAttempts));
-                    VirtualStickManager.getInstance().enableVirtualStick(new CommonCallbacks.CompletionCallback() {
+                    DronelinkDJI2.getSDK().enableVirtualStick(new CommonCallbacks.CompletionCallback() {
                         @Override
                         public void onSuccess() {
-                            VirtualStickManager.getInstance().setVirtualStickAdvancedModeEnabled(true);
+                            DronelinkDJI2.getSDK().setVirtualStickAdvancedModeEnabled(true);
 
                             Log.i(TAG, "Virtual stick control enabled");
                             flightModeJoystickAttemptingStarted = new Date();
@@ -222,7 +281,7 @@ public class DJI2VirtualStickSession implements DroneControlSession, VirtualStic
                 if (droneAdapter.state.flightMode == FlightMode.VIRTUAL_STICK) {
                     Log.i(TAG, "Flight mode joystick achieved");
                     state = State.FLIGHT_MODE_JOYSTICK_COMPLETE;
-                    VirtualStickManager.getInstance().setVirtualStickStateListener(this);
+                    DronelinkDJI2.getSDK().setVirtualStickStateListener(this);
                     return activate();
                 }
 
@@ -247,11 +306,15 @@ public class DJI2VirtualStickSession implements DroneControlSession, VirtualStic
         return false;
     }
 
+    public boolean isDeactivated() {
+        return state == State.DEACTIVATED;
+    }
+
     @Override
     public void deactivate() {
-        VirtualStickManager.getInstance().removeVirtualStickStateListener(this);
+        DronelinkDJI2.getSDK().removeVirtualStickStateListener(this);
         droneAdapter.sendResetVelocityCommand();
-        VirtualStickManager.getInstance().disableVirtualStick(new CommonCallbacks.CompletionCallback() {
+        DronelinkDJI2.getSDK().disableVirtualStick(new CommonCallbacks.CompletionCallback() {
             @Override
             public void onSuccess() {
                 Log.i(TAG, "Virtual stick control disabled");
@@ -270,6 +333,7 @@ public class DJI2VirtualStickSession implements DroneControlSession, VirtualStic
 
     @Override
     public void onChangeReasonUpdate(final @NonNull FlightControlAuthorityChangeReason reason) {
+        reasonChangedMillis = System.currentTimeMillis();
         this.reason = reason;
     }
 }
\ No newline at end of file
@@ -0,0 +1,233 @@
+//  DJI2VirtualStickTransmitter.java
+//  DronelinkDJI2
+//
+//  Created by agent on 10/17/26.
+//  Copyright © 2026 Dronelink. All rights reserved.
+//
+package com.dronelink.dji2;
+
+import android.util.Log;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+import dji.sdk.keyvalue.value.flightcontroller.FlightCoordinateSystem;
+import dji.sdk.keyvalue.value.flightcontroller.RollPitchControlMode;
+import dji.sdk.keyvalue.value.flightcontroller.VerticalControlMode;
+import dji.sdk.keyvalue.value.flightcontroller.VirtualStickFlightControlParam;
+import dji.sdk.keyvalue.value.flightcontroller.YawControlMode;
+
+//sends the latest virtual stick setpoint at a fixed rate from a single reused param:
+//a setpoint older than the timeout decays linearly to zero over the decay period, reset() sends zero immediately and goes idle
+//the loop only runs from the first setpoint until it goes idle
+public class DJI2VirtualStickTransmitter {
+    private static final String TAG = DJI2VirtualStickTransmitter.class.getCanonicalName();
+
+    public static final int MIN_RATE_HZ = 5;
+    public static final int MAX_RATE_HZ = 25;
+
+    //resolves a heading setpoint into the yaw mode and value, evaluated every tick against the latest attitude
+    public interface HeadingResolver {
+        void resolve(VirtualStickFlightControlParam param, double heading);
+    }
+
+    public static class Statistics {
+        public final DJI2ControlLoop.Statistics loop;
+        public final long sent;
+        //ticks that sent a decayed setpoint because the setpoint was older than the timeout
+        public final long decayed;
+        //send calls that took longer than the period (the next tick was late)
+        public final long missedDeadlines;
+        public final double sendMeanMillis;
+        public final double sendMaxMillis;
+
+        private Statistics(final DJI2ControlLoop.Statistics loop, final long sent, final long decayed, final long missedDeadlines, final double sendMeanMillis, final double sendMaxMillis) {
+            this.loop = loop;
+            this.sent = sent;
+            this.decayed = decayed;
+            this.missedDeadlines = missedDeadlines;
+            this.sendMeanMillis = sendMeanMillis;
+            this.sendMaxMillis = sendMaxMillis;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("sent=%d decayed=%d missedDeadlines=%d send(mean=%.2fms, max=%.2fms) loop(%s)",
+                    sent, decayed, missedDeadlines, sendMeanMillis, sendMaxMillis, loop);
+        }
+    }
+
+    private final HeadingResolver headingResolver;
+    private final LongSupplier nanoTime;
+    private final VirtualStickFlightControlParam param = new VirtualStickFlightControlParam();
+    private final DJI2ControlLoop loop;
+    private long timeoutMillis = 500;
+    private long decayMillis = 500;
+
+    //latest setpoint
+    private boolean active = false;
+    private long updated = 0;
+    private RollPitchControlMode rollPitchControlMode;
+    private FlightCoordinateSystem rollPitchCoordinateSystem;
+    private VerticalControlMode verticalControlMode;
+    private YawControlMode yawControlMode;
+    private double pitch;
+    private double roll;
+    private double verticalThrottle;
+    private double yaw;
+    private Double heading;
+
+    //statistics
+    private long sent = 0;
+    private long decayed = 0;
+    private long missedDeadlines = 0;
+    private long sendTotalNanos = 0;
+    private long sendMaxNanos = 0;
+
+    public DJI2VirtualStickTransmitter(final DJI2ExecutorPool.Lease executors, final int rateHz, final HeadingResolver headingResolver) {
+        this(executors, rateHz, headingResolver, System::nanoTime);
+    }
+
+    //nanoTime is the clock setpoint ages are measured with, simulations can supply their own
+    DJI2VirtualStickTransmitter(final DJI2ExecutorPool.Lease executors, final int rateHz, final HeadingResolver headingResolver, final LongSupplier nanoTime) {
+        this.headingResolver = headingResolver;
+        this.nanoTime = nanoTime;
+        this.loop = new DJI2ControlLoop("DJI2 virtual stick", executors, clamp(rateHz), this::tick);
+    }
+
+    public int getRate() {
+        return loop.getRate();
+    }
+
+    public void setRate(final int rateHz) {
+        loop.setRate(clamp(rateHz));
+    }
+
+    public synchronized void setTimeout(final long timeoutMillis, final long decayMillis) {
+        this.timeoutMillis = Math.max(0, timeoutMillis);
+        this.decayMillis = Math.max(0, decayMillis);
+    }
+
+    //heading is null to use yaw as is (in yawControlMode), otherwise yaw is resolved from the heading every tick
+    public synchronized void set(
+            final RollPitchControlMode rollPitchControlMode,
+            final FlightCoordinateSystem rollPitchCoordinateSystem,
+            final VerticalControlMode verticalControlMode,
+            final YawControlMode yawControlMode,
+            final double pitch,
+            final double roll,
+            final double verticalThrottle,
+            final double yaw,
+            final Double heading) {
+        this.rollPitchControlMode = rollPitchControlMode;
+        this.rollPitchCoordinateSystem = rollPitchCoordinateSystem;
+        this.verticalControlMode = verticalControlMode;
+        this.yawControlMode = yawControlMode;
+        this.pitch = pitch;
+        this.roll = roll;
+        this.verticalThrottle = verticalThrottle;
+        this.yaw = yaw;
+        this.heading = heading;
+        this.updated = nanoTime.getAsLong();
+        this.active = true;
+        loop.start();
+    }
+
+    //sends zero velocity now rather than on the next tick, then goes idle until the next setpoint
+    public synchronized void reset() {
+        set(RollPitchControlMode.VELOCITY, FlightCoordinateSystem.GROUND, VerticalControlMode.VELOCITY, YawControlMode.ANGULAR_VELOCITY, 0, 0, 0, 0, null);
+        transmit(false);
+        active = false;
+        loop.stop();
+    }
+
+    public synchronized Statistics getStatistics() {
+        final double nanosPerMilli = TimeUnit.MILLISECONDS.toNanos(1);
+        return new Statistics(
+                loop.getStatistics(),
+                sent,
+                decayed,
+                missedDeadlines,
+                sent == 0 ? 0 : (sendTotalNanos / (double)sent) / nanosPerMilli,
+                sendMaxNanos / nanosPerMilli);
+    }
+
+    public void close() {
+        loop.close();
+        Log.i(TAG, "Virtual stick transmitter: " + getStatistics());
+    }
+
+    synchronized void tick() {
+        if (active) {
+            transmit(true);
+        }
+
+        if (!active) {
+            loop.stop();
+        }
+    }
+
+    private void transmit(final boolean decay) {
+        param.setRollPitchControlMode(rollPitchControlMode);
+        param.setRollPitchCoordinateSystem(rollPitchCoordinateSystem);
+        param.setVerticalControlMode(verticalControlMode);
+        param.setYawControlMode(yawControlMode);
+        param.setPitch(pitch);
+        param.setRoll(roll);
+        param.setVerticalThrottle(verticalThrottle);
+        param.setYaw(yaw);
+        if (heading != null) {
+            headingResolver.resolve(param, heading);
+        }
+
+        final long age = TimeUnit.NANOSECONDS.toMillis(nanoTime.getAsLong() - updated);
+        if (decay && age > timeoutMillis) {
+            //the kernel stopped updating the setpoint: bleed off to a hover instead of holding the last command
+            final double scale = decayMillis == 0 ? 0 : Math.max(0, 1 - ((age - timeoutMillis) / (double)decayMillis));
+            if (scale == 0) {
+                //fully decayed: one zero setpoint has been sent, nothing more to do until the next setpoint
+                active = false;
+                Log.w(TAG, String.format("Virtual stick setpoint timed out (%dms)", age));
+            }
+            param.setPitch(param.getPitch() * scale);
+            param.setRoll(param.getRoll() * scale);
+            param.setVerticalThrottle(param.getVerticalThrottle() * scale);
+            if (param.getYawControlMode() == YawControlMode.ANGULAR_VELOCITY) {
+                param.setYaw(param.getYaw() * scale);
+            }
+            else {
+                param.setYawControlMode(YawControlMode.ANGULAR_VELOCITY);
+                param.setYaw(0.0);
+            }
+            decayed++;
+        }
+
+        final long started = System.nanoTime();
+        DronelinkDJI2.getSDK().sendVirtualStickAdvancedParam(param);
+        final long duration = System.nanoTime() - started;
+        sent++;
+        sendTotalNanos += duration;
+        sendMaxNanos = Math.max(sendMaxNanos, duration);
+        if (duration > TimeUnit.SECONDS.toNanos(1) / loop.getRate()) {
+            missedDeadlines++;
+        }
+    }
+
+    //for gateways that keep the param past the send call (the transmitter reuses it)
+    static VirtualStickFlightControlParam copy(final VirtualStickFlightControlParam param) {
+        final VirtualStickFlightControlParam copy = new VirtualStickFlightControlParam();
+        copy.setRollPitchControlMode(param.getRollPitchControlMode());
+        copy.setRollPitchCoordinateSystem(param.getRollPitchCoordinateSystem());
+        copy.setVerticalControlMode(param.getVerticalControlMode());
+        copy.setYawControlMode(param.getYawControlMode());
+        copy.setPitch(param.getPitch());
+        copy.setRoll(param.getRoll());
+        copy.setVerticalThrottle(param.getVerticalThrottle());
+        copy.setYaw(param.getYaw());
+        return copy;
+    }
+
+    private static int clamp(final int rateHz) {
+        return Math.max(MIN_RATE_HZ, Math.min(MAX_RATE_HZ, rateHz));
+    }
+}
@@ -0,0 +1,273 @@
+//  DJI2YawController.java
+//  DronelinkDJI2
+//
+//  Created by agent on 10/17/26.
+//  Copyright © 2026 Dronelink. All rights reserved.
+//
+package com.dronelink.dji2;
+
+import android.util.Log;
+
+import com.dronelink.core.Convert;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+//turns a heading setpoint into a yaw rate (deg/s) for virtual stick ANGULAR_VELOCITY mode
+//the attitude is extrapolated by its age plus the link latency using the observed yaw rate before the error is taken,
+//so a stale attitude sample doesn't read as heading error and cause overshoot
+public class DJI2YawController {
+    private static final String TAG = DJI2YawController.class.getCanonicalName();
+
+    //heading changes larger than this start a new step response measurement
+    private static final double STEP_THRESHOLD_DEGREES = 5;
+    //a step is settled once the error stays within this band
+    private static final double SETTLED_THRESHOLD_DEGREES = 2;
+    private static final double YAW_RATE_SMOOTHING = 0.3;
+    //setpoints further apart than this are treated as a new engagement (integrator and derivative reset)
+    private static final long RESET_INTERVAL_MILLIS = 1000;
+    //a sample older than this is extrapolated no further (telemetry is likely delayed)
+    private static final long MAX_EXTRAPOLATION_MILLIS = 500;
+
+    public static class Gains {
+        //kp of 1.5 matches the original proportional-only controller
+        public static final Gains DEFAULT = new Gains(1.5, 0, 0, 1, 100, 20);
+
+        public final double kp;
+        public final double ki;
+        public final double kd;
+        //applied to the commanded rotational velocity
+        public final double kff;
+        public final double maxRateDegreesPerSecond;
+        public final double maxIntegralDegreesPerSecond;
+
+        public Gains(final double kp, final double ki, final double kd, final double kff, final double maxRateDegreesPerSecond, final double maxIntegralDegreesPerSecond) {
+            this.kp = kp;
+            this.ki = ki;
+            this.kd = kd;
+            this.kff = kff;
+            this.maxRateDegreesPerSecond = maxRateDegreesPerSecond;
+            this.maxIntegralDegreesPerSecond = maxIntegralDegreesPerSecond;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("kp=%.2f ki=%.2f kd=%.2f kff=%.2f max=%.0f°/s", kp, ki, kd, kff, maxRateDegreesPerSecond);
+        }
+    }
+
+    public static class Statistics {
+        public final long updates;
+        public final double errorMeanDegrees;
+        public final double errorMaxDegrees;
+        //how far the extrapolated yaw was from the last sample
+        public final double extrapolationMeanDegrees;
+        public final double delayMeanMillis;
+        public final long steps;
+        public final double overshootLastDegrees;
+        public final double overshootMaxDegrees;
+        //-1 if the last step has not settled
+        public final long settleLastMillis;
+
+        private Statistics(final long updates, final double errorMeanDegrees, final double errorMaxDegrees, final double extrapolationMeanDegrees, final double delayMeanMillis, final long steps, final double overshootLastDegrees, final double overshootMaxDegrees, final long settleLastMillis) {
+            this.updates = updates;
+            this.errorMeanDegrees = errorMeanDegrees;
+            this.errorMaxDegrees = errorMaxDegrees;
+            this.extrapolationMeanDegrees = extrapolationMeanDegrees;
+            this.delayMeanMillis = delayMeanMillis;
+            this.steps = steps;
+            this.overshootLastDegrees = overshootLastDegrees;
+            this.overshootMaxDegrees = overshootMaxDegrees;
+            this.settleLastMillis = settleLastMillis;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("updates=%d error(mean=%.2f°, max=%.2f°) extrapolation=%.2f° delay=%.1fms steps=%d overshoot(last=%.2f°, max=%.2f°) settle=%dms",
+                    updates, errorMeanDegrees, errorMaxDegrees, extrapolationMeanDegrees, delayMeanMillis, steps, overshootLastDegrees, overshootMaxDegrees, settleLastMillis);
+        }
+    }
+
+    private final LongSupplier nanoTime;
+    private Gains gains = Gains.DEFAULT;
+    private long latencyMillis = 0;
+
+    //attitude
+    private boolean attitudeAvailable = false;
+    private double yawDegrees;
+    private long yawNanos;
+    private double yawRateDegreesPerSecond = 0;
+
+    //controller
+    private long previousNanos = 0;
+    private double integral = 0;
+    private double headingDegrees;
+
+    //step response
+    private long stepNanos = 0;
+    private double stepDirection = 0;
+    private double stepOvershootDegrees = 0;
+    private long stepSettledNanos = 0;
+
+    //statistics
+    private long updates = 0;
+    private double errorTotalDegrees = 0;
+    private double errorMaxDegrees = 0;
+    private double extrapolationTotalDegrees = 0;
+    private long delayTotalNanos = 0;
+    private long steps = 0;
+    private double overshootLastDegrees = 0;
+    private double overshootMaxDegrees = 0;
+    private long settleLastMillis = -1;
+
+    public DJI2YawController() {
+        this(System::nanoTime);
+    }
+
+    //nanoTime is the clock attitude samples and setpoints are timed with, simulations can supply their own
+    public DJI2YawController(final LongSupplier nanoTime) {
+        this.nanoTime = nanoTime;
+    }
+
+    public synchronized Gains getGains() {
+        return gains;
+    }
+
+    public synchronized void setGains(final Gains gains) {
+        this.gains = gains;
+        integral = 0;
+        Log.i(TAG, "Yaw controller gains: " + gains);
+    }
+
+    public synchronized long getLatency() {
+        return latencyMillis;
+    }
+
+    //expected time from the aircraft sampling its attitude to the app receiving it, added to the sample age
+    public synchronized void setLatency(final long latencyMillis) {
+        this.latencyMillis = Math.max(0, latencyMillis);
+    }
+
+    //called for every attitude sample received
+    public synchronized void onAttitude(final double yawDegrees) {
+        final long now = nanoTime.getAsLong();
+        if (attitudeAvailable) {
+            final double interval = (now - yawNanos) / (double)TimeUnit.SECONDS.toNanos(1);
+            if (interval > 0 && interval < 1) {
+                final double rate = Convert.AngleDifferenceSigned(Convert.DegreesToRadians(yawDegrees), Convert.DegreesToRadians(this.yawDegrees)) / interval;
+                yawRateDegreesPerSecond += YAW_RATE_SMOOTHING * (Convert.RadiansToDegrees(rate) - yawRateDegreesPerSecond);
+            }
+            else {
+                yawRateDegreesPerSecond = 0;
+            }
+        }
+        attitudeAvailable = true;
+        this.yawDegrees = yawDegrees;
+        this.yawNanos = now;
+    }
+
+    //returns the yaw rate (deg/s) to command, or the feed-forward alone if there is no attitude yet
+    public synchronized double compute(final double headingRadians, final double feedForwardDegreesPerSecond) {
+        final double feedForward = gains.kff * feedForwardDegreesPerSecond;
+        if (!attitudeAvailable) {
+            return clamp(feedForward, gains.maxRateDegreesPerSecond);
+        }
+
+        final long now = nanoTime.getAsLong();
+        final long delayNanos = Math.min(TimeUnit.MILLISECONDS.toNanos(MAX_EXTRAPOLATION_MILLIS), (now - yawNanos) + TimeUnit.MILLISECONDS.toNanos(latencyMillis));
+        final double extrapolation = yawRateDegreesPerSecond * (delayNanos / (double)TimeUnit.SECONDS.toNanos(1));
+        final double yaw = yawDegrees + extrapolation;
+        final double heading = Convert.RadiansToDegrees(headingRadians);
+        final double error = Convert.RadiansToDegrees(Convert.AngleDifferenceSigned(headingRadians, Convert.DegreesToRadians(yaw)));
+
+        final double dt = previousNanos == 0 ? 0 : (now - previousNanos) / (double)TimeUnit.SECONDS.toNanos(1);
+        if (dt <= 0 || dt * 1000 > RESET_INTERVAL_MILLIS) {
+            integral = 0;
+        }
+        else if (gains.ki > 0) {
+            integral = clamp(integral + gains.ki * error * dt, gains.maxIntegralDegreesPerSecond);
+        }
+        previousNanos = now;
+
+        //derivative on measurement: the error rate is minus the yaw rate for a steady setpoint, and a setpoint change doesn't kick
+        final double output = gains.kp * error + integral - gains.kd * yawRateDegreesPerSecond + feedForward;
+
+        measure(now, heading, error, extrapolation, delayNanos);
+        return clamp(output, gains.maxRateDegreesPerSecond);
+    }
+
+    public synchronized Statistics getStatistics() {
+        final double nanosPerMilli = TimeUnit.MILLISECONDS.toNanos(1);
+        return new Statistics(
+                updates,
+                updates == 0 ? 0 : errorTotalDegrees / updates,
+                errorMaxDegrees,
+                updates == 0 ? 0 : extrapolationTotalDegrees / updates,
+                updates == 0 ? 0 : (delayTotalNanos / (double)updates) / nanosPerMilli,
+                steps,
+                overshootLastDegrees,
+                overshootMaxDegrees,
+                settleLastMillis);
+    }
+
+    public synchronized void resetStatistics() {
+        updates = 0;
+        errorTotalDegrees = 0;
+        errorMaxDegrees = 0;
+        extrapolationTotalDegrees = 0;
+        delayTotalNanos = 0;
+        steps = 0;
+        overshootLastDegrees = 0;
+        overshootMaxDegrees = 0;
+        settleLastMillis = -1;
+    }
+
+    private void measure(final long now, final double heading, final double error, final double extrapolation, final long delayNanos) {
+        updates++;
+        errorTotalDegrees += Math.abs(error);
+        errorMaxDegrees = Math.max(errorMaxDegrees, Math.abs(error));
+        extrapolationTotalDegrees += Math.abs(extrapolation);
+        delayTotalNanos += delayNanos;
+
+        if (stepNanos == 0 || Math.abs(Convert.RadiansToDegrees(Convert.AngleDifferenceSigned(Convert.DegreesToRadians(heading), Convert.DegreesToRadians(headingDegrees)))) > STEP_THRESHOLD_DEGREES) {
+            headingDegrees = heading;
+            if (Math.abs(error) > STEP_THRESHOLD_DEGREES) {
+                stepNanos = now;
+                stepDirection = Math.signum(error);
+                stepOvershootDegrees = 0;
+                stepSettledNanos = 0;
+                steps++;
+                settleLastMillis = -1;
+            }
+            return;
+        }
+        headingDegrees = heading;
+
+        if (stepDirection == 0) {
+            return;
+        }
+
+        //error with the opposite sign of the initial error is overshoot
+        final double overshoot = -stepDirection * error;
+        if (overshoot > stepOvershootDegrees) {
+            stepOvershootDegrees = overshoot;
+            overshootLastDegrees = overshoot;
+            overshootMaxDegrees = Math.max(overshootMaxDegrees, overshoot);
+        }
+
+        if (Math.abs(error) <= SETTLED_THRESHOLD_DEGREES) {
+            if (stepSettledNanos == 0) {
+                stepSettledNanos = now;
+                settleLastMillis = TimeUnit.NANOSECONDS.toMillis(now - stepNanos);
+            }
+        }
+        else {
+            stepSettledNanos = 0;
+            settleLastMillis = -1;
+        }
+    }
+
+    private static double clamp(final double value, final double limit) {
+        return Math.max(-limit, Math.min(limit, value));
+    }
+}
@@ -56,7 +56,10 @@ import com.dronelink.core.kernel.core.enums.GimbalMode;
 import com.dronelink.core.kernel.core.enums.RTKServiceState;
 
 import java.util.ArrayList;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
 
 import dji.sdk.keyvalue.value.airlink.ChannelSelectionMode;
 import dji.sdk.keyvalue.value.airlink.FrequencyBand;
@@ -105,9 +108,75 @@ import dji.v5.manager.aircraft.uas.UASRemoteIDStatus;
 import dji.v5.manager.aircraft.waypoint3.model.WaypointMissionExecuteState;
 import dji.v5.manager.diagnostic.DJIDeviceHealthInfo;
 import dji.v5.manager.diagnostic.DJIDeviceStatus;
+import dji.v5.manager.diagnostic.WarningLevel;
 
 public class DronelinkDJI2 {
     public static final double GimbalRotationMinTime = 0.1;
+    public static final int GimbalControlRateDefault = 10;
+    public static final int VirtualStickRateDefault = 10;
+    //how long a session is kept after the link drops, in case the same aircraft reconnects
+    public static final long SessionResumeGraceMillisDefault = 5000;
+
+    private static volatile DJI2SDKGateway sdk = DJI2SDKGateway.DJI;
+    private static volatile boolean flightRecorderEnabled = true;
+    private static final AtomicReference<DJI2FlightRecorder> flightRecorder = new AtomicReference<>();
+    //products that hold a virtual stick YawControlMode.ANGLE heading, all others use the yaw rate controller
+    //opt-in with setVirtualStickYawAngleSupported once a product has been flown holding angle headings
+    private static final Set<ProductType> virtualStickYawAngleProductTypes = EnumSet.noneOf(ProductType.class);
+
+    public static DJI2SDKGateway getSDK() {
+        return sdk;
+    }
+
+    //must be set before any session is created
+    public static void setSDK(final DJI2SDKGateway sdk) {
+        DronelinkDJI2.sdk = sdk == null ? DJI2SDKGateway.DJI : sdk;
+    }
+
+    public static boolean isFlightRecorderEnabled() {
+        return flightRecorderEnabled;
+    }
+
+    //takes effect for the next session (sessions on a DJI2SimulatorSDKGateway are never recorded)
+    public static void setFlightRecorderEnabled(final boolean enabled) {
+        flightRecorderEnabled = enabled;
+    }
+
+    //the recorder every key update is appended to, null when not recording
+    public static DJI2FlightRecorder getFlightRecorder() {
+        return flightRecorder.get();
+    }
+
+    //false if another recorder is already attached, which is left in place
+    static boolean attachFlightRecorder(final DJI2FlightRecorder flightRecorder) {
+        return DronelinkDJI2.flightRecorder.compareAndSet(null, flightRecorder);
+    }
+
+    //only detaches the given recorder, if it is the one attached
+    static void detachFlightRecorder(final DJI2FlightRecorder flightRecorder) {
+        DronelinkDJI2.flightRecorder.compareAndSet(flightRecorder, null);
+    }
+
+    public static boolean isVirtualStickYawAngleSupported(final ProductType productType) {
+        if (productType == null) {
+            return false;
+        }
+
+        synchronized (virtualStickYawAngleProductTypes) {
+            return virtualStickYawAngleProductTypes.contains(productType);
+        }
+    }
+
+    public static void setVirtualStickYawAngleSupported(final ProductType productType, final boolean supported) {
+        synchronized (virtualStickYawAngleProductTypes) {
+            if (supported) {
+                virtualStickYawAngleProductTypes.add(productType);
+            }
+            else {
+                virtualStickYawAngleProductTypes.remove(productType);
+            }
+        }
+    }
 
     public static CommonCallbacks.CompletionCallback createCompletionCallback(final @Nullable Command.Finisher finisher) {
         return new CommonCallbacks.CompletionCallback() {
@@ -367,36 +436,48 @@ public class DronelinkDJI2 {
         if (value != null) {
             final List<Message> messages = new ArrayList<>();
             for (final DJIDeviceHealthInfo healthInfo : value) {
-                Message.Level level = null;
-                switch (healthInfo.warningLevel()) {
-                    case NOTICE:
-                    case CAUTION:
-                    case WARNING:
-                        level = Message.Level.WARNING;
-                        break;
+                final Message message = getMessage(healthInfo.title(), healthInfo.description(), healthInfo.warningLevel());
+                if (message != null) {
+                    messages.add(message);
+                }
+            }
+            return messages;
+        }
+        return null;
+    }
 
-                    case SERIOUS_WARNING:
-                        level = Message.Level.DANGER;
-                        break;
+    public static Message getMessage(final @Nullable String title, final @Nullable String description, final @Nullable WarningLevel warningLevel) {
+        if (warningLevel == null) {
+            return null;
+        }
 
-                    case NORMAL:
-                    case UNKNOWN:
-                        break;
-                }
+        Message.Level level = null;
+        switch (warningLevel) {
+            case NOTICE:
+            case CAUTION:
+            case WARNING:
+                level = Message.Level.WARNING;
+                break;
 
-                if (level != null) {
-                    final Message message = new Message(healthInfo.title(), healthInfo.description(), level);
-                    if (message.title == null || message.title.isEmpty()) {
-                        message.title = message.details;
-                        message.details = "";
-                    }
+            case SERIOUS_WARNING:
+                level = Message.Level.DANGER;
+                break;
 
-                    if (message.title != null && !message.title.isEmpty()) {
-                        messages.add(message);
-                    }
-                }
+            case NORMAL:
+            case UNKNOWN:
+                break;
+        }
+
+        if (level != null) {
+            final Message message = new Message(title, description, level);
+            if (message.title == null || message.title.isEmpty()) {
+                message.title = message.details;
+                message.details = "";
+            }
+
+            if (message.title != null && !message.title.isEmpty()) {
+                return message;
             }
-            return messages;
         }
         return null;
     }
@@ -1008,184 +1089,56 @@ public class DronelinkDJI2 {
         return dji.sdk.keyvalue.value.camera.CameraMode.UNKNOWN;
     }
 
+    private static final DJI2EnumMapping<dji.sdk.keyvalue.value.camera.CameraAperture, CameraAperture> CameraApertureMapping = new DJI2EnumMapping<>(dji.sdk.keyvalue.value.camera.CameraAperture.class, CameraAperture.class, dji.sdk.keyvalue.value.camera.CameraAperture.UNKNOWN, CameraAperture.UNKNOWN)
+            .put(dji.sdk.keyvalue.value.camera.CameraAperture.F_AUTO, CameraAperture.AUTO)
+            .put(dji.sdk.keyvalue.value.camera.CameraAperture.F0_95, CameraAperture.F_0_DOT_95)
+            .put(dji.sdk.keyvalue.value.camera.CameraAperture.F1_0, CameraAperture.F_1_DOT_0)
+            .put(dji.sdk.keyvalue.value.camera.CameraAperture.F1_2, CameraAperture.F_1_DOT_2)
+            .put(dji.sdk.keyvalue.value.camera.CameraAperture.F1_4, CameraAperture.F_1_DOT_4)
+            .put(dji.sdk.keyvalue.value.camera.CameraAperture.F1_6, CameraAperture.F_1_DOT_6)
+            .put(dji.sdk.keyvalue.value.camera.CameraAperture.F1_7, CameraAperture.F_1_DOT_7)
+            .put(dji.sdk.keyvalue.value.camera.CameraAperture.F1_8, CameraAperture.F_1_DOT_8)
+            .put(dji.sdk.keyvalue.value.camera.CameraAperture.F2, CameraAperture.F_2)
+            .put(dji.sdk.keyvalue.value.camera.CameraAperture.F2_2, CameraAperture.F_2_DOT_2)
+            .put(dji.sdk.keyvalue.value.camera.CameraAperture.F2_4, CameraAperture.F_2_DOT_4)
+            .put(dji.sdk.keyvalue.value.camera.CameraAperture.F2_5, CameraAperture.F_2_DOT_5)
+            .put(dji.sdk.keyvalue.value.camera.CameraAperture.F2_8, CameraAperture.F_2_DOT_8)
+            .put(dji.sdk.keyvalue.value.camera.CameraAperture.F3_2, CameraAperture.F_3_DOT_2)
+            .put(dji.sdk.keyvalue.value.camera.CameraAperture.F3_4, CameraAperture.F_3_DOT_4)
+            .put(dji.sdk.keyvalue.value.camera.CameraAperture.F3_5, CameraAperture.F_3_DOT_5)
+            .put(dji.sdk.keyvalue.value.camera.CameraAperture.F4, CameraAperture.F_4)
+            .put(dji.sdk.keyvalue.value.camera.CameraAperture.F4_4, CameraAperture.F_4_DOT_4)
+            .put(dji.sdk.keyvalue.value.camera.CameraAperture.F4_5, CameraAperture.F_4_DOT_5)
+            .put(dji.sdk.keyvalue.value.camera.CameraAperture.F4_8, CameraAperture.F_4_DOT_8)
+            .put(dji.sdk.keyvalue.value.camera.CameraAperture.F5, CameraAperture.F_5)
+            .put(dji.sdk.keyvalue.value.camera.CameraAperture.F5_6, CameraAperture.F_5_DOT_6)
+            .put(dji.sdk.keyvalue.value.camera.CameraAperture.F6_3, CameraAperture.F_6_DOT_3)
+            .put(dji.sdk.keyvalue.value.camera.CameraAperture.F6_8, CameraAperture.F_6_DOT_8)
+            .put(dji.sdk.keyvalue.value.camera.CameraAperture.F7_1, CameraAperture.F_7_DOT_1)
+            .put(dji.sdk.keyvalue.value.camera.CameraAperture.F8, CameraAperture.F_8)
+            .put(dji.sdk.keyvalue.value.camera.CameraAperture.F9, CameraAperture.F_9)
+            .put(dji.sdk.keyvalue.value.camera.CameraAperture.F9_5, CameraAperture.F_9_DOT_5)
+            .put(dji.sdk.keyvalue.value.camera.CameraAperture.F9_6, CameraAperture.F_9_DOT_6)
+            .put(dji.sdk.keyvalue.value.camera.CameraAperture.F10, CameraAperture.F_10)
+            .put(dji.sdk.keyvalue.value.camera.CameraAperture.F11, CameraAperture.F_11)
+            .put(dji.sdk.keyvalue.value.camera.CameraAperture.F13, CameraAperture.F_13)
+            .put(dji.sdk.keyvalue.value.camera.CameraAperture.F14, CameraAperture.F_14)
+            .put(dji.sdk.keyvalue.value.camera.CameraAperture.F16, CameraAperture.F_16)
+            .put(dji.sdk.keyvalue.value.camera.CameraAperture.F18, CameraAperture.F_18)
+            .put(dji.sdk.keyvalue.value.camera.CameraAperture.F19, CameraAperture.F_19)
+            .put(dji.sdk.keyvalue.value.camera.CameraAperture.F20, CameraAperture.F_20)
+            .put(dji.sdk.keyvalue.value.camera.CameraAperture.F22, CameraAperture.F_22)
+            .put(dji.sdk.keyvalue.value.camera.CameraAperture.F27, CameraAperture.F_27)
+            .put(dji.sdk.keyvalue.value.camera.CameraAperture.F32, CameraAperture.F_32)
+            .put(dji.sdk.keyvalue.value.camera.CameraAperture.UNKNOWN, CameraAperture.UNKNOWN)
+            .verify();
+
     public static CameraAperture getCameraAperture(final @Nullable dji.sdk.keyvalue.value.camera.CameraAperture value) {
-        if (value != null) {
-            switch (value) {
-                case F_AUTO:
-                    return CameraAperture.AUTO;
-                case F0_95:
-                    return CameraAperture.F_0_DOT_95;
-                case F1_0:
-                    return CameraAperture.F_1_DOT_0;
-                case F1_2:
-                    return CameraAperture.F_1_DOT_2;
-                case F1_4:
-                    return CameraAperture.F_1_DOT_4;
-                case F1_6:
-                    return CameraAperture.F_1_DOT_6;
-                case F1_7:
-                    return CameraAperture.F_1_DOT_7;
-                case F1_8:
-                    return CameraAperture.F_1_DOT_8;
-                case F2:
-                    return CameraAperture.F_2;
-                case F2_2:
-                    return CameraAperture.F_2_DOT_2;
-                case F2_4:
-                    return CameraAperture.F_2_DOT_4;
-                case F2_5:
-                    return CameraAperture.F_2_DOT_5;
-                case F2_8:
-                    return CameraAperture.F_2_DOT_8;
-                case F3_2:
-                    return CameraAperture.F_3_DOT_2;
-                case F3_4:
-                    return CameraAperture.F_3_DOT_4;
-                case F3_5:
-                    return CameraAperture.F_3_DOT_5;
-                case F4:
-                    return CameraAperture.F_4;
-                case F4_4:
-                    return CameraAperture.F_4_DOT_4;
-                case F4_5:
-                    return CameraAperture.F_4_DOT_5;
-                case F4_8:
-                    return CameraAperture.F_4_DOT_8;
-                case F5:
-                    return CameraAperture.F_5;
-                case F5_6:
-                    return CameraAperture.F_5_DOT_6;
-                case F6_3:
-                    return CameraAperture.F_6_DOT_3;
-                case F6_8:
-                    return CameraAperture.F_6_DOT_8;
-                case F7_1:
-                    return CameraAperture.F_7_DOT_1;
-                case F8:
-                    return CameraAperture.F_8;
-                case F9:
-                    return CameraAperture.F_9;
-                case F9_5:
-                    return CameraAperture.F_9_DOT_5;
-                case F9_6:
-                    return CameraAperture.F_9_DOT_6;
-                case F10:
-                    return CameraAperture.F_10;
-                case F11:
-                    return CameraAperture.F_11;
-                case F13:
-                    return CameraAperture.F_13;
-                case F14:
-                    return CameraAperture.F_14;
-                case F16:
-                    return CameraAperture.F_16;
-                case F18:
-                    return CameraAperture.F_18;
-                case F19:
-                    return CameraAperture.F_19;
-                case F20:
-                    return CameraAperture.F_20;
-                case F22:
-                    return CameraAperture.F_22;
-                case F27:
-                    return CameraAperture.F_27;
-                case F32:
-                    return CameraAperture.F_32;
-                case UNKNOWN:
-                    return CameraAperture.UNKNOWN;
-            }
-        }
-        return CameraAperture.UNKNOWN;
+        return CameraApertureMapping.getKernel(value);
     }
 
     public static dji.sdk.keyvalue.value.camera.CameraAperture getCameraAperture(final @Nullable CameraAperture value) {
-        if (value != null) {
-            switch (value) {
-                case AUTO:
-                    return dji.sdk.keyvalue.value.camera.CameraAperture.F_AUTO;
-                case F_0_DOT_95:
-                    return dji.sdk.keyvalue.value.camera.CameraAperture.F0_95;
-                case F_1_DOT_0:
-                    return dji.sdk.keyvalue.value.camera.CameraAperture.F1_0;
-                case F_1_DOT_2:
-                    return dji.sdk.keyvalue.value.camera.CameraAperture.F1_2;
-                case F_1_DOT_4:
-                    return dji.sdk.keyvalue.value.camera.CameraAperture.F1_4;
-                case F_1_DOT_6:
-                    return dji.sdk.keyvalue.value.camera.CameraAperture.F1_6;
-                case F_1_DOT_7:
-                    return dji.sdk.keyvalue.value.camera.CameraAperture.F1_7;
-                case F_1_DOT_8:
-                    return dji.sdk.keyvalue.value.camera.CameraAperture.F1_8;
-                case F_2:
-                    return dji.sdk.keyvalue.value.camera.CameraAperture.F2;
-                case F_2_DOT_2:
-                    return dji.sdk.keyvalue.value.camera.CameraAperture.F2_2;
-                case F_2_DOT_4:
-                    return dji.sdk.keyvalue.value.camera.CameraAperture.F2_4;
-                case F_2_DOT_5:
-                    return dji.sdk.keyvalue.value.camera.CameraAperture.F2_5;
-                case F_2_DOT_8:
-                    return dji.sdk.keyvalue.value.camera.CameraAperture.F2_8;
-                case F_3_DOT_2:
-                    return dji.sdk.keyvalue.value.camera.CameraAperture.F3_2;
-                case F_3_DOT_4:
-                    return dji.sdk.keyvalue.value.camera.CameraAperture.F3_4;
-                case F_3_DOT_5:
-                    return dji.sdk.keyvalue.value.camera.CameraAperture.F3_5;
-                case F_4:
-                    return dji.sdk.keyvalue.value.camera.CameraAperture.F4;
-                case F_4_DOT_4:
-                    return dji.sdk.keyvalue.value.camera.CameraAperture.F4_4;
-                case F_4_DOT_5:
-                    return dji.sdk.keyvalue.value.camera.CameraAperture.F4_5;
-                case F_4_DOT_8:
-                    return dji.sdk.keyvalue.value.camera.CameraAperture.F4_8;
-                case F_5:
-                    return dji.sdk.keyvalue.value.camera.CameraAperture.F5;
-                case F_5_DOT_6:
-                    return dji.sdk.keyvalue.value.camera.CameraAperture.F5_6;
-                case F_6_DOT_3:
-                    return dji.sdk.keyvalue.value.camera.CameraAperture.F6_3;
-                case F_6_DOT_8:
-                    return dji.sdk.keyvalue.value.camera.CameraAperture.F6_8;
-                case F_7_DOT_1:
-                    return dji.sdk.keyvalue.value.camera.CameraAperture.F7_1;
-                case F_8:
-                    return dji.sdk.keyvalue.value.camera.CameraAperture.F8;
-                case F_9:
-                    return dji.sdk.keyvalue.value.camera.CameraAperture.F9;
-                case F_9_DOT_5:
-                    return dji.sdk.keyvalue.value.camera.CameraAperture.F9_5;
-                case F_9_DOT_6:
-                    return dji.sdk.keyvalue.value.camera.CameraAperture.F9_6;
-                case F_10:
-                    return dji.sdk.keyvalue.value.camera.CameraAperture.F10;
-                case F_11:
-                    return dji.sdk.keyvalue.value.camera.CameraAperture.F11;
-                case F_13:
-                    return dji.sdk.keyvalue.value.camera.CameraAperture.F13;
-                case F_14:
-                    return dji.sdk.keyvalue.value.camera.CameraAperture.F14;
-                case F_16:
-                    return dji.sdk.keyvalue.value.camera.CameraAperture.F16;
-                case F_18:
-                    return dji.sdk.keyvalue.value.camera.CameraAperture.F18;
-                case F_19:
-                    return dji.sdk.keyvalue.value.camera.CameraAperture.F19;
-                case F_20:
-                    return dji.sdk.keyvalue.value.camera.CameraAperture.F20;
-                case F_22:
-                    return dji.sdk.keyvalue.value.camera.CameraAperture.F22;
-                case F_27:
-                    return dji.sdk.keyvalue.value.camera.CameraAperture.F27;
-                case F_32:
-                    return dji.sdk.keyvalue.value.camera.CameraAperture.F32;
-                case UNKNOWN:
-                    return dji.sdk.keyvalue.value.camera.CameraAperture.UNKNOWN;
-            }
-        }
-        return dji.sdk.keyvalue.value.camera.CameraAperture.UNKNOWN;
+        return CameraApertureMapping.getDJI(value);
     }
 
     public static dji.sdk.keyvalue.value.camera.CameraColor getCameraColor(final @Nullable CameraColor value) {
@@ -1320,152 +1273,48 @@ public class DronelinkDJI2 {
         return ThermalDisplayMode.UNKNOWN;
     }
 
+    private static final DJI2EnumMapping<dji.sdk.keyvalue.value.camera.CameraExposureCompensation, CameraExposureCompensation> CameraExposureCompensationMapping = new DJI2EnumMapping<>(dji.sdk.keyvalue.value.camera.CameraExposureCompensation.class, CameraExposureCompensation.class, dji.sdk.keyvalue.value.camera.CameraExposureCompensation.UNKNOWN, CameraExposureCompensation.UNKNOWN)
+            .put(dji.sdk.keyvalue.value.camera.CameraExposureCompensation.NEG_5P0EV, CameraExposureCompensation.N_5_0)
+            .put(dji.sdk.keyvalue.value.camera.CameraExposureCompensation.NEG_4P7EV, CameraExposureCompensation.N_4_7)
+            .put(dji.sdk.keyvalue.value.camera.CameraExposureCompensation.NEG_4P3EV, CameraExposureCompensation.N_4_3)
+            .put(dji.sdk.keyvalue.value.camera.CameraExposureCompensation.NEG_4P0EV, CameraExposureCompensation.N_4_0)
+            .put(dji.sdk.keyvalue.value.camera.CameraExposureCompensation.NEG_3P7EV, CameraExposureCompensation.N_3_7)
+            .put(dji.sdk.keyvalue.value.camera.CameraExposureCompensation.NEG_3P3EV, CameraExposureCompensation.N_3_3)
+            .put(dji.sdk.keyvalue.value.camera.CameraExposureCompensation.NEG_3P0EV, CameraExposureCompensation.N_3_0)
+            .put(dji.sdk.keyvalue.value.camera.CameraExposureCompensation.NEG_2P7EV, CameraExposureCompensation.N_2_7)
+            .put(dji.sdk.keyvalue.value.camera.CameraExposureCompensation.NEG_2P3EV, CameraExposureCompensation.N_2_3)
+            .put(dji.sdk.keyvalue.value.camera.CameraExposureCompensation.NEG_2P0EV, CameraExposureCompensation.N_2_0)
+            .put(dji.sdk.keyvalue.value.camera.CameraExposureCompensation.NEG_1P7EV, CameraExposureCompensation.N_1_7)
+            .put(dji.sdk.keyvalue.value.camera.CameraExposureCompensation.NEG_1P3EV, CameraExposureCompensation.N_1_3)
+            .put(dji.sdk.keyvalue.value.camera.CameraExposureCompensation.NEG_1P0EV, CameraExposureCompensation.N_1_0)
+            .put(dji.sdk.keyvalue.value.camera.CameraExposureCompensation.NEG_0P7EV, CameraExposureCompensation.N_0_7)
+            .put(dji.sdk.keyvalue.value.camera.CameraExposureCompensation.NEG_0P3EV, CameraExposureCompensation.N_0_3)
+            .put(dji.sdk.keyvalue.value.camera.CameraExposureCompensation.NEG_0EV, CameraExposureCompensation.N_0_0)
+            .put(dji.sdk.keyvalue.value.camera.CameraExposureCompensation.POS_0P3EV, CameraExposureCompensation.P_0_3)
+            .put(dji.sdk.keyvalue.value.camera.CameraExposureCompensation.POS_0P7EV, CameraExposureCompensation.P_0_7)
+            .put(dji.sdk.keyvalue.value.camera.CameraExposureCompensation.POS_1P0EV, CameraExposureCompensation.P_1_0)
+            .put(dji.sdk.keyvalue.value.camera.CameraExposureCompensation.POS_1P3EV, CameraExposureCompensation.P_1_3)
+            .put(dji.sdk.keyvalue.value.camera.CameraExposureCompensation.POS_1P7EV, CameraExposureCompensation.P_1_7)
+            .put(dji.sdk.keyvalue.value.camera.CameraExposureCompensation.POS_2P0EV, CameraExposureCompensation.P_2_0)
+            .put(dji.sdk.keyvalue.value.camera.CameraExposureCompensation.POS_2P3EV, CameraExposureCompensation.P_2_3)
+            .put(dji.sdk.keyvalue.value.camera.CameraExposureCompensation.POS_2P7EV, CameraExposureCompensation.P_2_7)
+            .put(dji.sdk.keyvalue.value.camera.CameraExposureCompensation.POS_3P0EV, CameraExposureCompensation.P_3_0)
+            .put(dji.sdk.keyvalue.value.camera.CameraExposureCompensation.POS_3P3EV, CameraExposureCompensation.P_3_3)
+            .put(dji.sdk.keyvalue.value.camera.CameraExposureCompensation.POS_3P7EV, CameraExposureCompensation.P_3_7)
+            .put(dji.sdk.keyvalue.value.camera.CameraExposureCompensation.POS_4P0EV, CameraExposureCompensation.P_4_0)
+            .put(dji.sdk.keyvalue.value.camera.CameraExposureCompensation.POS_4P3EV, CameraExposureCompensation.P_4_3)
+            .put(dji.sdk.keyvalue.value.camera.CameraExposureCompensation.POS_4P7EV, CameraExposureCompensation.P_4_7)
+            .put(dji.sdk.keyvalue.value.camera.CameraExposureCompensation.POS_5P0EV, CameraExposureCompensation.P_5_0)
+            .put(dji.sdk.keyvalue.value.camera.CameraExposureCompensation.FIXED, CameraExposureCompensation.FIXED)
+            .put(dji.sdk.keyvalue.value.camera.CameraExposureCompensation.UNKNOWN, CameraExposureCompensation.UNKNOWN)
+            .verify();
+
     public static CameraExposureCompensation getCameraExposureCompensation(final @Nullable dji.sdk.keyvalue.value.camera.CameraExposureCompensation value) {
-        if (value != null) {
-            switch (value) {
-                case NEG_5P0EV:
-                    return CameraExposureCompensation.N_5_0;
-                case NEG_4P7EV:
-                    return CameraExposureCompensation.N_4_7;
-                case NEG_4P3EV:
-                    return CameraExposureCompensation.N_4_3;
-                case NEG_4P0EV:
-                    return CameraExposureCompensation.N_4_0;
-                case NEG_3P7EV:
-                    return CameraExposureCompensation.N_3_7;
-                case NEG_3P3EV:
-                    return CameraExposureCompensation.N_3_3;
-                case NEG_3P0EV:
-                    return CameraExposureCompensation.N_3_0;
-                case NEG_2P7EV:
-                    return CameraExposureCompensation.N_2_7;
-                case NEG_2P3EV:
-                    return CameraExposureCompensation.N_2_3;
-                case NEG_2P0EV:
-                    return CameraExposureCompensation.N_2_0;
-                case NEG_1P7EV:
-                    return CameraExposureCompensation.N_1_7;
-                case NEG_1P3EV:
-                    return CameraExposureCompensation.N_1_3;
-                case NEG_1P0EV:
-                    return CameraExposureCompensation.N_1_0;
-                case NEG_0P7EV:
-                    return CameraExposureCompensation.N_0_7;
-                case NEG_0P3EV:
-                    return CameraExposureCompensation.N_0_3;
-                case NEG_0EV:
-                    return CameraExposureCompensation.N_0_0;
-                case POS_0P3EV:
-                    return CameraExposureCompensation.P_0_3;
-                case POS_0P7EV:
-                    return CameraExposureCompensation.P_0_7;
-                case POS_1P0EV:
-                    return CameraExposureCompensation.P_1_0;
-                case POS_1P3EV:
-                    return CameraExposureCompensation.P_1_3;
-                case POS_1P7EV:
-                    return CameraExposureCompensation.P_1_7;
-                case POS_2P0EV:
-                    return CameraExposureCompensation.P_2_0;
-                case POS_2P3EV:
-                    return CameraExposureCompensation.P_2_3;
-                case POS_2P7EV:
-                    return CameraExposureCompensation.P_2_7;
-                case POS_3P0EV:
-                    return CameraExposureCompensation.P_3_0;
-                case POS_3P3EV:
-                    return CameraExposureCompensation.P_3_3;
-                case POS_3P7EV:
-                    return CameraExposureCompensation.P_3_7;
-                case POS_4P0EV:
-                    return CameraExposureCompensation.P_4_0;
-                case POS_4P3EV:
-                    return CameraExposureCompensation.P_4_3;
-                case POS_4P7EV:
-                    return CameraExposureCompensation.P_4_7;
-                case POS_5P0EV:
-                    return CameraExposureCompensation.P_5_0;
-                case FIXED:
-                    return CameraExposureCompensation.FIXED;
-                case UNKNOWN:
-                    return CameraExposureCompensation.UNKNOWN;
-            }
-        }
-        return CameraExposureCompensation.UNKNOWN;
+        return CameraExposureCompensationMapping.getKernel(value);
     }
 
     public static dji.sdk.keyvalue.value.camera.CameraExposureCompensation getCameraExposureCompensation(final @Nullable CameraExposureCompensation value) {
-        if (value != null) {
-            switch (value) {
-                case N_5_0:
-                    return dji.sdk.keyvalue.value.camera.CameraExposureCompensation.NEG_5P0EV;
-                case N_4_7:
-                    return dji.sdk.keyvalue.value.camera.CameraExposureCompensation.NEG_4P7EV;
-                case N_4_3:
-                    return dji.sdk.keyvalue.value.camera.CameraExposureCompensation.NEG_4P3EV;
-                case N_4_0:
-                    return dji.sdk.keyvalue.value.camera.CameraExposureCompensation.NEG_4P0EV;
-                case N_3_7:
-                    return dji.sdk.keyvalue.value.camera.CameraExposureCompensation.NEG_3P7EV;
-                case N_3_3:
-                    return dji.sdk.keyvalue.value.camera.CameraExposureCompensation.NEG_3P3EV;
-                case N_3_0:
-                    return dji.sdk.keyvalue.value.camera.CameraExposureCompensation.NEG_3P0EV;
-                case N_2_7:
-                    return dji.sdk.keyvalue.value.camera.CameraExposureCompensation.NEG_2P7EV;
-                case N_2_3:
-                    return dji.sdk.keyvalue.value.camera.CameraExposureCompensation.NEG_2P3EV;
-                case N_2_0:
-                    return dji.sdk.keyvalue.value.camera.CameraExposureCompensation.NEG_2P0EV;
-                case N_1_7:
-                    return dji.sdk.keyvalue.value.camera.CameraExposureCompensation.NEG_1P7EV;
-                case N_1_3:
-                    return dji.sdk.keyvalue.value.camera.CameraExposureCompensation.NEG_1P3EV;
-                case N_1_0:
-                    return dji.sdk.keyvalue.value.camera.CameraExposureCompensation.NEG_1P0EV;
-                case N_0_7:
-                    return dji.sdk.keyvalue.value.camera.CameraExposureCompensation.NEG_0P7EV;
-                case N_0_3:
-                    return dji.sdk.keyvalue.value.camera.CameraExposureCompensation.NEG_0P3EV;
-                case N_0_0:
-                    return dji.sdk.keyvalue.value.camera.CameraExposureCompensation.NEG_0EV;
-                case P_0_3:
-                    return dji.sdk.keyvalue.value.camera.CameraExposureCompensation.POS_0P3EV;
-                case P_0_7:
-                    return dji.sdk.keyvalue.value.camera.CameraExposureCompensation.POS_0P7EV;
-                case P_1_0:
-                    return dji.sdk.keyvalue.value.camera.CameraExposureCompensation.POS_1P0EV;
-                case P_1_3:
-                    return dji.sdk.keyvalue.value.camera.CameraExposureCompensation.POS_1P3EV;
-                case P_1_7:
-                    return dji.sdk.keyvalue.value.camera.CameraExposureCompensation.POS_1P7EV;
-                case P_2_0:
-                    return dji.sdk.keyvalue.value.camera.CameraExposureCompensation.POS_2P0EV;
-                case P_2_3:
-                    return dji.sdk.keyvalue.value.camera.CameraExposureCompensation.POS_2P3EV;
-                case P_2_7:
-                    return dji.sdk.keyvalue.value.camera.CameraExposureCompensation.POS_2P7EV;
-                case P_3_0:
-                    return dji.sdk.keyvalue.value.camera.CameraExposureCompensation.POS_3P0EV;
-                case P_3_3:
-                    return dji.sdk.keyvalue.value.camera.CameraExposureCompensation.POS_3P3EV;
-                case P_3_7:
-                    return dji.sdk.keyvalue.value.camera.CameraExposureCompensation.POS_3P7EV;
-                case P_4_0:
-                    return dji.sdk.keyvalue.value.camera.CameraExposureCompensation.POS_4P0EV;
-                case P_4_3:
-                    return dji.sdk.keyvalue.value.camera.CameraExposureCompensation.POS_4P3EV;
-                case P_4_7:
-                    return dji.sdk.keyvalue.value.camera.CameraExposureCompensation.POS_4P7EV;
-                case P_5_0:
-                    return dji.sdk.keyvalue.value.camera.CameraExposureCompensation.POS_5P0EV;
-                case FIXED:
-                    return dji.sdk.keyvalue.value.camera.CameraExposureCompensation.FIXED;
-                case UNKNOWN:
-                    return dji.sdk.keyvalue.value.camera.CameraExposureCompensation.UNKNOWN;
-            }
-        }
-        return dji.sdk.keyvalue.value.camera.CameraExposureCompensation.UNKNOWN;
+        return CameraExposureCompensationMapping.getDJI(value);
     }
 
     public static CameraExposureMode getCameraExposureMode(final @Nullable dji.sdk.keyvalue.value.camera.CameraExposureMode value) {
@@ -1951,348 +1800,97 @@ public class DronelinkDJI2 {
         return PhotoFileFormat.UNKNOWN;
     }
 
+    private static final DJI2EnumMapping<dji.sdk.keyvalue.value.camera.CameraShutterSpeed, CameraShutterSpeed> CameraShutterSpeedMapping = new DJI2EnumMapping<>(dji.sdk.keyvalue.value.camera.CameraShutterSpeed.class, CameraShutterSpeed.class, dji.sdk.keyvalue.value.camera.CameraShutterSpeed.UNKNOWN, CameraShutterSpeed.UNKNOWN)
+            .put(dji.sdk.keyvalue.value.camera.CameraShutterSpeed.SHUTTER_SPEED1_20000, CameraShutterSpeed._1_20000)
+            .put(dji.sdk.keyvalue.value.camera.CameraShutterSpeed.SHUTTER_SPEED1_16000, CameraShutterSpeed._1_16000)
+            .put(dji.sdk.keyvalue.value.camera.CameraShutterSpeed.SHUTTER_SPEED1_12800, CameraShutterSpeed._1_12800)
+            .put(dji.sdk.keyvalue.value.camera.CameraShutterSpeed.SHUTTER_SPEED1_10000, CameraShutterSpeed._1_10000)
+            .put(dji.sdk.keyvalue.value.camera.CameraShutterSpeed.SHUTTER_SPEED1_8000, CameraShutterSpeed._1_8000)
+            .put(dji.sdk.keyvalue.value.camera.CameraShutterSpeed.SHUTTER_SPEED1_6400, CameraShutterSpeed._1_6400)
+            .put(dji.sdk.keyvalue.value.camera.CameraShutterSpeed.SHUTTER_SPEED1_6000, CameraShutterSpeed._1_6000)
+            .put(dji.sdk.keyvalue.value.camera.CameraShutterSpeed.SHUTTER_SPEED1_5000, CameraShutterSpeed._1_5000)
+            .put(dji.sdk.keyvalue.value.camera.CameraShutterSpeed.SHUTTER_SPEED1_4000, CameraShutterSpeed._1_4000)
+            .put(dji.sdk.keyvalue.value.camera.CameraShutterSpeed.SHUTTER_SPEED1_3200, CameraShutterSpeed._1_3200)
+            .put(dji.sdk.keyvalue.value.camera.CameraShutterSpeed.SHUTTER_SPEED1_3000, CameraShutterSpeed._1_3000)
+            .put(dji.sdk.keyvalue.value.camera.CameraShutterSpeed.SHUTTER_SPEED1_2500, CameraShutterSpeed._1_2500)
+            .put(dji.sdk.keyvalue.value.camera.CameraShutterSpeed.SHUTTER_SPEED1_2000, CameraShutterSpeed._1_2000)
+            .put(dji.sdk.keyvalue.value.camera.CameraShutterSpeed.SHUTTER_SPEED1_1600, CameraShutterSpeed._1_1600)
+            .put(dji.sdk.keyvalue.value.camera.CameraShutterSpeed.SHUTTER_SPEED1_1500, CameraShutterSpeed._1_1500)
+            .put(dji.sdk.keyvalue.value.camera.CameraShutterSpeed.SHUTTER_SPEED1_1250, CameraShutterSpeed._1_1250)
+            .put(dji.sdk.keyvalue.value.camera.CameraShutterSpeed.SHUTTER_SPEED1_1000, CameraShutterSpeed._1_1000)
+            .put(dji.sdk.keyvalue.value.camera.CameraShutterSpeed.SHUTTER_SPEED1_800, CameraShutterSpeed._1_800)
+            .put(dji.sdk.keyvalue.value.camera.CameraShutterSpeed.SHUTTER_SPEED1_725, CameraShutterSpeed._1_725)
+            .put(dji.sdk.keyvalue.value.camera.CameraShutterSpeed.SHUTTER_SPEED1_640, CameraShutterSpeed._1_640)
+            .put(dji.sdk.keyvalue.value.camera.CameraShutterSpeed.SHUTTER_SPEED1_500, CameraShutterSpeed._1_500)
+            .put(dji.sdk.keyvalue.value.camera.CameraShutterSpeed.SHUTTER_SPEED1_400, CameraShutterSpeed._1_400)
+            .put(dji.sdk.keyvalue.value.camera.CameraShutterSpeed.SHUTTER_SPEED1_350, CameraShutterSpeed._1_350)
+            .put(dji.sdk.keyvalue.value.camera.CameraShutterSpeed.SHUTTER_SPEED1_320, CameraShutterSpeed._1_320)
+            .put(dji.sdk.keyvalue.value.camera.CameraShutterSpeed.SHUTTER_SPEED1_250, CameraShutterSpeed._1_250)
+            .put(dji.sdk.keyvalue.value.camera.CameraShutterSpeed.SHUTTER_SPEED1_240, CameraShutterSpeed._1_240)
+            .put(dji.sdk.keyvalue.value.camera.CameraShutterSpeed.SHUTTER_SPEED1_200, CameraShutterSpeed._1_200)
+            .put(dji.sdk.keyvalue.value.camera.CameraShutterSpeed.SHUTTER_SPEED1_180, CameraShutterSpeed._1_180)
+            .put(dji.sdk.keyvalue.value.camera.CameraShutterSpeed.SHUTTER_SPEED1_160, CameraShutterSpeed._1_160)
+            .put(dji.sdk.keyvalue.value.camera.CameraShutterSpeed.SHUTTER_SPEED1_125, CameraShutterSpeed._1_125)
+            .put(dji.sdk.keyvalue.value.camera.CameraShutterSpeed.SHUTTER_SPEED1_120, CameraShutterSpeed._1_120)
+            .put(dji.sdk.keyvalue.value.camera.CameraShutterSpeed.SHUTTER_SPEED1_100, CameraShutterSpeed._1_100)
+            .put(dji.sdk.keyvalue.value.camera.CameraShutterSpeed.SHUTTER_SPEED1_90, CameraShutterSpeed._1_90)
+            .put(dji.sdk.keyvalue.value.camera.CameraShutterSpeed.SHUTTER_SPEED1_80, CameraShutterSpeed._1_80)
+            .put(dji.sdk.keyvalue.value.camera.CameraShutterSpeed.SHUTTER_SPEED1_60, CameraShutterSpeed._1_60)
+            .put(dji.sdk.keyvalue.value.camera.CameraShutterSpeed.SHUTTER_SPEED1_50, CameraShutterSpeed._1_50)
+            .put(dji.sdk.keyvalue.value.camera.CameraShutterSpeed.SHUTTER_SPEED1_40, CameraShutterSpeed._1_40)
+            .put(dji.sdk.keyvalue.value.camera.CameraShutterSpeed.SHUTTER_SPEED1_30, CameraShutterSpeed._1_30)
+            .put(dji.sdk.keyvalue.value.camera.CameraShutterSpeed.SHUTTER_SPEED1_25, CameraShutterSpeed._1_25)
+            .put(dji.sdk.keyvalue.value.camera.CameraShutterSpeed.SHUTTER_SPEED1_20, CameraShutterSpeed._1_20)
+            .put(dji.sdk.keyvalue.value.camera.CameraShutterSpeed.SHUTTER_SPEED1_15, CameraShutterSpeed._1_15)
+            .put(dji.sdk.keyvalue.value.camera.CameraShutterSpeed.SHUTTER_SPEED1_12DOT5, CameraShutterSpeed._1_12_DOT_5)
+            .put(dji.sdk.keyvalue.value.camera.CameraShutterSpeed.SHUTTER_SPEED1_10, CameraShutterSpeed._1_10)
+            .put(dji.sdk.keyvalue.value.camera.CameraShutterSpeed.SHUTTER_SPEED1_8, CameraShutterSpeed._1_8)
+            .put(dji.sdk.keyvalue.value.camera.CameraShutterSpeed.SHUTTER_SPEED1_6DOT25, CameraShutterSpeed._1_6_DOT_25)
+            .put(dji.sdk.keyvalue.value.camera.CameraShutterSpeed.SHUTTER_SPEED1_5, CameraShutterSpeed._1_5)
+            .put(dji.sdk.keyvalue.value.camera.CameraShutterSpeed.SHUTTER_SPEED1_4, CameraShutterSpeed._1_4)
+            .put(dji.sdk.keyvalue.value.camera.CameraShutterSpeed.SHUTTER_SPEED1_3, CameraShutterSpeed._1_3)
+            .put(dji.sdk.keyvalue.value.camera.CameraShutterSpeed.SHUTTER_SPEED1_2DOT5, CameraShutterSpeed._1_2_DOT_5)
+            .put(dji.sdk.keyvalue.value.camera.CameraShutterSpeed.SHUTTER_SPEED1_2, CameraShutterSpeed._1_2)
+            .put(dji.sdk.keyvalue.value.camera.CameraShutterSpeed.SHUTTER_SPEED1_1DOT67, CameraShutterSpeed._1_1_DOT_67)
+            .put(dji.sdk.keyvalue.value.camera.CameraShutterSpeed.SHUTTER_SPEED1_1DOT25, CameraShutterSpeed._1_1_DOT_25)
+            .put(dji.sdk.keyvalue.value.camera.CameraShutterSpeed.SHUTTER_SPEED1, CameraShutterSpeed._1)
+            .put(dji.sdk.keyvalue.value.camera.CameraShutterSpeed.SHUTTER_SPEED1DOT3, CameraShutterSpeed._1_DOT_3)
+            .put(dji.sdk.keyvalue.value.camera.CameraShutterSpeed.SHUTTER_SPEED1DOT6, CameraShutterSpeed._1_DOT_6)
+            .put(dji.sdk.keyvalue.value.camera.CameraShutterSpeed.SHUTTER_SPEED2, CameraShutterSpeed._2)
+            .put(dji.sdk.keyvalue.value.camera.CameraShutterSpeed.SHUTTER_SPEED2DOT5, CameraShutterSpeed._2_DOT_5)
+            .put(dji.sdk.keyvalue.value.camera.CameraShutterSpeed.SHUTTER_SPEED3, CameraShutterSpeed._3)
+            .put(dji.sdk.keyvalue.value.camera.CameraShutterSpeed.SHUTTER_SPEED3DOT2, CameraShutterSpeed._3_DOT_2)
+            .put(dji.sdk.keyvalue.value.camera.CameraShutterSpeed.SHUTTER_SPEED4, CameraShutterSpeed._4)
+            .put(dji.sdk.keyvalue.value.camera.CameraShutterSpeed.SHUTTER_SPEED5, CameraShutterSpeed._5)
+            .put(dji.sdk.keyvalue.value.camera.CameraShutterSpeed.SHUTTER_SPEED6, CameraShutterSpeed._6)
+            .put(dji.sdk.keyvalue.value.camera.CameraShutterSpeed.SHUTTER_SPEED7, CameraShutterSpeed._7)
+            .put(dji.sdk.keyvalue.value.camera.CameraShutterSpeed.SHUTTER_SPEED8, CameraShutterSpeed._8)
+            .put(dji.sdk.keyvalue.value.camera.CameraShutterSpeed.SHUTTER_SPEED9, CameraShutterSpeed._9)
+            .put(dji.sdk.keyvalue.value.camera.CameraShutterSpeed.SHUTTER_SPEED10, CameraShutterSpeed._10)
+            .put(dji.sdk.keyvalue.value.camera.CameraShutterSpeed.SHUTTER_SPEED11, CameraShutterSpeed._11)
+            .put(dji.sdk.keyvalue.value.camera.CameraShutterSpeed.SHUTTER_SPEED13, CameraShutterSpeed._13)
+            .put(dji.sdk.keyvalue.value.camera.CameraShutterSpeed.SHUTTER_SPEED15, CameraShutterSpeed._15)
+            .put(dji.sdk.keyvalue.value.camera.CameraShutterSpeed.SHUTTER_SPEED16, CameraShutterSpeed._16)
+            .put(dji.sdk.keyvalue.value.camera.CameraShutterSpeed.SHUTTER_SPEED20, CameraShutterSpeed._20)
+            .put(dji.sdk.keyvalue.value.camera.CameraShutterSpeed.SHUTTER_SPEED23, CameraShutterSpeed._23)
+            .put(dji.sdk.keyvalue.value.camera.CameraShutterSpeed.SHUTTER_SPEED25, CameraShutterSpeed._25)
+            .put(dji.sdk.keyvalue.value.camera.CameraShutterSpeed.SHUTTER_SPEED30, CameraShutterSpeed._30)
+            .put(dji.sdk.keyvalue.value.camera.CameraShutterSpeed.SHUTTER_SPEED40, CameraShutterSpeed._40)
+            .put(dji.sdk.keyvalue.value.camera.CameraShutterSpeed.SHUTTER_SPEED50, CameraShutterSpeed._50)
+            .put(dji.sdk.keyvalue.value.camera.CameraShutterSpeed.SHUTTER_SPEED60, CameraShutterSpeed._60)
+            .put(dji.sdk.keyvalue.value.camera.CameraShutterSpeed.SHUTTER_SPEED80, CameraShutterSpeed._80)
+            .put(dji.sdk.keyvalue.value.camera.CameraShutterSpeed.SHUTTER_SPEED100, CameraShutterSpeed._100)
+            .put(dji.sdk.keyvalue.value.camera.CameraShutterSpeed.SHUTTER_SPEED120, CameraShutterSpeed._120)
+            .put(dji.sdk.keyvalue.value.camera.CameraShutterSpeed.SHUTTER_SPEED_AUTO, CameraShutterSpeed.AUTO)
+            .put(dji.sdk.keyvalue.value.camera.CameraShutterSpeed.UNKNOWN, CameraShutterSpeed.UNKNOWN)
+            .verify();
+
     public static CameraShutterSpeed getCameraShutterSpeed(final @Nullable dji.sdk.keyvalue.value.camera.CameraShutterSpeed value) {
-        if (value != null) {
-            switch (value) {
-                case SHUTTER_SPEED1_20000:
-                    return CameraShutterSpeed._1_20000;
-                case SHUTTER_SPEED1_16000:
-                    return CameraShutterSpeed._1_16000;
-                case SHUTTER_SPEED1_12800:
-                    return CameraShutterSpeed._1_12800;
-                case SHUTTER_SPEED1_10000:
-                    return CameraShutterSpeed._1_10000;
-                case SHUTTER_SPEED1_8000:
-                    return CameraShutterSpeed._1_8000;
-                case SHUTTER_SPEED1_6400:
-                    return CameraShutterSpeed._1_6400;
-                case SHUTTER_SPEED1_6000:
-                    return CameraShutterSpeed._1_6000;
-                case SHUTTER_SPEED1_5000:
-                    return CameraShutterSpeed._1_5000;
-                case SHUTTER_SPEED1_4000:
-                    return CameraShutterSpeed._1_4000;
-                case SHUTTER_SPEED1_3200:
-                    return CameraShutterSpeed._1_3200;
-                case SHUTTER_SPEED1_3000:
-                    return CameraShutterSpeed._1_3000;
-                case SHUTTER_SPEED1_2500:
-                    return CameraShutterSpeed._1_2500;
-                case SHUTTER_SPEED1_2000:
-                    return CameraShutterSpeed._1_2000;
-                case SHUTTER_SPEED1_1600:
-                    return CameraShutterSpeed._1_1600;
-                case SHUTTER_SPEED1_1500:
-                    return CameraShutterSpeed._1_1500;
-                case SHUTTER_SPEED1_1250:
-                    return CameraShutterSpeed._1_1250;
-                case SHUTTER_SPEED1_1000:
-                    return CameraShutterSpeed._1_1000;
-                case SHUTTER_SPEED1_800:
-                    return CameraShutterSpeed._1_800;
-                case SHUTTER_SPEED1_725:
-                    return CameraShutterSpeed._1_725;
-                case SHUTTER_SPEED1_640:
-                    return CameraShutterSpeed._1_640;
-                case SHUTTER_SPEED1_500:
-                    return CameraShutterSpeed._1_500;
-                case SHUTTER_SPEED1_400:
-                    return CameraShutterSpeed._1_400;
-                case SHUTTER_SPEED1_350:
-                    return CameraShutterSpeed._1_350;
-                case SHUTTER_SPEED1_320:
-                    return CameraShutterSpeed._1_320;
-                case SHUTTER_SPEED1_250:
-                    return CameraShutterSpeed._1_250;
-                case SHUTTER_SPEED1_240:
-                    return CameraShutterSpeed._1_240;
-                case SHUTTER_SPEED1_200:
-                    return CameraShutterSpeed._1_200;
-                case SHUTTER_SPEED1_180:
-                    return CameraShutterSpeed._1_180;
-                case SHUTTER_SPEED1_160:
-                    return CameraShutterSpeed._1_160;
-                case SHUTTER_SPEED1_125:
-                    return CameraShutterSpeed._1_125;
-                case SHUTTER_SPEED1_120:
-                    return CameraShutterSpeed._1_120;
-                case SHUTTER_SPEED1_100:
-                    return CameraShutterSpeed._1_100;
-                case SHUTTER_SPEED1_90:
-                    return CameraShutterSpeed._1_90;
-                case SHUTTER_SPEED1_80:
-                    return CameraShutterSpeed._1_80;
-                case SHUTTER_SPEED1_60:
-                    return CameraShutterSpeed._1_60;
-                case SHUTTER_SPEED1_50:
-                    return CameraShutterSpeed._1_50;
-                case SHUTTER_SPEED1_40:
-                    return CameraShutterSpeed._1_40;
-                case SHUTTER_SPEED1_30:
-                    return CameraShutterSpeed._1_30;
-                case SHUTTER_SPEED1_25:
-                    return CameraShutterSpeed._1_25;
-                case SHUTTER_SPEED1_20:
-                    return CameraShutterSpeed._1_20;
-                case SHUTTER_SPEED1_15:
-                    return CameraShutterSpeed._1_15;
-                case SHUTTER_SPEED1_12DOT5:
-                    return CameraShutterSpeed._1_12_DOT_5;
-                case SHUTTER_SPEED1_10:
-                    return CameraShutterSpeed._1_10;
-                case SHUTTER_SPEED1_8:
-                    return CameraShutterSpeed._1_8;
-                case SHUTTER_SPEED1_6DOT25:
-                    return CameraShutterSpeed._1_6_DOT_25;
-                case SHUTTER_SPEED1_5:
-                    return CameraShutterSpeed._1_5;
-                case SHUTTER_SPEED1_4:
-                    return CameraShutterSpeed._1_4;
-                case SHUTTER_SPEED1_3:
-                    return CameraShutterSpeed._1_3;
-                case SHUTTER_SPEED1_2DOT5:
-                    return CameraShutterSpeed._1_2_DOT_5;
-                case SHUTTER_SPEED1_2:
-                    return CameraShutterSpeed._1_2;
-                case SHUTTER_SPEED1_1DOT67:
-                    return CameraShutterSpeed._1_1_DOT_67;
-                case SHUTTER_SPEED1_1DOT25:
-                    return CameraShutterSpeed._1_1_DOT_25;
-                case SHUTTER_SPEED1:
-                    return CameraShutterSpeed._1;
-                case SHUTTER_SPEED1DOT3:
-                    return CameraShutterSpeed._1_DOT_3;
-                case SHUTTER_SPEED1DOT6:
-                    return CameraShutterSpeed._1_DOT_6;
-                case SHUTTER_SPEED2:
-                    return CameraShutterSpeed._2;
-                case SHUTTER_SPEED2DOT5:
-                    return CameraShutterSpeed._2_DOT_5;
-                case SHUTTER_SPEED3:
-                    return CameraShutterSpeed._3;
-                case SHUTTER_SPEED3DOT2:
-                    return CameraShutterSpeed._3_DOT_2;
-                case SHUTTER_SPEED4:
-                    return CameraShutterSpeed._4;
-                case SHUTTER_SPEED5:
-                    return CameraShutterSpeed._5;
-                case SHUTTER_SPEED6:
-                    return CameraShutterSpeed._6;
-                case SHUTTER_SPEED7:
-                    return CameraShutterSpeed._7;
-                case SHUTTER_SPEED8:
-                    return CameraShutterSpeed._8;
-                case SHUTTER_SPEED9:
-                    return CameraShutterSpeed._9;
-                case SHUTTER_SPEED10:
-                    return CameraShutterSpeed._10;
-                case SHUTTER_SPEED11:
-                    return CameraShutterSpeed._11;
-                case SHUTTER_SPEED13:
-                    return CameraShutterSpeed._13;
-                case SHUTTER_SPEED15:
-                    return CameraShutterSpeed._15;
-                case SHUTTER_SPEED16:
-                    return CameraShutterSpeed._16;
-                case SHUTTER_SPEED20:
-                    return CameraShutterSpeed._20;
-                case SHUTTER_SPEED23:
-                    return CameraShutterSpeed._23;
-                case SHUTTER_SPEED25:
-                    return CameraShutterSpeed._25;
-                case SHUTTER_SPEED30:
-                    return CameraShutterSpeed._30;
-                case SHUTTER_SPEED40:
-                    return CameraShutterSpeed._40;
-                case SHUTTER_SPEED50:
-                    return CameraShutterSpeed._50;
-                case SHUTTER_SPEED60:
-                    return CameraShutterSpeed._60;
-                case SHUTTER_SPEED80:
-                    return CameraShutterSpeed._80;
-                case SHUTTER_SPEED100:
-                    return CameraShutterSpeed._100;
-                case SHUTTER_SPEED120:
-                    return CameraShutterSpeed._120;
-                case SHUTTER_SPEED_AUTO:
-                    return CameraShutterSpeed.AUTO;
-                case UNKNOWN:
-                    return CameraShutterSpeed.UNKNOWN;
-            }
-        }
-        return CameraShutterSpeed.UNKNOWN;
+        return CameraShutterSpeedMapping.getKernel(value);
     }
 
     public static dji.sdk.keyvalue.value.camera.CameraShutterSpeed getCameraShutterSpeed(final @Nullable CameraShutterSpeed value) {
-        if (value != null) {
-            switch (value) {
-                case _1_20000:
-                    return dji.sdk.keyvalue.value.camera.CameraShutterSpeed.SHUTTER_SPEED1_20000;
-                case _1_16000:
-                    return dji.sdk.keyvalue.value.camera.CameraShutterSpeed.SHUTTER_SPEED1_16000;
-                case _1_12800:
-                    return dji.sdk.keyvalue.value.camera.CameraShutterSpeed.SHUTTER_SPEED1_12800;
-                case _1_10000:
-                    return dji.sdk.keyvalue.value.camera.CameraShutterSpeed.SHUTTER_SPEED1_10000;
-                case _1_8000:
-                    return dji.sdk.keyvalue.value.camera.CameraShutterSpeed.SHUTTER_SPEED1_8000;
-                case _1_6400:
-                    return dji.sdk.keyvalue.value.camera.CameraShutterSpeed.SHUTTER_SPEED1_6400;
-                case _1_6000:
-                    return dji.sdk.keyvalue.value.camera.CameraShutterSpeed.SHUTTER_SPEED1_6000;
-                case _1_5000:
-                    return dji.sdk.keyvalue.value.camera.CameraShutterSpeed.SHUTTER_SPEED1_5000;
-                case _1_4000:
-                    return dji.sdk.keyvalue.value.camera.CameraShutterSpeed.SHUTTER_SPEED1_4000;
-                case _1_3200:
-                    return dji.sdk.keyvalue.value.camera.CameraShutterSpeed.SHUTTER_SPEED1_3200;
-                case _1_3000:
-                    return dji.sdk.keyvalue.value.camera.CameraShutterSpeed.SHUTTER_SPEED1_3000;
-                case _1_2500:
-                    return dji.sdk.keyvalue.value.camera.CameraShutterSpeed.SHUTTER_SPEED1_2500;
-                case _1_2000:
-                    return dji.sdk.keyvalue.value.camera.CameraShutterSpeed.SHUTTER_SPEED1_2000;
-                case _1_1600:
-                    return dji.sdk.keyvalue.value.camera.CameraShutterSpeed.SHUTTER_SPEED1_1600;
-                case _1_1500:
-                    return dji.sdk.keyvalue.value.camera.CameraShutterSpeed.SHUTTER_SPEED1_1500;
-                case _1_1250:
-                    return dji.sdk.keyvalue.value.camera.CameraShutterSpeed.SHUTTER_SPEED1_1250;
-                case _1_1000:
-                    return dji.sdk.keyvalue.value.camera.CameraShutterSpeed.SHUTTER_SPEED1_1000;
-                case _1_800:
-                    return dji.sdk.keyvalue.value.camera.CameraShutterSpeed.SHUTTER_SPEED1_800;
-                case _1_725:
-                    return dji.sdk.keyvalue.value.camera.CameraShutterSpeed.SHUTTER_SPEED1_725;
-                case _1_640:
-                    return dji.sdk.keyvalue.value.camera.CameraShutterSpeed.SHUTTER_SPEED1_640;
-                case _1_500:
-                    return dji.sdk.keyvalue.value.camera.CameraShutterSpeed.SHUTTER_SPEED1_500;
-                case _1_400:
-                    return dji.sdk.keyvalue.value.camera.CameraShutterSpeed.SHUTTER_SPEED1_400;
-                case _1_350:
-                    return dji.sdk.keyvalue.value.camera.CameraShutterSpeed.SHUTTER_SPEED1_350;
-                case _1_320:
-                    return dji.sdk.keyvalue.value.camera.CameraShutterSpeed.SHUTTER_SPEED1_320;
-                case _1_250:
-                    return dji.sdk.keyvalue.value.camera.CameraShutterSpeed.SHUTTER_SPEED1_250;
-                case _1_240:
-                    return dji.sdk.keyvalue.value.camera.CameraShutterSpeed.SHUTTER_SPEED1_240;
-                case _1_200:
-                    return dji.sdk.keyvalue.value.camera.CameraShutterSpeed.SHUTTER_SPEED1_200;
-                case _1_180:
-                    return dji.sdk.keyvalue.value.camera.CameraShutterSpeed.SHUTTER_SPEED1_180;
-                case _1_160:
-                    return dji.sdk.keyvalue.value.camera.CameraShutterSpeed.SHUTTER_SPEED1_160;
-                case _1_125:
-                    return dji.sdk.keyvalue.value.camera.CameraShutterSpeed.SHUTTER_SPEED1_125;
-                case _1_120:
-                    return dji.sdk.keyvalue.value.camera.CameraShutterSpeed.SHUTTER_SPEED1_120;
-                case _1_100:
-                    return dji.sdk.keyvalue.value.camera.CameraShutterSpeed.SHUTTER_SPEED1_100;
-                case _1_90:
-                    return dji.sdk.keyvalue.value.camera.CameraShutterSpeed.SHUTTER_SPEED1_90;
-                case _1_80:
-                    return dji.sdk.keyvalue.value.camera.CameraShutterSpeed.SHUTTER_SPEED1_80;
-                case _1_60:
-                    return dji.sdk.keyvalue.value.camera.CameraShutterSpeed.SHUTTER_SPEED1_60;
-                case _1_50:
-                    return dji.sdk.keyvalue.value.camera.CameraShutterSpeed.SHUTTER_SPEED1_50;
-                case _1_40:
-                    return dji.sdk.keyvalue.value.camera.CameraShutterSpeed.SHUTTER_SPEED1_40;
-                case _1_30:
-                    return dji.sdk.keyvalue.value.camera.CameraShutterSpeed.SHUTTER_SPEED1_30;
-                case _1_25:
-                    return dji.sdk.keyvalue.value.camera.CameraShutterSpeed.SHUTTER_SPEED1_25;
-                case _1_20:
-                    return dji.sdk.keyvalue.value.camera.CameraShutterSpeed.SHUTTER_SPEED1_20;
-                case _1_15:
-                    return dji.sdk.keyvalue.value.camera.CameraShutterSpeed.SHUTTER_SPEED1_15;
-                case _1_12_DOT_5:
-                    return dji.sdk.keyvalue.value.camera.CameraShutterSpeed.SHUTTER_SPEED1_12DOT5;
-                case _1_10:
-                    return dji.sdk.keyvalue.value.camera.CameraShutterSpeed.SHUTTER_SPEED1_10;
-                case _1_8:
-                    return dji.sdk.keyvalue.value.camera.CameraShutterSpeed.SHUTTER_SPEED1_8;
-                case _1_6_DOT_25:
-                    return dji.sdk.keyvalue.value.camera.CameraShutterSpeed.SHUTTER_SPEED1_6DOT25;
-                case _1_5:
-                    return dji.sdk.keyvalue.value.camera.CameraShutterSpeed.SHUTTER_SPEED1_5;
-                case _1_4:
-                    return dji.sdk.keyvalue.value.camera.CameraShutterSpeed.SHUTTER_SPEED1_4;
-                case _1_3:
-                    return dji.sdk.keyvalue.value.camera.CameraShutterSpeed.SHUTTER_SPEED1_3;
-                case _1_2_DOT_5:
-                    return dji.sdk.keyvalue.value.camera.CameraShutterSpeed.SHUTTER_SPEED1_2DOT5;
-                case _1_2:
-                    return dji.sdk.keyvalue.value.camera.CameraShutterSpeed.SHUTTER_SPEED1_2;
-                case _1_1_DOT_67:
-                    return dji.sdk.keyvalue.value.camera.CameraShutterSpeed.SHUTTER_SPEED1_1DOT67;
-                case _1_1_DOT_25:
-                    return dji.sdk.keyvalue.value.camera.CameraShutterSpeed.SHUTTER_SPEED1_1DOT25;
-                case _1:
-                    return dji.sdk.keyvalue.value.camera.CameraShutterSpeed.SHUTTER_SPEED1;
-                case _1_DOT_3:
-                    return dji.sdk.keyvalue.value.camera.CameraShutterSpeed.SHUTTER_SPEED1DOT3;
-                case _1_DOT_6:
-                    return dji.sdk.keyvalue.value.camera.CameraShutterSpeed.SHUTTER_SPEED1DOT6;
-                case _2:
-                    return dji.sdk.keyvalue.value.camera.CameraShutterSpeed.SHUTTER_SPEED2;
-                case _2_DOT_5:
-                    return dji.sdk.keyvalue.value.camera.CameraShutterSpeed.SHUTTER_SPEED2DOT5;
-                case _3:
-                    return dji.sdk.keyvalue.value.camera.CameraShutterSpeed.SHUTTER_SPEED3;
-                case _3_DOT_2:
-                    return dji.sdk.keyvalue.value.camera.CameraShutterSpeed.SHUTTER_SPEED3DOT2;
-                case _4:
-                    return dji.sdk.keyvalue.value.camera.CameraShutterSpeed.SHUTTER_SPEED4;
-                case _5:
-                    return dji.sdk.keyvalue.value.camera.CameraShutterSpeed.SHUTTER_SPEED5;
-                case _6:
-                    return dji.sdk.keyvalue.value.camera.CameraShutterSpeed.SHUTTER_SPEED6;
-                case _7:
-                    return dji.sdk.keyvalue.value.camera.CameraShutterSpeed.SHUTTER_SPEED7;
-                case _8:
-                    return dji.sdk.keyvalue.value.camera.CameraShutterSpeed.SHUTTER_SPEED8;
-                case _9:
-                    return dji.sdk.keyvalue.value.camera.CameraShutterSpeed.SHUTTER_SPEED9;
-                case _10:
-                    return dji.sdk.keyvalue.value.camera.CameraShutterSpeed.SHUTTER_SPEED10;
-                case _11:
-                    return dji.sdk.keyvalue.value.camera.CameraShutterSpeed.SHUTTER_SPEED11;
-                case _13:
-                    return dji.sdk.keyvalue.value.camera.CameraShutterSpeed.SHUTTER_SPEED13;
-                case _15:
-                    return dji.sdk.keyvalue.value.camera.CameraShutterSpeed.SHUTTER_SPEED15;
-                case _16:
-                    return dji.sdk.keyvalue.value.camera.CameraShutterSpeed.SHUTTER_SPEED16;
-                case _20:
-                    return dji.sdk.keyvalue.value.camera.CameraShutterSpeed.SHUTTER_SPEED20;
-                case _23:
-                    return dji.sdk.keyvalue.value.camera.CameraShutterSpeed.SHUTTER_SPEED23;
-                case _25:
-                    return dji.sdk.keyvalue.value.camera.CameraShutterSpeed.SHUTTER_SPEED25;
-                case _30:
-                    return dji.sdk.keyvalue.value.camera.CameraShutterSpeed.SHUTTER_SPEED30;
-                case _40:
-                    return dji.sdk.keyvalue.value.camera.CameraShutterSpeed.SHUTTER_SPEED40;
-                case _50:
-                    return dji.sdk.keyvalue.value.camera.CameraShutterSpeed.SHUTTER_SPEED50;
-                case _60:
-                    return dji.sdk.keyvalue.value.camera.CameraShutterSpeed.SHUTTER_SPEED60;
-                case _80:
-                    return dji.sdk.keyvalue.value.camera.CameraShutterSpeed.SHUTTER_SPEED80;
-                case _100:
-                    return dji.sdk.keyvalue.value.camera.CameraShutterSpeed.SHUTTER_SPEED100;
-                case _120:
-                    return dji.sdk.keyvalue.value.camera.CameraShutterSpeed.SHUTTER_SPEED120;
-                case AUTO:
-                    return dji.sdk.keyvalue.value.camera.CameraShutterSpeed.SHUTTER_SPEED_AUTO;
-                case UNKNOWN:
-                    return dji.sdk.keyvalue.value.camera.CameraShutterSpeed.UNKNOWN;
-            }
-        }
-        return dji.sdk.keyvalue.value.camera.CameraShutterSpeed.UNKNOWN;
+        return CameraShutterSpeedMapping.getDJI(value);
     }
 
     public static CameraVideoFileCompressionStandard getCameraVideoFileCompressionStandard(final @Nullable VideoMimeType value) {
@@ -13,6 +13,8 @@ import com.dronelink.core.adapters.BatteryAdapter;
 import com.dronelink.core.adapters.BatteryStateAdapter;
 import com.dronelink.dji2.DJI2ListenerGroup;
 
+import java.util.List;
+
 import dji.sdk.keyvalue.key.BatteryKey;
 import dji.sdk.keyvalue.key.KeyTools;
 
@@ -53,10 +55,20 @@ public class DJI2BatteryAdapter implements BatteryAdapter {
         state.close();
     }
 
+    public int revalidateListeners(final long reportedBeforeMillis, final long sinceMillis) {
+        return listeners.revalidate(reportedBeforeMillis, sinceMillis) + state.revalidateListeners(reportedBeforeMillis, sinceMillis);
+    }
+
     public DatedValue<BatteryStateAdapter> getState() {
         return state.asDatedValue();
     }
 
+    public List<DJI2ListenerGroup.KeyStatistics> getListenerStatistics() {
+        final List<DJI2ListenerGroup.KeyStatistics> statistics = listeners.getStatistics();
+        statistics.addAll(state.getListenerStatistics());
+        return statistics;
+    }
+
     @Override
     public int getIndex() {
         return index;
@@ -11,6 +11,7 @@ import com.dronelink.core.adapters.BatteryStateAdapter;
 import com.dronelink.dji2.DJI2ListenerGroup;
 
 import java.util.Date;
+import java.util.List;
 
 import dji.sdk.keyvalue.key.BatteryKey;
 import dji.sdk.keyvalue.key.KeyTools;
@@ -33,6 +34,14 @@ public class DJI2BatteryStateAdapter implements BatteryStateAdapter {
         listeners.cancelAll();
     }
 
+    public int revalidateListeners(final long reportedBeforeMillis, final long sinceMillis) {
+        return listeners.revalidate(reportedBeforeMillis, sinceMillis);
+    }
+
+    public List<DJI2ListenerGroup.KeyStatistics> getListenerStatistics() {
+        return listeners.getStatistics();
+    }
+
     public DatedValue<BatteryStateAdapter> asDatedValue() {
         return new DatedValue<>(this, updated);
     }
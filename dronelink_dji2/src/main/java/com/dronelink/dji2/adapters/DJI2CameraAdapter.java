@@ -38,6 +38,7 @@ import com.dronelink.core.kernel.core.enums.CameraMode;
 import com.dronelink.core.kernel.core.enums.CameraPhotoMode;
 import com.dronelink.core.kernel.core.enums.CameraStorageLocation;
 import com.dronelink.core.kernel.core.enums.CameraVideoStreamSource;
+import com.dronelink.dji2.DJI2CapabilityCache;
 import com.dronelink.dji2.DJI2ListenerGroup;
 import com.dronelink.dji2.DronelinkDJI2;
 import com.dronelink.dji2.R;
@@ -46,6 +47,7 @@ import java.util.ArrayList;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.regex.Pattern;
 
@@ -63,7 +65,6 @@ import dji.sdk.keyvalue.value.common.ComponentIndexType;
 import dji.sdk.keyvalue.value.common.EmptyMsg;
 import dji.v5.common.callback.CommonCallbacks;
 import dji.v5.common.error.IDJIError;
-import dji.v5.manager.KeyManager;
 
 public class DJI2CameraAdapter implements CameraAdapter {
     public interface GeneratedMediaFileInfoCallback {
@@ -72,25 +73,37 @@ public class DJI2CameraAdapter implements CameraAdapter {
 
     private static final String TAG = DJI2CameraAdapter.class.getCanonicalName();
 
+    private final Context context;
+    private final DJI2DroneAdapter drone;
     private final ComponentIndexType index;
     private final DJI2ListenerGroup listeners = new DJI2ListenerGroup();
-    private final EnumElementsCollection enumElements = new EnumElementsCollection();
+    private volatile EnumElementsCollection enumElements = new EnumElementsCollection();
     private CameraType type;
+    //keyed by the camera type, so a swapped payload never seeds the previous payload's capabilities
+    private final DJI2CapabilityCache.Component capabilities;
+    private final DJI2CameraSharedState sharedState;
     private final DJI2CameraStateAdapter defaultState;
     private final Map<CameraLensType, DJI2CameraStateAdapter> lensStates = new HashMap<>();
     private CameraVideoStreamSourceType videoStreamSource;
+    private List<CameraVideoStreamSourceType> videoStreamSources;
     private CustomExpandNameSettings customExpandNameSettings;
     private DatedValue<GeneratedMediaFileInfo> mostRecentGeneratedMediaFileInfo;
 
     public DJI2CameraAdapter(final Context context, final DJI2DroneAdapter drone, final ComponentIndexType index, final GeneratedMediaFileInfoCallback generatedMediaFileInfoReceiver) {
+        this.context = context;
+        this.drone = drone;
         this.index = index;
-        this.defaultState = new DJI2CameraStateAdapter(context, drone, index, CameraLensType.CAMERA_LENS_DEFAULT);
+        this.capabilities = drone.capabilityCache.getComponent("camera." + index.name(), this::onCapabilitiesChanged);
+        this.sharedState = new DJI2CameraSharedState(index, capabilities);
+        this.defaultState = new DJI2CameraStateAdapter(context, drone, sharedState, CameraLensType.CAMERA_LENS_DEFAULT);
+        seed();
 
-        KeyManager.getInstance().getValue(createKey(CameraKey.KeyCameraType), new CommonCallbacks.CompletionCallbackWithParam<CameraType>() {
+        DronelinkDJI2.getSDK().getValue(createKey(CameraKey.KeyCameraType), new CommonCallbacks.CompletionCallbackWithParam<CameraType>() {
             @Override
             public void onSuccess(final CameraType t) {
                 type = t;
                 Log.i(TAG, "Camera Type: " + t.name());
+                capabilities.setIdentity(t.name());
             }
 
             @Override
@@ -100,23 +113,19 @@ public class DJI2CameraAdapter implements CameraAdapter {
         });
 
         listeners.init(createKey(CameraKey.KeyCameraVideoStreamSourceRange), (oldValue, newValue) -> {
-            synchronized (lensStates) {
-                for (final DJI2CameraStateAdapter state : lensStates.values()) {
-                    state.close();
-                }
-                lensStates.clear();
-                final List<String> range = new ArrayList<>();
-                if (newValue != null) {
-                    for (final CameraVideoStreamSourceType value : newValue) {
-                        final CameraLensType lensType = DronelinkDJI2.getCameraLensType(value);
-                        if (lensType != CameraLensType.CAMERA_LENS_DEFAULT) {
-                            lensStates.put(lensType, new DJI2CameraStateAdapter(context, drone, index, lensType));
-                        }
-                        range.add(Kernel.enumRawValue(DronelinkDJI2.getCameraVideoStreamSource(value)));
-                    }
+            if (newValue == null) {
+                if (capabilities.remove("videoStreamSourceRange")) {
+                    updateVideoStreamSourceRange(null);
                 }
-                enumElements.update("CameraVideoStreamSource", range);
+                return;
+            }
+
+            final List<String> range = new ArrayList<>();
+            for (final CameraVideoStreamSourceType value : newValue) {
+                range.add(value.name());
             }
+            capabilities.putStrings("videoStreamSourceRange", range);
+            updateVideoStreamSourceRange(newValue);
         });
 
         listeners.init(createKey(CameraKey.KeyCameraVideoStreamSource), (oldValue, newValue) -> videoStreamSource = newValue);
@@ -130,6 +139,81 @@ public class DJI2CameraAdapter implements CameraAdapter {
         listeners.init(KeyTools.createKey(CameraKey.KeyCustomExpandDirectoryNameSettings), (oldValue, newValue) -> customExpandNameSettings = newValue);
     }
 
+    //the camera type (the capability identity) is the provisional one until the camera reports it
+    private void seed() {
+        final String identity = capabilities.getIdentity();
+        if (identity != null && (type == null || !type.name().equals(identity))) {
+            try {
+                type = CameraType.valueOf(identity);
+            }
+            catch (final IllegalArgumentException e) {
+                Log.w(TAG, "Cached camera type unknown: " + identity);
+            }
+        }
+
+        List<CameraVideoStreamSourceType> range = null;
+        final List<String> cachedVideoStreamSources = capabilities.getStrings("videoStreamSourceRange");
+        if (cachedVideoStreamSources != null) {
+            range = new ArrayList<>();
+            for (final String value : cachedVideoStreamSources) {
+                try {
+                    range.add(CameraVideoStreamSourceType.valueOf(value));
+                }
+                catch (final IllegalArgumentException e) {
+                    Log.w(TAG, "Cached video stream source unknown: " + value);
+                }
+            }
+        }
+        updateVideoStreamSourceRange(range);
+    }
+
+    //a different payload than the provisional one, or a different aircraft: every state is seeded again
+    private void onCapabilitiesChanged() {
+        //may run on another thread while the constructor is still running, the constructor seeds the states itself
+        if (defaultState == null) {
+            return;
+        }
+
+        seed();
+        sharedState.seed();
+        defaultState.seed();
+        synchronized (lensStates) {
+            for (final DJI2CameraStateAdapter state : lensStates.values()) {
+                state.seed();
+            }
+        }
+    }
+
+    //null when unknown
+    private void updateVideoStreamSourceRange(final List<CameraVideoStreamSourceType> videoStreamSources) {
+        synchronized (lensStates) {
+            //the lens states seeded from the capability cache are kept if the live range matches
+            if (videoStreamSources == null ? this.videoStreamSources == null : videoStreamSources.equals(this.videoStreamSources)) {
+                return;
+            }
+            this.videoStreamSources = videoStreamSources == null ? null : new ArrayList<>(videoStreamSources);
+
+            for (final DJI2CameraStateAdapter state : lensStates.values()) {
+                state.close();
+            }
+            lensStates.clear();
+            if (videoStreamSources == null) {
+                enumElements = new EnumElementsCollection();
+                return;
+            }
+
+            final List<String> range = new ArrayList<>();
+            for (final CameraVideoStreamSourceType value : videoStreamSources) {
+                final CameraLensType lensType = DronelinkDJI2.getCameraLensType(value);
+                if (lensType != CameraLensType.CAMERA_LENS_DEFAULT) {
+                    lensStates.put(lensType, new DJI2CameraStateAdapter(context, drone, sharedState, lensType));
+                }
+                range.add(Kernel.enumRawValue(DronelinkDJI2.getCameraVideoStreamSource(value)));
+            }
+            enumElements.update("CameraVideoStreamSource", range);
+        }
+    }
+
     private <T> DJIKey<T> createKey(final DJIKeyInfo<T> keyInfo) {
         return KeyTools.createKey(keyInfo, index);
     }
@@ -139,13 +223,61 @@ public class DJI2CameraAdapter implements CameraAdapter {
     }
 
     public void close() {
+        Log.i(TAG, "Camera listeners (" + index.name() + "): " + getListenerCounts());
         listeners.cancelAll();
+        capabilities.close();
+        sharedState.close();
         defaultState.close();
         for (final DJI2CameraStateAdapter state : lensStates.values()) {
             state.close();
         }
     }
 
+    public int revalidateListeners(final long reportedBeforeMillis, final long sinceMillis) {
+        int revalidated = listeners.revalidate(reportedBeforeMillis, sinceMillis) + sharedState.revalidateListeners(reportedBeforeMillis, sinceMillis) + defaultState.revalidateListeners(reportedBeforeMillis, sinceMillis);
+        synchronized (lensStates) {
+            for (final DJI2CameraStateAdapter state : lensStates.values()) {
+                revalidated += state.revalidateListeners(reportedBeforeMillis, sinceMillis);
+            }
+        }
+        return revalidated;
+    }
+
+    public List<DJI2ListenerGroup.KeyStatistics> getListenerStatistics() {
+        final List<DJI2ListenerGroup.KeyStatistics> statistics = listeners.getStatistics();
+        statistics.addAll(sharedState.getListenerStatistics());
+        statistics.addAll(defaultState.getListenerStatistics());
+        synchronized (lensStates) {
+            for (final DJI2CameraStateAdapter state : lensStates.values()) {
+                statistics.addAll(state.getListenerStatistics());
+            }
+        }
+        return statistics;
+    }
+
+    //subscriptions and callbacks received, split between the camera-wide keys (subscribed once) and the per lens keys
+    public String getListenerCounts() {
+        final List<DJI2ListenerGroup.KeyStatistics> shared = sharedState.getListenerStatistics();
+        final List<DJI2ListenerGroup.KeyStatistics> lens = defaultState.getListenerStatistics();
+        int lenses = 1;
+        synchronized (lensStates) {
+            for (final DJI2CameraStateAdapter state : lensStates.values()) {
+                lens.addAll(state.getListenerStatistics());
+                lenses++;
+            }
+        }
+        return String.format(Locale.US, "lenses=%d shared subscriptions=%d callbacks=%d, lens subscriptions=%d callbacks=%d",
+                lenses, shared.size(), getReceived(shared), lens.size(), getReceived(lens));
+    }
+
+    private static long getReceived(final List<DJI2ListenerGroup.KeyStatistics> statistics) {
+        long received = 0;
+        for (final DJI2ListenerGroup.KeyStatistics keyStatistics : statistics) {
+            received += keyStatistics.received;
+        }
+        return received;
+    }
+
     private DJI2CameraStateAdapter getActiveState() {
         DJI2CameraStateAdapter state = null;
 
@@ -169,10 +301,10 @@ public class DJI2CameraAdapter implements CameraAdapter {
 
     public void sendResetCommands() {
         if (getActiveState().isCapturingVideo()) {
-            KeyManager.getInstance().performAction(createKey(CameraKey.KeyStopRecord), null);
+            DronelinkDJI2.getSDK().performAction(createKey(CameraKey.KeyStopRecord), null);
         }
         else if (getActiveState().isCapturingPhotoInterval()) {
-            KeyManager.getInstance().performAction(createKey(CameraKey.KeyStopShootPhoto), null);
+            DronelinkDJI2.getSDK().performAction(createKey(CameraKey.KeyStopShootPhoto), null);
         }
     }
 
@@ -192,7 +324,7 @@ public class DJI2CameraAdapter implements CameraAdapter {
 
     @Override
     public void format(final CameraStorageLocation storageLocation, final Command.Finisher finisher) {
-        KeyManager.getInstance().performAction(
+        DronelinkDJI2.getSDK().performAction(
                 createKey(CameraKey.KeyFormatStorage),
                 DronelinkDJI2.getCameraStorageLocation(storageLocation),
                 DronelinkDJI2.createCompletionCallbackWithParam(finisher));
@@ -201,7 +333,7 @@ public class DJI2CameraAdapter implements CameraAdapter {
     @Override
     public void setHistogramEnabled(final boolean enabled, final Command.Finisher finisher) {
         //FIXME not working - waiting for fix from DJI
-        KeyManager.getInstance().setValue(
+        DronelinkDJI2.getSDK().setValue(
                 createKey(CameraKey.KeyHistogramEnabled),
                 enabled,
                 DronelinkDJI2.createCompletionCallback(finisher));
@@ -235,7 +367,7 @@ public class DJI2CameraAdapter implements CameraAdapter {
 
                     Log.d(TAG, "Camera start capture photo");
                     final Date started = new Date();
-                    KeyManager.getInstance().performAction(createKey(CameraKey.KeyStartShootPhoto), new CommonCallbacks.CompletionCallbackWithParam<EmptyMsg>() {
+                    DronelinkDJI2.getSDK().performAction(createKey(CameraKey.KeyStartShootPhoto), new CommonCallbacks.CompletionCallbackWithParam<EmptyMsg>() {
                         @Override
                         public void onSuccess(final EmptyMsg emptyMsg) {
                             if (finished != null) {
@@ -268,7 +400,7 @@ public class DJI2CameraAdapter implements CameraAdapter {
                     }
 
                     Log.d(TAG, "Camera start capture video");
-                    KeyManager.getInstance().performAction(createKey(CameraKey.KeyStartRecord), new CommonCallbacks.CompletionCallbackWithParam<EmptyMsg>() {
+                    DronelinkDJI2.getSDK().performAction(createKey(CameraKey.KeyStartRecord), new CommonCallbacks.CompletionCallbackWithParam<EmptyMsg>() {
                         @Override
                         public void onSuccess(final EmptyMsg emptyMsg) {
                             if (finished != null) {
@@ -305,7 +437,7 @@ public class DJI2CameraAdapter implements CameraAdapter {
                     }
 
                     Log.d(TAG, "Camera stop capture interval photo");
-                    KeyManager.getInstance().performAction(createKey(CameraKey.KeyStopShootPhoto), new CommonCallbacks.CompletionCallbackWithParam<EmptyMsg>() {
+                    DronelinkDJI2.getSDK().performAction(createKey(CameraKey.KeyStopShootPhoto), new CommonCallbacks.CompletionCallbackWithParam<EmptyMsg>() {
                         @Override
                         public void onSuccess(final EmptyMsg emptyMsg) {
                             if (finished != null) {
@@ -330,7 +462,7 @@ public class DJI2CameraAdapter implements CameraAdapter {
                     }
 
                     Log.d(TAG, "Camera stop capture video");
-                    KeyManager.getInstance().performAction(createKey(CameraKey.KeyStopRecord), new CommonCallbacks.CompletionCallbackWithParam<EmptyMsg>() {
+                    DronelinkDJI2.getSDK().performAction(createKey(CameraKey.KeyStopRecord), new CommonCallbacks.CompletionCallbackWithParam<EmptyMsg>() {
                         @Override
                         public void onSuccess(final EmptyMsg emptyMsg) {
                             if (finished == null) {
@@ -358,7 +490,7 @@ public class DJI2CameraAdapter implements CameraAdapter {
 
         if (command instanceof ModeCameraCommand) {
             final CameraMode target = ((ModeCameraCommand) command).mode;
-            Command.conditionallyExecute(target != state.getMode(), finished, () -> KeyManager.getInstance().setValue(
+            Command.conditionallyExecute(target != state.getMode(), finished, () -> DronelinkDJI2.getSDK().setValue(
                     createKey(CameraKey.KeyCameraMode),
                     DronelinkDJI2.getCameraMode(target),
                     DronelinkDJI2.createCompletionCallback(finished)));
@@ -367,7 +499,7 @@ public class DJI2CameraAdapter implements CameraAdapter {
 
         if (command instanceof PhotoModeCameraCommand) {
             final CameraPhotoMode target = ((PhotoModeCameraCommand) command).photoMode;
-            Command.conditionallyExecute(target != state.getPhotoMode(), finished, () -> KeyManager.getInstance().setValue(
+            Command.conditionallyExecute(target != state.getPhotoMode(), finished, () -> DronelinkDJI2.getSDK().setValue(
                     createKey(CameraKey.KeyCameraFlatMode),
                     DronelinkDJI2.getCameraFlatMode(target),
                     DronelinkDJI2.createCompletionCallback(finished)));
@@ -407,7 +539,7 @@ public class DJI2CameraAdapter implements CameraAdapter {
             }
 
             customExpandNameSettings.setCustomContent(targetResolved);
-            Command.conditionallyExecute(!targetResolved.equals(current), finished, () -> KeyManager.getInstance().setValue(
+            Command.conditionallyExecute(!targetResolved.equals(current), finished, () -> DronelinkDJI2.getSDK().setValue(
                     createKey(CameraKey.KeyCustomExpandDirectoryNameSettings),
                     customExpandNameSettings,
                     DronelinkDJI2.createCompletionCallback(finished)));
@@ -416,7 +548,7 @@ public class DJI2CameraAdapter implements CameraAdapter {
 
         if (command instanceof StorageLocationCameraCommand) {
             final CameraStorageLocation target = ((StorageLocationCameraCommand) command).storageLocation;
-            Command.conditionallyExecute(target != state.getStorageLocation(), finished, () -> KeyManager.getInstance().setValue(
+            Command.conditionallyExecute(target != state.getStorageLocation(), finished, () -> DronelinkDJI2.getSDK().setValue(
                     createKey(CameraKey.KeyCameraStorageLocation),
                     DronelinkDJI2.getCameraStorageLocation(target),
                     DronelinkDJI2.createCompletionCallback(finished)));
@@ -425,7 +557,7 @@ public class DJI2CameraAdapter implements CameraAdapter {
 
         if (command instanceof VideoStreamSourceCameraCommand) {
             final CameraVideoStreamSource target = ((VideoStreamSourceCameraCommand)command).videoStreamSource;
-            Command.conditionallyExecute(target != DronelinkDJI2.getCameraVideoStreamSource(videoStreamSource), finished, () -> KeyManager.getInstance().setValue(
+            Command.conditionallyExecute(target != DronelinkDJI2.getCameraVideoStreamSource(videoStreamSource), finished, () -> DronelinkDJI2.getSDK().setValue(
                     createKey(CameraKey.KeyCameraVideoStreamSource),
                     DronelinkDJI2.getCameraVideoStreamSource(target),
                     DronelinkDJI2.createCompletionCallback(finished)));
@@ -0,0 +1,223 @@
+//  DJI2CameraSharedState.java
+//  DronelinkDJI2
+//
+//  Created by agent on 10/17/26.
+//  Copyright © 2026 Dronelink. All rights reserved.
+//
+package com.dronelink.dji2.adapters;
+
+import com.dronelink.core.Kernel;
+import com.dronelink.core.adapters.EnumElement;
+import com.dronelink.core.adapters.EnumElementsCollection;
+import com.dronelink.core.kernel.core.enums.CameraStorageLocation;
+import com.dronelink.dji2.DJI2CapabilityCache;
+import com.dronelink.dji2.DJI2ListenerGroup;
+import com.dronelink.dji2.DronelinkDJI2;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import dji.sdk.keyvalue.key.CameraKey;
+import dji.sdk.keyvalue.key.DJIKey;
+import dji.sdk.keyvalue.key.DJIKeyInfo;
+import dji.sdk.keyvalue.key.KeyTools;
+import dji.sdk.keyvalue.value.camera.CameraVideoStreamSourceType;
+import dji.sdk.keyvalue.value.camera.SSDTotalSpace;
+import dji.sdk.keyvalue.value.common.ComponentIndexType;
+
+//camera-wide (not lens specific) state, subscribed once per camera and shared by every DJI2CameraStateAdapter of that camera
+//so lens states (re)created from KeyCameraVideoStreamSourceRange only subscribe to their lens keys
+public class DJI2CameraSharedState {
+    private static final String[] CACHED_ENUM_ELEMENTS = { "CameraPhotoMode", "CameraPhotoFileFormat", "CameraMode", "CameraStorageLocation", "CameraVideoFileFormat" };
+
+    public final ComponentIndexType index;
+    final DJI2CapabilityCache.Component capabilities;
+    private final DJI2ListenerGroup listeners = new DJI2ListenerGroup();
+    private volatile EnumElementsCollection enumElements = new EnumElementsCollection();
+    boolean isShootingPhoto = false;
+    Date isShootingPhotoUpdated = new Date();
+    Integer photoIntervalCountdown;
+    boolean isShootingBurstPhoto = false;
+    boolean isShootingHyperlapse = false;
+    boolean isShootingPhotoPanorama = false;
+    boolean isShootingRAWBurstPhoto = false;
+    boolean isShootingSinglePhoto = false;
+    boolean isShootingSinglePhotoInRAWFormat = false;
+    boolean isShootingSuperResolutionPhoto = false;
+    boolean isShootingVisionBokehPhoto = false;
+    boolean isRecording = false;
+    boolean isSDCardInserted = false;
+    dji.sdk.keyvalue.value.camera.CameraStorageLocation storageLocation;
+    Integer remainingSpaceSDCard;
+    Integer totalSpaceSDCard;
+    Integer remainingSpaceSSD;
+    SSDTotalSpace totalSpaceSSD;
+    Integer remainingSpaceInternalStorage;
+    Integer totalSpaceInternalStorage;
+    Integer availablePhotoCountSDCard;
+    Integer availablePhotoCountSSD;
+    Integer availablePhotoCountInternalStorage;
+    dji.sdk.keyvalue.value.camera.CameraFlatMode flatMode;
+    CameraVideoStreamSourceType videoStreamSource;
+    int[] zoomRatios;
+
+    public DJI2CameraSharedState(final ComponentIndexType index, final DJI2CapabilityCache.Component capabilities) {
+        this.index = index;
+        this.capabilities = capabilities;
+        seed();
+
+        listeners.init(createKey(CameraKey.KeyCameraFlatModeRange), (oldValue, newValue) -> {
+            if (newValue == null) {
+                removeEnumElements("CameraPhotoMode");
+                return;
+            }
+
+            final List<String> range = new ArrayList<>();
+            for (final dji.sdk.keyvalue.value.camera.CameraFlatMode value : newValue) {
+                range.add(Kernel.enumRawValue(DronelinkDJI2.getCameraPhotoMode(value)));
+            }
+            updateEnumElements("CameraPhotoMode", range);
+        });
+
+        listeners.init(createKey(CameraKey.KeyPhotoFileFormatRange), (oldValue, newValue) -> {
+            if (newValue == null) {
+                removeEnumElements("CameraPhotoFileFormat");
+                return;
+            }
+
+            final List<String> range = new ArrayList<>();
+            for (final dji.sdk.keyvalue.value.camera.PhotoFileFormat value : newValue) {
+                range.add(Kernel.enumRawValue(DronelinkDJI2.getCameraPhotoFileFormat(value)));
+            }
+            updateEnumElements("CameraPhotoFileFormat", range);
+        });
+
+        listeners.init(createKey(CameraKey.KeyCameraModeRange), (oldValue, newValue) -> {
+            if (newValue == null) {
+                removeEnumElements("CameraMode");
+                return;
+            }
+
+            final List<String> range = new ArrayList<>();
+            for (final dji.sdk.keyvalue.value.camera.CameraMode value : newValue) {
+                range.add(Kernel.enumRawValue(DronelinkDJI2.getCameraMode(value)));
+            }
+            updateEnumElements("CameraMode", range);
+        });
+
+        listeners.init(createKey(CameraKey.KeyIsInternalStorageSupported), (oldValue, newValue) -> {
+            if (newValue == null) {
+                removeEnumElements("CameraStorageLocation");
+                return;
+            }
+
+            final List<String> range = new ArrayList<>();
+            range.add(Kernel.enumRawValue(CameraStorageLocation.SD_CARD));
+            if (newValue) {
+                range.add(Kernel.enumRawValue(CameraStorageLocation.INTERNAL));
+            }
+            updateEnumElements("CameraStorageLocation", range);
+        });
+
+        listeners.init(createKey(CameraKey.KeyVideoFileFormatRange), (oldValue, newValue) -> {
+            if (newValue == null) {
+                removeEnumElements("CameraVideoFileFormat");
+                return;
+            }
+
+            final List<String> range = new ArrayList<>();
+            for (final dji.sdk.keyvalue.value.camera.VideoFileFormat value : newValue) {
+                range.add(Kernel.enumRawValue(DronelinkDJI2.getCameraVideoFileFormat(value)));
+            }
+            updateEnumElements("CameraVideoFileFormat", range);
+        });
+
+        listeners.init(createKey(CameraKey.KeyIsShootingPhoto), (oldValue, newValue) -> {
+            isShootingPhoto = newValue != null && newValue;
+            isShootingPhotoUpdated = new Date();
+        });
+
+        listeners.init(createKey(CameraKey.KeyPhotoIntervalCountdown), (oldValue, newValue) -> photoIntervalCountdown = newValue);
+        listeners.init(createKey(CameraKey.KeyIsShootingBurstPhoto), (oldValue, newValue) -> isShootingBurstPhoto = newValue != null && newValue);
+        listeners.init(createKey(CameraKey.KeyIsShootingHyperlapse), (oldValue, newValue) -> isShootingHyperlapse = newValue != null && newValue);
+        listeners.init(createKey(CameraKey.KeyIsShootingPhotoPanorama), (oldValue, newValue) -> isShootingPhotoPanorama = newValue != null && newValue);
+        listeners.init(createKey(CameraKey.KeyIsShootingRAWBurstPhoto), (oldValue, newValue) -> isShootingRAWBurstPhoto = newValue != null && newValue);
+        listeners.init(createKey(CameraKey.KeyIsShootingSinglePhoto), (oldValue, newValue) -> isShootingSinglePhoto = newValue != null && newValue);
+        listeners.init(createKey(CameraKey.KeyIsShootingSinglePhotoInRAWFormat), (oldValue, newValue) -> isShootingSinglePhotoInRAWFormat = newValue != null && newValue);
+        listeners.init(createKey(CameraKey.KeyIsShootingSuperResolutionPhoto), (oldValue, newValue) -> isShootingSuperResolutionPhoto = newValue != null && newValue);
+        listeners.init(createKey(CameraKey.KeyIsShootingVisionBokehPhoto), (oldValue, newValue) -> isShootingVisionBokehPhoto = newValue != null && newValue);
+        listeners.init(createKey(CameraKey.KeyIsRecording), (oldValue, newValue) -> isRecording = newValue != null && newValue);
+        listeners.init(createKey(CameraKey.KeyCameraFlatMode), (oldValue, newValue) -> flatMode = newValue);
+        listeners.init(createKey(CameraKey.KeyCameraSDCardInserted), (oldValue, newValue) -> isSDCardInserted = newValue != null && newValue);
+        listeners.init(createKey(CameraKey.KeyCameraStorageLocation), (oldValue, newValue) -> storageLocation = newValue);
+        listeners.init(createKey(CameraKey.KeySDCardRemainSpace), (oldValue, newValue) -> remainingSpaceSDCard = newValue);
+        listeners.init(createKey(CameraKey.KeySDCardTotalSpace), (oldValue, newValue) -> totalSpaceSDCard = newValue);
+        listeners.init(createKey(CameraKey.KeySSDRemainingSpaceInMB), (oldValue, newValue) -> remainingSpaceSSD = newValue);
+        listeners.init(createKey(CameraKey.KeySSDTotalSpace), (oldValue, newValue) -> totalSpaceSSD = newValue);
+        listeners.init(createKey(CameraKey.KeyInternalStorageRemainSpace), (oldValue, newValue) -> remainingSpaceInternalStorage = newValue);
+        listeners.init(createKey(CameraKey.KeyInternalStorageTotalSpace), (oldValue, newValue) -> totalSpaceInternalStorage = newValue);
+        listeners.init(createKey(CameraKey.KeySDCardAvailablePhotoCount), (oldValue, newValue) -> availablePhotoCountSDCard = newValue);
+        listeners.init(createKey(CameraKey.KeyInternalSSDAvailablePhotoCount), (oldValue, newValue) -> availablePhotoCountSSD = newValue);
+        listeners.init(createKey(CameraKey.KeyInternalStorageAvailablePhotoCount), (oldValue, newValue) -> availablePhotoCountInternalStorage = newValue);
+        listeners.init(createKey(CameraKey.KeyCameraVideoStreamSource), (oldValue, newValue) -> videoStreamSource = newValue);
+
+        //can't use createLensKey because for some reason, DJI SDK doesn't return zoomRatios for CAMERA_LENS_ZOOM lens type
+        listeners.init(createKey(CameraKey.KeyCameraZoomRatiosRange), (oldValue, newValue) -> {
+            if (newValue == null || newValue.getGears() == null) {
+                if (capabilities.remove("zoomRatiosRange")) {
+                    zoomRatios = null;
+                }
+                return;
+            }
+
+            capabilities.putInts("zoomRatiosRange", newValue.getGears());
+            zoomRatios = newValue.getGears();
+        });
+    }
+
+    private <T> DJIKey<T> createKey(final DJIKeyInfo<T> keyInfo) {
+        return KeyTools.createKey(keyInfo, index);
+    }
+
+    //seeded from the capability cache, ranges are only replaced once the camera reports them (or cleared when it reports null)
+    void seed() {
+        final EnumElementsCollection enumElements = new EnumElementsCollection();
+        for (final String name : CACHED_ENUM_ELEMENTS) {
+            final List<String> range = capabilities.getStrings(name);
+            if (range != null) {
+                enumElements.update(name, range);
+            }
+        }
+        this.enumElements = enumElements;
+        zoomRatios = capabilities.getInts("zoomRatiosRange");
+    }
+
+    //cached first, so a concurrent seed picks up the range
+    private void updateEnumElements(final String name, final List<String> range) {
+        capabilities.putStrings(name, range);
+        enumElements.update(name, range);
+    }
+
+    private void removeEnumElements(final String name) {
+        if (capabilities.remove(name)) {
+            seed();
+        }
+    }
+
+    public void close() {
+        listeners.cancelAll();
+    }
+
+    public int revalidateListeners(final long reportedBeforeMillis, final long sinceMillis) {
+        return listeners.revalidate(reportedBeforeMillis, sinceMillis);
+    }
+
+    public List<DJI2ListenerGroup.KeyStatistics> getListenerStatistics() {
+        return listeners.getStatistics();
+    }
+
+    public List<EnumElement> getEnumElements(final String parameter) {
+        return enumElements.get(parameter);
+    }
+}
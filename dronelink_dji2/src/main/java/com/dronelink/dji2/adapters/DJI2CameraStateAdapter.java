@@ -92,6 +92,8 @@ import com.dronelink.core.kernel.core.enums.CameraVideoResolution;
 import com.dronelink.core.kernel.core.enums.CameraVideoStandard;
 import com.dronelink.core.kernel.core.enums.CameraVideoStreamSource;
 import com.dronelink.core.kernel.core.enums.CameraWhiteBalancePreset;
+import com.dronelink.dji2.DJI2CapabilityCache;
+import com.dronelink.dji2.DJI2Histogram;
 import com.dronelink.dji2.DJI2ListenerGroup;
 import com.dronelink.dji2.DronelinkDJI2;
 import com.dronelink.dji2.R;
@@ -106,7 +108,6 @@ import dji.sdk.keyvalue.key.DJIKeyInfo;
 import dji.sdk.keyvalue.key.KeyTools;
 import dji.sdk.keyvalue.value.camera.CameraExposureSettings;
 import dji.sdk.keyvalue.value.camera.CameraHybridZoomSpec;
-import dji.sdk.keyvalue.value.camera.CameraVideoStreamSourceType;
 import dji.sdk.keyvalue.value.camera.CameraWhiteBalanceInfo;
 import dji.sdk.keyvalue.value.camera.CameraWhiteBalanceMode;
 import dji.sdk.keyvalue.value.camera.PhotoAEBExposureOffset;
@@ -129,7 +130,6 @@ import dji.sdk.keyvalue.value.common.DoublePoint2D;
 import dji.sdk.keyvalue.value.common.DoubleRect;
 import dji.v5.common.callback.CommonCallbacks;
 import dji.v5.common.error.IDJIError;
-import dji.v5.manager.KeyManager;
 
 public
 class DJI2CameraStateAdapter implements CameraStateAdapter {
@@ -139,33 +139,15 @@ class DJI2CameraStateAdapter implements CameraStateAdapter {
     private final DJI2DroneAdapter drone;
     public final ComponentIndexType index;
     public final CameraLensType lensType;
+    private static final String[] CACHED_ENUM_ELEMENTS = { "CameraAperture", "CameraExposureCompensation", "CameraExposureMode", "CameraISO", "CameraShutterSpeed", "CameraWhiteBalancePreset" };
+
+    private final DJI2CameraSharedState shared;
+    //lens capabilities are stored under the camera component (keyed by the camera type)
+    private final DJI2CapabilityCache.Component capabilities;
+    private final String capabilityPrefix;
     private final DJI2ListenerGroup listeners = new DJI2ListenerGroup();
-    private final EnumElementsCollection enumElements = new EnumElementsCollection();
-    private final EnumElementsTupleCollection enumElementTuples = new EnumElementsTupleCollection();
-    private boolean isShootingPhoto = false;
-    private Date isShootingPhotoUpdated = new Date();
-    private Integer photoIntervalCountdown;
-    private boolean isShootingBurstPhoto = false;
-    private boolean isShootingHyperlapse = false;
-    private boolean isShootingPhotoPanorama = false;
-    private boolean isShootingRAWBurstPhoto = false;
-    private boolean isShootingSinglePhoto = false;
-    private boolean isShootingSinglePhotoInRAWFormat = false;
-    private boolean isShootingSuperResolutionPhoto = false;
-    private boolean isShootingVisionBokehPhoto = false;
-    private boolean isRecording = false;
-    private boolean isSDCardInserted = false;
-    private dji.sdk.keyvalue.value.camera.CameraStorageLocation storageLocation;
-    private Integer remainingSpaceSDCard;
-    private Integer totalSpaceSDCard;
-    private Integer remainingSpaceSSD;
-    private SSDTotalSpace totalSpaceSSD;
-    private Integer remainingSpaceInternalStorage;
-    private Integer totalSpaceInternalStorage;
-    private Integer availablePhotoCountSDCard;
-    private Integer availablePhotoCountSSD;
-    private Integer availablePhotoCountInternalStorage;
-    private dji.sdk.keyvalue.value.camera.CameraFlatMode flatMode;
+    private volatile EnumElementsCollection enumElements = new EnumElementsCollection();
+    private volatile EnumElementsTupleCollection enumElementTuples = new EnumElementsTupleCollection();
     private dji.sdk.keyvalue.value.camera.CameraColor color;
     private Integer contrast;
     private Integer saturation;
@@ -179,7 +161,6 @@ class DJI2CameraStateAdapter implements CameraStateAdapter {
     private VideoMimeType videoFileMimeType;
     private VideoFileFormat videoFileFormat;
     private VideoStandard videoStandard;
-    private CameraVideoStreamSourceType videoStreamSource;
     private VideoRecordMode videoRecordMode;
     private VideoResolutionFrameRateAndFov videoResolutionFrameRateFov;
     private Integer recordingTime;
@@ -191,7 +172,7 @@ class DJI2CameraStateAdapter implements CameraStateAdapter {
     private dji.sdk.keyvalue.value.camera.CameraShutterSpeed shutterSpeed;
     private dji.sdk.keyvalue.value.camera.CameraAperture aperture;
     private CameraWhiteBalanceInfo whiteBalance;
-    private short[] histogram;
+    private final DJI2Histogram histogram = new DJI2Histogram();
     private dji.sdk.keyvalue.value.camera.CameraFocusMode focusMode;
     private Integer focusRingValue;
     private Integer focusRingMax;
@@ -204,189 +185,130 @@ class DJI2CameraStateAdapter implements CameraStateAdapter {
     private boolean isHybridZoomSupported = false;
     private Integer hybridZoomFocalLength;
     private CameraHybridZoomSpec hybridZoomSpecification;
-    private int[] zoomRatios;
     private int[] thermalZoomRatios;
     private Double currentThermalZoomRatio;
     private Double currentZoomRatio;
 
-    public DJI2CameraStateAdapter(final Context context, final DJI2DroneAdapter drone, final ComponentIndexType index, final CameraLensType lensType) {
+    public DJI2CameraStateAdapter(final Context context, final DJI2DroneAdapter drone, final DJI2CameraSharedState shared, final CameraLensType lensType) {
         this.context = context;
         this.drone = drone;
-        this.index = index;
+        this.shared = shared;
+        this.index = shared.index;
         this.lensType = lensType;
 
+        this.capabilities = shared.capabilities;
+        this.capabilityPrefix = lensType.name() + ".";
+        seed();
+
         listeners.init(createLensKey(CameraKey.KeyIntervalModeParamRange), (oldValue, newValue) -> {
-            final List<EnumElement> elements = new ArrayList<>();
-            if (newValue != null) {
-                for (final Double interval : newValue) {
-                    if (interval.intValue() == interval) {
-                        elements.add(new EnumElement(interval.intValue() + " s", interval));
-                    }
-                    else {
-                        elements.add(new EnumElement(interval + " s", interval));
-                    }
-                }
+            if (newValue == null) {
+                remove("CameraPhotoInterval");
+                return;
             }
 
-            enumElements.put("CameraPhotoInterval", elements);
+            final double[] intervals = new double[newValue.size()];
+            for (int i = 0; i < intervals.length; i++) {
+                intervals[i] = newValue.get(i);
+            }
+            capabilities.putDoubles(capabilityPrefix + "CameraPhotoInterval", intervals);
+            updatePhotoIntervalElements(enumElements, intervals);
         });
 
         listeners.init(createLensKey(CameraKey.KeyCameraApertureRange), (oldValue, newValue) -> {
+            if (newValue == null) {
+                remove("CameraAperture");
+                return;
+            }
+
             final List<String> range = new ArrayList<>();
-            if (newValue != null) {
-                for (final dji.sdk.keyvalue.value.camera.CameraAperture value : newValue) {
-                    range.add(Kernel.enumRawValue(DronelinkDJI2.getCameraAperture(value)));
-                }
+            for (final dji.sdk.keyvalue.value.camera.CameraAperture value : newValue) {
+                range.add(Kernel.enumRawValue(DronelinkDJI2.getCameraAperture(value)));
             }
-            enumElements.update("CameraAperture", range);
+            updateEnumElements("CameraAperture", range);
         });
 
         listeners.init(createLensKey(CameraKey.KeyExposureCompensationRange), (oldValue, newValue) -> {
-            final List<String> range = new ArrayList<>();
-            if (newValue != null) {
-                for (final dji.sdk.keyvalue.value.camera.CameraExposureCompensation value : newValue) {
-                    range.add(Kernel.enumRawValue(DronelinkDJI2.getCameraExposureCompensation(value)));
-                }
+            if (newValue == null) {
+                remove("CameraExposureCompensation");
+                return;
             }
-            enumElements.update("CameraExposureCompensation", range);
-        });
 
-        listeners.init(createLensKey(CameraKey.KeyExposureModeRange), (oldValue, newValue) -> {
             final List<String> range = new ArrayList<>();
-            if (newValue != null) {
-                for (final dji.sdk.keyvalue.value.camera.CameraExposureMode value : newValue) {
-                    range.add(Kernel.enumRawValue(DronelinkDJI2.getCameraExposureMode(value)));
-                }
+            for (final dji.sdk.keyvalue.value.camera.CameraExposureCompensation value : newValue) {
+                range.add(Kernel.enumRawValue(DronelinkDJI2.getCameraExposureCompensation(value)));
             }
-            enumElements.update("CameraExposureMode", range);
+            updateEnumElements("CameraExposureCompensation", range);
         });
 
-        listeners.init(createLensKey(CameraKey.KeyISORange), (oldValue, newValue) -> {
-            final List<String> range = new ArrayList<>();
-            if (newValue != null) {
-                for (final dji.sdk.keyvalue.value.camera.CameraISO value : newValue) {
-                    range.add(Kernel.enumRawValue(DronelinkDJI2.getCameraISO(value)));
-                }
+        listeners.init(createLensKey(CameraKey.KeyExposureModeRange), (oldValue, newValue) -> {
+            if (newValue == null) {
+                remove("CameraExposureMode");
+                return;
             }
-            enumElements.update("CameraISO", range);
-        });
 
-        listeners.init(createKey(CameraKey.KeyCameraFlatModeRange), (oldValue, newValue) -> {
             final List<String> range = new ArrayList<>();
-            if (newValue != null) {
-                for (final dji.sdk.keyvalue.value.camera.CameraFlatMode value : newValue) {
-                    range.add(Kernel.enumRawValue(DronelinkDJI2.getCameraPhotoMode(value)));
-                }
+            for (final dji.sdk.keyvalue.value.camera.CameraExposureMode value : newValue) {
+                range.add(Kernel.enumRawValue(DronelinkDJI2.getCameraExposureMode(value)));
             }
-            enumElements.update("CameraPhotoMode", range);
+            updateEnumElements("CameraExposureMode", range);
         });
 
-        listeners.init(createKey(CameraKey.KeyPhotoFileFormatRange), (oldValue, newValue) -> {
-            final List<String> range = new ArrayList<>();
-            if (newValue != null) {
-                for (final dji.sdk.keyvalue.value.camera.PhotoFileFormat value : newValue) {
-                    range.add(Kernel.enumRawValue(DronelinkDJI2.getCameraPhotoFileFormat(value)));
-                }
+        listeners.init(createLensKey(CameraKey.KeyISORange), (oldValue, newValue) -> {
+            if (newValue == null) {
+                remove("CameraISO");
+                return;
             }
-            enumElements.update("CameraPhotoFileFormat", range);
-        });
 
-        listeners.init(createKey(CameraKey.KeyCameraModeRange), (oldValue, newValue) -> {
             final List<String> range = new ArrayList<>();
-            if (newValue != null) {
-                for (final dji.sdk.keyvalue.value.camera.CameraMode value : newValue) {
-                    range.add(Kernel.enumRawValue(DronelinkDJI2.getCameraMode(value)));
-                }
+            for (final dji.sdk.keyvalue.value.camera.CameraISO value : newValue) {
+                range.add(Kernel.enumRawValue(DronelinkDJI2.getCameraISO(value)));
             }
-            enumElements.update("CameraMode", range);
+            updateEnumElements("CameraISO", range);
         });
 
         listeners.init(createLensKey(CameraKey.KeyShutterSpeedRange), (oldValue, newValue) -> {
-            final List<String> range = new ArrayList<>();
-            if (newValue != null) {
-                for (final dji.sdk.keyvalue.value.camera.CameraShutterSpeed value : newValue) {
-                    range.add(Kernel.enumRawValue(DronelinkDJI2.getCameraShutterSpeed(value)));
-                }
+            if (newValue == null) {
+                remove("CameraShutterSpeed");
+                return;
             }
-            enumElements.update("CameraShutterSpeed", range);
-        });
 
-        listeners.init(createKey(CameraKey.KeyIsInternalStorageSupported), (oldValue, newValue) -> {
             final List<String> range = new ArrayList<>();
-            range.add(Kernel.enumRawValue(CameraStorageLocation.SD_CARD));
-            if (newValue != null && newValue) {
-                range.add(Kernel.enumRawValue(CameraStorageLocation.INTERNAL));
+            for (final dji.sdk.keyvalue.value.camera.CameraShutterSpeed value : newValue) {
+                range.add(Kernel.enumRawValue(DronelinkDJI2.getCameraShutterSpeed(value)));
             }
-            enumElements.update("CameraStorageLocation", range);
+            updateEnumElements("CameraShutterSpeed", range);
         });
 
-        listeners.init(createKey(CameraKey.KeyVideoFileFormatRange), (oldValue, newValue) -> {
-            final List<String> range = new ArrayList<>();
-            if (newValue != null) {
-                for (final dji.sdk.keyvalue.value.camera.VideoFileFormat value : newValue) {
-                    range.add(Kernel.enumRawValue(DronelinkDJI2.getCameraVideoFileFormat(value)));
-                }
+        listeners.init(createLensKey(CameraKey.KeyCameraWhiteBalanceRange), (oldValue, newValue) -> {
+            if (newValue == null) {
+                remove("CameraWhiteBalancePreset");
+                return;
             }
-            enumElements.update("CameraVideoFileFormat", range);
-        });
 
-        listeners.init(createLensKey(CameraKey.KeyCameraWhiteBalanceRange), (oldValue, newValue) -> {
             final List<String> range = new ArrayList<>();
-            if (newValue != null) {
-                for (final dji.sdk.keyvalue.value.camera.CameraWhiteBalanceMode value : newValue) {
-                    range.add(Kernel.enumRawValue(DronelinkDJI2.getCameraWhiteBalancePreset(value)));
-                }
+            for (final dji.sdk.keyvalue.value.camera.CameraWhiteBalanceMode value : newValue) {
+                range.add(Kernel.enumRawValue(DronelinkDJI2.getCameraWhiteBalancePreset(value)));
             }
-            enumElements.update("CameraWhiteBalancePreset", range);
+            updateEnumElements("CameraWhiteBalancePreset", range);
         });
 
         listeners.init(createLensKey(CameraKey.KeyVideoResolutionFrameRateAndFovRange), (oldValue, newValue) -> {
-            final List<List<String>> tupleDisplayRange = new ArrayList<>();
+            if (newValue == null) {
+                remove("CameraVideoResolutionFrameRate");
+                return;
+            }
+
             final List<List<String>> tupleValueRange = new ArrayList<>();
-            if (newValue != null) {
-                for (final VideoResolutionFrameRateAndFov value : newValue) {
-                    final List<String> valueTuple = new ArrayList<>();
-                    valueTuple.add(Kernel.enumRawValue(DronelinkDJI2.getCameraVideoResolution(value)));
-                    valueTuple.add(Kernel.enumRawValue(DronelinkDJI2.getCameraVideoFrameRate(value)));
-                    tupleValueRange.add(valueTuple);
-
-                    final List<String> displayTuple = new ArrayList<>();
-                    displayTuple.add(Dronelink.getInstance().formatEnum("CameraVideoResolution", Kernel.enumRawValue(DronelinkDJI2.getCameraVideoResolution(value))));
-                    displayTuple.add(Dronelink.getInstance().formatEnum("CameraVideoFrameRate", Kernel.enumRawValue(DronelinkDJI2.getCameraVideoFrameRate(value))));
-                    tupleDisplayRange.add(displayTuple);
-                }
+            for (final VideoResolutionFrameRateAndFov value : newValue) {
+                final List<String> valueTuple = new ArrayList<>();
+                valueTuple.add(Kernel.enumRawValue(DronelinkDJI2.getCameraVideoResolution(value)));
+                valueTuple.add(Kernel.enumRawValue(DronelinkDJI2.getCameraVideoFrameRate(value)));
+                tupleValueRange.add(valueTuple);
             }
-            enumElementTuples.update("CameraVideoResolutionFrameRate", tupleDisplayRange, tupleValueRange);
+            capabilities.putTuples(capabilityPrefix + "CameraVideoResolutionFrameRate", tupleValueRange);
+            updateVideoResolutionFrameRateElements(enumElementTuples, tupleValueRange);
         });
 
-
-        listeners.init(createKey(CameraKey.KeyIsShootingPhoto), (oldValue, newValue) -> {
-            isShootingPhoto = newValue != null && newValue;
-            isShootingPhotoUpdated = new Date();
-        });
-        listeners.init(createKey(CameraKey.KeyPhotoIntervalCountdown), (oldValue, newValue) -> photoIntervalCountdown = newValue);
-        listeners.init(createKey(CameraKey.KeyIsShootingBurstPhoto), (oldValue, newValue) -> isShootingBurstPhoto = newValue != null && newValue);
-        listeners.init(createKey(CameraKey.KeyIsShootingHyperlapse), (oldValue, newValue) -> isShootingHyperlapse = newValue != null && newValue);
-        listeners.init(createKey(CameraKey.KeyIsShootingPhotoPanorama), (oldValue, newValue) -> isShootingPhotoPanorama = newValue != null && newValue);
-        listeners.init(createKey(CameraKey.KeyIsShootingRAWBurstPhoto), (oldValue, newValue) -> isShootingRAWBurstPhoto = newValue != null && newValue);
-        listeners.init(createKey(CameraKey.KeyIsShootingSinglePhoto), (oldValue, newValue) -> isShootingSinglePhoto = newValue != null && newValue);
-        listeners.init(createKey(CameraKey.KeyIsShootingSinglePhotoInRAWFormat), (oldValue, newValue) -> isShootingSinglePhotoInRAWFormat = newValue != null && newValue);
-        listeners.init(createKey(CameraKey.KeyIsShootingSuperResolutionPhoto), (oldValue, newValue) -> isShootingSuperResolutionPhoto = newValue != null && newValue);
-        listeners.init(createKey(CameraKey.KeyIsShootingVisionBokehPhoto), (oldValue, newValue) -> isShootingVisionBokehPhoto = newValue != null && newValue);
-        listeners.init(createKey(CameraKey.KeyIsRecording), (oldValue, newValue) -> isRecording = newValue != null && newValue);
-        listeners.init(createKey(CameraKey.KeyCameraFlatMode), (oldValue, newValue) -> flatMode = newValue);
-        listeners.init(createKey(CameraKey.KeyCameraSDCardInserted), (oldValue, newValue) -> isSDCardInserted = newValue != null && newValue);
-        listeners.init(createKey(CameraKey.KeyCameraStorageLocation), (oldValue, newValue) -> storageLocation = newValue);
-        listeners.init(createKey(CameraKey.KeySDCardRemainSpace), (oldValue, newValue) -> remainingSpaceSDCard = newValue);
-        listeners.init(createKey(CameraKey.KeySDCardTotalSpace), (oldValue, newValue) -> totalSpaceSDCard = newValue);
-        listeners.init(createKey(CameraKey.KeySSDRemainingSpaceInMB), (oldValue, newValue) -> remainingSpaceSSD = newValue);
-        listeners.init(createKey(CameraKey.KeySSDTotalSpace), (oldValue, newValue) -> totalSpaceSSD = newValue);
-        listeners.init(createKey(CameraKey.KeyInternalStorageRemainSpace), (oldValue, newValue) -> remainingSpaceInternalStorage = newValue);
-        listeners.init(createKey(CameraKey.KeyInternalStorageTotalSpace), (oldValue, newValue) -> totalSpaceInternalStorage = newValue);
-        listeners.init(createKey(CameraKey.KeySDCardAvailablePhotoCount), (oldValue, newValue) -> availablePhotoCountSDCard = newValue);
-        listeners.init(createKey(CameraKey.KeyInternalSSDAvailablePhotoCount), (oldValue, newValue) -> availablePhotoCountSSD = newValue);
-        listeners.init(createKey(CameraKey.KeyInternalStorageAvailablePhotoCount), (oldValue, newValue) -> availablePhotoCountInternalStorage = newValue);
-        listeners.init(createKey(CameraKey.KeyCameraVideoStreamSource), (oldValue, newValue) -> videoStreamSource = newValue);
         listeners.init(createLensKey(CameraKey.KeyCameraColor), (oldValue, newValue) -> color = newValue);
         listeners.init(createLensKey(CameraKey.KeyContrast), (oldValue, newValue) -> contrast = newValue);
         listeners.init(createLensKey(CameraKey.KeySaturation), (oldValue, newValue) -> saturation = newValue);
@@ -411,17 +333,7 @@ class DJI2CameraStateAdapter implements CameraStateAdapter {
         listeners.init(createLensKey(CameraKey.KeyShutterSpeed), (oldValue, newValue) -> shutterSpeed = newValue);
         listeners.init(createLensKey(CameraKey.KeyAperture), (oldValue, newValue) -> aperture = newValue);
         listeners.init(createLensKey(CameraKey.KeyWhiteBalance), (oldValue, newValue) -> whiteBalance = newValue);
-        listeners.init(createLensKey(CameraKey.KeyHistogramData), (oldValue, newValue) -> {
-            if (newValue == null) {
-                histogram = null;
-                return;
-            }
-
-            histogram = new short[newValue.size()];
-            for (int i = 0; i < histogram.length; i++) {
-                histogram[i] = newValue.get(i).shortValue();
-            }
-        });
+        listeners.init(createLensKey(CameraKey.KeyHistogramData), (oldValue, newValue) -> histogram.update(newValue));
         listeners.init(createLensKey(CameraKey.KeyCameraFocusMode), (oldValue, newValue) -> focusMode = newValue);
         listeners.init(createLensKey(CameraKey.KeyCameraFocusRingValue), (oldValue, newValue) -> focusRingValue = newValue);
         listeners.init(createLensKey(CameraKey.KeyCameraFocusRingMaxValue), (oldValue, newValue) -> focusRingMax = newValue);
@@ -436,25 +348,78 @@ class DJI2CameraStateAdapter implements CameraStateAdapter {
         listeners.init(createLensKey(CameraKey.KeyCameraHybridZoomSpec), (oldValue, newValue) -> hybridZoomSpecification = newValue);
         listeners.init(createLensKey(CameraKey.KeyThermalZoomRatios), (oldValue, newValue) -> currentThermalZoomRatio = newValue);
         listeners.init(createLensKey(CameraKey.KeyCameraZoomRatios), (oldValue, newValue) -> currentZoomRatio = newValue);
-        //can't use createLensKey because for some reason, DJI SDK doesn't return zoomRatios for CAMERA_LENS_ZOOM lens type
-        listeners.init(createKey(CameraKey.KeyCameraZoomRatiosRange), (oldValue, newValue) -> {
-            if (newValue != null) {
-                zoomRatios = newValue.getGears();
-            } else {
-                zoomRatios = null;
-            }
-        });
         listeners.init(createLensKey(CameraKey.KeyThermalZoomRatiosRange), (oldValue, newValue) -> {
-            if (newValue != null) {
-                thermalZoomRatios = newValue.getGears();
-            } else {
-                thermalZoomRatios = null;
+            if (newValue == null || newValue.getGears() == null) {
+                remove("thermalZoomRatiosRange");
+                return;
             }
+
+            capabilities.putInts(capabilityPrefix + "thermalZoomRatiosRange", newValue.getGears());
+            thermalZoomRatios = newValue.getGears();
         });
     }
 
-    private <T> DJIKey<T> createKey(final DJIKeyInfo<T> keyInfo) {
-        return KeyTools.createKey(keyInfo, index);
+    //seeded from the capability cache, ranges are only replaced once the camera reports them (or cleared when it reports null)
+    void seed() {
+        final EnumElementsCollection enumElements = new EnumElementsCollection();
+        for (final String name : CACHED_ENUM_ELEMENTS) {
+            final List<String> range = capabilities.getStrings(capabilityPrefix + name);
+            if (range != null) {
+                enumElements.update(name, range);
+            }
+        }
+
+        final double[] photoIntervals = capabilities.getDoubles(capabilityPrefix + "CameraPhotoInterval");
+        if (photoIntervals != null) {
+            updatePhotoIntervalElements(enumElements, photoIntervals);
+        }
+
+        final EnumElementsTupleCollection enumElementTuples = new EnumElementsTupleCollection();
+        final List<List<String>> videoResolutionFrameRates = capabilities.getTuples(capabilityPrefix + "CameraVideoResolutionFrameRate");
+        if (videoResolutionFrameRates != null) {
+            updateVideoResolutionFrameRateElements(enumElementTuples, videoResolutionFrameRates);
+        }
+
+        this.enumElements = enumElements;
+        this.enumElementTuples = enumElementTuples;
+        thermalZoomRatios = capabilities.getInts(capabilityPrefix + "thermalZoomRatiosRange");
+    }
+
+    //cached first, so a concurrent seed picks up the range
+    private void updateEnumElements(final String name, final List<String> range) {
+        capabilities.putStrings(capabilityPrefix + name, range);
+        enumElements.update(name, range);
+    }
+
+    private void remove(final String name) {
+        if (capabilities.remove(capabilityPrefix + name)) {
+            seed();
+        }
+    }
+
+    private static void updatePhotoIntervalElements(final EnumElementsCollection enumElements, final double[] intervals) {
+        final List<EnumElement> elements = new ArrayList<>();
+        for (final double interval : intervals) {
+            if ((int)interval == interval) {
+                elements.add(new EnumElement((int)interval + " s", interval));
+            }
+            else {
+                elements.add(new EnumElement(interval + " s", interval));
+            }
+        }
+
+        enumElements.put("CameraPhotoInterval", elements);
+    }
+
+    private static void updateVideoResolutionFrameRateElements(final EnumElementsTupleCollection enumElementTuples, final List<List<String>> tupleValueRange) {
+        final List<List<String>> tupleDisplayRange = new ArrayList<>();
+        for (final List<String> valueTuple : tupleValueRange) {
+            final List<String> displayTuple = new ArrayList<>();
+            displayTuple.add(Dronelink.getInstance().formatEnum("CameraVideoResolution", valueTuple.get(0)));
+            displayTuple.add(Dronelink.getInstance().formatEnum("CameraVideoFrameRate", valueTuple.get(1)));
+            tupleDisplayRange.add(displayTuple);
+        }
+        enumElementTuples.update("CameraVideoResolutionFrameRate", tupleDisplayRange, tupleValueRange);
     }
 
     private <T> DJIKey<T> createLensKey(final DJIKeyInfo<T> keyInfo) {
@@ -465,6 +430,14 @@ class DJI2CameraStateAdapter implements CameraStateAdapter {
         listeners.cancelAll();
     }
 
+    public int revalidateListeners(final long reportedBeforeMillis, final long sinceMillis) {
+        return listeners.revalidate(reportedBeforeMillis, sinceMillis);
+    }
+
+    public List<DJI2ListenerGroup.KeyStatistics> getListenerStatistics() {
+        return listeners.getStatistics();
+    }
+
     public DatedValue<CameraStateAdapter> asDatedValue() {
         return new DatedValue<>(this, new Date());
     }
@@ -493,35 +466,35 @@ class DJI2CameraStateAdapter implements CameraStateAdapter {
 
     @Override
     public boolean isBusy() {
-        return isShootingPhoto
-                || isShootingBurstPhoto
-                || isShootingHyperlapse
-                || isShootingPhotoPanorama
-                || isShootingRAWBurstPhoto
-                || isShootingSinglePhoto
-                || isShootingSinglePhotoInRAWFormat
-                || isShootingSuperResolutionPhoto
-                || isShootingVisionBokehPhoto;
+        return shared.isShootingPhoto
+                || shared.isShootingBurstPhoto
+                || shared.isShootingHyperlapse
+                || shared.isShootingPhotoPanorama
+                || shared.isShootingRAWBurstPhoto
+                || shared.isShootingSinglePhoto
+                || shared.isShootingSinglePhotoInRAWFormat
+                || shared.isShootingSuperResolutionPhoto
+                || shared.isShootingVisionBokehPhoto;
     }
 
     @Override
     public boolean isCapturing() {
-        return isRecording
-                || isShootingPhoto
-                || isShootingBurstPhoto
-                || isShootingHyperlapse
-                || isShootingPhotoPanorama
-                || isShootingRAWBurstPhoto
-                || isShootingSinglePhoto
-                || isShootingSinglePhotoInRAWFormat
-                || isShootingSuperResolutionPhoto
-                || isShootingVisionBokehPhoto
+        return shared.isRecording
+                || shared.isShootingPhoto
+                || shared.isShootingBurstPhoto
+                || shared.isShootingHyperlapse
+                || shared.isShootingPhotoPanorama
+                || shared.isShootingRAWBurstPhoto
+                || shared.isShootingSinglePhoto
+                || shared.isShootingSinglePhotoInRAWFormat
+                || shared.isShootingSuperResolutionPhoto
+                || shared.isShootingVisionBokehPhoto
                 || isCapturingContinuous();
     }
 
     @Override
     public boolean isCapturingPhotoInterval() {
-        final Integer photoIntervalCountdown = this.photoIntervalCountdown;
+        final Integer photoIntervalCountdown = shared.photoIntervalCountdown;
         if (photoIntervalCountdown != null && photoIntervalCountdown > 0) {
             return true;
         }
@@ -529,10 +502,10 @@ class DJI2CameraStateAdapter implements CameraStateAdapter {
         if (getMode() == CameraMode.PHOTO && getPhotoMode() == CameraPhotoMode.INTERVAL) {
             final Double photoInterval = getPhotoInterval();
             //0.7s doesn't work with photoIntervalCountdown
-            if (photoInterval != null && photoInterval < 1 && (System.currentTimeMillis() - isShootingPhotoUpdated.getTime()) < photoInterval * 1000) {
+            if (photoInterval != null && photoInterval < 1 && (System.currentTimeMillis() - shared.isShootingPhotoUpdated.getTime()) < photoInterval * 1000) {
                 return true;
             }
-            return isShootingPhoto;
+            return shared.isShootingPhoto;
         }
 
         return false;
@@ -540,7 +513,7 @@ class DJI2CameraStateAdapter implements CameraStateAdapter {
 
     @Override
     public boolean isCapturingVideo() {
-        return isRecording;
+        return shared.isRecording;
     }
 
     @Override
@@ -550,17 +523,17 @@ class DJI2CameraStateAdapter implements CameraStateAdapter {
 
     @Override
     public boolean isSDCardInserted() {
-        return isSDCardInserted;
+        return shared.isSDCardInserted;
     }
 
     @Override
     public CameraVideoStreamSource getVideoStreamSource() {
-        return DronelinkDJI2.getCameraVideoStreamSource(videoStreamSource);
+        return DronelinkDJI2.getCameraVideoStreamSource(shared.videoStreamSource);
     }
 
     @Override
     public CameraStorageLocation getStorageLocation() {
-        return DronelinkDJI2.getCameraStorageLocation(storageLocation);
+        return DronelinkDJI2.getCameraStorageLocation(shared.storageLocation);
     }
 
     @Override
@@ -568,13 +541,13 @@ class DJI2CameraStateAdapter implements CameraStateAdapter {
         Integer value = null;
         switch (getStorageLocation()) {
             case SD_CARD:
-                value = remainingSpaceSDCard;
+                value = shared.remainingSpaceSDCard;
                 break;
             case INTERNAL:
-                value = remainingSpaceInternalStorage;
+                value = shared.remainingSpaceInternalStorage;
                 break;
             case INTERNAL_SSD:
-                value = remainingSpaceSSD;
+                value = shared.remainingSpaceSSD;
                 break;
             case UNKNOWN:
                 break;
@@ -591,15 +564,15 @@ class DJI2CameraStateAdapter implements CameraStateAdapter {
         Integer value = null;
         switch (getStorageLocation()) {
             case SD_CARD:
-                value = totalSpaceSDCard;
+                value = shared.totalSpaceSDCard;
                 break;
             case INTERNAL:
-                value = totalSpaceInternalStorage;
+                value = shared.totalSpaceInternalStorage;
                 break;
             case INTERNAL_SSD:
-                final SSDTotalSpace totalSpace = totalSpaceSSD;
+                final SSDTotalSpace totalSpace = shared.totalSpaceSSD;
                 if (totalSpace != null) {
-                    switch (totalSpaceSSD) {
+                    switch (shared.totalSpaceSSD) {
                         case SPACE_256GB:
                             value = 256 * 1000;
                             break;
@@ -633,13 +606,13 @@ class DJI2CameraStateAdapter implements CameraStateAdapter {
         Integer value = null;
         switch (getStorageLocation()) {
             case SD_CARD:
-                value = availablePhotoCountSDCard;
+                value = shared.availablePhotoCountSDCard;
                 break;
             case INTERNAL:
-                value = availablePhotoCountInternalStorage;
+                value = shared.availablePhotoCountInternalStorage;
                 break;
             case INTERNAL_SSD:
-                value = availablePhotoCountSSD;
+                value = shared.availablePhotoCountSSD;
                 break;
             case UNKNOWN:
                 break;
@@ -654,12 +627,12 @@ class DJI2CameraStateAdapter implements CameraStateAdapter {
 
     @Override
     public CameraMode getMode() {
-        return DronelinkDJI2.getCameraMode(flatMode);
+        return DronelinkDJI2.getCameraMode(shared.flatMode);
     }
 
     @Override
     public CameraPhotoMode getPhotoMode() {
-        return DronelinkDJI2.getCameraPhotoMode(flatMode);
+        return DronelinkDJI2.getCameraPhotoMode(shared.flatMode);
     }
 
     @Override
@@ -784,8 +757,14 @@ class DJI2CameraStateAdapter implements CameraStateAdapter {
         return null;
     }
 
+    //a copy, since callers may keep it (use getHistogramAnalysis().getBins() to read the reused array without allocating)
     @Override
     public short[] getHistogram() {
+        return histogram.copyBins();
+    }
+
+    //exposure statistics of the current histogram, computed as frames arrive
+    public DJI2Histogram getHistogramAnalysis() {
         return histogram;
     }
 
@@ -834,7 +813,7 @@ class DJI2CameraStateAdapter implements CameraStateAdapter {
 
     public RatioZoomSpecification getRatioZoomSpecification() {
         final Double currentZoomRatio = lensType == CameraLensType.CAMERA_LENS_THERMAL ? this.currentThermalZoomRatio : this.currentZoomRatio;
-        final int[] zoomRatios = lensType == CameraLensType.CAMERA_LENS_THERMAL ? this.thermalZoomRatios : this.zoomRatios;
+        final int[] zoomRatios = lensType == CameraLensType.CAMERA_LENS_THERMAL ? this.thermalZoomRatios : shared.zoomRatios;
         if (!isRatioZoomSupported() || currentZoomRatio == null || zoomRatios == null) {
             return null;
         }
@@ -850,7 +829,7 @@ class DJI2CameraStateAdapter implements CameraStateAdapter {
     public PercentZoomSpecification getPercentZoomSpecification() {
         final Integer zoomValue = this.hybridZoomFocalLength;
         final CameraHybridZoomSpec specification = this.hybridZoomSpecification;
-        final int[] zoomRatios = this.zoomRatios;
+        final int[] zoomRatios = shared.zoomRatios;
         if (!isPercentZoomSupported() || zoomValue == null || specification == null || zoomRatios == null) {
             return null;
         }
@@ -892,7 +871,8 @@ class DJI2CameraStateAdapter implements CameraStateAdapter {
     }
 
     public List<EnumElement> getEnumElements(final String parameter) {
-        return enumElements.get(parameter);
+        final List<EnumElement> elements = enumElements.get(parameter);
+        return elements == null ? shared.getEnumElements(parameter) : elements;
     }
 
     public List<EnumElementTuple> getEnumElementTuples(final String parameter) {
@@ -902,7 +882,7 @@ class DJI2CameraStateAdapter implements CameraStateAdapter {
     public CommandError executeCommand(final Context context, final CameraCommand command, final Command.Finisher finished) {
         if (command instanceof AEBCountCameraCommand) {
             final CameraAEBCount target = ((AEBCountCameraCommand) command).aebCount;
-            Command.conditionallyExecute(target != getAEBCount(), finished, () -> KeyManager.getInstance().setValue(
+            Command.conditionallyExecute(target != getAEBCount(), finished, () -> DronelinkDJI2.getSDK().setValue(
                     createLensKey(CameraKey.KeyAEBSettings),
                     new PhotoAEBSettings(DronelinkDJI2.getCameraPhotoAEBCount(target), PhotoAEBExposureOffset.OFFSET_0EV),
                     DronelinkDJI2.createCompletionCallback(finished)));
@@ -911,7 +891,7 @@ class DJI2CameraStateAdapter implements CameraStateAdapter {
 
         if (command instanceof ApertureCameraCommand) {
             final CameraAperture target = ((ApertureCameraCommand) command).aperture;
-            Command.conditionallyExecute(target != getAperture(), finished, () -> KeyManager.getInstance().setValue(
+            Command.conditionallyExecute(target != getAperture(), finished, () -> DronelinkDJI2.getSDK().setValue(
                     createLensKey(CameraKey.KeyAperture),
                     DronelinkDJI2.getCameraAperture(target),
                     DronelinkDJI2.createCompletionCallback(finished)));
@@ -920,7 +900,7 @@ class DJI2CameraStateAdapter implements CameraStateAdapter {
 
         if (command instanceof AutoExposureLockCameraCommand) {
             final boolean target = ((AutoExposureLockCameraCommand) command).enabled;
-            Command.conditionallyExecute(target != isAutoExposureLockEnabled(), finished, () -> KeyManager.getInstance().setValue(
+            Command.conditionallyExecute(target != isAutoExposureLockEnabled(), finished, () -> DronelinkDJI2.getSDK().setValue(
                     createLensKey(CameraKey.KeyAELockEnabled),
                     target,
                     DronelinkDJI2.createCompletionCallback(finished)));
@@ -929,7 +909,7 @@ class DJI2CameraStateAdapter implements CameraStateAdapter {
 
         if (command instanceof AutoLockGimbalCameraCommand) {
             final boolean target = ((AutoLockGimbalCameraCommand) command).enabled;
-            Command.conditionallyExecute(target != lockGimbalDuringShootPhotoEnabled, finished, () -> KeyManager.getInstance().setValue(
+            Command.conditionallyExecute(target != lockGimbalDuringShootPhotoEnabled, finished, () -> DronelinkDJI2.getSDK().setValue(
                     createLensKey(CameraKey.KeyLockGimbalDuringShootPhotoEnabled),
                     target,
                     DronelinkDJI2.createCompletionCallback(finished)));
@@ -938,7 +918,7 @@ class DJI2CameraStateAdapter implements CameraStateAdapter {
 
         if (command instanceof ColorCameraCommand) {
             final CameraColor target = ((ColorCameraCommand) command).color;
-            Command.conditionallyExecute(target != DronelinkDJI2.getCameraColor(color), finished, () -> KeyManager.getInstance().setValue(
+            Command.conditionallyExecute(target != DronelinkDJI2.getCameraColor(color), finished, () -> DronelinkDJI2.getSDK().setValue(
                     createLensKey(CameraKey.KeyCameraColor),
                     DronelinkDJI2.getCameraColor(target),
                     DronelinkDJI2.createCompletionCallback(finished)));
@@ -946,7 +926,7 @@ class DJI2CameraStateAdapter implements CameraStateAdapter {
 
         if (command instanceof ContrastCameraCommand) {
             final int target = ((ContrastCameraCommand) command).contrast;
-            Command.conditionallyExecute(contrast == null || target != contrast, finished, () -> KeyManager.getInstance().setValue(
+            Command.conditionallyExecute(contrast == null || target != contrast, finished, () -> DronelinkDJI2.getSDK().setValue(
                     createLensKey(CameraKey.KeyContrast),
                     target,
                     DronelinkDJI2.createCompletionCallback(finished)));
@@ -955,7 +935,7 @@ class DJI2CameraStateAdapter implements CameraStateAdapter {
 
         if (command instanceof DewarpingCameraCommand) {
             final boolean target = ((DewarpingCameraCommand) command).enabled;
-            Command.conditionallyExecute(target != dewarpingEnabled, finished, () -> KeyManager.getInstance().setValue(
+            Command.conditionallyExecute(target != dewarpingEnabled, finished, () -> DronelinkDJI2.getSDK().setValue(
                     createLensKey(CameraKey.KeyDewarpingEnabled),
                     target,
                     DronelinkDJI2.createCompletionCallback(finished)));
@@ -964,7 +944,7 @@ class DJI2CameraStateAdapter implements CameraStateAdapter {
 
         if (command instanceof DisplayModeCameraCommand) {
             final CameraDisplayMode target = ((DisplayModeCameraCommand) command).displayMode;
-            Command.conditionallyExecute(target != DronelinkDJI2.getCameraDisplayMode(displayMode), finished, () -> KeyManager.getInstance().setValue(
+            Command.conditionallyExecute(target != DronelinkDJI2.getCameraDisplayMode(displayMode), finished, () -> DronelinkDJI2.getSDK().setValue(
                     createLensKey(CameraKey.KeyThermalDisplayMode),
                     DronelinkDJI2.getCameraDisplayMode(target),
                     DronelinkDJI2.createCompletionCallback(finished)));
@@ -973,7 +953,7 @@ class DJI2CameraStateAdapter implements CameraStateAdapter {
 
         if (command instanceof ExposureCompensationCameraCommand) {
             final CameraExposureCompensation target = ((ExposureCompensationCameraCommand) command).exposureCompensation;
-            Command.conditionallyExecute(target != getExposureCompensation(), finished, () -> KeyManager.getInstance().setValue(
+            Command.conditionallyExecute(target != getExposureCompensation(), finished, () -> DronelinkDJI2.getSDK().setValue(
                     createLensKey(CameraKey.KeyExposureCompensation),
                     DronelinkDJI2.getCameraExposureCompensation(target),
                     DronelinkDJI2.createCompletionCallback(finished)));
@@ -981,7 +961,7 @@ class DJI2CameraStateAdapter implements CameraStateAdapter {
         }
 
         if (command instanceof ExposureCompensationStepCameraCommand) {
-            KeyManager.getInstance().setValue(
+            DronelinkDJI2.getSDK().setValue(
                     createLensKey(CameraKey.KeyExposureCompensation),
                     DronelinkDJI2.getCameraExposureCompensation(getExposureCompensation().offset(((ExposureCompensationStepCameraCommand) command).exposureCompensationSteps)),
                     DronelinkDJI2.createCompletionCallback(finished));
@@ -990,7 +970,7 @@ class DJI2CameraStateAdapter implements CameraStateAdapter {
 
         if (command instanceof ExposureModeCameraCommand) {
             final CameraExposureMode target = ((ExposureModeCameraCommand) command).exposureMode;
-            Command.conditionallyExecute(target != getExposureMode(), finished, () -> KeyManager.getInstance().setValue(
+            Command.conditionallyExecute(target != getExposureMode(), finished, () -> DronelinkDJI2.getSDK().setValue(
                     createLensKey(CameraKey.KeyExposureMode),
                     DronelinkDJI2.getCameraExposureMode(target),
                     DronelinkDJI2.createCompletionCallback(finished)));
@@ -999,7 +979,7 @@ class DJI2CameraStateAdapter implements CameraStateAdapter {
 
         if (command instanceof FileIndexModeCameraCommand) {
             final CameraFileIndexMode target = ((FileIndexModeCameraCommand) command).fileIndexMode;
-            Command.conditionallyExecute(target != DronelinkDJI2.getCameraFileIndexMode(fileIndexMode), finished, () -> KeyManager.getInstance().setValue(
+            Command.conditionallyExecute(target != DronelinkDJI2.getCameraFileIndexMode(fileIndexMode), finished, () -> DronelinkDJI2.getSDK().setValue(
                     createLensKey(CameraKey.KeyCameraFileIndexMode),
                     DronelinkDJI2.getCameraFileIndexMode(target),
                     DronelinkDJI2.createCompletionCallback(finished)));
@@ -1008,7 +988,7 @@ class DJI2CameraStateAdapter implements CameraStateAdapter {
 
         if (command instanceof FocusCameraCommand) {
             final Point2 target = ((FocusCameraCommand) command).focusTarget;
-            KeyManager.getInstance().setValue(
+            DronelinkDJI2.getSDK().setValue(
                     createLensKey(CameraKey.KeyCameraFocusTarget),
                     new DoublePoint2D(target.x, target.y),
                     new CommonCallbacks.CompletionCallback() {
@@ -1035,7 +1015,7 @@ class DJI2CameraStateAdapter implements CameraStateAdapter {
             if (cameraFocusCalibration == null) {
                 return new CommandError(context.getString(R.string.DJI2CameraStateAdapter_cameraCommand_focus_distance_error) + ": " + (int)focusDistanceCameraCommand.focusCalibration.distance);
             }
-            KeyManager.getInstance().setValue(
+            DronelinkDJI2.getSDK().setValue(
                     createLensKey(CameraKey.KeyCameraFocusRingValue),
                     cameraFocusCalibration.ringValue.intValue(),
                     DronelinkDJI2.createCompletionCallback(finished));
@@ -1044,7 +1024,7 @@ class DJI2CameraStateAdapter implements CameraStateAdapter {
 
         if (command instanceof FocusModeCameraCommand) {
             final CameraFocusMode target = ((FocusModeCameraCommand) command).focusMode;
-            Command.conditionallyExecute(target != getFocusMode(), finished, () -> KeyManager.getInstance().setValue(
+            Command.conditionallyExecute(target != getFocusMode(), finished, () -> DronelinkDJI2.getSDK().setValue(
                     createLensKey(CameraKey.KeyCameraFocusMode),
                     DronelinkDJI2.getCameraFocusMode(target),
                     DronelinkDJI2.createCompletionCallback(finished)));
@@ -1053,7 +1033,7 @@ class DJI2CameraStateAdapter implements CameraStateAdapter {
 
         if (command instanceof FocusRingCameraCommand) {
             final Integer focusRingMax = this.focusRingMax;
-            KeyManager.getInstance().setValue(
+            DronelinkDJI2.getSDK().setValue(
                     createLensKey(CameraKey.KeyCameraFocusRingValue),
                     (int)(((FocusRingCameraCommand)command).focusRingPercent * (focusRingMax == null ? 0 : focusRingMax)),
                     DronelinkDJI2.createCompletionCallback(finished));
@@ -1067,7 +1047,7 @@ class DJI2CameraStateAdapter implements CameraStateAdapter {
             }
             final int hybridZoomFocalLength = (int) (Math.round((((ZoomPercentCameraCommand) command).zoomPercent
                     * (specification.max - specification.min) + specification.min) / specification.step) * specification.step);
-            Command.conditionallyExecute(Math.abs(hybridZoomFocalLength - specification.currentZoom) >= 0.1, finished, () -> KeyManager.getInstance().setValue(
+            Command.conditionallyExecute(Math.abs(hybridZoomFocalLength - specification.currentZoom) >= 0.1, finished, () -> DronelinkDJI2.getSDK().setValue(
                     createLensKey(CameraKey.KeyCameraHybridZoomFocalLength),
                     hybridZoomFocalLength,
                     DronelinkDJI2.createCompletionCallback(finished)));
@@ -1088,7 +1068,7 @@ class DJI2CameraStateAdapter implements CameraStateAdapter {
             }
 
             Command.conditionallyExecute(Math.abs(specification.currentRatio - zoomRatio) >= 0.1,
-                    finished, () -> KeyManager.getInstance().setValue(
+                    finished, () -> DronelinkDJI2.getSDK().setValue(
                     createLensKey(cameraKey),
                     zoomRatio,
                     DronelinkDJI2.createCompletionCallback(finished)));
@@ -1097,7 +1077,7 @@ class DJI2CameraStateAdapter implements CameraStateAdapter {
 
         if (command instanceof ISOCameraCommand) {
             final CameraISO target = ((ISOCameraCommand) command).iso;
-            Command.conditionallyExecute(target != getISO(), finished, () -> KeyManager.getInstance().setValue(
+            Command.conditionallyExecute(target != getISO(), finished, () -> DronelinkDJI2.getSDK().setValue(
                     createLensKey(CameraKey.KeyISO),
                     DronelinkDJI2.getCameraISO(target),
                     DronelinkDJI2.createCompletionCallback(finished)));
@@ -1106,7 +1086,7 @@ class DJI2CameraStateAdapter implements CameraStateAdapter {
 
         if (command instanceof MechanicalShutterCameraCommand) {
             final boolean target = ((MechanicalShutterCameraCommand) command).enabled;
-            Command.conditionallyExecute(target != mechanicalShutterEnabled, finished, () -> KeyManager.getInstance().setValue(
+            Command.conditionallyExecute(target != mechanicalShutterEnabled, finished, () -> DronelinkDJI2.getSDK().setValue(
                     createLensKey(CameraKey.KeyMechanicalShutterEnabled),
                     target,
                     DronelinkDJI2.createCompletionCallback(finished)));
@@ -1115,7 +1095,7 @@ class DJI2CameraStateAdapter implements CameraStateAdapter {
 
         if (command instanceof MeteringModeCameraCommand) {
             final CameraMeteringMode target = ((MeteringModeCameraCommand) command).meteringMode;
-            Command.conditionallyExecute(target != getMeteringMode(), finished, () -> KeyManager.getInstance().setValue(
+            Command.conditionallyExecute(target != getMeteringMode(), finished, () -> DronelinkDJI2.getSDK().setValue(
                     createLensKey(CameraKey.KeyCameraMeteringMode),
                     DronelinkDJI2.getCameraMeteringMode(target),
                     DronelinkDJI2.createCompletionCallback(finished)));
@@ -1124,7 +1104,7 @@ class DJI2CameraStateAdapter implements CameraStateAdapter {
 
         if (command instanceof PhotoAspectRatioCameraCommand) {
             final CameraPhotoAspectRatio target = ((PhotoAspectRatioCameraCommand) command).photoAspectRatio;
-            Command.conditionallyExecute(target != getAspectRatio(), finished, () -> KeyManager.getInstance().setValue(
+            Command.conditionallyExecute(target != getAspectRatio(), finished, () -> DronelinkDJI2.getSDK().setValue(
                     createLensKey(CameraKey.KeyPhotoRatio),
                     DronelinkDJI2.getCameraPhotoAspectRatio(target),
                     DronelinkDJI2.createCompletionCallback(finished)));
@@ -1133,7 +1113,7 @@ class DJI2CameraStateAdapter implements CameraStateAdapter {
 
         if (command instanceof PhotoFileFormatCameraCommand) {
             final CameraPhotoFileFormat target = ((PhotoFileFormatCameraCommand) command).photoFileFormat;
-            Command.conditionallyExecute(target != getPhotoFileFormat(), finished, () -> KeyManager.getInstance().setValue(
+            Command.conditionallyExecute(target != getPhotoFileFormat(), finished, () -> DronelinkDJI2.getSDK().setValue(
                     createLensKey(CameraKey.KeyPhotoFileFormat),
                     DronelinkDJI2.getCameraPhotoFileFormat(target),
                     DronelinkDJI2.createCompletionCallback(finished)));
@@ -1142,7 +1122,7 @@ class DJI2CameraStateAdapter implements CameraStateAdapter {
 
         if (command instanceof PhotoIntervalCameraCommand) {
             final double target = ((PhotoIntervalCameraCommand) command).photoInterval;
-            Command.conditionallyExecute(target != getPhotoInterval(), finished, () -> KeyManager.getInstance().setValue(
+            Command.conditionallyExecute(target != getPhotoInterval(), finished, () -> DronelinkDJI2.getSDK().setValue(
                     createLensKey(CameraKey.KeyPhotoIntervalShootSettings),
                     new PhotoIntervalShootSettings(255, (double)target),
                     DronelinkDJI2.createCompletionCallback(finished)));
@@ -1151,7 +1131,7 @@ class DJI2CameraStateAdapter implements CameraStateAdapter {
 
         if (command instanceof SaturationCameraCommand) {
             final int target = ((SaturationCameraCommand) command).saturation;
-            Command.conditionallyExecute(saturation == null || target != saturation, finished, () -> KeyManager.getInstance().setValue(
+            Command.conditionallyExecute(saturation == null || target != saturation, finished, () -> DronelinkDJI2.getSDK().setValue(
                     createLensKey(CameraKey.KeySaturation),
                     target,
                     DronelinkDJI2.createCompletionCallback(finished)));
@@ -1160,7 +1140,7 @@ class DJI2CameraStateAdapter implements CameraStateAdapter {
 
         if (command instanceof SharpnessCameraCommand) {
             final int target = ((SharpnessCameraCommand) command).sharpness;
-            Command.conditionallyExecute(sharpness == null || target != sharpness, finished, () -> KeyManager.getInstance().setValue(
+            Command.conditionallyExecute(sharpness == null || target != sharpness, finished, () -> DronelinkDJI2.getSDK().setValue(
                     createLensKey(CameraKey.KeySharpness),
                     target,
                     DronelinkDJI2.createCompletionCallback(finished)));
@@ -1169,7 +1149,7 @@ class DJI2CameraStateAdapter implements CameraStateAdapter {
 
         if (command instanceof ShutterSpeedCameraCommand) {
             final CameraShutterSpeed target = ((ShutterSpeedCameraCommand) command).shutterSpeed;
-            Command.conditionallyExecute(target != getShutterSpeed(), finished, () -> KeyManager.getInstance().setValue(
+            Command.conditionallyExecute(target != getShutterSpeed(), finished, () -> DronelinkDJI2.getSDK().setValue(
                     createLensKey(CameraKey.KeyShutterSpeed),
                     DronelinkDJI2.getCameraShutterSpeed(target),
                     DronelinkDJI2.createCompletionCallback(finished)));
@@ -1181,13 +1161,13 @@ class DJI2CameraStateAdapter implements CameraStateAdapter {
             final DoubleRect target = new DoubleRect();
             target.setX(spotMeteringTarget.x);
             target.setY(spotMeteringTarget.y);
-            KeyManager.getInstance().setValue(createLensKey(CameraKey.KeySpotMeteringTargetArea), target, DronelinkDJI2.createCompletionCallback(finished));
+            DronelinkDJI2.getSDK().setValue(createLensKey(CameraKey.KeySpotMeteringTargetArea), target, DronelinkDJI2.createCompletionCallback(finished));
             return null;
         }
 
         if (command instanceof VideoCaptionCameraCommand) {
             final boolean target = ((VideoCaptionCameraCommand) command).enabled;
-            Command.conditionallyExecute(target != videoCaptionEnabled, finished, () -> KeyManager.getInstance().setValue(
+            Command.conditionallyExecute(target != videoCaptionEnabled, finished, () -> DronelinkDJI2.getSDK().setValue(
                     createLensKey(CameraKey.KeyCameraVideoCaptionEnabled),
                     target,
                     DronelinkDJI2.createCompletionCallback(finished)));
@@ -1196,7 +1176,7 @@ class DJI2CameraStateAdapter implements CameraStateAdapter {
 
         if (command instanceof VideoFileCompressionStandardCameraCommand) {
             final CameraVideoFileCompressionStandard target = ((VideoFileCompressionStandardCameraCommand) command).videoFileCompressionStandard;
-            Command.conditionallyExecute(target != DronelinkDJI2.getCameraVideoFileCompressionStandard(videoFileMimeType), finished, () -> KeyManager.getInstance().setValue(
+            Command.conditionallyExecute(target != DronelinkDJI2.getCameraVideoFileCompressionStandard(videoFileMimeType), finished, () -> DronelinkDJI2.getSDK().setValue(
                     createLensKey(CameraKey.KeyVideoMimeType),
                     DronelinkDJI2.getCameraVideoFileCompressionStandard(target),
                     DronelinkDJI2.createCompletionCallback(finished)));
@@ -1205,7 +1185,7 @@ class DJI2CameraStateAdapter implements CameraStateAdapter {
 
         if (command instanceof VideoFileFormatCameraCommand) {
             final CameraVideoFileFormat target = ((VideoFileFormatCameraCommand) command).videoFileFormat;
-            Command.conditionallyExecute(target != getVideoFileFormat(), finished, () -> KeyManager.getInstance().setValue(
+            Command.conditionallyExecute(target != getVideoFileFormat(), finished, () -> DronelinkDJI2.getSDK().setValue(
                     createLensKey(CameraKey.KeyVideoFileFormat),
                     DronelinkDJI2.getCameraVideoFileFormat(target),
                     DronelinkDJI2.createCompletionCallback(finished)));
@@ -1214,7 +1194,7 @@ class DJI2CameraStateAdapter implements CameraStateAdapter {
 
         if (command instanceof VideoModeCameraCommand) {
             final CameraVideoMode target = ((VideoModeCameraCommand) command).videoMode;
-            Command.conditionallyExecute(target != DronelinkDJI2.getCameraVideoMode(videoRecordMode), finished, () -> KeyManager.getInstance().setValue(
+            Command.conditionallyExecute(target != DronelinkDJI2.getCameraVideoMode(videoRecordMode), finished, () -> DronelinkDJI2.getSDK().setValue(
                     createLensKey(CameraKey.KeyVideoRecordMode),
                     DronelinkDJI2.getCameraVideoMode(target),
                     DronelinkDJI2.createCompletionCallback(finished)));
@@ -1225,7 +1205,7 @@ class DJI2CameraStateAdapter implements CameraStateAdapter {
             final CameraVideoResolution videoResolution = ((VideoResolutionFrameRateCameraCommand) command).videoResolution;
             final CameraVideoFrameRate videoFrameRate = ((VideoResolutionFrameRateCameraCommand) command).videoFrameRate;
             final CameraVideoFieldOfView videoFieldOfView = ((VideoResolutionFrameRateCameraCommand) command).videoFieldOfView;
-            Command.conditionallyExecute(videoResolution != getVideoResolution() || videoFrameRate != getVideoFrameRate() || videoFieldOfView != getVideoFieldOfView(), finished, () -> KeyManager.getInstance().setValue(
+            Command.conditionallyExecute(videoResolution != getVideoResolution() || videoFrameRate != getVideoFrameRate() || videoFieldOfView != getVideoFieldOfView(), finished, () -> DronelinkDJI2.getSDK().setValue(
                     createLensKey(CameraKey.KeyVideoResolutionFrameRateAndFov),
                     new VideoResolutionFrameRateAndFov(
                             new VideoResolutionFrameRate(DronelinkDJI2.getCameraVideoResolution(videoResolution), DronelinkDJI2.getCameraVideoFrameRate(videoFrameRate)),
@@ -1236,7 +1216,7 @@ class DJI2CameraStateAdapter implements CameraStateAdapter {
 
         if (command instanceof VideoStandardCameraCommand) {
             final CameraVideoStandard target = ((VideoStandardCameraCommand) command).videoStandard;
-            Command.conditionallyExecute(target != DronelinkDJI2.getCameraVideoStandard(videoStandard), finished, () -> KeyManager.getInstance().setValue(
+            Command.conditionallyExecute(target != DronelinkDJI2.getCameraVideoStandard(videoStandard), finished, () -> DronelinkDJI2.getSDK().setValue(
                     createLensKey(CameraKey.KeyVideoStandard),
                     DronelinkDJI2.getCameraVideoStandard(target),
                     DronelinkDJI2.createCompletionCallback(finished)));
@@ -1245,7 +1225,7 @@ class DJI2CameraStateAdapter implements CameraStateAdapter {
 
         if (command instanceof VideoStreamSourceCameraCommand) {
             final CameraVideoStreamSource target = ((VideoStreamSourceCameraCommand) command).videoStreamSource;
-            Command.conditionallyExecute(target != DronelinkDJI2.getCameraVideoStreamSource(videoStreamSource), finished, () -> KeyManager.getInstance().setValue(
+            Command.conditionallyExecute(target != DronelinkDJI2.getCameraVideoStreamSource(shared.videoStreamSource), finished, () -> DronelinkDJI2.getSDK().setValue(
                     createLensKey(CameraKey.KeyCameraVideoStreamSource),
                     DronelinkDJI2.getCameraVideoStreamSource(target),
                     DronelinkDJI2.createCompletionCallback(finished)));
@@ -1256,7 +1236,7 @@ class DJI2CameraStateAdapter implements CameraStateAdapter {
             final int target = ((WhiteBalanceCustomCameraCommand) command).whiteBalanceCustom;
             final CameraWhiteBalanceInfo whiteBalance = this.whiteBalance;
             final Integer current = whiteBalance == null ? null : whiteBalance.getColorTemperature();
-            Command.conditionallyExecute(getWhiteBalancePreset() != CameraWhiteBalancePreset.CUSTOM || current == null || current != target, finished, () -> KeyManager.getInstance().setValue(
+            Command.conditionallyExecute(getWhiteBalancePreset() != CameraWhiteBalancePreset.CUSTOM || current == null || current != target, finished, () -> DronelinkDJI2.getSDK().setValue(
                     createLensKey(CameraKey.KeyWhiteBalance),
                     new CameraWhiteBalanceInfo(CameraWhiteBalanceMode.MANUAL, target),
                     DronelinkDJI2.createCompletionCallback(finished)));
@@ -1265,7 +1245,7 @@ class DJI2CameraStateAdapter implements CameraStateAdapter {
 
         if (command instanceof WhiteBalancePresetCameraCommand) {
             final CameraWhiteBalancePreset target = ((WhiteBalancePresetCameraCommand) command).whiteBalancePreset;
-            Command.conditionallyExecute(target != getWhiteBalancePreset(), finished, () -> KeyManager.getInstance().setValue(
+            Command.conditionallyExecute(target != getWhiteBalancePreset(), finished, () -> DronelinkDJI2.getSDK().setValue(
                     createLensKey(CameraKey.KeyWhiteBalance),
                     new CameraWhiteBalanceInfo(DronelinkDJI2.getCameraWhiteBalancePreset(target), null),
                     DronelinkDJI2.createCompletionCallback(finished)));
@@ -76,13 +76,18 @@ import com.dronelink.core.kernel.core.enums.DroneObstacleAvoidanceMode;
 import com.dronelink.core.kernel.core.enums.DroneOcuSyncFrequencyBand;
 import com.dronelink.core.kernel.core.enums.GimbalMode;
 import com.dronelink.dji2.DJI2CameraFile;
+import com.dronelink.dji2.DJI2CapabilityCache;
+import com.dronelink.dji2.DJI2ExecutorPool;
 import com.dronelink.dji2.DJI2ListenerGroup;
+import com.dronelink.dji2.DJI2VirtualStickTransmitter;
+import com.dronelink.dji2.DJI2YawController;
 import com.dronelink.dji2.DronelinkDJI2;
 import com.dronelink.dji2.R;
 
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -105,10 +110,8 @@ import dji.sdk.keyvalue.value.flightcontroller.VirtualStickFlightControlParam;
 import dji.sdk.keyvalue.value.flightcontroller.YawControlMode;
 import dji.sdk.keyvalue.value.product.ProductType;
 import dji.v5.common.callback.CommonCallbacks;
-import dji.v5.manager.KeyManager;
 import dji.v5.manager.aircraft.perception.PerceptionManager;
 import dji.v5.manager.aircraft.perception.data.PerceptionDirection;
-import dji.v5.manager.aircraft.virtualstick.VirtualStickManager;
 import dji.v5.manager.aircraft.virtualstick.VirtualStickRange;
 import dji.v5.manager.datacenter.MediaDataCenter;
 import dji.v5.manager.datacenter.livestream.LiveStreamSettings;
@@ -127,6 +130,7 @@ public class DJI2DroneAdapter implements DroneAdapter {
     public ProductType productType;
     public String firmwarePackageVersion;
     public DJI2DroneStateAdapter state;
+    public final DJI2CapabilityCache capabilityCache;
 
     private final DJI2ListenerGroup listeners = new DJI2ListenerGroup();
     private final DJI2RemoteControllerAdapter remoteController;
@@ -135,14 +139,21 @@ public class DJI2DroneAdapter implements DroneAdapter {
     private final Map<Integer, DJI2BatteryAdapter> batteries = new HashMap<>();
     private final DJI2RTKAdapter rtk;
     private final DJI2LiveStreamingAdapter liveStreaming;
-
-    public DJI2DroneAdapter(final Context context, final CommonCallbacks.CompletionCallbackWithParam<String> onSerialNumber, final CameraFileGeneratedCallback cameraFileReceiver) {
+    private final DJI2YawController yawController = new DJI2YawController();
+    //components that disconnect while suspended are kept instead of closed
+    private volatile boolean suspended = false;
+    private final DJI2VirtualStickTransmitter virtualStick;
+
+    public DJI2DroneAdapter(final Context context, final DJI2CapabilityCache capabilityCache, final DJI2ExecutorPool.Lease executors, final CommonCallbacks.CompletionCallbackWithParam<String> onSerialNumber, final CameraFileGeneratedCallback cameraFileReceiver) {
+        this.capabilityCache = capabilityCache;
+        this.virtualStick = new DJI2VirtualStickTransmitter(executors, DronelinkDJI2.VirtualStickRateDefault, this::setVirtualStickFlightControlParamYaw);
         state = new DJI2DroneStateAdapter(context, this);
 
         listeners.init(KeyTools.createKey(FlightControllerKey.KeySerialNumber), (oldValue, newValue) -> {
             if (newValue != null) {
                 serialNumber = newValue;
                 Log.i(TAG, "Serial number: " + serialNumber);
+                capabilityCache.setIdentity(serialNumber, firmwarePackageVersion);
                 onSerialNumber.onSuccess(newValue);
             }
         });
@@ -151,6 +162,7 @@ public class DJI2DroneAdapter implements DroneAdapter {
             if (newValue != null) {
                 firmwarePackageVersion = newValue;
                 Log.i(TAG, "Firmware package version: " + firmwarePackageVersion);
+                capabilityCache.setIdentity(serialNumber, firmwarePackageVersion);
             }
         });
 
@@ -172,30 +184,40 @@ public class DJI2DroneAdapter implements DroneAdapter {
 
         for (final ComponentIndexType index : ComponentIndexType.values()) {
             if (index != ComponentIndexType.UNKNOWN && index != ComponentIndexType.AGGREGATION) {
-                listeners.init(KeyTools.createKey(GimbalKey.KeyConnection, index), (oldValue, newValue) -> {
+                listeners.initConnection(KeyTools.createKey(GimbalKey.KeyConnection, index), (oldValue, newValue) -> {
                     synchronized (gimbals) {
                         if (newValue == null || !newValue) {
+                            if (suspended) {
+                                //kept while the link is down, revalidated when the session resumes
+                                return;
+                            }
+
                             final DJI2GimbalAdapter gimbal = (DJI2GimbalAdapter) gimbals.remove(index);
                             if (gimbal != null) {
                                 Log.i(TAG, "Gimbal disconnected: " + index.name());
                                 gimbal.close();
                             }
-                        } else {
+                        } else if (!gimbals.containsKey(index)) {
                             Log.i(TAG, "Gimbal connected: " + index.name());
                             gimbals.put(index, new DJI2GimbalAdapter(this, index));
                         }
                     }
                 });
 
-                listeners.init(KeyTools.createKey(CameraKey.KeyConnection, index), (oldValue, newValue) -> {
+                listeners.initConnection(KeyTools.createKey(CameraKey.KeyConnection, index), (oldValue, newValue) -> {
                     synchronized (cameras) {
                         if (newValue == null || !newValue) {
+                            if (suspended) {
+                                //kept while the link is down, revalidated when the session resumes
+                                return;
+                            }
+
                             final DJI2CameraAdapter camera = (DJI2CameraAdapter) cameras.remove(index);
                             if (camera != null) {
                                 Log.i(TAG, "Camera disconnected: " + index.name());
                                 camera.close();
                             }
-                        } else {
+                        } else if (!cameras.containsKey(index)) {
                             Log.i(TAG, "Camera connected: " + index.name());
                             cameras.put(index, new DJI2CameraAdapter(context, this, index, info -> {
                                 final Orientation3 orientation = state.getOrientation();
@@ -243,15 +265,19 @@ public class DJI2DroneAdapter implements DroneAdapter {
 
         for (int batteryIndex = 0; batteryIndex < 2; batteryIndex++) {
             final int index = batteryIndex;
-            listeners.init(KeyTools.createKey(BatteryKey.KeyConnection, index), (oldValue, newValue) -> {
+            listeners.initConnection(KeyTools.createKey(BatteryKey.KeyConnection, index), (oldValue, newValue) -> {
                 synchronized (batteries) {
                     if (newValue == null || !newValue) {
+                        if (suspended) {
+                            return;
+                        }
+
                         final DJI2BatteryAdapter battery = batteries.remove(index);
                         if (battery != null) {
                             Log.i(TAG, "Battery disconnected: " + index);
                             battery.close();
                         }
-                    } else {
+                    } else if (!batteries.containsKey(index)) {
                         Log.i(TAG, "Battery connected: " + index);
                         batteries.put(index, new DJI2BatteryAdapter(index));
                     }
@@ -261,9 +287,11 @@ public class DJI2DroneAdapter implements DroneAdapter {
 
         rtk = new DJI2RTKAdapter(context, this);
         liveStreaming = new DJI2LiveStreamingAdapter(context);
+        state.startStatusSampler(executors);
     }
 
     public void close() {
+        virtualStick.close();
         listeners.cancelAll();
         state.close();
         remoteController.close();
@@ -281,10 +309,62 @@ public class DJI2DroneAdapter implements DroneAdapter {
         }
     }
 
+    //the link dropped, the session may resume with the same aircraft
+    public void suspend() {
+        suspended = true;
+        //nulls reported while the link is down are not authoritative
+        capabilityCache.setSuspended(true);
+    }
+
+    //the same aircraft reconnected, followed by revalidateListeners (which closes components that are no longer connected)
+    public void resume() {
+        suspended = false;
+        capabilityCache.setSuspended(false);
+    }
+
+    //returns the number of keys revalidated
+    public int revalidateListeners(final long reportedBeforeMillis, final long sinceMillis) {
+        int revalidated = listeners.revalidate(reportedBeforeMillis, sinceMillis) + state.revalidateListeners(reportedBeforeMillis, sinceMillis) + remoteController.revalidateListeners(reportedBeforeMillis, sinceMillis);
+        revalidated += rtk.revalidateListeners(reportedBeforeMillis, sinceMillis) + liveStreaming.revalidateListeners(reportedBeforeMillis, sinceMillis);
+
+        for (final CameraAdapter camera : getCameras()) {
+            revalidated += ((DJI2CameraAdapter)camera).revalidateListeners(reportedBeforeMillis, sinceMillis);
+        }
+
+        for (final GimbalAdapter gimbal : getGimbals()) {
+            revalidated += ((DJI2GimbalAdapter)gimbal).revalidateListeners(reportedBeforeMillis, sinceMillis);
+        }
+
+        for (final BatteryAdapter battery : getBatteries()) {
+            revalidated += ((DJI2BatteryAdapter)battery).revalidateListeners(reportedBeforeMillis, sinceMillis);
+        }
+
+        return revalidated;
+    }
+
     public DatedValue<DroneStateAdapter> getState() {
         return state.asDatedValue();
     }
 
+    //listener statistics grouped by component: drone, remoteController, camera.<index>, battery.<index>
+    public Map<String, List<DJI2ListenerGroup.KeyStatistics>> getTelemetryStatistics() {
+        final Map<String, List<DJI2ListenerGroup.KeyStatistics>> statistics = new LinkedHashMap<>();
+        final List<DJI2ListenerGroup.KeyStatistics> droneStatistics = listeners.getStatistics();
+        droneStatistics.addAll(state.getListenerStatistics());
+        statistics.put("drone", droneStatistics);
+        statistics.put("remoteController", remoteController.getListenerStatistics());
+
+        for (final CameraAdapter camera : getCameras()) {
+            statistics.put("camera." + camera.getIndex(), ((DJI2CameraAdapter)camera).getListenerStatistics());
+        }
+
+        for (final BatteryAdapter battery : getBatteries()) {
+            statistics.put("battery." + battery.getIndex(), ((DJI2BatteryAdapter)battery).getListenerStatistics());
+        }
+
+        return statistics;
+    }
+
     public List<Message> getStatusMessages() {
         final List<Message> messages = new ArrayList<>();
 
@@ -399,17 +479,23 @@ public class DJI2DroneAdapter implements DroneAdapter {
     }
 
     private boolean isYawControlModeAngleAvailable() {
-        return false;
+        return DronelinkDJI2.isVirtualStickYawAngleSupported(productType);
+    }
+
+    public DJI2YawController getYawController() {
+        return yawController;
     }
 
+    //the yaw already in the param (the commanded rotational velocity) is used as feed-forward
     private void setVirtualStickFlightControlParamYaw(final VirtualStickFlightControlParam param, final double heading) {
         if (isYawControlModeAngleAvailable()) {
             param.setYawControlMode(YawControlMode.ANGLE);
             param.setYaw(Math.toDegrees(Convert.AngleDifferenceSigned(heading, 0)));
         }
         else {
+            final double feedForward = param.getYawControlMode() == YawControlMode.ANGULAR_VELOCITY ? param.getYaw() : 0;
             param.setYawControlMode(YawControlMode.ANGULAR_VELOCITY);
-            param.setYaw(Math.toDegrees(Convert.AngleDifferenceSigned(heading, state.getOrientation().getYaw()) * 1.5));
+            param.setYaw(yawController.compute(heading, feedForward));
         }
     }
 
@@ -420,28 +506,22 @@ public class DJI2DroneAdapter implements DroneAdapter {
             return;
         }
 
-        final VirtualStickFlightControlParam param = new VirtualStickFlightControlParam();
-        param.setRollPitchControlMode(RollPitchControlMode.VELOCITY);
-        param.setRollPitchCoordinateSystem(FlightCoordinateSystem.GROUND);
-        param.setVerticalControlMode(VerticalControlMode.VELOCITY);
         final Vector2 horizontal = velocityCommand.velocity.getHorizontal();
         //TODO allow the web to plan missions up to 23 m/s?
         horizontal.magnitude = Math.min(VirtualStickRange.ROLL_PITCH_CONTROL_MAX_VELOCITY, horizontal.magnitude);
-        param.setPitch(horizontal.getY());
-        param.setRoll(horizontal.getX());
-        param.setVerticalThrottle(Math.min(
-                VirtualStickRange.VERTICAL_CONTROL_MAX_VELOCITY,
-                Math.max(VirtualStickRange.VERTICAL_CONTROL_MIN_VELOCITY,
-                        velocityCommand.velocity.getVertical())));
-        final Double heading = velocityCommand.heading;
-        if (heading == null) {
-            param.setYawControlMode(YawControlMode.ANGULAR_VELOCITY);
-            param.setYaw(Math.toDegrees(velocityCommand.velocity.getRotational()));
-        }
-        else {
-            setVirtualStickFlightControlParamYaw(param, heading);
-        }
-        VirtualStickManager.getInstance().sendVirtualStickAdvancedParam(param);
+        virtualStick.set(
+                RollPitchControlMode.VELOCITY,
+                FlightCoordinateSystem.GROUND,
+                VerticalControlMode.VELOCITY,
+                YawControlMode.ANGULAR_VELOCITY,
+                horizontal.getY(),
+                horizontal.getX(),
+                Math.min(
+                        VirtualStickRange.VERTICAL_CONTROL_MAX_VELOCITY,
+                        Math.max(VirtualStickRange.VERTICAL_CONTROL_MIN_VELOCITY,
+                                velocityCommand.velocity.getVertical())),
+                Math.toDegrees(velocityCommand.velocity.getRotational()),
+                velocityCommand.heading);
     }
 
     @Override
@@ -451,70 +531,63 @@ public class DJI2DroneAdapter implements DroneAdapter {
             return;
         }
 
-        final VirtualStickFlightControlParam param = new VirtualStickFlightControlParam();
-        param.setRollPitchControlMode(RollPitchControlMode.ANGLE);
-        param.setRollPitchCoordinateSystem(FlightCoordinateSystem.BODY);
-        param.setVerticalControlMode(VerticalControlMode.VELOCITY);
-        param.setYawControlMode(remoteControllerSticks.heading == null ? YawControlMode.ANGULAR_VELOCITY : YawControlMode.ANGLE);
-        param.setPitch(-remoteControllerSticks.rightStick.y * 30);
-        param.setRoll(remoteControllerSticks.rightStick.x * 30);
-        param.setVerticalThrottle(remoteControllerSticks.leftStick.y * 4.0);
-        final Double heading = remoteControllerSticks.heading;
-        if (heading == null) {
-            param.setYawControlMode(YawControlMode.ANGULAR_VELOCITY);
-            param.setYaw(remoteControllerSticks.leftStick.x * 100);
-        }
-        else {
-            setVirtualStickFlightControlParamYaw(param, heading);
-        }
-        VirtualStickManager.getInstance().sendVirtualStickAdvancedParam(param);
+        virtualStick.set(
+                RollPitchControlMode.ANGLE,
+                FlightCoordinateSystem.BODY,
+                VerticalControlMode.VELOCITY,
+                YawControlMode.ANGULAR_VELOCITY,
+                -remoteControllerSticks.rightStick.y * 30,
+                remoteControllerSticks.rightStick.x * 30,
+                remoteControllerSticks.leftStick.y * 4.0,
+                remoteControllerSticks.heading == null ? remoteControllerSticks.leftStick.x * 100 : 0,
+                remoteControllerSticks.heading);
     }
 
     @Override
     public void startTakeoff(final Command.Finisher finisher) {
-        KeyManager.getInstance().performAction(
+        DronelinkDJI2.getSDK().performAction(
                 KeyTools.createKey(FlightControllerKey.KeyStartTakeoff),
                 DronelinkDJI2.createCompletionCallbackWithParam(finisher));
     }
 
     @Override
     public void startLand(final Command.Finisher finisher) {
-        KeyManager.getInstance().performAction(
+        DronelinkDJI2.getSDK().performAction(
                 KeyTools.createKey(FlightControllerKey.KeyStartAutoLanding),
                 DronelinkDJI2.createCompletionCallbackWithParam(finisher));
     }
 
     @Override
     public void stopLand(final Command.Finisher finisher) {
-        KeyManager.getInstance().performAction(
+        DronelinkDJI2.getSDK().performAction(
                 KeyTools.createKey(FlightControllerKey.KeyStopAutoLanding),
                 DronelinkDJI2.createCompletionCallbackWithParam(finisher));
     }
 
     @Override
     public void startReturnHome(final Command.Finisher finisher) {
-        KeyManager.getInstance().performAction(
+        DronelinkDJI2.getSDK().performAction(
                 KeyTools.createKey(FlightControllerKey.KeyStartGoHome),
                 DronelinkDJI2.createCompletionCallbackWithParam(finisher));
     }
 
     @Override
     public void stopReturnHome(final Command.Finisher finisher) {
-        KeyManager.getInstance().performAction(
+        DronelinkDJI2.getSDK().performAction(
                 KeyTools.createKey(FlightControllerKey.KeyStopGoHome),
                 DronelinkDJI2.createCompletionCallbackWithParam(finisher));
     }
 
     @Override
     public void startCompassCalibration(final Command.Finisher finisher) {
-        KeyManager.getInstance().performAction(
+        DronelinkDJI2.getSDK().performAction(
                 KeyTools.createKey(FlightControllerKey.KeyStartCompassCalibration),
                 DronelinkDJI2.createCompletionCallbackWithParam(finisher));
     }
 
     @Override
     public void stopCompassCalibration(final Command.Finisher finisher) {
-        KeyManager.getInstance().performAction(
+        DronelinkDJI2.getSDK().performAction(
                 KeyTools.createKey(FlightControllerKey.KeyStopCompassCalibration),
                 DronelinkDJI2.createCompletionCallbackWithParam(finisher));
     }
@@ -569,16 +642,20 @@ public class DJI2DroneAdapter implements DroneAdapter {
     }
 
     public void sendResetVelocityCommand() {
-        final VirtualStickFlightControlParam param = new VirtualStickFlightControlParam();
-        param.setRollPitchControlMode(RollPitchControlMode.VELOCITY);
-        param.setRollPitchCoordinateSystem(FlightCoordinateSystem.GROUND);
-        param.setVerticalControlMode(VerticalControlMode.VELOCITY);
-        param.setYawControlMode(YawControlMode.ANGULAR_VELOCITY);
-        param.setPitch(0.0);
-        param.setRoll(0.0);
-        param.setYaw(0.0);
-        param.setVerticalThrottle(0.0);
-        VirtualStickManager.getInstance().sendVirtualStickAdvancedParam(param);
+        virtualStick.reset();
+    }
+
+    public int getVirtualStickRate() {
+        return virtualStick.getRate();
+    }
+
+    //rate (Hz) at which the latest velocity or stick setpoint is sent, clamped to 5-25
+    public void setVirtualStickRate(final int rateHz) {
+        virtualStick.setRate(rateHz);
+    }
+
+    public DJI2VirtualStickTransmitter.Statistics getVirtualStickStatistics() {
+        return virtualStick.getStatistics();
     }
 
     public void sendResetGimbalCommands() {
@@ -612,7 +689,7 @@ public class DJI2DroneAdapter implements DroneAdapter {
 
         if (command instanceof ConnectionFailSafeBehaviorDroneCommand) {
             final FailsafeAction target = DronelinkDJI2.getDroneConnectionFailSafeBehavior(((ConnectionFailSafeBehaviorDroneCommand) command).connectionFailSafeBehavior);
-            Command.conditionallyExecute(target != state.failSafeAction, finished, () -> KeyManager.getInstance().setValue(
+            Command.conditionallyExecute(target != state.failSafeAction, finished, () -> DronelinkDJI2.getSDK().setValue(
                     KeyTools.createKey(FlightControllerKey.KeyFailsafeAction),
                     target,
                     DronelinkDJI2.createCompletionCallback(finished)));
@@ -621,34 +698,34 @@ public class DJI2DroneAdapter implements DroneAdapter {
 
         if (command instanceof HomeLocationDroneCommand) {
             final GeoCoordinate coordinate = ((HomeLocationDroneCommand) command).coordinate;
-            KeyManager.getInstance().setValue(KeyTools.createKey(FlightControllerKey.KeyHomeLocation), DronelinkDJI2.getCoordinate(coordinate), DronelinkDJI2.createCompletionCallback(finished));
+            DronelinkDJI2.getSDK().setValue(KeyTools.createKey(FlightControllerKey.KeyHomeLocation), DronelinkDJI2.getCoordinate(coordinate), DronelinkDJI2.createCompletionCallback(finished));
             return null;
         }
 
         if (command instanceof LowBatteryWarningThresholdDroneCommand) {
             final int target = (int)(((LowBatteryWarningThresholdDroneCommand) command).lowBatteryWarningThreshold * 100);
-            Command.conditionallyExecute(target != state.lowBatteryThreshold, finished, () -> KeyManager.getInstance().setValue(
+            Command.conditionallyExecute(target != state.lowBatteryThreshold, finished, () -> DronelinkDJI2.getSDK().setValue(
                     KeyTools.createKey(FlightControllerKey.KeyLowBatteryWarningThreshold), target, DronelinkDJI2.createCompletionCallback(finished)));
             return null;
         }
 
         if (command instanceof MaxAltitudeDroneCommand) {
             final int target = (int)((MaxAltitudeDroneCommand) command).maxAltitude;
-            Command.conditionallyExecute(state.maxAltitude == null || target != state.maxAltitude, finished, () -> KeyManager.getInstance().setValue(
+            Command.conditionallyExecute(state.maxAltitude == null || target != state.maxAltitude, finished, () -> DronelinkDJI2.getSDK().setValue(
                     KeyTools.createKey(FlightControllerKey.KeyHeightLimit), target, DronelinkDJI2.createCompletionCallback(finished)));
             return null;
         }
 
         if (command instanceof MaxDistanceDroneCommand) {
             final int target = (int)((MaxDistanceDroneCommand) command).maxDistance;
-            Command.conditionallyExecute(state.maxDistance == null || target != state.maxDistance, finished, () -> KeyManager.getInstance().setValue(
+            Command.conditionallyExecute(state.maxDistance == null || target != state.maxDistance, finished, () -> DronelinkDJI2.getSDK().setValue(
                     KeyTools.createKey(FlightControllerKey.KeyDistanceLimit), target, DronelinkDJI2.createCompletionCallback(finished)));
             return null;
         }
 
         if (command instanceof MaxDistanceLimitationDroneCommand) {
             final boolean target = ((MaxDistanceLimitationDroneCommand) command).enabled;
-            Command.conditionallyExecute(target != state.distanceLimitEnabled, finished, () -> KeyManager.getInstance().setValue(
+            Command.conditionallyExecute(target != state.distanceLimitEnabled, finished, () -> DronelinkDJI2.getSDK().setValue(
                     KeyTools.createKey(FlightControllerKey.KeyDistanceLimitEnabled),
                     target,
                     DronelinkDJI2.createCompletionCallback(finished)));
@@ -657,7 +734,7 @@ public class DJI2DroneAdapter implements DroneAdapter {
 
         if (command instanceof ReturnHomeAltitudeDroneCommand) {
             final int target = (int)((ReturnHomeAltitudeDroneCommand) command).returnHomeAltitude;
-            Command.conditionallyExecute(target != state.returnHomeAltitude, finished, () -> KeyManager.getInstance().setValue(
+            Command.conditionallyExecute(target != state.returnHomeAltitude, finished, () -> DronelinkDJI2.getSDK().setValue(
                     KeyTools.createKey(FlightControllerKey.KeyGoHomeHeight), target, DronelinkDJI2.createCompletionCallback(finished)));
             return null;
         }
@@ -669,7 +746,7 @@ public class DJI2DroneAdapter implements DroneAdapter {
 
         if (command instanceof SeriousLowBatteryWarningThresholdDroneCommand) {
             final int target = (int)(((SeriousLowBatteryWarningThresholdDroneCommand) command).seriousLowBatteryWarningThreshold * 100);
-            Command.conditionallyExecute(target != state.seriousLowBatteryThreshold, finished, () -> KeyManager.getInstance().setValue(
+            Command.conditionallyExecute(target != state.seriousLowBatteryThreshold, finished, () -> DronelinkDJI2.getSDK().setValue(
                     KeyTools.createKey(FlightControllerKey.KeySeriousLowBatteryWarningThreshold), target, DronelinkDJI2.createCompletionCallback(finished)));
             return null;
         }
@@ -696,10 +773,10 @@ public class DJI2DroneAdapter implements DroneAdapter {
             final AuxiliaryLightMode target = DronelinkDJI2.getDroneAuxiliaryLightMode(((AuxiliaryLightModeDroneCommand) command).auxiliaryLightMode);
             switch (((AuxiliaryLightModeDroneCommand) command).auxiliaryLightPosition) {
                 case BOTTOM:
-                    KeyManager.getInstance().setValue(KeyTools.createKey(FlightAssistantKey.KeyBottomAuxiliaryLightMode), target, DronelinkDJI2.createCompletionCallback(finished));
+                    DronelinkDJI2.getSDK().setValue(KeyTools.createKey(FlightAssistantKey.KeyBottomAuxiliaryLightMode), target, DronelinkDJI2.createCompletionCallback(finished));
                     return null;
                 case TOP:
-                    KeyManager.getInstance().setValue(KeyTools.createKey(FlightAssistantKey.KeyTopAuxiliaryLightMode), target, DronelinkDJI2.createCompletionCallback(finished));
+                    DronelinkDJI2.getSDK().setValue(KeyTools.createKey(FlightAssistantKey.KeyTopAuxiliaryLightMode), target, DronelinkDJI2.createCompletionCallback(finished));
                     return null;
                 case UNKNOWN:
                     break;
@@ -791,7 +868,7 @@ public class DJI2DroneAdapter implements DroneAdapter {
 
         if (command instanceof LandingProtectionDroneCommand) {
             final boolean target = ((LandingProtectionDroneCommand) command).enabled;
-            Command.conditionallyExecute(target != state.landingProtectionEnabled, finished, () -> KeyManager.getInstance().setValue(
+            Command.conditionallyExecute(target != state.landingProtectionEnabled, finished, () -> DronelinkDJI2.getSDK().setValue(
                     KeyTools.createKey(FlightAssistantKey.KeyLandingProtectionEnabled),
                     target,
                     DronelinkDJI2.createCompletionCallback(finished)));
@@ -800,7 +877,7 @@ public class DJI2DroneAdapter implements DroneAdapter {
 
         if (command instanceof PrecisionLandingDroneCommand) {
             final boolean target = ((PrecisionLandingDroneCommand) command).enabled;
-            Command.conditionallyExecute(target != state.precisionLandingEnabled, finished, () -> KeyManager.getInstance().setValue(
+            Command.conditionallyExecute(target != state.precisionLandingEnabled, finished, () -> DronelinkDJI2.getSDK().setValue(
                     KeyTools.createKey(FlightAssistantKey.KeyPrecisionLandingEnabled),
                     target,
                     DronelinkDJI2.createCompletionCallback(finished)));
@@ -813,7 +890,7 @@ public class DJI2DroneAdapter implements DroneAdapter {
             if (spec == null) {
                 return new CommandError(context.getString(R.string.MissionDisengageReason_command_value_invalid));
             }
-            Command.conditionallyExecute(target != spec.returnHomeObstacleAvoidanceEnabled, finished, () -> KeyManager.getInstance().setValue(
+            Command.conditionallyExecute(target != spec.returnHomeObstacleAvoidanceEnabled, finished, () -> DronelinkDJI2.getSDK().setValue(
                     KeyTools.createKey(FlightAssistantKey.KeyRTHObstacleAvoidanceEnabled),
                     target,
                     DronelinkDJI2.createCompletionCallback(finished)));
@@ -827,7 +904,7 @@ public class DJI2DroneAdapter implements DroneAdapter {
 
         if (command instanceof VisionAssistedPositioningDroneCommand) {
             final boolean target = ((VisionAssistedPositioningDroneCommand) command).enabled;
-            Command.conditionallyExecute(target != state.visionPositioningEnabled, finished, () -> KeyManager.getInstance().setValue(
+            Command.conditionallyExecute(target != state.visionPositioningEnabled, finished, () -> DronelinkDJI2.getSDK().setValue(
                     KeyTools.createKey(FlightAssistantKey.KeyVisionPositioningEnabled),
                     target,
                     DronelinkDJI2.createCompletionCallback(finished)));
@@ -841,7 +918,7 @@ public class DJI2DroneAdapter implements DroneAdapter {
         if (command instanceof OcuSyncChannelDroneCommand) {
             //TODO
 //            final int target = ((OcuSyncChannelDroneCommand) command).ocuSyncChannel;
-//            Command.conditionallyExecute(state.ocuSyncChannel == null || target != state.ocuSyncChannel, finished, () -> KeyManager.getInstance().setValue(
+//            Command.conditionallyExecute(state.ocuSyncChannel == null || target != state.ocuSyncChannel, finished, () -> DronelinkDJI2.getSDK().setValue(
 //                    KeyTools.createKey(AirLinkKey.KeyChannelNumber),
 //                    target,
 //                    DronelinkDJI2.createCompletionCallback(finished)));
@@ -850,7 +927,7 @@ public class DJI2DroneAdapter implements DroneAdapter {
 
         if (command instanceof OcuSyncChannelSelectionModeDroneCommand) {
             final ChannelSelectionMode target = DronelinkDJI2.getOcuSyncChannelSelectionMode(((OcuSyncChannelSelectionModeDroneCommand) command).ocuSyncChannelSelectionMode);
-            Command.conditionallyExecute(target != state.ocuSyncChannelSelectionMode, finished, () -> KeyManager.getInstance().setValue(
+            Command.conditionallyExecute(target != state.ocuSyncChannelSelectionMode, finished, () -> DronelinkDJI2.getSDK().setValue(
                     KeyTools.createKey(AirLinkKey.KeyChannelSelectionMode),
                     target,
                     DronelinkDJI2.createCompletionCallback(finished)));
@@ -859,7 +936,7 @@ public class DJI2DroneAdapter implements DroneAdapter {
 
         if (command instanceof OcuSyncFrequencyBandDroneCommand) {
             final DroneOcuSyncFrequencyBand target = ((OcuSyncFrequencyBandDroneCommand) command).ocuSyncFrequencyBand;
-            Command.conditionallyExecute(target != state.getOcuSyncFrequencyBand(), finished, () -> KeyManager.getInstance().setValue(
+            Command.conditionallyExecute(target != state.getOcuSyncFrequencyBand(), finished, () -> DronelinkDJI2.getSDK().setValue(
                     KeyTools.createKey(AirLinkKey.KeyFrequencyBand),
                     DronelinkDJI2.getOcuSyncFrequencyBand(target),
                     DronelinkDJI2.createCompletionCallback(finished)));
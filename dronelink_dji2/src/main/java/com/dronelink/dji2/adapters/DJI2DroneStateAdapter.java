@@ -21,14 +21,21 @@ import com.dronelink.core.kernel.core.enums.DroneAuxiliaryLightMode;
 import com.dronelink.core.kernel.core.enums.DroneLightbridgeFrequencyBand;
 import com.dronelink.core.kernel.core.enums.DroneObstacleAvoidanceDirection;
 import com.dronelink.core.kernel.core.enums.DroneOcuSyncFrequencyBand;
+import com.dronelink.dji2.DJI2ControlLoop;
+import com.dronelink.dji2.DJI2ExecutorPool;
 import com.dronelink.dji2.DJI2ListenerGroup;
+import com.dronelink.dji2.DJI2StatusMessages;
 import com.dronelink.dji2.DronelinkDJI2;
 import com.dronelink.dji2.R;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
 import dji.sdk.keyvalue.key.AirLinkKey;
 import dji.sdk.keyvalue.key.FlightAssistantKey;
@@ -50,6 +57,7 @@ import dji.sdk.keyvalue.value.flightcontroller.FlightMode;
 import dji.sdk.keyvalue.value.flightcontroller.GPSSignalLevel;
 import dji.sdk.keyvalue.value.flightcontroller.GoHomeState;
 import dji.sdk.keyvalue.value.flightcontroller.WindWarning;
+import dji.v5.common.callback.CommonCallbacks;
 import dji.v5.manager.aircraft.perception.PerceptionManager;
 import dji.v5.manager.aircraft.perception.data.ObstacleData;
 import dji.v5.manager.aircraft.perception.data.PerceptionInfo;
@@ -59,15 +67,48 @@ import dji.v5.manager.aircraft.waypoint3.WaypointMissionExecuteStateListener;
 import dji.v5.manager.aircraft.waypoint3.WaypointMissionManager;
 import dji.v5.manager.aircraft.waypoint3.model.WaypointMissionExecuteState;
 import dji.v5.manager.diagnostic.DJIDeviceHealthInfo;
+import dji.v5.manager.diagnostic.DJIDeviceStatus;
 import dji.v5.manager.diagnostic.DeviceHealthManager;
 import dji.v5.manager.diagnostic.DeviceStatusManager;
 
 public class DJI2DroneStateAdapter implements DroneStateAdapter, PerceptionInformationListener, ObstacleDataListener, WaypointMissionExecuteStateListener {
-    private final DJI2ListenerGroup listeners = new DJI2ListenerGroup();
+    //device health, cameras, RTK and live streaming have no change notifications, so they are sampled at this rate
+    private static final int StatusSampleRateHz = 4;
+    private static final int StatusInputCount = 15;
+
+    //status message inputs and results, only evaluated by the live adapter (while holding its lock)
+    private static class StatusCache {
+        Object[] inputs = new Object[StatusInputCount];
+        Object[] candidateInputs = new Object[StatusInputCount];
+        List<Message> stateMessages;
+        List<DJIDeviceHealthInfo> deviceHealthInfos;
+        List<Message> deviceHealthMessages = new ArrayList<>();
+        List<Message> componentMessages = new ArrayList<>();
+    }
+
+    private final DJI2ListenerGroup listeners;
+    //the update batch a snapshot was copied from (0 for the live adapter): snapshots with the same version hold the same frame
+    public final long version;
+    //incremented once per update batch, under the lock
+    private volatile long updateVersion = 0;
+    private volatile DJI2DroneStateAdapter snapshot;
+    private DatedValue<DroneStateAdapter> snapshotDatedValue;
+    //null for snapshots
+    private final StatusCache statusCache;
+    private DJI2ControlLoop statusSampler;
+    //published by the live adapter, read by its snapshots
+    private final DJI2StatusMessages statusMessages;
+    //changes queued while holding the lock, delivered in order once it is released (null for snapshots)
+    private final Queue<DJI2StatusMessages.Change> statusChanges;
+    private final Object statusDeliveryLock = new Object();
     private final Context context;
     private final DJI2DroneAdapter drone;
     private Date updated = new Date();
     public FlightMode flightMode;
+    //when the disengage inputs last changed value (not when they last reported)
+    private volatile long flightModeChangedMillis;
+    private volatile long outOfDistanceLimitChangedMillis;
+    private volatile long gpsSignalLevelChangedMillis;
     private String flightModeString;
     private Integer flightTime;
     private boolean isFlying = false;
@@ -119,53 +160,86 @@ public class DJI2DroneStateAdapter implements DroneStateAdapter, PerceptionInfor
     public DJI2DroneStateAdapter(final Context context, final DJI2DroneAdapter drone) {
         this.context = context;
         this.drone = drone;
-        listeners.init(KeyTools.createKey(FlightControllerKey.KeyFlightMode), (oldValue, newValue) -> flightMode = newValue);
+        this.statusCache = new StatusCache();
+        this.statusMessages = new DJI2StatusMessages();
+        this.statusChanges = new ConcurrentLinkedQueue<>();
+        this.version = 0;
+        //key callbacks write under this lock so snapshots always see a consistent frame
+        //only the status message inputs re-evaluate the messages, and their subscribers are notified after the lock is released
+        this.listeners = new DJI2ListenerGroup(this, this::onUpdated, this::deliverStatusChanges);
+        listeners.init(KeyTools.createKey(FlightControllerKey.KeyFlightMode), statusInput((oldValue, newValue) -> {
+            if (newValue != flightMode) {
+                flightModeChangedMillis = System.currentTimeMillis();
+            }
+            flightMode = newValue;
+        }));
         listeners.init(KeyTools.createKey(FlightControllerKey.KeyFlightModeString), (oldValue, newValue) -> flightModeString = newValue);
         listeners.init(KeyTools.createKey(FlightControllerKey.KeyFlightTimeInSeconds), (oldValue, newValue) -> {
             updated = new Date();
             flightTime = newValue;
         });
         listeners.init(KeyTools.createKey(FlightControllerKey.KeyIsFlying), (oldValue, newValue) -> isFlying = newValue != null && newValue);
-        listeners.init(KeyTools.createKey(FlightControllerKey.KeyAircraftLocation3D), (oldValue, newValue) -> {
+        listeners.init(KeyTools.createKey(FlightControllerKey.KeyAircraftLocation3D), DJI2ListenerGroup.Policy.COALESCE, (oldValue, newValue) -> {
+            //only its availability is a status message input
+            final boolean available = coordinate != null;
             coordinate = newValue;
             if (newValue != null) {
                 if (!isFlying) {
                     lastKnownGroundCoordinate = newValue;
                 }
             }
+
+            if (available != (newValue != null)) {
+                evaluateStatusMessages(null, null);
+            }
         });
-        listeners.init(KeyTools.createKey(FlightControllerKey.KeyIsHomeLocationSet), (oldValue, newValue) -> isHomeLocationSet = newValue != null && newValue);
+        listeners.init(KeyTools.createKey(FlightControllerKey.KeyIsHomeLocationSet), statusInput((oldValue, newValue) -> isHomeLocationSet = newValue != null && newValue));
         listeners.init(KeyTools.createKey(FlightControllerKey.KeyHomeLocation), (oldValue, newValue) -> homeCoordinate = newValue);
-        listeners.init(KeyTools.createKey(FlightControllerKey.KeyGoHomeState), (oldValue, newValue) -> fcGoHomeState = newValue);
-        listeners.init(KeyTools.createKey(FlightControllerKey.KeyGoHomeStatus), (oldValue, newValue) -> goHomeState = newValue);
+        listeners.init(KeyTools.createKey(FlightControllerKey.KeyGoHomeState), statusInput((oldValue, newValue) -> fcGoHomeState = newValue));
+        listeners.init(KeyTools.createKey(FlightControllerKey.KeyGoHomeStatus), statusInput((oldValue, newValue) -> goHomeState = newValue));
         listeners.init(KeyTools.createKey(FlightControllerKey.KeyIsCompassCalibrating), (oldValue, newValue) -> isCompassCalibrating = newValue != null && newValue);
-        listeners.init(KeyTools.createKey(FlightControllerKey.KeyCompassState), (oldValue, newValue) -> compassStates = newValue);
+        listeners.init(KeyTools.createKey(FlightControllerKey.KeyCompassState), statusInput((oldValue, newValue) -> compassStates = newValue));
         listeners.init(KeyTools.createKey(FlightControllerKey.KeyCompassCalibrationStatus), (oldValue, newValue) -> compassCalibrationState = newValue);
-        listeners.init(KeyTools.createKey(FlightControllerKey.KeyAircraftVelocity), (oldValue, newValue) -> velocity = newValue == null ? new Velocity3D() : newValue);
+        listeners.init(KeyTools.createKey(FlightControllerKey.KeyAircraftVelocity), DJI2ListenerGroup.Policy.COALESCE, (oldValue, newValue) -> velocity = newValue == null ? new Velocity3D() : newValue);
         listeners.init(KeyTools.createKey(FlightControllerKey.KeyAltitude), (oldValue, newValue) -> altitude = newValue == null ? 0 : newValue);
         listeners.init(KeyTools.createKey(FlightControllerKey.KeyUltrasonicHeight), (oldValue, newValue) -> ultrasonicAltitude = newValue);
         listeners.init(KeyTools.createKey(FlightControllerKey.KeyGoHomeHeight), (oldValue, newValue) -> returnHomeAltitude = newValue);
         listeners.init(KeyTools.createKey(FlightControllerKey.KeyHeightLimit), (oldValue, newValue) -> maxAltitude = newValue);
         listeners.init(KeyTools.createKey(FlightControllerKey.KeyDistanceLimit), (oldValue, newValue) -> maxDistance = newValue);
         listeners.init(KeyTools.createKey(FlightControllerKey.KeyDistanceLimitEnabled), (oldValue, newValue) -> distanceLimitEnabled = newValue != null && newValue);
-        listeners.init(KeyTools.createKey(FlightControllerKey.KeyIsNearDistanceLimit), (oldValue, newValue) -> isNearDistanceLimit = newValue != null && newValue);
-        listeners.init(KeyTools.createKey(FlightControllerKey.KeyOutOfDistanceLimit), (oldValue, newValue) -> isOutOfDistanceLimit = newValue != null && newValue);
-        listeners.init(KeyTools.createKey(FlightControllerKey.KeyIsNearHeightLimit), (oldValue, newValue) -> isNearHeightLimit = newValue != null && newValue);
-        listeners.init(KeyTools.createKey(FlightControllerKey.KeyIsNearHeightLimit), (oldValue, newValue) -> isNearHeightLimit = newValue != null && newValue);
+        listeners.init(KeyTools.createKey(FlightControllerKey.KeyIsNearDistanceLimit), statusInput((oldValue, newValue) -> isNearDistanceLimit = newValue != null && newValue));
+        listeners.init(KeyTools.createKey(FlightControllerKey.KeyOutOfDistanceLimit), statusInput((oldValue, newValue) -> {
+            final boolean isOutOfDistanceLimit = newValue != null && newValue;
+            if (isOutOfDistanceLimit != this.isOutOfDistanceLimit) {
+                outOfDistanceLimitChangedMillis = System.currentTimeMillis();
+            }
+            this.isOutOfDistanceLimit = isOutOfDistanceLimit;
+        }));
+        listeners.init(KeyTools.createKey(FlightControllerKey.KeyIsNearHeightLimit), statusInput((oldValue, newValue) -> isNearHeightLimit = newValue != null && newValue));
+        listeners.init(KeyTools.createKey(FlightControllerKey.KeyIsNearHeightLimit), statusInput((oldValue, newValue) -> isNearHeightLimit = newValue != null && newValue));
         listeners.init(KeyTools.createKey(FlightControllerKey.KeyBatteryPowerPercent), (oldValue, newValue) -> batterPercent = newValue);
         listeners.init(KeyTools.createKey(FlightControllerKey.KeyLowBatteryWarningThreshold), (oldValue, newValue) -> lowBatteryThreshold = newValue);
         listeners.init(KeyTools.createKey(FlightControllerKey.KeySeriousLowBatteryWarningThreshold), (oldValue, newValue) -> seriousLowBatteryThreshold = newValue);
-        listeners.init(KeyTools.createKey(FlightControllerKey.KeyIsLowBatteryWarning), (oldValue, newValue) -> isLowBatteryWarning = newValue != null && newValue);
-        listeners.init(KeyTools.createKey(FlightControllerKey.KeyIsSeriousLowBatteryWarning), (oldValue, newValue) -> isSeriousLowBatteryWarning = newValue != null && newValue);
+        listeners.init(KeyTools.createKey(FlightControllerKey.KeyIsLowBatteryWarning), statusInput((oldValue, newValue) -> isLowBatteryWarning = newValue != null && newValue));
+        listeners.init(KeyTools.createKey(FlightControllerKey.KeyIsSeriousLowBatteryWarning), statusInput((oldValue, newValue) -> isSeriousLowBatteryWarning = newValue != null && newValue));
         listeners.init(KeyTools.createKey(FlightControllerKey.KeyRemainingFlightTime), (oldValue, newValue) -> flightTimeRemaining = newValue);
-        listeners.init(KeyTools.createKey(FlightControllerKey.KeyAircraftAttitude), (oldValue, newValue) -> {
+        //PASS_THROUGH: the yaw controller measures the attitude rate from every sample as it arrives
+        listeners.init(KeyTools.createKey(FlightControllerKey.KeyAircraftAttitude), DJI2ListenerGroup.Policy.PASS_THROUGH, (oldValue, newValue) -> {
             updated = new Date();
             attitude = newValue;
+            if (newValue != null) {
+                drone.getYawController().onAttitude(newValue.getYaw());
+            }
         });
         listeners.init(KeyTools.createKey(FlightControllerKey.KeyGPSSatelliteCount), (oldValue, newValue) -> gpsSatellites = newValue);
-        listeners.init(KeyTools.createKey(FlightControllerKey.KeyGPSSignalLevel), (oldValue, newValue) -> gpsSignalLevel = newValue);
-        listeners.init(KeyTools.createKey(FlightControllerKey.KeyWindWarning), (oldValue, newValue) -> windWarning = newValue);
-        listeners.init(KeyTools.createKey(FlightControllerKey.KeyAirSenseSystemInformation), (oldValue, newValue) -> airSenseSystemInformation = newValue);
+        listeners.init(KeyTools.createKey(FlightControllerKey.KeyGPSSignalLevel), (oldValue, newValue) -> {
+            if (newValue != gpsSignalLevel) {
+                gpsSignalLevelChangedMillis = System.currentTimeMillis();
+            }
+            gpsSignalLevel = newValue;
+        });
+        listeners.init(KeyTools.createKey(FlightControllerKey.KeyWindWarning), statusInput((oldValue, newValue) -> windWarning = newValue));
+        listeners.init(KeyTools.createKey(FlightControllerKey.KeyAirSenseSystemInformation), statusInput((oldValue, newValue) -> airSenseSystemInformation = newValue));
         listeners.init(KeyTools.createKey(FlightControllerKey.KeyFailsafeAction), (oldValue, newValue) -> failSafeAction = newValue);
         listeners.init(KeyTools.createKey(FlightAssistantKey.KeyLandingProtectionEnabled), (oldValue, newValue) -> landingProtectionEnabled = newValue != null && newValue);
         listeners.init(KeyTools.createKey(FlightAssistantKey.KeyPrecisionLandingEnabled), (oldValue, newValue) -> precisionLandingEnabled = newValue != null && newValue);
@@ -183,19 +257,269 @@ public class DJI2DroneStateAdapter implements DroneStateAdapter, PerceptionInfor
         WaypointMissionManager.getInstance().addWaypointMissionExecuteStateListener(this);
     }
 
+    //called by the drone adapter once its components exist, samples on the session pool until closed
+    synchronized void startStatusSampler(final DJI2ExecutorPool.Lease executors) {
+        if (statusSampler != null) {
+            return;
+        }
+
+        statusSampler = new DJI2ControlLoop("DJI2 status messages", executors, StatusSampleRateHz, () -> {
+            //sampled outside the lock, the components have their own
+            final List<DJIDeviceHealthInfo> deviceHealthInfos = DeviceHealthManager.getInstance().getCurrentDJIDeviceHealthInfos();
+            final List<Message> componentMessages = drone.getStatusMessages();
+            synchronized (this) {
+                evaluateStatusMessages(deviceHealthInfos, componentMessages);
+            }
+            deliverStatusChanges();
+        });
+        statusSampler.start();
+    }
+
+    //detached, immutable copy of the source (must be called while holding the source lock)
+    //the other references are replaced on update rather than modified, so sharing them with the source is safe
+    private DJI2DroneStateAdapter(final DJI2DroneStateAdapter source, final long version) {
+        this.listeners = null;
+        this.version = version;
+        this.context = source.context;
+        this.drone = source.drone;
+        this.statusCache = null;
+        this.statusMessages = source.statusMessages;
+        this.statusChanges = null;
+        this.updated = source.updated;
+        this.flightMode = source.flightMode;
+        this.flightModeChangedMillis = source.flightModeChangedMillis;
+        this.outOfDistanceLimitChangedMillis = source.outOfDistanceLimitChangedMillis;
+        this.gpsSignalLevelChangedMillis = source.gpsSignalLevelChangedMillis;
+        this.flightModeString = source.flightModeString;
+        this.flightTime = source.flightTime;
+        this.isFlying = source.isFlying;
+        this.coordinate = source.coordinate;
+        this.isHomeLocationSet = source.isHomeLocationSet;
+        this.homeCoordinate = source.homeCoordinate;
+        this.fcGoHomeState = source.fcGoHomeState;
+        this.goHomeState = source.goHomeState;
+        this.lastKnownGroundCoordinate = source.lastKnownGroundCoordinate;
+        this.isCompassCalibrating = source.isCompassCalibrating;
+        //the list comes from the SDK, which gives no guarantee it is not reused
+        this.compassStates = source.compassStates == null ? null : Collections.unmodifiableList(new ArrayList<>(source.compassStates));
+        this.compassCalibrationState = source.compassCalibrationState;
+        this.velocity = source.velocity;
+        this.altitude = source.altitude;
+        this.ultrasonicAltitude = source.ultrasonicAltitude;
+        this.returnHomeAltitude = source.returnHomeAltitude;
+        this.maxAltitude = source.maxAltitude;
+        this.maxDistance = source.maxDistance;
+        this.distanceLimitEnabled = source.distanceLimitEnabled;
+        this.isNearDistanceLimit = source.isNearDistanceLimit;
+        this.isOutOfDistanceLimit = source.isOutOfDistanceLimit;
+        this.isNearHeightLimit = source.isNearHeightLimit;
+        this.batterPercent = source.batterPercent;
+        this.lowBatteryThreshold = source.lowBatteryThreshold;
+        this.seriousLowBatteryThreshold = source.seriousLowBatteryThreshold;
+        this.isLowBatteryWarning = source.isLowBatteryWarning;
+        this.isSeriousLowBatteryWarning = source.isSeriousLowBatteryWarning;
+        this.flightTimeRemaining = source.flightTimeRemaining;
+        this.attitude = source.attitude;
+        this.gpsSatellites = source.gpsSatellites;
+        this.gpsSignalLevel = source.gpsSignalLevel;
+        this.uplinkQuality = source.uplinkQuality;
+        this.downlinkQuality = source.downlinkQuality;
+        this.ocuSyncChannel = source.ocuSyncChannel;
+        this.ocuSyncChannelSelectionMode = source.ocuSyncChannelSelectionMode;
+        this.auxiliaryLightModeBottom = source.auxiliaryLightModeBottom;
+        this.ocuSyncFrequencyBand = source.ocuSyncFrequencyBand;
+        this.windWarning = source.windWarning;
+        this.airSenseSystemInformation = source.airSenseSystemInformation;
+        this.failSafeAction = source.failSafeAction;
+        this.obstacleData = source.obstacleData;
+        this.obstacleAvoidanceSpecification = source.obstacleAvoidanceSpecification;
+        this.landingProtectionEnabled = source.landingProtectionEnabled;
+        this.precisionLandingEnabled = source.precisionLandingEnabled;
+        this.returnHomeObstacleAvoidanceEnabled = source.returnHomeObstacleAvoidanceEnabled;
+        this.visionPositioningEnabled = source.visionPositioningEnabled;
+        this.waypointMissionExecuteState = source.waypointMissionExecuteState;
+        this.snapshotDatedValue = isFlying ? new DatedValue<>(this, updated) : null;
+    }
+
     public void close() {
+        synchronized (this) {
+            if (statusSampler != null) {
+                statusSampler.close();
+            }
+        }
         listeners.cancelAll();
         PerceptionManager.getInstance().removePerceptionInformationListener(this);
         PerceptionManager.getInstance().removeObstacleDataListener(this);
         WaypointMissionManager.getInstance().removeWaypointMissionExecuteStateListener(this);
     }
 
+    public int revalidateListeners(final long reportedBeforeMillis, final long sinceMillis) {
+        return listeners == null ? 0 : listeners.revalidate(reportedBeforeMillis, sinceMillis);
+    }
+
+    public List<DJI2ListenerGroup.KeyStatistics> getListenerStatistics() {
+        return listeners == null ? new ArrayList<>() : listeners.getStatistics();
+    }
+
     public DatedValue<DroneStateAdapter> asDatedValue() {
-        return new DatedValue<>(this, isFlying ? updated : new Date());
+        final DJI2DroneStateAdapter snapshot = getSnapshot();
+        final DatedValue<DroneStateAdapter> datedValue = snapshot.snapshotDatedValue;
+        return datedValue == null ? new DatedValue<>(snapshot, new Date()) : datedValue;
     }
 
+    //the latest telemetry frame, copied on the first read after an update batch (reads in between share the copy)
+    public DJI2DroneStateAdapter getSnapshot() {
+        if (listeners == null) {
+            return this;
+        }
+
+        final DJI2DroneStateAdapter snapshot = this.snapshot;
+        if (snapshot != null && snapshot.version == updateVersion) {
+            return snapshot;
+        }
+
+        synchronized (this) {
+            if (this.snapshot == null || this.snapshot.version != updateVersion) {
+                this.snapshot = new DJI2DroneStateAdapter(this, updateVersion);
+            }
+            return this.snapshot;
+        }
+    }
+
+    //the messages last published by the live adapter, evaluating them is left to the status input updates and the sampler
     @Override
     public List<Message> getStatusMessages() {
+        return statusMessages.get();
+    }
+
+    public void addStatusMessagesListener(final DJI2StatusMessages.Listener listener) {
+        statusMessages.addListener(listener);
+    }
+
+    public void removeStatusMessagesListener(final DJI2StatusMessages.Listener listener) {
+        statusMessages.removeListener(listener);
+    }
+
+    //called while holding the lock, after every key update
+    private void onUpdated() {
+        updateVersion++;
+    }
+
+    //wraps the callback of a status message input key, so the messages are only re-evaluated when an input changes
+    private <T> CommonCallbacks.KeyListener<T> statusInput(final CommonCallbacks.KeyListener<T> callback) {
+        return (oldValue, newValue) -> {
+            callback.onValueChange(oldValue, newValue);
+            evaluateStatusMessages(null, null);
+        };
+    }
+
+    //delivers the queued changes in order, must not hold the lock (the subscribers may call back into the adapter)
+    private void deliverStatusChanges() {
+        if (statusChanges.isEmpty()) {
+            return;
+        }
+
+        synchronized (statusDeliveryLock) {
+            DJI2StatusMessages.Change change;
+            while ((change = statusChanges.poll()) != null) {
+                statusMessages.deliver(change);
+            }
+        }
+    }
+
+    //live adapter only, must hold the lock, changes are queued for deliverStatusChanges
+    //componentMessages (with deviceHealthInfos) is only provided by the sampler, since those sources have no change notifications
+    private void evaluateStatusMessages(final List<DJIDeviceHealthInfo> deviceHealthInfos, final List<Message> componentMessages) {
+        final StatusCache cache = statusCache;
+        boolean changed = false;
+
+        final Object[] inputs = cache.candidateInputs;
+        inputs[0] = flightMode;
+        inputs[1] = fcGoHomeState;
+        inputs[2] = goHomeState;
+        inputs[3] = isSeriousLowBatteryWarning;
+        inputs[4] = isLowBatteryWarning;
+        inputs[5] = isOutOfDistanceLimit;
+        inputs[6] = isNearDistanceLimit;
+        inputs[7] = isNearHeightLimit;
+        inputs[8] = waypointMissionExecuteState;
+        inputs[9] = coordinate == null;
+        inputs[10] = isHomeLocationSet;
+        inputs[11] = windWarning;
+        inputs[12] = compassStates;
+        inputs[13] = airSenseSystemInformation;
+        inputs[14] = DeviceStatusManager.getInstance().getCurrentDJIDeviceStatus();
+        if (cache.stateMessages == null || !Arrays.equals(inputs, cache.inputs)) {
+            cache.candidateInputs = cache.inputs;
+            cache.inputs = inputs;
+            cache.stateMessages = createStateStatusMessages((DJIDeviceStatus)inputs[14]);
+            changed = true;
+        }
+
+        if (componentMessages != null) {
+            if (!isSameDeviceHealthInfos(deviceHealthInfos, cache.deviceHealthInfos)) {
+                //create a copy since DJI seems to modify this list while we are iterating
+                cache.deviceHealthInfos = deviceHealthInfos == null ? new ArrayList<>() : new ArrayList<>(deviceHealthInfos);
+                final List<Message> healthStatusMessages = cache.deviceHealthInfos.isEmpty() ? null : DronelinkDJI2.getMessages(cache.deviceHealthInfos);
+                cache.deviceHealthMessages = healthStatusMessages == null ? new ArrayList<>() : healthStatusMessages;
+                changed = true;
+            }
+
+            if (!DJI2StatusMessages.equal(componentMessages, cache.componentMessages)) {
+                cache.componentMessages = componentMessages;
+                changed = true;
+            }
+        }
+
+        if (!changed) {
+            return;
+        }
+
+        final List<Message> messages;
+        if (flightMode == null) {
+            messages = cache.stateMessages;
+        }
+        else {
+            messages = new ArrayList<>(cache.stateMessages.size() + cache.deviceHealthMessages.size() + cache.componentMessages.size());
+            messages.addAll(cache.stateMessages);
+            messages.addAll(cache.deviceHealthMessages);
+            messages.addAll(cache.componentMessages);
+        }
+        final DJI2StatusMessages.Change change = statusMessages.update(messages);
+        if (change != null) {
+            statusChanges.add(change);
+        }
+    }
+
+    private static boolean isSameDeviceHealthInfos(final List<DJIDeviceHealthInfo> current, final List<DJIDeviceHealthInfo> previous) {
+        if (previous == null) {
+            return false;
+        }
+
+        if (current == null) {
+            return previous.isEmpty();
+        }
+
+        try {
+            if (current.size() != previous.size()) {
+                return false;
+            }
+
+            for (int i = 0; i < previous.size(); i++) {
+                if (current.get(i) != previous.get(i)) {
+                    return false;
+                }
+            }
+        }
+        catch (final IndexOutOfBoundsException e) {
+            //DJI modified the list while comparing
+            return false;
+        }
+
+        return true;
+    }
+
+    private List<Message> createStateStatusMessages(final DJIDeviceStatus deviceStatus) {
         final List<Message> messages = new ArrayList<>();
 
         if (flightMode == null) {
@@ -271,23 +595,24 @@ public class DJI2DroneStateAdapter implements DroneStateAdapter, PerceptionInfor
             messages.addAll(airSenseSystemInformationMessages);
         }
 
-        final Message deviceStatusMessage = DronelinkDJI2.getMessage(DeviceStatusManager.getInstance().getCurrentDJIDeviceStatus());
+        final Message deviceStatusMessage = DronelinkDJI2.getMessage(deviceStatus);
         if (deviceStatusMessage != null) {
             messages.add(deviceStatusMessage);
         }
 
-        final List<DJIDeviceHealthInfo> deviceHealthInfos = DeviceHealthManager.getInstance().getCurrentDJIDeviceHealthInfos();
-        if (deviceHealthInfos != null && !deviceHealthInfos.isEmpty()) {
-            //create a copy since DJI seems to modify this list while we are iterating
-            final List<Message> healthStatusMessages = DronelinkDJI2.getMessages(new ArrayList<>(deviceHealthInfos));
-            if (healthStatusMessages != null) {
-                messages.addAll(healthStatusMessages);
-            }
-        }
+        return messages;
+    }
 
-        messages.addAll(drone.getStatusMessages());
+    public long getFlightModeChangedMillis() {
+        return flightModeChangedMillis;
+    }
 
-        return messages;
+    public long getOutOfDistanceLimitChangedMillis() {
+        return outOfDistanceLimitChangedMillis;
+    }
+
+    public long getGPSSignalLevelChangedMillis() {
+        return gpsSignalLevelChangedMillis;
     }
 
     @Override
@@ -518,17 +843,24 @@ public class DJI2DroneStateAdapter implements DroneStateAdapter, PerceptionInfor
     }
 
     @Override
-    public void onUpdate(final ObstacleData obstacleData) {
+    public synchronized void onUpdate(final ObstacleData obstacleData) {
         this.obstacleData = obstacleData;
+        onUpdated();
     }
 
     @Override
     public void onMissionStateUpdate(final WaypointMissionExecuteState missionState) {
-        this.waypointMissionExecuteState = missionState;
+        synchronized (this) {
+            this.waypointMissionExecuteState = missionState;
+            onUpdated();
+            evaluateStatusMessages(null, null);
+        }
+        deliverStatusChanges();
     }
 
     @Override
-    public void onUpdate(@NonNull PerceptionInfo information) {
+    public synchronized void onUpdate(@NonNull PerceptionInfo information) {
+        onUpdated();
         obstacleAvoidanceSpecification = new DroneObstacleAvoidanceSpecification(
                 DronelinkDJI2.getDroneObstacleAvoidanceMode(information.getObstacleAvoidanceType()),
                 new HashMap<DroneObstacleAvoidanceDirection, Boolean>() {{
@@ -25,39 +25,58 @@ import com.dronelink.core.kernel.command.gimbal.GimbalCommand;
 import com.dronelink.core.kernel.command.gimbal.ModeGimbalCommand;
 import com.dronelink.core.kernel.command.gimbal.OrientationGimbalCommand;
 import com.dronelink.core.kernel.command.gimbal.VelocityGimbalCommand;
+import com.dronelink.core.kernel.core.Orientation3;
 import com.dronelink.core.kernel.core.Orientation3Optional;
 import com.dronelink.core.kernel.core.enums.GimbalMode;
+import com.dronelink.dji2.DJI2CapabilityCache;
 import com.dronelink.dji2.DJI2ListenerGroup;
 import com.dronelink.dji2.DronelinkDJI2;
 import com.dronelink.dji2.R;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.concurrent.ExecutionException;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
 
+import dji.sdk.keyvalue.key.CameraKey;
 import dji.sdk.keyvalue.key.DJIActionKeyInfo;
 import dji.sdk.keyvalue.key.DJIKey;
 import dji.sdk.keyvalue.key.DJIKeyInfo;
 import dji.sdk.keyvalue.key.GimbalKey;
 import dji.sdk.keyvalue.key.KeyTools;
+import dji.sdk.keyvalue.value.camera.CameraType;
 import dji.sdk.keyvalue.value.common.ComponentIndexType;
 import dji.sdk.keyvalue.value.common.EmptyMsg;
 import dji.sdk.keyvalue.value.gimbal.GimbalAngleRotation;
 import dji.sdk.keyvalue.value.gimbal.GimbalAngleRotationMode;
-import dji.sdk.keyvalue.value.gimbal.GimbalAttitudeRange;
 import dji.sdk.keyvalue.value.gimbal.GimbalResetType;
 import dji.sdk.keyvalue.value.gimbal.GimbalSpeedRotation;
 import dji.sdk.keyvalue.value.product.ProductType;
 import dji.v5.common.callback.CommonCallbacks;
 import dji.v5.common.error.IDJIError;
-import dji.v5.manager.KeyManager;
 
 public class DJI2GimbalAdapter implements GimbalAdapter {
     private static final String TAG = DJI2GimbalAdapter.class.getCanonicalName();
 
-    private final ExecutorService serialQueue = Executors.newSingleThreadExecutor();
+    //pitch, roll and yaw rates (degrees / second), converted to a GimbalSpeedRotation only when it is actually sent
+    public static final class SpeedRotation {
+        public final double pitch;
+        public final double roll;
+        public final double yaw;
+
+        public SpeedRotation(final double pitch, final double roll, final double yaw) {
+            this.pitch = pitch;
+            this.roll = roll;
+            this.yaw = yaw;
+        }
+
+        public GimbalSpeedRotation toGimbalSpeedRotation() {
+            final GimbalSpeedRotation rotation = new GimbalSpeedRotation();
+            rotation.setPitch(pitch);
+            rotation.setRoll(roll);
+            rotation.setYaw(yaw);
+            return rotation;
+        }
+    }
 
     private final DJI2ListenerGroup listeners = new DJI2ListenerGroup();
 
@@ -66,29 +85,59 @@ public class DJI2GimbalAdapter implements GimbalAdapter {
 
     private final EnumElementsCollection enumElements = new EnumElementsCollection();
     private final DJI2GimbalStateAdapter state;
-    private GimbalAttitudeRange attitudeRange;
+    private final DJI2CapabilityCache.Component capabilities;
+    //degrees, min and max
+    private volatile double[] yawRange;
     private boolean isYawAdjustSupported = false;
-    private GimbalSpeedRotation pendingSpeedRotation;
+    private final AtomicReference<SpeedRotation> pendingSpeedRotation = new AtomicReference<>();
 
     public DJI2GimbalAdapter(final DJI2DroneAdapter drone, final ComponentIndexType index) {
         this.drone = drone;
         this.index = index;
         this.state = new DJI2GimbalStateAdapter(index);
 
-        listeners.init(createKey(GimbalKey.KeyGimbalAttitudeRange), (oldValue, newValue) -> attitudeRange = newValue);
-        listeners.init(createKey(GimbalKey.KeyYawAdjustSupported), (oldValue, newValue) -> {
-            isYawAdjustSupported = newValue != null && newValue;
+        //the gimbal shares its mount index with the payload camera, so the camera type identifies the gimbal too
+        this.capabilities = drone.capabilityCache.getComponent("gimbal." + index.name(), this::seed);
+        seed();
+        DronelinkDJI2.getSDK().getValue(KeyTools.createKey(CameraKey.KeyCameraType, index), new CommonCallbacks.CompletionCallbackWithParam<CameraType>() {
+            @Override
+            public void onSuccess(final CameraType t) {
+                capabilities.setIdentity(t.name());
+            }
 
-            final List<String> range = new ArrayList<>();
-            range.add(Kernel.enumRawValue(GimbalMode.YAW_FOLLOW));
-            if (isAdjustYaw360Supported()) {
-                range.add(Kernel.enumRawValue(GimbalMode.FREE));
+            @Override
+            public void onFailure(final @NonNull IDJIError error) {
+                Log.e(TAG, "Gimbal camera type failed: " + error.description());
             }
-            range.add(Kernel.enumRawValue(GimbalMode.FPV));
-            enumElements.update("GimbalMode", range);
         });
 
-        KeyManager.getInstance().setValue(createKey(GimbalKey.KeyPitchRangeExtensionEnabled), true, new CommonCallbacks.CompletionCallback() {
+        listeners.init(createKey(GimbalKey.KeyGimbalAttitudeRange), (oldValue, newValue) -> {
+            if (newValue == null || newValue.getYaw() == null) {
+                if (capabilities.remove("yawRange")) {
+                    yawRange = null;
+                    updateYawAdjustSupported(isYawAdjustSupported);
+                }
+                return;
+            }
+
+            final double[] yawRange = new double[] { newValue.getYaw().getMin(), newValue.getYaw().getMax() };
+            capabilities.putDoubles("yawRange", yawRange);
+            this.yawRange = yawRange;
+            updateYawAdjustSupported(isYawAdjustSupported);
+        });
+        listeners.init(createKey(GimbalKey.KeyYawAdjustSupported), (oldValue, newValue) -> {
+            if (newValue == null) {
+                if (capabilities.remove("yawAdjustSupported")) {
+                    updateYawAdjustSupported(false);
+                }
+                return;
+            }
+
+            capabilities.putBoolean("yawAdjustSupported", newValue);
+            updateYawAdjustSupported(newValue);
+        });
+
+        DronelinkDJI2.getSDK().setValue(createKey(GimbalKey.KeyPitchRangeExtensionEnabled), true, new CommonCallbacks.CompletionCallback() {
             @Override
             public void onSuccess() {
                 Log.i(TAG, String.format("Gimbal[%d] pitch range extension enabled", getIndex()));
@@ -99,9 +148,33 @@ public class DJI2GimbalAdapter implements GimbalAdapter {
         });
     }
 
+    //seeded from the capability cache, values are only replaced once the gimbal reports them (or cleared when it reports null)
+    private void seed() {
+        yawRange = capabilities.getDoubles("yawRange");
+        final Boolean yawAdjustSupported = capabilities.getBoolean("yawAdjustSupported");
+        updateYawAdjustSupported(yawAdjustSupported != null && yawAdjustSupported);
+    }
+
+    private void updateYawAdjustSupported(final boolean yawAdjustSupported) {
+        isYawAdjustSupported = yawAdjustSupported;
+
+        final List<String> range = new ArrayList<>();
+        range.add(Kernel.enumRawValue(GimbalMode.YAW_FOLLOW));
+        if (isAdjustYaw360Supported()) {
+            range.add(Kernel.enumRawValue(GimbalMode.FREE));
+        }
+        range.add(Kernel.enumRawValue(GimbalMode.FPV));
+        enumElements.update("GimbalMode", range);
+    }
+
     public void close() {
         listeners.cancelAll();
         state.close();
+        capabilities.close();
+    }
+
+    public int revalidateListeners(final long reportedBeforeMillis, final long sinceMillis) {
+        return listeners.revalidate(reportedBeforeMillis, sinceMillis) + state.revalidateListeners(reportedBeforeMillis, sinceMillis);
     }
 
     public <T> DJIKey<T> createKey(final DJIKeyInfo<T> keyInfo) {
@@ -125,10 +198,10 @@ public class DJI2GimbalAdapter implements GimbalAdapter {
             rotation.setRoll(0.0);
         }
         if (isYawAdjustSupported && state.getMode() != GimbalMode.YAW_FOLLOW) {
-            KeyManager.getInstance().setValue(createKey(GimbalKey.KeyGimbalMode), dji.sdk.keyvalue.value.gimbal.GimbalMode.YAW_FOLLOW, null);
-            KeyManager.getInstance().performAction(createKey(GimbalKey.KeyGimbalReset), null);
+            DronelinkDJI2.getSDK().setValue(createKey(GimbalKey.KeyGimbalMode), dji.sdk.keyvalue.value.gimbal.GimbalMode.YAW_FOLLOW, null);
+            DronelinkDJI2.getSDK().performAction(createKey(GimbalKey.KeyGimbalReset), null);
         }
-        KeyManager.getInstance().performAction(createKey(GimbalKey.KeyRotateByAngle), rotation, null);
+        DronelinkDJI2.getSDK().performAction(createKey(GimbalKey.KeyRotateByAngle), rotation, null);
     }
 
     @Override
@@ -138,25 +211,22 @@ public class DJI2GimbalAdapter implements GimbalAdapter {
 
     @Override
     public void sendVelocityCommand(final VelocityGimbalCommand command, final GimbalMode mode) {
-        final GimbalSpeedRotation rotation = new GimbalSpeedRotation();
-        rotation.setPitch(Math.max(-90, Math.min(90, Math.toDegrees(command.velocity.getPitch()))));
-        rotation.setRoll(Math.max(-90, Math.max(-90, Math.min(90, Math.toDegrees(command.velocity.getRoll())))));
-        if (isAdjustYaw360Supported() && mode == GimbalMode.FREE) {
-            rotation.setYaw(Math.toDegrees(command.velocity.getYaw()));
-        }
-        setPendingSpeedRotation(rotation);
+        setPendingSpeedRotation(new SpeedRotation(
+                Math.max(-90, Math.min(90, Math.toDegrees(command.velocity.getPitch()))),
+                Math.max(-90, Math.max(-90, Math.min(90, Math.toDegrees(command.velocity.getRoll())))),
+                isAdjustYaw360Supported() && mode == GimbalMode.FREE ? Math.toDegrees(command.velocity.getYaw()) : 0));
     }
 
     @Override
     public void reset() {
         //doesn't work? GimbalResetType.PITCH_UP_OR_DOWN_WITH_YAW_CENTER
-        KeyManager.getInstance().performAction(createKey(GimbalKey.KeyGimbalReset), GimbalResetType.ONLY_YAW, null);
-        KeyManager.getInstance().performAction(createKey(GimbalKey.KeyGimbalReset), GimbalResetType.TOGGLE_PITCH, null);
+        DronelinkDJI2.getSDK().performAction(createKey(GimbalKey.KeyGimbalReset), GimbalResetType.ONLY_YAW, null);
+        DronelinkDJI2.getSDK().performAction(createKey(GimbalKey.KeyGimbalReset), GimbalResetType.TOGGLE_PITCH, null);
     }
 
     @Override
     public void fineTuneRoll(final double roll) {
-        KeyManager.getInstance().performAction(createKey(GimbalKey.KeyFineTuneRollInDegrees), Convert.RadiansToDegrees(roll), null);
+        DronelinkDJI2.getSDK().performAction(createKey(GimbalKey.KeyFineTuneRollInDegrees), Convert.RadiansToDegrees(roll), null);
     }
 
     @Override
@@ -164,23 +234,19 @@ public class DJI2GimbalAdapter implements GimbalAdapter {
         return enumElements.get(parameter);
     }
 
-    public GimbalSpeedRotation getPendingSpeedRotation() {
-        try {
-            return serialQueue.submit(() -> pendingSpeedRotation).get();
-        }
-        catch (final ExecutionException | InterruptedException e) {
-            return null;
-        }
+    //returns the most recent speed rotation (if any) and clears it so it is only sent once
+    public SpeedRotation takePendingSpeedRotation() {
+        return pendingSpeedRotation.getAndSet(null);
     }
 
-    public void setPendingSpeedRotation(final GimbalSpeedRotation newPendingSpeedRotation) {
-        serialQueue.execute(() -> pendingSpeedRotation = newPendingSpeedRotation);
+    public void setPendingSpeedRotation(final SpeedRotation newPendingSpeedRotation) {
+        pendingSpeedRotation.set(newPendingSpeedRotation);
     }
 
     public CommandError executeCommand(final Context context, final GimbalCommand command, final Command.Finisher finished) {
         if (command instanceof ModeGimbalCommand) {
             final GimbalMode target = ((ModeGimbalCommand) command).mode;
-            Command.conditionallyExecute(target != state.getMode(), finished, () -> KeyManager.getInstance().setValue(
+            Command.conditionallyExecute(target != state.getMode(), finished, () -> DronelinkDJI2.getSDK().setValue(
                     createKey(GimbalKey.KeyGimbalMode), DronelinkDJI2.getGimbalMode(target), DronelinkDJI2.createCompletionCallback(finished)));
             return null;
         }
@@ -226,7 +292,7 @@ public class DJI2GimbalAdapter implements GimbalAdapter {
             }
 
             rotation.setMode(GimbalAngleRotationMode.ABSOLUTE_ANGLE);
-            KeyManager.getInstance().performAction(createKey(GimbalKey.KeyRotateByAngle), rotation, new CommonCallbacks.CompletionCallbackWithParam<EmptyMsg>() {
+            DronelinkDJI2.getSDK().performAction(createKey(GimbalKey.KeyRotateByAngle), rotation, new CommonCallbacks.CompletionCallbackWithParam<EmptyMsg>() {
                 @Override
                 public void onSuccess(final EmptyMsg emptyMsg) {
                     if (finished != null) {
@@ -253,45 +319,89 @@ public class DJI2GimbalAdapter implements GimbalAdapter {
 
     private boolean isAdjustYaw360Supported() {
         if (isYawAdjustSupported) {
-            final GimbalAttitudeRange attitudeRange = this.attitudeRange;
-            if (attitudeRange != null) {
-                return attitudeRange.getYaw().getMin().intValue() <= -180 && attitudeRange.getYaw().getMax().intValue() >= 180;
+            final double[] yawRange = this.yawRange;
+            if (yawRange != null && yawRange.length == 2) {
+                return (int)yawRange[0] <= -180 && (int)yawRange[1] >= 180;
             }
         }
         return false;
     }
 
     private void commandFinishOrientationVerify(final Context context, final OrientationGimbalCommand command, final Command.Finisher finished) {
-        commandFinishOrientationVerify(context, command, 0, 20, Convert.DegreesToRadians(2.0), finished);
-    }
+        final DJI2OrientationVerifier.Attitude attitude = new DJI2OrientationVerifier.Attitude() {
+            @Override
+            public double getError() {
+                return getOrientationError(command);
+            }
+
+            @Override
+            public long getUpdatedMillis() {
+                return state.getAttitudeUpdatedMillis();
+            }
+
+            @Override
+            public void revalidate(final long sinceMillis) {
+                state.revalidateListeners(sinceMillis, sinceMillis);
+            }
+
+            @Override
+            public void addWaiter(final Runnable waiter) {
+                state.addAttitudeWaiter(waiter);
+            }
 
-    private void commandFinishOrientationVerify(final Context context, final OrientationGimbalCommand command, final int attempt, final int maxAttempts, final double threshold, final Command.Finisher finished) {
-        if (attempt >= maxAttempts) {
+            @Override
+            public void removeWaiter(final Runnable waiter) {
+                state.removeAttitudeWaiter(waiter);
+            }
+        };
+
+        new DJI2OrientationVerifier(attitude, new HandlerScheduler(), (achieved, elapsedMillis) -> {
+            if (achieved) {
+                finished.execute(null);
+                return;
+            }
+
+            Log.w(TAG, "Gimbal orientation not achieved after " + elapsedMillis + "ms (" + command.id + ")");
             finished.execute(new CommandError(context.getString(R.string.DJI2GimbalAdapter_gimbalCommand_orientation_not_achieved)));
-            return;
-        }
+        }).start();
+    }
 
-        boolean verified = true;
+    //largest difference between the target and the current orientation on the axes the command adjusts (radians)
+    private double getOrientationError(final OrientationGimbalCommand command) {
+        final Orientation3 orientation = state.getOrientation();
+        double error = 0;
 
         if (command.orientation.getPitch() != null) {
-            verified = Math.abs(Convert.AngleDifferenceSigned(command.orientation.getPitch(), state.getOrientation().getPitch())) <= threshold;
+            error = Math.abs(Convert.AngleDifferenceSigned(command.orientation.getPitch(), orientation.getPitch()));
         }
 
         if (command.orientation.getRoll() != null && isAdjustRollAngleSupported()) {
-            verified = verified && Math.abs(Convert.AngleDifferenceSigned(command.orientation.getRoll(), state.getOrientation().getRoll())) <= threshold;
+            error = Math.max(error, Math.abs(Convert.AngleDifferenceSigned(command.orientation.getRoll(), orientation.getRoll())));
         }
 
         if (command.orientation.getYaw() != null && state.getMode() == GimbalMode.FREE && isAdjustYaw360Supported()) {
-            verified = verified && Math.abs(Convert.AngleDifferenceSigned(command.orientation.getYaw(), state.getOrientation().getYaw())) <= threshold;
+            error = Math.max(error, Math.abs(Convert.AngleDifferenceSigned(command.orientation.getYaw(), orientation.getYaw())));
         }
 
-        if (verified) {
-            finished.execute(null);
-            return;
+        return error;
+    }
+
+    private static class HandlerScheduler implements DJI2OrientationVerifier.Scheduler {
+        private final Handler handler = new Handler();
+
+        @Override
+        public long currentTimeMillis() {
+            return System.currentTimeMillis();
         }
 
-        final long wait = 100;
-        Log.d(TAG, "Gimbal command finished and waiting for orientation (" + ((attempt + 1) * wait) + "ms)... (" + command.id + ")");
-        new Handler().postDelayed(() -> commandFinishOrientationVerify(context, command, attempt + 1, maxAttempts, threshold, finished), wait);
+        @Override
+        public void postDelayed(final Runnable runnable, final long delayMillis) {
+            handler.postDelayed(runnable, delayMillis);
+        }
+
+        @Override
+        public void removeCallbacks(final Runnable runnable) {
+            handler.removeCallbacks(runnable);
+        }
     }
 }
\ No newline at end of file
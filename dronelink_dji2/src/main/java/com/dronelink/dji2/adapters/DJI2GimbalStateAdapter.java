@@ -15,6 +15,8 @@ import com.dronelink.dji2.DJI2ListenerGroup;
 import com.dronelink.dji2.DronelinkDJI2;
 
 import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import dji.sdk.keyvalue.key.DJIActionKeyInfo;
 import dji.sdk.keyvalue.key.DJIKey;
@@ -31,18 +33,45 @@ public class DJI2GimbalStateAdapter implements GimbalStateAdapter {
 
     private dji.sdk.keyvalue.value.gimbal.GimbalMode mode;
     private Attitude attitude;
+    private volatile long attitudeUpdatedMillis = 0;
+    private final List<Runnable> attitudeWaiters = new CopyOnWriteArrayList<>();
 
     public DJI2GimbalStateAdapter(final ComponentIndexType index) {
         this.index = index;
 
         listeners.init(createKey(GimbalKey.KeyGimbalMode), (oldValue, newValue) -> mode = newValue);
-        listeners.init(createKey(GimbalKey.KeyGimbalAttitude), (oldValue, newValue) -> attitude = newValue);
+        //PASS_THROUGH: the orientation verifier is woken by every attitude sample as it arrives
+        listeners.init(createKey(GimbalKey.KeyGimbalAttitude), DJI2ListenerGroup.Policy.PASS_THROUGH, (oldValue, newValue) -> {
+            attitude = newValue;
+            attitudeUpdatedMillis = System.currentTimeMillis();
+            for (final Runnable waiter : attitudeWaiters) {
+                waiter.run();
+            }
+        });
     }
 
     public void close() {
         listeners.cancelAll();
     }
 
+    public int revalidateListeners(final long reportedBeforeMillis, final long sinceMillis) {
+        return listeners.revalidate(reportedBeforeMillis, sinceMillis);
+    }
+
+    //runs on the SDK callback thread after every attitude update, until removed
+    public void addAttitudeWaiter(final Runnable waiter) {
+        attitudeWaiters.add(waiter);
+    }
+
+    public void removeAttitudeWaiter(final Runnable waiter) {
+        attitudeWaiters.remove(waiter);
+    }
+
+    //0 until the first attitude update
+    public long getAttitudeUpdatedMillis() {
+        return attitudeUpdatedMillis;
+    }
+
     public DatedValue<GimbalStateAdapter> asDatedValue() {
         return new DatedValue<>(this, updated);
     }
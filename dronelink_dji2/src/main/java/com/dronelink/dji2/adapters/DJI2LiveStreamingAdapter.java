@@ -41,6 +41,10 @@ public class DJI2LiveStreamingAdapter implements LiveStreamingAdapter {
         state.close();
     }
 
+    public int revalidateListeners(final long reportedBeforeMillis, final long sinceMillis) {
+        return state.revalidateListeners(reportedBeforeMillis, sinceMillis);
+    }
+
     public DatedValue<LiveStreamingStateAdapter> getState() {
         return state.asDatedValue();
     }
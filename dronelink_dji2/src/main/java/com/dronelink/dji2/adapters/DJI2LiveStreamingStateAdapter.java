@@ -56,6 +56,10 @@ public class DJI2LiveStreamingStateAdapter implements LiveStreamingStateAdapter,
         }
     }
 
+    public int revalidateListeners(final long reportedBeforeMillis, final long sinceMillis) {
+        return listeners.revalidate(reportedBeforeMillis, sinceMillis);
+    }
+
     public DatedValue<LiveStreamingStateAdapter> asDatedValue() {
         return new DatedValue<>(this, new Date());
     }
@@ -0,0 +1,103 @@
+//  DJI2OrientationVerifier.java
+//  DronelinkDJI2
+//
+//  Created by agent on 10/17/26.
+//  Copyright © 2026 Dronelink. All rights reserved.
+//
+package com.dronelink.dji2.adapters;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+//finishes an orientation command on the first attitude update within the threshold of the target, or fails at the deadline
+//if attitude updates stop arriving, the attitude is fetched instead of waiting on the key stream
+class DJI2OrientationVerifier implements Runnable {
+    static final double THRESHOLD = Math.toRadians(2.0);
+    static final long DEADLINE_MILLIS = 2000;
+    //attitude updates normally arrive at 10Hz or faster
+    static final long STALE_MILLIS = 250;
+
+    interface Attitude {
+        //largest difference between the target and the current orientation (radians)
+        double getError();
+        long getUpdatedMillis();
+        void revalidate(long sinceMillis);
+        void addWaiter(Runnable waiter);
+        void removeWaiter(Runnable waiter);
+    }
+
+    interface Scheduler {
+        long currentTimeMillis();
+        void postDelayed(Runnable runnable, long delayMillis);
+        void removeCallbacks(Runnable runnable);
+    }
+
+    interface Finisher {
+        void execute(boolean achieved, long elapsedMillis);
+    }
+
+    private final Attitude attitude;
+    private final Scheduler scheduler;
+    private final Finisher finished;
+    private final AtomicBoolean done = new AtomicBoolean(false);
+    private final Runnable stale = this::onStale;
+    private final Runnable deadline = this::onDeadline;
+    private long started;
+
+    DJI2OrientationVerifier(final Attitude attitude, final Scheduler scheduler, final Finisher finished) {
+        this.attitude = attitude;
+        this.scheduler = scheduler;
+        this.finished = finished;
+    }
+
+    void start() {
+        started = scheduler.currentTimeMillis();
+        scheduler.postDelayed(stale, STALE_MILLIS);
+        scheduler.postDelayed(deadline, DEADLINE_MILLIS);
+        attitude.addWaiter(this);
+        //the target may have been reached before the waiter was added
+        run();
+    }
+
+    @Override
+    public void run() {
+        if (isAchieved()) {
+            finish(true);
+        }
+    }
+
+    private boolean isAchieved() {
+        return attitude.getError() <= THRESHOLD;
+    }
+
+    private void onStale() {
+        if (done.get()) {
+            return;
+        }
+
+        final long sinceMillis = scheduler.currentTimeMillis() - STALE_MILLIS;
+        if (attitude.getUpdatedMillis() < sinceMillis) {
+            attitude.revalidate(sinceMillis);
+        }
+
+        //the revalidation may have finished it already
+        if (!done.get()) {
+            scheduler.postDelayed(stale, STALE_MILLIS);
+        }
+    }
+
+    private void onDeadline() {
+        //one last check, in case the final update was missed
+        finish(isAchieved());
+    }
+
+    private void finish(final boolean achieved) {
+        if (!done.compareAndSet(false, true)) {
+            return;
+        }
+
+        attitude.removeWaiter(this);
+        scheduler.removeCallbacks(stale);
+        scheduler.removeCallbacks(deadline);
+        finished.execute(achieved, scheduler.currentTimeMillis() - started);
+    }
+}
@@ -43,6 +43,10 @@ public class DJI2RTKAdapter implements RTKAdapter {
         state.close();
     }
 
+    public int revalidateListeners(final long reportedBeforeMillis, final long sinceMillis) {
+        return state.revalidateListeners(reportedBeforeMillis, sinceMillis);
+    }
+
     public DatedValue<RTKStateAdapter> getState() {
         return state.asDatedValue();
     }
@@ -47,6 +47,7 @@ public class DJI2RTKStateAdapter implements RTKStateAdapter, RTKSystemStateListe
     private RTKSystemState systemState;
     private final RTKLocationInfoListener locationInfoListener;
     public RTKLocationInfo locationInfo;
+    private volatile long positioningSolutionChangedMillis;
     private dji.sdk.keyvalue.value.rtkbasestation.RTKServiceState serviceState;
     private IDJIError customNetworkError;
     private RTKStationConnectStatusListener stationConnectStatusListener;
@@ -58,7 +59,12 @@ public class DJI2RTKStateAdapter implements RTKStateAdapter, RTKSystemStateListe
         this.context = context;
         this.drone = drone;
 
-        locationInfoListener = newValue -> locationInfo = newValue;
+        locationInfoListener = newValue -> {
+            if (getPositioningSolution(newValue) != getPositioningSolution(locationInfo)) {
+                positioningSolutionChangedMillis = System.currentTimeMillis();
+            }
+            locationInfo = newValue;
+        };
 
         final IRTKCenter rtk = RTKCenter.getInstance();
         if (rtk != null) {
@@ -98,6 +104,10 @@ public class DJI2RTKStateAdapter implements RTKStateAdapter, RTKSystemStateListe
         }
     }
 
+    public int revalidateListeners(final long reportedBeforeMillis, final long sinceMillis) {
+        return listeners.revalidate(reportedBeforeMillis, sinceMillis);
+    }
+
     public DatedValue<RTKStateAdapter> asDatedValue() {
         return new DatedValue<>(this, new Date());
     }
@@ -111,6 +121,15 @@ public class DJI2RTKStateAdapter implements RTKStateAdapter, RTKSystemStateListe
         return stationConnectionState != null && stationConnectionState == RTKStationConnetState.CONNECTED;
     }
 
+    private static RTKPositioningSolution getPositioningSolution(final RTKLocationInfo locationInfo) {
+        return locationInfo == null || locationInfo.getRtkLocation() == null ? null : locationInfo.getRtkLocation().getPositioningSolution();
+    }
+
+    //when the positioning solution last changed (not when the location info last reported)
+    public long getPositioningSolutionChangedMillis() {
+        return positioningSolutionChangedMillis;
+    }
+
     @Override
     public boolean isEnabled() {
         if (systemState != null && systemState.getIsRTKEnabled()) {
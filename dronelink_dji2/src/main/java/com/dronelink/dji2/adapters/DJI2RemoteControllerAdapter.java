@@ -15,8 +15,11 @@ import com.dronelink.core.command.Command;
 import com.dronelink.core.command.CommandError;
 import com.dronelink.core.kernel.command.remotecontroller.RemoteControllerCommand;
 import com.dronelink.core.kernel.command.remotecontroller.TargetGimbalChannelRemoteControllerCommand;
+import com.dronelink.dji2.DJI2ListenerGroup;
 import com.dronelink.dji2.R;
 
+import java.util.List;
+
 public class DJI2RemoteControllerAdapter implements RemoteControllerAdapter {
     private final DJI2RemoteControllerStateAdapter state;
 
@@ -33,10 +36,18 @@ public class DJI2RemoteControllerAdapter implements RemoteControllerAdapter {
         state.close();
     }
 
+    public int revalidateListeners(final long reportedBeforeMillis, final long sinceMillis) {
+        return state.revalidateListeners(reportedBeforeMillis, sinceMillis);
+    }
+
     public DatedValue<RemoteControllerStateAdapter> getState() {
         return state.asDatedValue();
     }
 
+    public List<DJI2ListenerGroup.KeyStatistics> getListenerStatistics() {
+        return state.getListenerStatistics();
+    }
+
     public CommandError executeCommand(final Context context, final RemoteControllerCommand command, final Command.Finisher finished) {
         if (command instanceof TargetGimbalChannelRemoteControllerCommand) {
             //TODO
@@ -17,6 +17,7 @@ import com.dronelink.dji2.DJI2ListenerGroup;
 import com.dronelink.dji2.DronelinkDJI2;
 
 import java.util.Date;
+import java.util.List;
 
 import dji.sdk.keyvalue.key.DJIKey;
 import dji.sdk.keyvalue.key.DJIKeyInfo;
@@ -45,11 +46,11 @@ public class DJI2RemoteControllerStateAdapter implements RemoteControllerStateAd
 
     public DJI2RemoteControllerStateAdapter() {
         listeners.init(KeyTools.createKey(RemoteControllerKey.KeyRcGPSInfo), (oldValue, newValue) -> gpsInfo = newValue);
-        listeners.init(KeyTools.createKey(RemoteControllerKey.KeyLeftDial), (oldValue, newValue) -> dialLeft = newValue != null ? newValue : 0);
-        listeners.init(KeyTools.createKey(RemoteControllerKey.KeyStickLeftHorizontal), (oldValue, newValue) -> stickLeftHorizontal = newValue != null ? newValue : 0);
-        listeners.init(KeyTools.createKey(RemoteControllerKey.KeyStickLeftVertical), (oldValue, newValue) -> stickLeftVertical = newValue != null ? newValue : 0);
-        listeners.init(KeyTools.createKey(RemoteControllerKey.KeyStickRightHorizontal), (oldValue, newValue) -> stickRightHorizontal = newValue != null ? newValue : 0);
-        listeners.init(KeyTools.createKey(RemoteControllerKey.KeyStickRightVertical), (oldValue, newValue) -> stickRightVertical = newValue != null ? newValue : 0);
+        listeners.init(KeyTools.createKey(RemoteControllerKey.KeyLeftDial), DJI2ListenerGroup.Policy.COALESCE, (oldValue, newValue) -> dialLeft = newValue != null ? newValue : 0);
+        listeners.init(KeyTools.createKey(RemoteControllerKey.KeyStickLeftHorizontal), DJI2ListenerGroup.Policy.COALESCE, (oldValue, newValue) -> stickLeftHorizontal = newValue != null ? newValue : 0);
+        listeners.init(KeyTools.createKey(RemoteControllerKey.KeyStickLeftVertical), DJI2ListenerGroup.Policy.COALESCE, (oldValue, newValue) -> stickLeftVertical = newValue != null ? newValue : 0);
+        listeners.init(KeyTools.createKey(RemoteControllerKey.KeyStickRightHorizontal), DJI2ListenerGroup.Policy.COALESCE, (oldValue, newValue) -> stickRightHorizontal = newValue != null ? newValue : 0);
+        listeners.init(KeyTools.createKey(RemoteControllerKey.KeyStickRightVertical), DJI2ListenerGroup.Policy.COALESCE, (oldValue, newValue) -> stickRightVertical = newValue != null ? newValue : 0);
         listeners.init(KeyTools.createKey(RemoteControllerKey.KeyShutterButtonDown), (oldValue, newValue) -> shutterButtonDown = newValue);
         listeners.init(KeyTools.createKey(RemoteControllerKey.KeyRecordButtonDown), (oldValue, newValue) -> videoButtonDown = newValue);
         listeners.init(KeyTools.createKey(RemoteControllerKey.KeyPauseButtonDown), (oldValue, newValue) -> pauseButtonDown = newValue);
@@ -64,6 +65,14 @@ public class DJI2RemoteControllerStateAdapter implements RemoteControllerStateAd
         listeners.cancelAll();
     }
 
+    public int revalidateListeners(final long reportedBeforeMillis, final long sinceMillis) {
+        return listeners.revalidate(reportedBeforeMillis, sinceMillis);
+    }
+
+    public List<DJI2ListenerGroup.KeyStatistics> getListenerStatistics() {
+        return listeners.getStatistics();
+    }
+
     public DatedValue<RemoteControllerStateAdapter> asDatedValue() {
         return new DatedValue<>(this, new Date());
     }
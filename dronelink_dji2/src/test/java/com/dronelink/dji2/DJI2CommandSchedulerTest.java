@@ -0,0 +1,72 @@
+//  DJI2CommandSchedulerTest.java
+//  DronelinkDJI2
+//
+//  Created by agent on 10/17/26.
+//  Copyright © 2026 Dronelink. All rights reserved.
+//
+package com.dronelink.dji2;
+
+import static org.junit.Assert.assertTrue;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+public class DJI2CommandSchedulerTest {
+    //bounds every await, so a lost deadline fails the test instead of hanging it
+    private static final long GUARD_MILLIS = 2000;
+
+    private DJI2CommandScheduler scheduler;
+
+    @Before
+    public void setUp() {
+        scheduler = new DJI2CommandScheduler();
+    }
+
+    @After
+    public void tearDown() {
+        scheduler.close();
+    }
+
+    @Test
+    public void overlappingFinishDelaysEachWake() throws InterruptedException {
+        final long started = System.nanoTime();
+        scheduler.signal(150);
+        scheduler.signal(50);
+
+        scheduler.await(GUARD_MILLIS);
+        final long first = elapsedMillis(started);
+        assertTrue("first wake " + first + "ms", first >= 50 && first < 150);
+
+        scheduler.await(GUARD_MILLIS);
+        final long second = elapsedMillis(started);
+        assertTrue("second wake " + second + "ms", second >= 150 && second < GUARD_MILLIS);
+    }
+
+    @Test
+    public void laterDelayDoesNotPostponeEarlierOne() throws InterruptedException {
+        final long started = System.nanoTime();
+        scheduler.signal(50);
+        scheduler.signal(1000);
+
+        scheduler.await(GUARD_MILLIS);
+        final long elapsed = elapsedMillis(started);
+        assertTrue("wake " + elapsed + "ms", elapsed >= 50 && elapsed < 1000);
+    }
+
+    @Test
+    public void signalWakesImmediately() throws InterruptedException {
+        final long started = System.nanoTime();
+        scheduler.signal(1000);
+        scheduler.signal();
+
+        scheduler.await(GUARD_MILLIS);
+        assertTrue(elapsedMillis(started) < 1000);
+    }
+
+    private static long elapsedMillis(final long startedNanos) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedNanos);
+    }
+}
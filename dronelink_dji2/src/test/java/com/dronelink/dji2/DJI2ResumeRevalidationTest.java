@@ -0,0 +1,127 @@
+//  DJI2ResumeRevalidationTest.java
+//  DronelinkDJI2
+//
+//  Created by agent on 10/17/26.
+//  Copyright © 2026 Dronelink. All rights reserved.
+//
+package com.dronelink.dji2;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import com.dronelink.dji2.adapters.DJI2BatteryAdapter;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import dji.sdk.keyvalue.key.BatteryKey;
+import dji.sdk.keyvalue.key.DJIKey;
+import dji.sdk.keyvalue.key.KeyTools;
+
+//drops and restores the link through the simulator the way DJI2DroneSession.suspend and resume see it:
+//updates published during the dropout are never delivered, and resume revalidates the keys that reported before the dropout
+public class DJI2ResumeRevalidationTest {
+    private DJI2SimulatorSDKGateway simulator;
+    private DJIKey<Integer> chargeKey;
+
+    @Before
+    public void setUp() {
+        simulator = new DJI2SimulatorSDKGateway(1);
+        DronelinkDJI2.setSDK(simulator);
+        chargeKey = KeyTools.createKey(BatteryKey.KeyChargeRemainingInPercent, 0);
+    }
+
+    @After
+    public void tearDown() {
+        DronelinkDJI2.setSDK(null);
+        simulator.close();
+    }
+
+    @Test
+    public void resumeRevalidatesValuesMissedDuringDropout() throws InterruptedException {
+        final DJI2BatteryAdapter battery = new DJI2BatteryAdapter(0);
+        try {
+            simulator.publish(chargeKey, 80);
+            simulator.flush();
+            assertEquals(0.8, battery.getState().value.getChargeRemainingPercent(), 0.0001);
+
+            final long suspendedMillis = dropout();
+            simulator.publish(chargeKey, 60);
+            simulator.flush();
+            assertEquals(0.8, battery.getState().value.getChargeRemainingPercent(), 0.0001);
+
+            final long reconnectedMillis = reconnect();
+            //voltage never reported, so only the charge is fetched
+            assertEquals(1, battery.revalidateListeners(suspendedMillis, reconnectedMillis));
+            simulator.flush();
+            assertEquals(0.6, battery.getState().value.getChargeRemainingPercent(), 0.0001);
+        }
+        finally {
+            battery.close();
+        }
+    }
+
+    @Test
+    public void resumeSkipsKeysUpdatedSinceReconnecting() throws InterruptedException {
+        final DJI2BatteryAdapter battery = new DJI2BatteryAdapter(0);
+        try {
+            simulator.publish(chargeKey, 80);
+            simulator.flush();
+
+            final long suspendedMillis = dropout();
+            final long reconnectedMillis = reconnect();
+            simulator.publish(chargeKey, 70);
+            simulator.flush();
+
+            assertEquals(0, battery.revalidateListeners(suspendedMillis, reconnectedMillis));
+            assertEquals(0.7, battery.getState().value.getChargeRemainingPercent(), 0.0001);
+        }
+        finally {
+            battery.close();
+        }
+    }
+
+    @Test
+    public void resumeReportsUnreachableComponentDisconnected() throws InterruptedException {
+        final DJIKey<Boolean> connectionKey = KeyTools.createKey(BatteryKey.KeyConnection, 0);
+        final AtomicReference<Boolean> connected = new AtomicReference<>();
+        final DJI2ListenerGroup listeners = new DJI2ListenerGroup();
+        listeners.initConnection(connectionKey, (oldValue, newValue) -> connected.set(newValue));
+        try {
+            simulator.publish(connectionKey, true);
+            simulator.flush();
+            assertTrue(connected.get());
+
+            final long suspendedMillis = dropout();
+            final long reconnectedMillis = reconnect();
+            simulator.setErrorRate(1);
+            assertEquals(1, listeners.revalidate(suspendedMillis, reconnectedMillis));
+            simulator.flush();
+            assertFalse(connected.get());
+        }
+        finally {
+            listeners.cancelAll();
+        }
+    }
+
+    private long dropout() throws InterruptedException {
+        //keeps the reported, dropped and reconnected times distinct at millisecond resolution
+        Thread.sleep(2);
+        simulator.setLinkDropped(true);
+        final long suspendedMillis = System.currentTimeMillis();
+        Thread.sleep(2);
+        return suspendedMillis;
+    }
+
+    private long reconnect() throws InterruptedException {
+        simulator.setLinkDropped(false);
+        Thread.sleep(2);
+        final long reconnectedMillis = System.currentTimeMillis();
+        Thread.sleep(2);
+        return reconnectedMillis;
+    }
+}
@@ -0,0 +1,121 @@
+//  DJI2VirtualStickTransmitterTest.java
+//  DronelinkDJI2
+//
+//  Created by agent on 10/17/26.
+//  Copyright © 2026 Dronelink. All rights reserved.
+//
+package com.dronelink.dji2;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import dji.sdk.keyvalue.value.flightcontroller.FlightCoordinateSystem;
+import dji.sdk.keyvalue.value.flightcontroller.RollPitchControlMode;
+import dji.sdk.keyvalue.value.flightcontroller.VerticalControlMode;
+import dji.sdk.keyvalue.value.flightcontroller.VirtualStickFlightControlParam;
+import dji.sdk.keyvalue.value.flightcontroller.YawControlMode;
+
+//sends setpoints through the simulator on simulated time against the 500ms timeout and 500ms decay
+//the control loop also ticks in real time, but every tick reads the simulated clock, so extra ticks send the same values
+public class DJI2VirtualStickTransmitterTest {
+    private DJI2SimulatorSDKGateway simulator;
+    private DJI2ExecutorPool executors;
+    private DJI2ExecutorPool.Lease lease;
+    private DJI2VirtualStickTransmitter transmitter;
+    private volatile long nanos = TimeUnit.SECONDS.toNanos(1);
+
+    @Before
+    public void setUp() {
+        simulator = new DJI2SimulatorSDKGateway(1);
+        DronelinkDJI2.setSDK(simulator);
+        executors = new DJI2ExecutorPool("test", 1);
+        lease = executors.borrow("test");
+        transmitter = new DJI2VirtualStickTransmitter(lease, DJI2VirtualStickTransmitter.MIN_RATE_HZ, (param, heading) -> {}, () -> nanos);
+    }
+
+    @After
+    public void tearDown() {
+        transmitter.close();
+        lease.release();
+        DronelinkDJI2.setSDK(null);
+        simulator.close();
+    }
+
+    @Test
+    public void holdsSetpointUntilTimeout() {
+        set(4, 2, 1, 30);
+        advance(500);
+        assertSent(4, 2, 1, 30);
+    }
+
+    @Test
+    public void decaysLinearlyAfterTimeout() {
+        set(4, 2, 1, 30);
+        advance(750);
+        assertSent(2, 1, 0.5, 15);
+        advance(200);
+        assertSent(0.4, 0.2, 0.1, 3);
+    }
+
+    @Test
+    public void sendsOneZeroSetpointOnceDecayed() {
+        set(4, 2, 1, 30);
+        advance(1000);
+        assertSent(0, 0, 0, 0);
+
+        final long count = simulator.getVirtualStickAdvancedParamCount();
+        advance(100);
+        assertEquals(count, simulator.getVirtualStickAdvancedParamCount());
+    }
+
+    @Test
+    public void newSetpointRestartsTimeout() {
+        set(4, 2, 1, 30);
+        advance(750);
+        set(-4, 0, 0, 10);
+        advance(500);
+        assertSent(-4, 0, 0, 10);
+    }
+
+    @Test
+    public void sentParamIsNotTheReusedParam() {
+        set(4, 2, 1, 30);
+        advance(0);
+        final VirtualStickFlightControlParam sent = simulator.getVirtualStickAdvancedParam();
+        advance(750);
+        assertNotSame(sent, simulator.getVirtualStickAdvancedParam());
+        assertEquals(4, sent.getPitch(), 0.0001);
+        assertEquals(30, sent.getYaw(), 0.0001);
+    }
+
+    @Test
+    public void angleYawDecaysToZeroRate() {
+        transmitter.set(RollPitchControlMode.VELOCITY, FlightCoordinateSystem.GROUND, VerticalControlMode.VELOCITY, YawControlMode.ANGLE, 0, 0, 0, 90, null);
+        advance(750);
+        assertEquals(YawControlMode.ANGULAR_VELOCITY, simulator.getVirtualStickAdvancedParam().getYawControlMode());
+        assertEquals(0, simulator.getVirtualStickAdvancedParam().getYaw(), 0.0001);
+    }
+
+    private void set(final double pitch, final double roll, final double verticalThrottle, final double yaw) {
+        transmitter.set(RollPitchControlMode.VELOCITY, FlightCoordinateSystem.GROUND, VerticalControlMode.VELOCITY, YawControlMode.ANGULAR_VELOCITY, pitch, roll, verticalThrottle, yaw, null);
+    }
+
+    private void advance(final long millis) {
+        nanos += TimeUnit.MILLISECONDS.toNanos(millis);
+        transmitter.tick();
+    }
+
+    private void assertSent(final double pitch, final double roll, final double verticalThrottle, final double yaw) {
+        final VirtualStickFlightControlParam param = simulator.getVirtualStickAdvancedParam();
+        assertEquals(pitch, param.getPitch(), 0.0001);
+        assertEquals(roll, param.getRoll(), 0.0001);
+        assertEquals(verticalThrottle, param.getVerticalThrottle(), 0.0001);
+        assertEquals(yaw, param.getYaw(), 0.0001);
+    }
+}
@@ -0,0 +1,107 @@
+//  DJI2YawControllerStepResponseTest.java
+//  DronelinkDJI2
+//
+//  Created by agent on 10/17/26.
+//  Copyright © 2026 Dronelink. All rights reserved.
+//
+package com.dronelink.dji2;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.TimeUnit;
+
+import dji.sdk.keyvalue.key.DJIKey;
+import dji.sdk.keyvalue.key.FlightControllerKey;
+import dji.sdk.keyvalue.key.KeyTools;
+import dji.sdk.keyvalue.value.common.Attitude;
+import dji.sdk.keyvalue.value.flightcontroller.VirtualStickFlightControlParam;
+import dji.sdk.keyvalue.value.flightcontroller.YawControlMode;
+
+//closes the heading loop through the simulator: yaw rates go out as virtual stick params, attitude comes back through the
+//KeyAircraftAttitude listener after a transport delay, and the aircraft follows the commanded yaw rate with a first order lag
+//the controller runs on simulated time, so the test takes as long as the ticks take to compute
+public class DJI2YawControllerStepResponseTest {
+    private static final int RATE_HZ = 20;
+    private static final long TELEMETRY_DELAY_MILLIS = 150;
+    private static final double YAW_RATE_TIME_CONSTANT_SECONDS = 0.25;
+    private static final double STEP_DEGREES = 90;
+    private static final long DURATION_MILLIS = 6000;
+
+    private DJI2SimulatorSDKGateway simulator;
+    private DJIKey<Attitude> attitudeKey;
+    private DJI2YawController controller;
+    //simulated clock, read on the simulator thread by the attitude listener (0 reads as unset in the controller)
+    private volatile long nanos = TimeUnit.SECONDS.toNanos(1);
+
+    @Before
+    public void setUp() {
+        simulator = new DJI2SimulatorSDKGateway(1);
+        attitudeKey = KeyTools.createKey(FlightControllerKey.KeyAircraftAttitude);
+        controller = new DJI2YawController(() -> nanos);
+        simulator.listen(attitudeKey, this, (oldValue, newValue) -> {
+            if (newValue != null) {
+                controller.onAttitude(newValue.getYaw());
+            }
+        });
+    }
+
+    @After
+    public void tearDown() {
+        simulator.cancelListen(attitudeKey, this);
+        simulator.close();
+    }
+
+    @Test
+    public void latencyCompensatedStepSettlesWithoutOvershoot() throws InterruptedException {
+        controller.setLatency(TELEMETRY_DELAY_MILLIS);
+        final DJI2YawController.Statistics statistics = step();
+        assertEquals(1, statistics.steps);
+        assertTrue("overshoot " + statistics.overshootMaxDegrees + "°", statistics.overshootMaxDegrees < 2);
+        assertTrue("settle " + statistics.settleLastMillis + "ms", statistics.settleLastMillis >= 0 && statistics.settleLastMillis < 4000);
+    }
+
+    private DJI2YawController.Statistics step() throws InterruptedException {
+        final double tickSeconds = 1.0 / RATE_HZ;
+        final ArrayDeque<double[]> telemetry = new ArrayDeque<>();
+        final VirtualStickFlightControlParam param = new VirtualStickFlightControlParam();
+        param.setYawControlMode(YawControlMode.ANGULAR_VELOCITY);
+        double yaw = 0;
+        double yawRate = 0;
+
+        publish(yaw);
+        simulator.flush();
+
+        final long tickNanos = TimeUnit.SECONDS.toNanos(1) / RATE_HZ;
+        final long end = nanos + TimeUnit.MILLISECONDS.toNanos(DURATION_MILLIS);
+        while (nanos < end) {
+            final long now = nanos;
+            while (!telemetry.isEmpty() && telemetry.peek()[0] <= now) {
+                publish(telemetry.poll()[1]);
+            }
+            simulator.flush();
+
+            param.setYaw(controller.compute(Math.toRadians(STEP_DEGREES), 0));
+            simulator.sendVirtualStickAdvancedParam(param);
+
+            yawRate += (simulator.getVirtualStickAdvancedParam().getYaw() - yawRate) * (tickSeconds / YAW_RATE_TIME_CONSTANT_SECONDS);
+            yaw += yawRate * tickSeconds;
+            telemetry.add(new double[] { now + TimeUnit.MILLISECONDS.toNanos(TELEMETRY_DELAY_MILLIS), yaw });
+            nanos += tickNanos;
+        }
+        return controller.getStatistics();
+    }
+
+    private void publish(final double yaw) {
+        final Attitude attitude = new Attitude();
+        attitude.setPitch(0.0);
+        attitude.setRoll(0.0);
+        attitude.setYaw(yaw);
+        simulator.publish(attitudeKey, attitude);
+    }
+}
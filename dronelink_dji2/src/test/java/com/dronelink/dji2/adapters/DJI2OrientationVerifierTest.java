@@ -0,0 +1,219 @@
+//  DJI2OrientationVerifierTest.java
+//  DronelinkDJI2
+//
+//  Created by agent on 10/17/26.
+//  Copyright © 2026 Dronelink. All rights reserved.
+//
+package com.dronelink.dji2.adapters;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PriorityQueue;
+
+//drives the verifier on simulated time against the 2° threshold, the 2000ms deadline and the 250ms stale fallback
+public class DJI2OrientationVerifierTest {
+    private SimulatedScheduler scheduler;
+    private SimulatedAttitude attitude;
+    private Boolean achieved;
+    private long elapsedMillis;
+    private DJI2OrientationVerifier verifier;
+
+    @Before
+    public void setUp() {
+        scheduler = new SimulatedScheduler();
+        attitude = new SimulatedAttitude();
+        attitude.update(Math.toRadians(30));
+        verifier = new DJI2OrientationVerifier(attitude, scheduler, (achieved, elapsedMillis) -> {
+            assertNull("finished twice", this.achieved);
+            this.achieved = achieved;
+            this.elapsedMillis = elapsedMillis;
+        });
+    }
+
+    @Test
+    public void finishesOnFirstUpdateWithinThreshold() {
+        verifier.start();
+        scheduler.advance(100);
+        attitude.update(Math.toRadians(2.1));
+        assertNull(achieved);
+
+        scheduler.advance(100);
+        attitude.update(Math.toRadians(1.9));
+        assertTrue(achieved);
+        assertEquals(200, elapsedMillis);
+        assertTrue(attitude.waiters.isEmpty());
+        assertTrue(scheduler.isIdle());
+    }
+
+    @Test
+    public void finishesImmediatelyWhenAlreadyAtTarget() {
+        attitude.update(Math.toRadians(2.0));
+        verifier.start();
+        assertTrue(achieved);
+        assertEquals(0, elapsedMillis);
+        assertTrue(scheduler.isIdle());
+    }
+
+    @Test
+    public void failsAtDeadlineOutsideThreshold() {
+        verifier.start();
+        for (int i = 0; i < 19; i++) {
+            scheduler.advance(100);
+            attitude.update(Math.toRadians(2.1));
+        }
+        scheduler.advance(99);
+        assertNull(achieved);
+
+        scheduler.advance(1);
+        assertFalse(achieved);
+        assertEquals(DJI2OrientationVerifier.DEADLINE_MILLIS, elapsedMillis);
+        assertTrue(attitude.waiters.isEmpty());
+        assertTrue(scheduler.isIdle());
+        assertEquals(0, attitude.revalidations.size());
+    }
+
+    @Test
+    public void deadlineChecksTheLastAttitudeOnceMore() {
+        verifier.start();
+        scheduler.advance(100);
+        attitude.update(Math.toRadians(5));
+        //reached without a waiter callback
+        attitude.error = Math.toRadians(1);
+        scheduler.advance(DJI2OrientationVerifier.DEADLINE_MILLIS);
+        assertTrue(achieved);
+        assertEquals(DJI2OrientationVerifier.DEADLINE_MILLIS, elapsedMillis);
+    }
+
+    @Test
+    public void revalidatesOnlyWhenAttitudeIsStale() {
+        verifier.start();
+        //fresh at every stale check
+        for (int i = 0; i < 5; i++) {
+            scheduler.advance(100);
+            attitude.update(Math.toRadians(10));
+        }
+        assertEquals(0, attitude.revalidations.size());
+
+        //updates stop at 500ms: the checks at 750ms (exactly 250ms old) and 1000ms see the last one as fresh and stale
+        scheduler.advance(250);
+        assertEquals(0, attitude.revalidations.size());
+        scheduler.advance(250);
+        assertEquals(1, attitude.revalidations.size());
+        assertEquals(750, (long)attitude.revalidations.get(0));
+        scheduler.advance(250);
+        assertEquals(2, attitude.revalidations.size());
+        assertNull(achieved);
+    }
+
+    @Test
+    public void staleRevalidationFinishesBeforeDeadline() {
+        attitude.revalidated = Math.toRadians(0.5);
+        scheduler.advance(100);
+        verifier.start();
+        scheduler.advance(DJI2OrientationVerifier.STALE_MILLIS);
+        assertEquals(1, attitude.revalidations.size());
+        assertTrue(achieved);
+        assertEquals(DJI2OrientationVerifier.STALE_MILLIS, elapsedMillis);
+        assertTrue(scheduler.isIdle());
+    }
+
+    private class SimulatedAttitude implements DJI2OrientationVerifier.Attitude {
+        private final List<Runnable> waiters = new ArrayList<>();
+        private final List<Long> revalidations = new ArrayList<>();
+        private double error;
+        private long updatedMillis;
+        //the error a revalidation fetches, null if the fetch does not answer
+        private Double revalidated;
+
+        void update(final double error) {
+            this.error = error;
+            updatedMillis = scheduler.now;
+            for (final Runnable waiter : new ArrayList<>(waiters)) {
+                waiter.run();
+            }
+        }
+
+        @Override
+        public double getError() {
+            return error;
+        }
+
+        @Override
+        public long getUpdatedMillis() {
+            return updatedMillis;
+        }
+
+        @Override
+        public void revalidate(final long sinceMillis) {
+            revalidations.add(sinceMillis);
+            if (revalidated != null) {
+                update(revalidated);
+            }
+        }
+
+        @Override
+        public void addWaiter(final Runnable waiter) {
+            waiters.add(waiter);
+        }
+
+        @Override
+        public void removeWaiter(final Runnable waiter) {
+            waiters.remove(waiter);
+        }
+    }
+
+    private static class SimulatedScheduler implements DJI2OrientationVerifier.Scheduler {
+        private static class Task {
+            final long due;
+            final long order;
+            final Runnable runnable;
+
+            Task(final long due, final long order, final Runnable runnable) {
+                this.due = due;
+                this.order = order;
+                this.runnable = runnable;
+            }
+        }
+
+        private final PriorityQueue<Task> tasks = new PriorityQueue<>((a, b) -> a.due != b.due ? Long.compare(a.due, b.due) : Long.compare(a.order, b.order));
+        private long now = 0;
+        private long order = 0;
+
+        void advance(final long millis) {
+            final long end = now + millis;
+            while (!tasks.isEmpty() && tasks.peek().due <= end) {
+                final Task task = tasks.poll();
+                now = task.due;
+                task.runnable.run();
+            }
+            now = end;
+        }
+
+        boolean isIdle() {
+            return tasks.isEmpty();
+        }
+
+        @Override
+        public long currentTimeMillis() {
+            return now;
+        }
+
+        @Override
+        public void postDelayed(final Runnable runnable, final long delayMillis) {
+            tasks.add(new Task(now + delayMillis, order++, runnable));
+        }
+
+        @Override
+        public void removeCallbacks(final Runnable runnable) {
+            tasks.removeIf(task -> task.runnable == runnable);
+        }
+    }
+}
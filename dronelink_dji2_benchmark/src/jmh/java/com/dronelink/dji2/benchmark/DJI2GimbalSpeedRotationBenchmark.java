@@ -0,0 +1,87 @@
+//  DJI2GimbalSpeedRotationBenchmark.java
+//  DronelinkDJI2
+//
+//  Created by agent on 10/17/26.
+//  Copyright © 2026 Dronelink. All rights reserved.
+//
+package com.dronelink.dji2.benchmark;
+
+import com.dronelink.dji2.adapters.DJI2GimbalAdapter;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import dji.sdk.keyvalue.value.gimbal.GimbalSpeedRotation;
+
+//per control tick cost of handing the pending gimbal speed rotation to the control loop
+//serialQueue* is the previous hand-off (a blocking submit().get() round trip through a single thread executor, with the
+//GimbalSpeedRotation built when the command is set), atomicSlot* is DJI2GimbalAdapter's AtomicReference<SpeedRotation> slot
+//*Idle ticks have nothing pending (the common case), the others set one rotation per tick
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class DJI2GimbalSpeedRotationBenchmark {
+    private final AtomicReference<DJI2GimbalAdapter.SpeedRotation> pendingSpeedRotation = new AtomicReference<>();
+    private ExecutorService serialQueue;
+    private GimbalSpeedRotation serialQueuePendingSpeedRotation;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        serialQueue = Executors.newSingleThreadExecutor();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        serialQueue.shutdownNow();
+    }
+
+    @Benchmark
+    public GimbalSpeedRotation serialQueueIdle() throws ExecutionException, InterruptedException {
+        return serialQueueTake();
+    }
+
+    @Benchmark
+    public GimbalSpeedRotation serialQueue() throws ExecutionException, InterruptedException {
+        final GimbalSpeedRotation rotation = new GimbalSpeedRotation();
+        rotation.setPitch(10.0);
+        rotation.setRoll(0.0);
+        rotation.setYaw(-5.0);
+        serialQueue.execute(() -> serialQueuePendingSpeedRotation = rotation);
+        return serialQueueTake();
+    }
+
+    @Benchmark
+    public GimbalSpeedRotation atomicSlotIdle() {
+        return atomicSlotTake();
+    }
+
+    @Benchmark
+    public GimbalSpeedRotation atomicSlot() {
+        pendingSpeedRotation.set(new DJI2GimbalAdapter.SpeedRotation(10, 0, -5));
+        return atomicSlotTake();
+    }
+
+    private GimbalSpeedRotation serialQueueTake() throws ExecutionException, InterruptedException {
+        final GimbalSpeedRotation rotation = serialQueue.submit(() -> serialQueuePendingSpeedRotation).get();
+        serialQueue.execute(() -> serialQueuePendingSpeedRotation = null);
+        return rotation;
+    }
+
+    private GimbalSpeedRotation atomicSlotTake() {
+        final DJI2GimbalAdapter.SpeedRotation rotation = pendingSpeedRotation.getAndSet(null);
+        return rotation == null ? null : rotation.toGimbalSpeedRotation();
+    }
+}
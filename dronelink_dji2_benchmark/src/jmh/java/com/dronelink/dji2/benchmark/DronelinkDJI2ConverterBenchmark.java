@@ -0,0 +1,456 @@
+//  DronelinkDJI2ConverterBenchmark.java
+//  DronelinkDJI2
+//
+//  Created by agent on 10/17/26.
+//  Copyright © 2026 Dronelink. All rights reserved.
+//
+package com.dronelink.dji2.benchmark;
+
+import com.dronelink.core.kernel.core.enums.CameraAEBCount;
+import com.dronelink.core.kernel.core.enums.CameraAperture;
+import com.dronelink.core.kernel.core.enums.CameraColor;
+import com.dronelink.core.kernel.core.enums.CameraDisplayMode;
+import com.dronelink.core.kernel.core.enums.CameraExposureCompensation;
+import com.dronelink.core.kernel.core.enums.CameraExposureMode;
+import com.dronelink.core.kernel.core.enums.CameraFileIndexMode;
+import com.dronelink.core.kernel.core.enums.CameraFocusMode;
+import com.dronelink.core.kernel.core.enums.CameraISO;
+import com.dronelink.core.kernel.core.enums.CameraMeteringMode;
+import com.dronelink.core.kernel.core.enums.CameraMode;
+import com.dronelink.core.kernel.core.enums.CameraPhotoAspectRatio;
+import com.dronelink.core.kernel.core.enums.CameraPhotoFileFormat;
+import com.dronelink.core.kernel.core.enums.CameraShutterSpeed;
+import com.dronelink.core.kernel.core.enums.CameraStorageLocation;
+import com.dronelink.core.kernel.core.enums.CameraVideoFieldOfView;
+import com.dronelink.core.kernel.core.enums.CameraVideoFileCompressionStandard;
+import com.dronelink.core.kernel.core.enums.CameraVideoFileFormat;
+import com.dronelink.core.kernel.core.enums.CameraVideoFrameRate;
+import com.dronelink.core.kernel.core.enums.CameraVideoMode;
+import com.dronelink.core.kernel.core.enums.CameraVideoResolution;
+import com.dronelink.core.kernel.core.enums.CameraVideoStandard;
+import com.dronelink.core.kernel.core.enums.CameraVideoStreamSource;
+import com.dronelink.core.kernel.core.enums.CameraWhiteBalancePreset;
+import com.dronelink.core.kernel.core.enums.DroneAuxiliaryLightMode;
+import com.dronelink.core.kernel.core.enums.DroneObstacleAvoidanceMode;
+import com.dronelink.core.kernel.core.enums.DroneOcuSyncFrequencyBand;
+import com.dronelink.core.kernel.core.enums.GimbalMode;
+import com.dronelink.core.kernel.core.enums.RTKReferenceStationSource;
+import com.dronelink.dji2.DronelinkDJI2;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+import dji.sdk.keyvalue.value.airlink.FrequencyBand;
+import dji.sdk.keyvalue.value.camera.CameraVideoStreamSourceType;
+import dji.sdk.keyvalue.value.camera.CameraWhiteBalanceMode;
+import dji.sdk.keyvalue.value.camera.PhotoAEBPhotoCount;
+import dji.sdk.keyvalue.value.camera.PhotoFileFormat;
+import dji.sdk.keyvalue.value.camera.PhotoRatio;
+import dji.sdk.keyvalue.value.camera.ThermalDisplayMode;
+import dji.sdk.keyvalue.value.camera.VideoFileFormat;
+import dji.sdk.keyvalue.value.camera.VideoFovType;
+import dji.sdk.keyvalue.value.camera.VideoFrameRate;
+import dji.sdk.keyvalue.value.camera.VideoMimeType;
+import dji.sdk.keyvalue.value.camera.VideoRecordMode;
+import dji.sdk.keyvalue.value.camera.VideoResolution;
+import dji.sdk.keyvalue.value.camera.VideoResolutionFrameRate;
+import dji.sdk.keyvalue.value.camera.VideoResolutionFrameRateAndFov;
+import dji.sdk.keyvalue.value.camera.VideoStandard;
+import dji.sdk.keyvalue.value.flightassistant.AuxiliaryLightMode;
+import dji.v5.manager.aircraft.perception.data.ObstacleAvoidanceType;
+import dji.v5.manager.diagnostic.DJIDeviceStatus;
+import dji.v5.manager.diagnostic.WarningLevel;
+
+//every bidirectional converter pair, each invocation converts every value of both enums
+//run with the gc profiler (the default in build.gradle) for the allocation rate, table backed converters should not allocate
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class DronelinkDJI2ConverterBenchmark {
+    private final dji.sdk.keyvalue.value.camera.CameraAperture[] djiCameraApertureValues = dji.sdk.keyvalue.value.camera.CameraAperture.values();
+    private final CameraAperture[] cameraApertureValues = CameraAperture.values();
+    private final dji.sdk.keyvalue.value.camera.CameraColor[] djiCameraColorValues = dji.sdk.keyvalue.value.camera.CameraColor.values();
+    private final CameraColor[] cameraColorValues = CameraColor.values();
+    private final ThermalDisplayMode[] djiThermalDisplayModeValues = ThermalDisplayMode.values();
+    private final CameraDisplayMode[] cameraDisplayModeValues = CameraDisplayMode.values();
+    private final dji.sdk.keyvalue.value.camera.CameraExposureCompensation[] djiCameraExposureCompensationValues = dji.sdk.keyvalue.value.camera.CameraExposureCompensation.values();
+    private final CameraExposureCompensation[] cameraExposureCompensationValues = CameraExposureCompensation.values();
+    private final dji.sdk.keyvalue.value.camera.CameraExposureMode[] djiCameraExposureModeValues = dji.sdk.keyvalue.value.camera.CameraExposureMode.values();
+    private final CameraExposureMode[] cameraExposureModeValues = CameraExposureMode.values();
+    private final dji.sdk.keyvalue.value.camera.CameraFileIndexMode[] djiCameraFileIndexModeValues = dji.sdk.keyvalue.value.camera.CameraFileIndexMode.values();
+    private final CameraFileIndexMode[] cameraFileIndexModeValues = CameraFileIndexMode.values();
+    private final dji.sdk.keyvalue.value.camera.CameraFocusMode[] djiCameraFocusModeValues = dji.sdk.keyvalue.value.camera.CameraFocusMode.values();
+    private final CameraFocusMode[] cameraFocusModeValues = CameraFocusMode.values();
+    private final dji.sdk.keyvalue.value.camera.CameraISO[] djiCameraISOValues = dji.sdk.keyvalue.value.camera.CameraISO.values();
+    private final CameraISO[] cameraISOValues = CameraISO.values();
+    private final dji.sdk.keyvalue.value.camera.CameraMeteringMode[] djiCameraMeteringModeValues = dji.sdk.keyvalue.value.camera.CameraMeteringMode.values();
+    private final CameraMeteringMode[] cameraMeteringModeValues = CameraMeteringMode.values();
+    private final dji.sdk.keyvalue.value.camera.CameraMode[] djiCameraModeValues = dji.sdk.keyvalue.value.camera.CameraMode.values();
+    private final CameraMode[] cameraModeValues = CameraMode.values();
+    private final PhotoAEBPhotoCount[] djiPhotoAEBPhotoCountValues = PhotoAEBPhotoCount.values();
+    private final CameraAEBCount[] cameraAEBCountValues = CameraAEBCount.values();
+    private final PhotoRatio[] djiPhotoRatioValues = PhotoRatio.values();
+    private final CameraPhotoAspectRatio[] cameraPhotoAspectRatioValues = CameraPhotoAspectRatio.values();
+    private final PhotoFileFormat[] djiPhotoFileFormatValues = PhotoFileFormat.values();
+    private final CameraPhotoFileFormat[] cameraPhotoFileFormatValues = CameraPhotoFileFormat.values();
+    private final dji.sdk.keyvalue.value.camera.CameraShutterSpeed[] djiCameraShutterSpeedValues = dji.sdk.keyvalue.value.camera.CameraShutterSpeed.values();
+    private final CameraShutterSpeed[] cameraShutterSpeedValues = CameraShutterSpeed.values();
+    private final dji.sdk.keyvalue.value.camera.CameraStorageLocation[] djiCameraStorageLocationValues = dji.sdk.keyvalue.value.camera.CameraStorageLocation.values();
+    private final CameraStorageLocation[] cameraStorageLocationValues = CameraStorageLocation.values();
+    private final VideoMimeType[] djiVideoMimeTypeValues = VideoMimeType.values();
+    private final CameraVideoFileCompressionStandard[] cameraVideoFileCompressionStandardValues = CameraVideoFileCompressionStandard.values();
+    private final VideoFileFormat[] djiVideoFileFormatValues = VideoFileFormat.values();
+    private final CameraVideoFileFormat[] cameraVideoFileFormatValues = CameraVideoFileFormat.values();
+    private final VideoRecordMode[] djiVideoRecordModeValues = VideoRecordMode.values();
+    private final CameraVideoMode[] cameraVideoModeValues = CameraVideoMode.values();
+    private final VideoStandard[] djiVideoStandardValues = VideoStandard.values();
+    private final CameraVideoStandard[] cameraVideoStandardValues = CameraVideoStandard.values();
+    private final CameraVideoStreamSourceType[] djiCameraVideoStreamSourceTypeValues = CameraVideoStreamSourceType.values();
+    private final CameraVideoStreamSource[] cameraVideoStreamSourceValues = CameraVideoStreamSource.values();
+    private final CameraWhiteBalanceMode[] djiCameraWhiteBalanceModeValues = CameraWhiteBalanceMode.values();
+    private final CameraWhiteBalancePreset[] cameraWhiteBalancePresetValues = CameraWhiteBalancePreset.values();
+    private final AuxiliaryLightMode[] djiAuxiliaryLightModeValues = AuxiliaryLightMode.values();
+    private final DroneAuxiliaryLightMode[] droneAuxiliaryLightModeValues = DroneAuxiliaryLightMode.values();
+    private final ObstacleAvoidanceType[] djiObstacleAvoidanceTypeValues = ObstacleAvoidanceType.values();
+    private final DroneObstacleAvoidanceMode[] droneObstacleAvoidanceModeValues = DroneObstacleAvoidanceMode.values();
+    private final dji.sdk.keyvalue.value.gimbal.GimbalMode[] djiGimbalModeValues = dji.sdk.keyvalue.value.gimbal.GimbalMode.values();
+    private final GimbalMode[] gimbalModeValues = GimbalMode.values();
+    private final FrequencyBand[] djiFrequencyBandValues = FrequencyBand.values();
+    private final DroneOcuSyncFrequencyBand[] droneOcuSyncFrequencyBandValues = DroneOcuSyncFrequencyBand.values();
+    private final dji.sdk.keyvalue.value.rtkbasestation.RTKReferenceStationSource[] djiRTKReferenceStationSourceValues = dji.sdk.keyvalue.value.rtkbasestation.RTKReferenceStationSource.values();
+    private final RTKReferenceStationSource[] rtkReferenceStationSourceValues = RTKReferenceStationSource.values();
+    private final CameraVideoResolution[] cameraVideoResolutionValues = CameraVideoResolution.values();
+    private final CameraVideoFrameRate[] cameraVideoFrameRateValues = CameraVideoFrameRate.values();
+    private final CameraVideoFieldOfView[] cameraVideoFieldOfViewValues = CameraVideoFieldOfView.values();
+    private final DJIDeviceStatus[] djiDeviceStatusValues = DJIDeviceStatus.values();
+    private final WarningLevel[] djiWarningLevelValues = WarningLevel.values();
+    //every resolution, frame rate and field of view appears at least once
+    private final VideoResolutionFrameRateAndFov[] djiVideoResolutionFrameRateAndFovValues = createVideoResolutionFrameRateAndFovValues();
+
+    private static VideoResolutionFrameRateAndFov[] createVideoResolutionFrameRateAndFovValues() {
+        final VideoResolution[] resolutions = VideoResolution.values();
+        final VideoFrameRate[] frameRates = VideoFrameRate.values();
+        final VideoFovType[] fovs = VideoFovType.values();
+        final VideoResolutionFrameRateAndFov[] values = new VideoResolutionFrameRateAndFov[Math.max(resolutions.length, Math.max(frameRates.length, fovs.length))];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = new VideoResolutionFrameRateAndFov(
+                    new VideoResolutionFrameRate(resolutions[i % resolutions.length], frameRates[i % frameRates.length]),
+                    fovs[i % fovs.length]);
+        }
+        return values;
+    }
+
+    @Benchmark
+    public void cameraAperture(final Blackhole blackhole) {
+        for (final dji.sdk.keyvalue.value.camera.CameraAperture value : djiCameraApertureValues) {
+            blackhole.consume(DronelinkDJI2.getCameraAperture(value));
+        }
+        for (final CameraAperture value : cameraApertureValues) {
+            blackhole.consume(DronelinkDJI2.getCameraAperture(value));
+        }
+    }
+
+    @Benchmark
+    public void cameraColor(final Blackhole blackhole) {
+        for (final dji.sdk.keyvalue.value.camera.CameraColor value : djiCameraColorValues) {
+            blackhole.consume(DronelinkDJI2.getCameraColor(value));
+        }
+        for (final CameraColor value : cameraColorValues) {
+            blackhole.consume(DronelinkDJI2.getCameraColor(value));
+        }
+    }
+
+    @Benchmark
+    public void cameraDisplayMode(final Blackhole blackhole) {
+        for (final ThermalDisplayMode value : djiThermalDisplayModeValues) {
+            blackhole.consume(DronelinkDJI2.getCameraDisplayMode(value));
+        }
+        for (final CameraDisplayMode value : cameraDisplayModeValues) {
+            blackhole.consume(DronelinkDJI2.getCameraDisplayMode(value));
+        }
+    }
+
+    @Benchmark
+    public void cameraExposureCompensation(final Blackhole blackhole) {
+        for (final dji.sdk.keyvalue.value.camera.CameraExposureCompensation value : djiCameraExposureCompensationValues) {
+            blackhole.consume(DronelinkDJI2.getCameraExposureCompensation(value));
+        }
+        for (final CameraExposureCompensation value : cameraExposureCompensationValues) {
+            blackhole.consume(DronelinkDJI2.getCameraExposureCompensation(value));
+        }
+    }
+
+    @Benchmark
+    public void cameraExposureMode(final Blackhole blackhole) {
+        for (final dji.sdk.keyvalue.value.camera.CameraExposureMode value : djiCameraExposureModeValues) {
+            blackhole.consume(DronelinkDJI2.getCameraExposureMode(value));
+        }
+        for (final CameraExposureMode value : cameraExposureModeValues) {
+            blackhole.consume(DronelinkDJI2.getCameraExposureMode(value));
+        }
+    }
+
+    @Benchmark
+    public void cameraFileIndexMode(final Blackhole blackhole) {
+        for (final dji.sdk.keyvalue.value.camera.CameraFileIndexMode value : djiCameraFileIndexModeValues) {
+            blackhole.consume(DronelinkDJI2.getCameraFileIndexMode(value));
+        }
+        for (final CameraFileIndexMode value : cameraFileIndexModeValues) {
+            blackhole.consume(DronelinkDJI2.getCameraFileIndexMode(value));
+        }
+    }
+
+    @Benchmark
+    public void cameraFocusMode(final Blackhole blackhole) {
+        for (final dji.sdk.keyvalue.value.camera.CameraFocusMode value : djiCameraFocusModeValues) {
+            blackhole.consume(DronelinkDJI2.getCameraFocusMode(value));
+        }
+        for (final CameraFocusMode value : cameraFocusModeValues) {
+            blackhole.consume(DronelinkDJI2.getCameraFocusMode(value));
+        }
+    }
+
+    @Benchmark
+    public void cameraISO(final Blackhole blackhole) {
+        for (final dji.sdk.keyvalue.value.camera.CameraISO value : djiCameraISOValues) {
+            blackhole.consume(DronelinkDJI2.getCameraISO(value));
+        }
+        for (final CameraISO value : cameraISOValues) {
+            blackhole.consume(DronelinkDJI2.getCameraISO(value));
+        }
+    }
+
+    @Benchmark
+    public void cameraMeteringMode(final Blackhole blackhole) {
+        for (final dji.sdk.keyvalue.value.camera.CameraMeteringMode value : djiCameraMeteringModeValues) {
+            blackhole.consume(DronelinkDJI2.getCameraMeteringMode(value));
+        }
+        for (final CameraMeteringMode value : cameraMeteringModeValues) {
+            blackhole.consume(DronelinkDJI2.getCameraMeteringMode(value));
+        }
+    }
+
+    @Benchmark
+    public void cameraMode(final Blackhole blackhole) {
+        for (final dji.sdk.keyvalue.value.camera.CameraMode value : djiCameraModeValues) {
+            blackhole.consume(DronelinkDJI2.getCameraMode(value));
+        }
+        for (final CameraMode value : cameraModeValues) {
+            blackhole.consume(DronelinkDJI2.getCameraMode(value));
+        }
+    }
+
+    @Benchmark
+    public void cameraPhotoAEBCount(final Blackhole blackhole) {
+        for (final PhotoAEBPhotoCount value : djiPhotoAEBPhotoCountValues) {
+            blackhole.consume(DronelinkDJI2.getCameraPhotoAEBCount(value));
+        }
+        for (final CameraAEBCount value : cameraAEBCountValues) {
+            blackhole.consume(DronelinkDJI2.getCameraPhotoAEBCount(value));
+        }
+    }
+
+    @Benchmark
+    public void cameraPhotoAspectRatio(final Blackhole blackhole) {
+        for (final PhotoRatio value : djiPhotoRatioValues) {
+            blackhole.consume(DronelinkDJI2.getCameraPhotoAspectRatio(value));
+        }
+        for (final CameraPhotoAspectRatio value : cameraPhotoAspectRatioValues) {
+            blackhole.consume(DronelinkDJI2.getCameraPhotoAspectRatio(value));
+        }
+    }
+
+    @Benchmark
+    public void cameraPhotoFileFormat(final Blackhole blackhole) {
+        for (final PhotoFileFormat value : djiPhotoFileFormatValues) {
+            blackhole.consume(DronelinkDJI2.getCameraPhotoFileFormat(value));
+        }
+        for (final CameraPhotoFileFormat value : cameraPhotoFileFormatValues) {
+            blackhole.consume(DronelinkDJI2.getCameraPhotoFileFormat(value));
+        }
+    }
+
+    @Benchmark
+    public void cameraShutterSpeed(final Blackhole blackhole) {
+        for (final dji.sdk.keyvalue.value.camera.CameraShutterSpeed value : djiCameraShutterSpeedValues) {
+            blackhole.consume(DronelinkDJI2.getCameraShutterSpeed(value));
+        }
+        for (final CameraShutterSpeed value : cameraShutterSpeedValues) {
+            blackhole.consume(DronelinkDJI2.getCameraShutterSpeed(value));
+        }
+    }
+
+    @Benchmark
+    public void cameraStorageLocation(final Blackhole blackhole) {
+        for (final dji.sdk.keyvalue.value.camera.CameraStorageLocation value : djiCameraStorageLocationValues) {
+            blackhole.consume(DronelinkDJI2.getCameraStorageLocation(value));
+        }
+        for (final CameraStorageLocation value : cameraStorageLocationValues) {
+            blackhole.consume(DronelinkDJI2.getCameraStorageLocation(value));
+        }
+    }
+
+    @Benchmark
+    public void cameraVideoFileCompressionStandard(final Blackhole blackhole) {
+        for (final VideoMimeType value : djiVideoMimeTypeValues) {
+            blackhole.consume(DronelinkDJI2.getCameraVideoFileCompressionStandard(value));
+        }
+        for (final CameraVideoFileCompressionStandard value : cameraVideoFileCompressionStandardValues) {
+            blackhole.consume(DronelinkDJI2.getCameraVideoFileCompressionStandard(value));
+        }
+    }
+
+    @Benchmark
+    public void cameraVideoFileFormat(final Blackhole blackhole) {
+        for (final VideoFileFormat value : djiVideoFileFormatValues) {
+            blackhole.consume(DronelinkDJI2.getCameraVideoFileFormat(value));
+        }
+        for (final CameraVideoFileFormat value : cameraVideoFileFormatValues) {
+            blackhole.consume(DronelinkDJI2.getCameraVideoFileFormat(value));
+        }
+    }
+
+    @Benchmark
+    public void cameraVideoMode(final Blackhole blackhole) {
+        for (final VideoRecordMode value : djiVideoRecordModeValues) {
+            blackhole.consume(DronelinkDJI2.getCameraVideoMode(value));
+        }
+        for (final CameraVideoMode value : cameraVideoModeValues) {
+            blackhole.consume(DronelinkDJI2.getCameraVideoMode(value));
+        }
+    }
+
+    @Benchmark
+    public void cameraVideoStandard(final Blackhole blackhole) {
+        for (final VideoStandard value : djiVideoStandardValues) {
+            blackhole.consume(DronelinkDJI2.getCameraVideoStandard(value));
+        }
+        for (final CameraVideoStandard value : cameraVideoStandardValues) {
+            blackhole.consume(DronelinkDJI2.getCameraVideoStandard(value));
+        }
+    }
+
+    @Benchmark
+    public void cameraVideoStreamSource(final Blackhole blackhole) {
+        for (final CameraVideoStreamSourceType value : djiCameraVideoStreamSourceTypeValues) {
+            blackhole.consume(DronelinkDJI2.getCameraVideoStreamSource(value));
+        }
+        for (final CameraVideoStreamSource value : cameraVideoStreamSourceValues) {
+            blackhole.consume(DronelinkDJI2.getCameraVideoStreamSource(value));
+        }
+    }
+
+    @Benchmark
+    public void cameraWhiteBalancePreset(final Blackhole blackhole) {
+        for (final CameraWhiteBalanceMode value : djiCameraWhiteBalanceModeValues) {
+            blackhole.consume(DronelinkDJI2.getCameraWhiteBalancePreset(value));
+        }
+        for (final CameraWhiteBalancePreset value : cameraWhiteBalancePresetValues) {
+            blackhole.consume(DronelinkDJI2.getCameraWhiteBalancePreset(value));
+        }
+    }
+
+    @Benchmark
+    public void droneAuxiliaryLightMode(final Blackhole blackhole) {
+        for (final AuxiliaryLightMode value : djiAuxiliaryLightModeValues) {
+            blackhole.consume(DronelinkDJI2.getDroneAuxiliaryLightMode(value));
+        }
+        for (final DroneAuxiliaryLightMode value : droneAuxiliaryLightModeValues) {
+            blackhole.consume(DronelinkDJI2.getDroneAuxiliaryLightMode(value));
+        }
+    }
+
+    @Benchmark
+    public void droneObstacleAvoidanceMode(final Blackhole blackhole) {
+        for (final ObstacleAvoidanceType value : djiObstacleAvoidanceTypeValues) {
+            blackhole.consume(DronelinkDJI2.getDroneObstacleAvoidanceMode(value));
+        }
+        for (final DroneObstacleAvoidanceMode value : droneObstacleAvoidanceModeValues) {
+            blackhole.consume(DronelinkDJI2.getDroneObstacleAvoidanceMode(value));
+        }
+    }
+
+    @Benchmark
+    public void gimbalMode(final Blackhole blackhole) {
+        for (final dji.sdk.keyvalue.value.gimbal.GimbalMode value : djiGimbalModeValues) {
+            blackhole.consume(DronelinkDJI2.getGimbalMode(value));
+        }
+        for (final GimbalMode value : gimbalModeValues) {
+            blackhole.consume(DronelinkDJI2.getGimbalMode(value));
+        }
+    }
+
+    @Benchmark
+    public void ocuSyncFrequencyBand(final Blackhole blackhole) {
+        for (final FrequencyBand value : djiFrequencyBandValues) {
+            blackhole.consume(DronelinkDJI2.getOcuSyncFrequencyBand(value));
+        }
+        for (final DroneOcuSyncFrequencyBand value : droneOcuSyncFrequencyBandValues) {
+            blackhole.consume(DronelinkDJI2.getOcuSyncFrequencyBand(value));
+        }
+    }
+
+    @Benchmark
+    public void rtkReferenceStationSource(final Blackhole blackhole) {
+        for (final dji.sdk.keyvalue.value.rtkbasestation.RTKReferenceStationSource value : djiRTKReferenceStationSourceValues) {
+            blackhole.consume(DronelinkDJI2.getRTKReferenceStationSource(value));
+        }
+        for (final RTKReferenceStationSource value : rtkReferenceStationSourceValues) {
+            blackhole.consume(DronelinkDJI2.getRTKReferenceStationSource(value));
+        }
+    }
+
+    @Benchmark
+    public void cameraVideoFieldOfView(final Blackhole blackhole) {
+        for (final VideoResolutionFrameRateAndFov value : djiVideoResolutionFrameRateAndFovValues) {
+            blackhole.consume(DronelinkDJI2.getCameraVideoFieldOfView(value));
+        }
+        for (final CameraVideoFieldOfView value : cameraVideoFieldOfViewValues) {
+            blackhole.consume(DronelinkDJI2.getCameraVideoFieldOfView(value));
+        }
+    }
+
+    @Benchmark
+    public void cameraVideoFrameRate(final Blackhole blackhole) {
+        for (final VideoResolutionFrameRateAndFov value : djiVideoResolutionFrameRateAndFovValues) {
+            blackhole.consume(DronelinkDJI2.getCameraVideoFrameRate(value));
+        }
+        for (final CameraVideoFrameRate value : cameraVideoFrameRateValues) {
+            blackhole.consume(DronelinkDJI2.getCameraVideoFrameRate(value));
+        }
+    }
+
+    @Benchmark
+    public void cameraVideoResolution(final Blackhole blackhole) {
+        for (final VideoResolutionFrameRateAndFov value : djiVideoResolutionFrameRateAndFovValues) {
+            blackhole.consume(DronelinkDJI2.getCameraVideoResolution(value));
+        }
+        for (final CameraVideoResolution value : cameraVideoResolutionValues) {
+            blackhole.consume(DronelinkDJI2.getCameraVideoResolution(value));
+        }
+    }
+
+    @Benchmark
+    public void deviceStatusMessage(final Blackhole blackhole) {
+        for (final DJIDeviceStatus value : djiDeviceStatusValues) {
+            blackhole.consume(DronelinkDJI2.getMessage(value));
+        }
+    }
+
+    //the per entry conversion in DronelinkDJI2.getMessages(List<DJIDeviceHealthInfo>), the SDK only creates health infos on device
+    //each invocation converts every warning level with a title, and without one (the description is promoted to the title)
+    @Benchmark
+    public void deviceHealthInfoMessage(final Blackhole blackhole) {
+        for (final WarningLevel value : djiWarningLevelValues) {
+            blackhole.consume(DronelinkDJI2.getMessage("Compass interference", "Move the aircraft away from metal objects", value));
+            blackhole.consume(DronelinkDJI2.getMessage("", "Move the aircraft away from metal objects", value));
+        }
+    }
+}